@@ -0,0 +1,77 @@
+package ca.bc.gov.nrs.api.v1.endpoints;
+
+import ca.bc.gov.nrs.api.v1.service.ProjectionService;
+import ca.bc.gov.nrs.api.v1.structs.ProjectionPolygon;
+import ca.bc.gov.nrs.api.v1.structs.ProjectionResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+@Path("/api/v1/projections")
+@Produces(ProjectionEndpoint.NDJSON)
+@Consumes(ProjectionEndpoint.NDJSON)
+@Tag(name = "Projection", description = "Projection operations")
+public class ProjectionEndpoint {
+
+  static final String NDJSON = "application/x-ndjson";
+
+  private final ProjectionService projectionService;
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  public ProjectionEndpoint(ProjectionService projectionService, ObjectMapper objectMapper) {
+    this.projectionService = projectionService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Each line of the body is read only once the result of the one before it has been written, and each result is
+   * flushed as soon as it is written, so neither the polygons nor the results are held in memory, and a client that
+   * stops reading the results stops the polygons being read.
+   */
+  @POST
+  @Blocking
+  @Operation(summary = "Project polygons", description = "Projects each polygon of a stream of JSON lines, returning a JSON line for each as it is projected")
+  @APIResponse(responseCode = "200", description = "Stream of projection results")
+  @APIResponse(responseCode = "503", description = "Projections are unavailable")
+  public Response project(InputStream body) {
+    if (!projectionService.isReady()) {
+      return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+    }
+    StreamingOutput output = out -> {
+      var projection = projectionService.startProjection();
+      var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+      var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        ProjectionResult result;
+        try {
+          result = projection.project(objectMapper.readValue(line, ProjectionPolygon.class));
+        } catch (JsonProcessingException e) {
+          result = ProjectionResult.failed(null, e.getOriginalMessage(), 0);
+        }
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.newLine();
+        writer.flush();
+      }
+    };
+    return Response.ok(output).build();
+  }
+}
@@ -0,0 +1,109 @@
+package ca.bc.gov.nrs.api.v1.service;
+
+import ca.bc.gov.nrs.api.v1.structs.ProjectionPolygon;
+import ca.bc.gov.nrs.api.v1.structs.ProjectionResult;
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
+import ca.bc.gov.nrs.vdyp.forward.ForwardProcessor;
+import ca.bc.gov.nrs.vdyp.forward.ForwardRecordProjector;
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Projects polygons with VDYP Forward. The control map and the coefficients derived from it are loaded once, at
+ * startup, and shared by every projection; each projection has a projector of its own, as projectors are not thread
+ * safe.
+ */
+@ApplicationScoped
+public class ProjectionService {
+
+  private static final Logger logger = Logger.getLogger(ProjectionService.class);
+
+  private final Optional<List<String>> controlFiles;
+  private final SiteToolCache siteToolCache;
+
+  private Map<String, Object> controlMap;
+  private CoefficientContext coefficientContext;
+
+  @Inject
+  public ProjectionService(@ConfigProperty(name = "vdyp.projection.control-files") Optional<List<String>> controlFiles,
+                           @ConfigProperty(name = "vdyp.projection.site-tool-cache.size", defaultValue = "0") int siteToolCacheSize) {
+    this.controlFiles = controlFiles;
+    this.siteToolCache = new SiteToolCache(siteToolCacheSize, 0);
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (controlFiles.isEmpty()) {
+      logger.warn("vdyp.projection.control-files is not set; projections are unavailable");
+      return;
+    }
+    try {
+      controlMap = ForwardProcessor.loadControlMap(new FileSystemFileResolver(), controlFiles.get(), Optional.empty());
+      coefficientContext = new CoefficientContext(controlMap);
+      logger.infof("Projection coefficients loaded from %s", controlFiles.get());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (ResourceParseException e) {
+      throw new IllegalStateException("Unable to load the projection control files " + controlFiles.get(), e);
+    }
+  }
+
+  public boolean isReady() {
+    return coefficientContext != null;
+  }
+
+  /**
+   * Start a projection of a sequence of polygons, on the calling thread.
+   */
+  public Projection startProjection() {
+    if (!isReady()) {
+      throw new IllegalStateException("Projections are unavailable; no control files have been loaded");
+    }
+    return new Projection(new ForwardRecordProjector(controlMap, coefficientContext, siteToolCache, SiteCurveSelection.defaults()));
+  }
+
+  public static class Projection {
+
+    private final ForwardRecordProjector projector;
+
+    Projection(ForwardRecordProjector projector) {
+      this.projector = projector;
+    }
+
+    public ProjectionResult project(ProjectionPolygon projectionPolygon) {
+      long start = System.nanoTime();
+      String description = describe(projectionPolygon.polygon());
+      try {
+        var records = projector.project(projectionPolygon.polygon(), projectionPolygon.speciesOrEmpty(), projectionPolygon.utilizationsOrEmpty());
+        return ProjectionResult.processed(description, elapsedMillis(start), records.polygon(), records.species(), records.utilizations());
+      } catch (ProcessingException | RuntimeException e) {
+        return ProjectionResult.failed(description, e.getMessage(), elapsedMillis(start));
+      }
+    }
+
+    private static String describe(String polygonRecord) {
+      if (polygonRecord == null) {
+        return null;
+      }
+      return polygonRecord.substring(0, Math.min(25, polygonRecord.length())).strip();
+    }
+
+    private static long elapsedMillis(long start) {
+      return (System.nanoTime() - start) / 1_000_000;
+    }
+  }
+}
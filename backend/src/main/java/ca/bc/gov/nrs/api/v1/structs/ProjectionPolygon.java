@@ -0,0 +1,20 @@
+package ca.bc.gov.nrs.api.v1.structs;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+public record ProjectionPolygon(
+    @Schema(description = "The polygon record, as it appears in the Forward polygon file") String polygon,
+    @Schema(description = "The layer by species records of the polygon, including the record that ends them") List<String> species,
+    @Schema(description = "The layer by species by utilization records of the polygon, including the record that ends them") List<String> utilizations
+
+) {
+  public List<String> speciesOrEmpty() {
+    return species == null ? List.of() : species;
+  }
+
+  public List<String> utilizationsOrEmpty() {
+    return utilizations == null ? List.of() : utilizations;
+  }
+}
@@ -0,0 +1,27 @@
+package ca.bc.gov.nrs.api.v1.structs;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+public record ProjectionResult(@Schema(description = "The description of the polygon", example = "01002 S000001 00(1970)") String description,
+    @Schema(description = "Whether the polygon was projected") Status status,
+    @Schema(description = "Why the polygon could not be projected, if it could not") String message,
+    @Schema(description = "The time taken to project the polygon, in milliseconds") long milliseconds,
+    @Schema(description = "The projected polygon record, as it appears in the Forward polygon output file") String polygon,
+    @Schema(description = "The projected layer by species records of the polygon, including the record that ends them") List<String> species,
+    @Schema(description = "The projected layer by species by utilization records of the polygon, including the record that ends them") List<String> utilizations
+
+) {
+  public enum Status {
+    PROCESSED, FAILED
+  }
+
+  public static ProjectionResult processed(String description, long milliseconds, String polygon, List<String> species, List<String> utilizations) {
+    return new ProjectionResult(description, Status.PROCESSED, null, milliseconds, polygon, species, utilizations);
+  }
+
+  public static ProjectionResult failed(String description, String message, long milliseconds) {
+    return new ProjectionResult(description, Status.FAILED, message, milliseconds, null, List.of(), List.of());
+  }
+}
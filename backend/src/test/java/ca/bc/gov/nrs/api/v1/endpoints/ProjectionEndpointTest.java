@@ -0,0 +1,115 @@
+package ca.bc.gov.nrs.api.v1.endpoints;
+
+import ca.bc.gov.nrs.api.v1.structs.ProjectionPolygon;
+import ca.bc.gov.nrs.api.v1.structs.ProjectionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+@QuarkusTest
+class ProjectionEndpointTest {
+
+  // the Forward test input, which is read from the vdyp-lib source tree, as the backend is built within it
+  private static final Path FORWARD_TEST_INPUT = Path.of("../vdyp-lib/vdyp-forward/src/test/resources/ca/bc/gov/nrs/vdyp/test");
+
+  // the polygon, layer and species, with the year, that begin every record of a polygon
+  private static final int DESCRIPTION_LENGTH = 25;
+
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  ProjectionEndpointTest(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  private static Map<String, List<String>> recordsByPolygon(String fileName) throws IOException {
+    Map<String, List<String>> result = new LinkedHashMap<>();
+    for (var line : Files.readAllLines(FORWARD_TEST_INPUT.resolve(fileName))) {
+      if (!line.isBlank()) {
+        result.computeIfAbsent(line.substring(0, DESCRIPTION_LENGTH), k -> new ArrayList<>()).add(line);
+      }
+    }
+    return result;
+  }
+
+  private List<ProjectionResult> project(String body) throws IOException {
+    var response = given()
+      .basePath("/api/v1")
+      .contentType(ProjectionEndpoint.NDJSON)
+      .body(body)
+      .when().post("/projections")
+      .then()
+      .statusCode(200)
+      .extract().asString();
+    List<ProjectionResult> results = new ArrayList<>();
+    for (var line : response.split("\n")) {
+      results.add(objectMapper.readValue(line, ProjectionResult.class));
+    }
+    return results;
+  }
+
+  @Test
+  void testProject_givenSeveralPolygons_shouldReturnAProjectionOfEachPolygon() throws IOException {
+    var polygons = recordsByPolygon("vin_p1.dat");
+    var species = recordsByPolygon("vin_s1.dat");
+    var utilizations = recordsByPolygon("vin_u1.dat");
+    var body = new StringBuilder();
+    for (var polygon : polygons.entrySet()) {
+      var description = polygon.getKey();
+      body.append(objectMapper.writeValueAsString(new ProjectionPolygon(polygon.getValue().get(0), species.get(description), utilizations.get(description))));
+      body.append('\n');
+    }
+
+    var results = project(body.toString());
+
+    assertThat(results, hasSize(polygons.size()));
+    var descriptions = List.copyOf(polygons.keySet());
+    for (int i = 0; i < results.size(); i++) {
+      // the polygon is projected to a later year, so only its identifier is the same
+      var identifier = descriptions.get(i).substring(0, DESCRIPTION_LENGTH - 4);
+      var result = results.get(i);
+      assertThat(result.status(), is(ProjectionResult.Status.PROCESSED));
+      assertThat(result.polygon(), startsWith(identifier));
+      assertThat(result.species(), not(hasSize(0)));
+      assertThat(result.species(), everyItem(startsWith(identifier)));
+      assertThat(result.utilizations(), not(hasSize(0)));
+      assertThat(result.utilizations(), everyItem(startsWith(identifier)));
+    }
+  }
+
+  @Test
+  void testProject_givenAnInvalidPolygon_shouldReturnAFailureAndProjectTheNextPolygon() throws IOException {
+    var polygons = recordsByPolygon("vin_p1.dat");
+    var species = recordsByPolygon("vin_s1.dat");
+    var utilizations = recordsByPolygon("vin_u1.dat");
+    var description = polygons.keySet().iterator().next();
+    var polygonRecord = polygons.get(description).get(0);
+    var invalid = new ProjectionPolygon(polygonRecord.replace("CWH ", "XXX "), species.get(description), utilizations.get(description));
+    var valid = new ProjectionPolygon(polygonRecord, species.get(description), utilizations.get(description));
+
+    var results = project(objectMapper.writeValueAsString(invalid) + "\nnot json\n" + objectMapper.writeValueAsString(valid) + "\n");
+
+    assertThat(results, hasSize(3));
+    assertThat(results.get(0).status(), is(ProjectionResult.Status.FAILED));
+    assertThat(results.get(1).status(), is(ProjectionResult.Status.FAILED));
+    assertThat(results.get(2).status(), is(ProjectionResult.Status.PROCESSED));
+    assertThat(results.get(2).polygon(), startsWith(description.substring(0, DESCRIPTION_LENGTH - 4)));
+  }
+}
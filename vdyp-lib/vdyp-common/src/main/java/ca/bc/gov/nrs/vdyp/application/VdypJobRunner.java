@@ -0,0 +1,35 @@
+package ca.bc.gov.nrs.vdyp.application;
+
+import java.io.IOException;
+import java.util.List;
+
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
+
+/**
+ * Runs one application as a job of a {@link VdypJobServer}, as its <code>main</code> method would, but within the
+ * server's process.
+ * <p>
+ * Runners are found by {@link java.util.ServiceLoader}, so each application module registers its own in
+ * <code>META-INF/services</code>. A runner may run any number of jobs at the same time, each on its own thread.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+public interface VdypJobRunner {
+
+	/**
+	 * @return the application run
+	 */
+	VdypApplicationIdentifier getId();
+
+	/**
+	 * Run the application on the given control files.
+	 *
+	 * @param resolver         resolves the control files, and the files they name
+	 * @param controlFileNames the control files, in the order the application would take them on its command line
+	 * @param coefficientCache the configuration parsed by earlier jobs, which the job should use and add to
+	 */
+	void run(FileSystemFileResolver resolver, List<String> controlFileNames, CoefficientCache coefficientCache)
+			throws IOException, ResourceParseException, ProcessingException;
+}
@@ -0,0 +1,470 @@
+package ca.bc.gov.nrs.vdyp.application;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
+
+/**
+ * A long-running process that runs VDYP applications as jobs, so that the cost of starting a JVM, loading classes,
+ * compiling them and parsing the configuration files is paid once rather than by every run.
+ * <p>
+ * Jobs are run on a fixed pool of threads, each job on one thread, and every job shares the server's
+ * {@link CoefficientCache}, so that the configuration files named by a control file are parsed only by the first job to
+ * use them. The applications that may be run are those with a {@link VdypJobRunner} on the class path.
+ * <p>
+ * Jobs are submitted by {@link #submit}, or by a client connecting to the port on which the server is listening. The
+ * server accepts connections only from the local host, and only from clients that can read its token file: when it
+ * starts listening, the server writes a new random token to a file that only its owner may read, and the first line a
+ * client sends must be that token. A connection that sends anything else is closed. After the token, a client sends one
+ * job per line:
+ *
+ * <pre>
+ * &lt;application&gt; &lt;control file&gt; [&lt;control file&gt; ...]
+ * </pre>
+ *
+ * where the application is a {@link VdypApplicationIdentifier} such as <code>VRI_START</code>, and the control files
+ * are resolved against the server's working directory unless absolute. When the job is finished, the server replies
+ * with one line, giving the job's number and the time it took to run:
+ *
+ * <pre>
+ * OK &lt;job number&gt; &lt;milliseconds&gt;
+ * FAILED &lt;job number&gt; &lt;milliseconds&gt; &lt;message&gt;
+ * ERROR &lt;message&gt;
+ * </pre>
+ *
+ * the last if the request could not be understood. A client may send any number of jobs on one connection, each after
+ * the reply to the one before; to run jobs at the same time, it opens more connections.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+public class VdypJobServer implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(VdypJobServer.class);
+
+	/**
+	 * System property giving the port on which the server listens. If absent, {@link #DEFAULT_PORT}.
+	 */
+	public static final String PORT_PROPERTY = "vdyp.jobs.port";
+
+	public static final int DEFAULT_PORT = 7370;
+
+	/**
+	 * System property giving the file to which the server writes the token clients must send. If absent,
+	 * {@link #DEFAULT_TOKEN_FILE} in the user's home directory.
+	 */
+	public static final String TOKEN_FILE_PROPERTY = "vdyp.jobs.tokenFile";
+
+	public static final String DEFAULT_TOKEN_FILE = ".vdyp-jobs.token";
+
+	/**
+	 * Milliseconds a client has to send the token after connecting
+	 */
+	static final int AUTHENTICATION_TIMEOUT = 10_000;
+
+	private static final int TOKEN_BYTES = 32;
+
+	/**
+	 * System property giving the number of jobs that may run at the same time. If absent, the number of processors.
+	 */
+	public static final String N_THREADS_PROPERTY = "vdyp.jobs.threads";
+
+	/**
+	 * System property giving the number of configurations held by the coefficient cache. If absent,
+	 * {@link #DEFAULT_COEFFICIENT_CACHE_SIZE}.
+	 */
+	public static final String COEFFICIENT_CACHE_SIZE_PROPERTY = "vdyp.jobs.coefficientCache.size";
+
+	public static final int DEFAULT_COEFFICIENT_CACHE_SIZE = 4;
+
+	/**
+	 * The outcome of a job.
+	 *
+	 * @param jobNumber    the number of the job, in the order submitted
+	 * @param application  the application run
+	 * @param milliseconds the time taken to run the job, not including the time it waited for a thread
+	 * @param failure      why the job failed, if it did
+	 */
+	public record JobResult(
+			long jobNumber, VdypApplicationIdentifier application, long milliseconds, Optional<Exception> failure
+	) {
+		public boolean succeeded() {
+			return failure.isEmpty();
+		}
+	}
+
+	private final Map<VdypApplicationIdentifier, VdypJobRunner> runners = new EnumMap<>(
+			VdypApplicationIdentifier.class
+	);
+	private final FileSystemFileResolver resolver;
+	private final CoefficientCache coefficientCache;
+
+	private final ExecutorService jobExecutor;
+	private final ExecutorService connectionExecutor;
+
+	private final AtomicLong jobNumbers = new AtomicLong();
+	private final CountDownLatch closed = new CountDownLatch(1);
+
+	private ServerSocket serverSocket;
+	private Path tokenFile;
+	private byte[] token;
+
+	/**
+	 * Create a server.
+	 *
+	 * @param runners          the applications that may be run
+	 * @param nThreads         the number of jobs that may run at the same time. Must be at least 1.
+	 * @param resolver         resolves the control files of the jobs
+	 * @param coefficientCache the configuration shared by the jobs
+	 */
+	public VdypJobServer(
+			Collection<? extends VdypJobRunner> runners, int nThreads, FileSystemFileResolver resolver,
+			CoefficientCache coefficientCache
+	) {
+		if (nThreads < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The number of threads must be at least one; it is {0}", nThreads)
+			);
+		}
+
+		for (var runner : runners) {
+			this.runners.put(runner.getId(), runner);
+		}
+		this.resolver = resolver;
+		this.coefficientCache = coefficientCache;
+
+		this.jobExecutor = Executors.newFixedThreadPool(nThreads, new DaemonThreadFactory("vdyp-job-"));
+		this.connectionExecutor = Executors.newCachedThreadPool(new DaemonThreadFactory("vdyp-job-connection-"));
+	}
+
+	/**
+	 * @return the runners registered on the class path by the application modules
+	 */
+	public static List<VdypJobRunner> findRunners() {
+		List<VdypJobRunner> result = new ArrayList<>();
+		ServiceLoader.load(VdypJobRunner.class).forEach(result::add);
+		return result;
+	}
+
+	@SuppressWarnings("java:S106")
+	public static void main(final String... args) {
+
+		VdypJobServer server = null;
+		int port;
+		try {
+			port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+
+			var runners = findRunners();
+			if (runners.isEmpty()) {
+				throw new IllegalStateException("No VDYP applications were found on the class path");
+			}
+
+			server = new VdypJobServer(
+					runners, Integer.getInteger(N_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+					new FileSystemFileResolver(),
+					new CoefficientCache(
+							Integer.getInteger(COEFFICIENT_CACHE_SIZE_PROPERTY, DEFAULT_COEFFICIENT_CACHE_SIZE)
+					)
+			);
+
+			var tokenFile = Path.of(
+					System.getProperty(
+							TOKEN_FILE_PROPERTY, Path.of(System.getProperty("user.home"), DEFAULT_TOKEN_FILE).toString()
+					)
+			);
+
+			port = server.listen(port, tokenFile);
+			log.info("Accepting {} jobs on port {} with the token in {}", server.runners.keySet(), port, tokenFile);
+		} catch (Exception ex) {
+			log.error("Error during initialization", ex);
+			System.exit(VdypStartApplication.CONFIG_LOAD_ERROR);
+			return;
+		}
+
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+		try {
+			server.awaitClose();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Submit a job.
+	 *
+	 * @param application      the application to run
+	 * @param controlFileNames its control files
+	 * @return the outcome of the job, once it has run
+	 * @throws IllegalArgumentException if the application can not be run by this server, or there are no control files
+	 */
+	public Future<JobResult> submit(VdypApplicationIdentifier application, List<String> controlFileNames) {
+		var runner = runners.get(application);
+		if (runner == null) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("Application {0} can not be run by this server", application)
+			);
+		}
+		if (controlFileNames.isEmpty()) {
+			throw new IllegalArgumentException("At least one control file must be specified.");
+		}
+
+		long jobNumber = jobNumbers.incrementAndGet();
+		List<String> controlFiles = List.copyOf(controlFileNames);
+
+		return jobExecutor.submit(() -> run(jobNumber, runner, controlFiles));
+	}
+
+	private JobResult run(long jobNumber, VdypJobRunner runner, List<String> controlFileNames) {
+		log.atInfo().setMessage("Job {}: running {} on {}").addArgument(jobNumber).addArgument(runner.getId())
+				.addArgument(controlFileNames).log();
+
+		long start = System.nanoTime();
+		Optional<Exception> failure;
+		try {
+			runner.run(resolver, controlFileNames, coefficientCache);
+			failure = Optional.empty();
+		} catch (IOException | ResourceParseException | ProcessingException | RuntimeException ex) {
+			failure = Optional.of(ex);
+		}
+		long milliseconds = (System.nanoTime() - start) / 1_000_000;
+
+		if (failure.isPresent()) {
+			log.atError().setMessage("Job {}: {} failed after {} ms").addArgument(jobNumber).addArgument(runner.getId())
+					.addArgument(milliseconds).setCause(failure.get()).log();
+		} else {
+			log.atInfo().setMessage("Job {}: {} completed in {} ms").addArgument(jobNumber).addArgument(runner.getId())
+					.addArgument(milliseconds).log();
+		}
+		log.atDebug().setMessage("Coefficient cache: {} hits, {} misses").addArgument(coefficientCache.getHits())
+				.addArgument(coefficientCache.getMisses()).log();
+
+		return new JobResult(jobNumber, runner.getId(), milliseconds, failure);
+	}
+
+	/**
+	 * Listen for jobs on a port of the local host, from clients that send the token written to the token file. Any
+	 * existing token file is replaced, and the file is deleted when the server is closed.
+	 *
+	 * @param port      the port, or 0 for any free port
+	 * @param tokenFile the file to which the token is written
+	 * @return the port on which the server is listening
+	 * @throws IOException           if the token file can not be written or the port can not be listened on
+	 * @throws IllegalStateException if the server is already listening
+	 */
+	public synchronized int listen(int port, Path tokenFile) throws IOException {
+		if (serverSocket != null) {
+			throw new IllegalStateException("The server is already listening");
+		}
+
+		token = newToken();
+		writeTokenFile(tokenFile, token);
+		this.tokenFile = tokenFile;
+
+		serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+		var socket = serverSocket;
+		var acceptor = new Thread(() -> accept(socket), "vdyp-job-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+
+		return serverSocket.getLocalPort();
+	}
+
+	private static byte[] newToken() {
+		var bytes = new byte[TOKEN_BYTES];
+		new SecureRandom().nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encode(bytes);
+	}
+
+	/**
+	 * Write the token to a new file that only the owner of the process may read and write. Where the file system does
+	 * not support POSIX permissions, the file is restricted as far as {@link java.io.File} allows, relying otherwise on
+	 * the permissions of the directory it is in.
+	 */
+	private static void writeTokenFile(Path tokenFile, byte[] token) throws IOException {
+		Files.deleteIfExists(tokenFile);
+		if (tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createFile(
+					tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+			);
+		} else {
+			Files.createFile(tokenFile);
+			var file = tokenFile.toFile();
+			if (! (file.setReadable(false, false) && file.setReadable(true, true) && file.setWritable(false, false)
+					&& file.setWritable(true, true))) {
+				log.warn("Could not restrict access to token file {} to its owner", tokenFile);
+			}
+		}
+		Files.write(tokenFile, token);
+	}
+
+	private void accept(ServerSocket socket) {
+		while (!socket.isClosed()) {
+			try {
+				var connection = socket.accept();
+				connectionExecutor.execute(() -> serve(connection));
+			} catch (IOException ex) {
+				if (!socket.isClosed()) {
+					log.atWarn().setMessage("Error accepting a connection").setCause(ex).log();
+				}
+			}
+		}
+	}
+
+	private void serve(Socket connection) {
+		try (
+				connection;
+				var reader = new BufferedReader(
+						new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)
+				);
+				var writer = new PrintWriter(
+						new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)
+				)
+		) {
+			connection.setSoTimeout(AUTHENTICATION_TIMEOUT);
+			if (!authenticate(reader.readLine())) {
+				log.atWarn().setMessage("Rejected a connection that did not send the token").log();
+				writer.print("ERROR Not authorized\n");
+				writer.flush();
+				return;
+			}
+			connection.setSoTimeout(0);
+
+			String request;
+			while ( (request = reader.readLine()) != null) {
+				if (!request.isBlank()) {
+					writer.print(respond(request));
+					writer.print('\n');
+					writer.flush();
+				}
+			}
+		} catch (IOException ex) {
+			log.atWarn().setMessage("Error serving a connection").setCause(ex).log();
+		}
+	}
+
+	private boolean authenticate(String line) {
+		return line != null && MessageDigest.isEqual(line.strip().getBytes(StandardCharsets.UTF_8), token);
+	}
+
+	/**
+	 * Run the job requested by a line sent by a client, and return the reply.
+	 */
+	String respond(String request) {
+		var words = request.strip().split("\\s+");
+
+		Future<JobResult> job;
+		try {
+			job = submit(VdypApplicationIdentifier.valueOf(words[0]), Arrays.asList(words).subList(1, words.length));
+		} catch (IllegalArgumentException ex) {
+			return "ERROR " + singleLine(ex.getMessage());
+		}
+
+		try {
+			var result = job.get();
+			if (result.succeeded()) {
+				return MessageFormat.format("OK {0,number,#} {1,number,#}", result.jobNumber(), result.milliseconds());
+			} else {
+				return MessageFormat.format(
+						"FAILED {0,number,#} {1,number,#} {2}", result.jobNumber(), result.milliseconds(),
+						singleLine(result.failure().get().toString())
+				);
+			}
+		} catch (ExecutionException ex) {
+			return "ERROR " + singleLine(ex.getCause().toString());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			job.cancel(true);
+			return "ERROR Interrupted";
+		}
+	}
+
+	private static String singleLine(String message) {
+		return String.valueOf(message).replaceAll("\\s+", " ");
+	}
+
+	/**
+	 * Wait until the server has been closed.
+	 */
+	public void awaitClose() throws InterruptedException {
+		closed.await();
+	}
+
+	/**
+	 * Stop listening, delete the token file, and stop any jobs that are running.
+	 */
+	@Override
+	public synchronized void close() {
+		if (serverSocket != null) {
+			try {
+				serverSocket.close();
+			} catch (IOException ex) {
+				log.atWarn().setMessage("Error closing the server socket").setCause(ex).log();
+			}
+		}
+		if (tokenFile != null) {
+			try {
+				Files.deleteIfExists(tokenFile);
+			} catch (IOException ex) {
+				log.atWarn().setMessage("Error deleting the token file").setCause(ex).log();
+			}
+		}
+		connectionExecutor.shutdownNow();
+		jobExecutor.shutdownNow();
+		closed.countDown();
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final String prefix;
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		DaemonThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			var thread = new Thread(r, prefix + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
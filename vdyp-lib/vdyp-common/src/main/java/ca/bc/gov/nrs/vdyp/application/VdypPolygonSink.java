@@ -0,0 +1,19 @@
+package ca.bc.gov.nrs.vdyp.application;
+
+import ca.bc.gov.nrs.vdyp.model.VdypPolygon;
+
+/**
+ * Receives the polygons produced by a {@link VdypStartApplication}, in the order in which they are produced, as an
+ * alternative or in addition to their being written to the VRI adjust input files.
+ */
+@FunctionalInterface
+public interface VdypPolygonSink {
+
+	/**
+	 * Accept a polygon. The polygon is no longer used by the application once it has been accepted.
+	 *
+	 * @param polygon the polygon produced
+	 * @throws ProcessingException if the polygon could not be accepted; processing stops
+	 */
+	void accept(VdypPolygon polygon) throws ProcessingException;
+}
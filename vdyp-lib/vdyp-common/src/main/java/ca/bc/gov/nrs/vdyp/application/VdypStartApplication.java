@@ -15,17 +15,26 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
@@ -41,10 +50,12 @@ import ca.bc.gov.nrs.vdyp.common.ReconcilationMethods;
 import ca.bc.gov.nrs.vdyp.common.Utils;
 import ca.bc.gov.nrs.vdyp.common.ValueOrMarker;
 import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
+import ca.bc.gov.nrs.vdyp.io.FileResolver;
 import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
 import ca.bc.gov.nrs.vdyp.io.parse.coe.UpperCoefficientParser;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.control.BaseControlParser;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
 import ca.bc.gov.nrs.vdyp.io.write.VriAdjustInputWriter;
@@ -56,6 +67,7 @@ import ca.bc.gov.nrs.vdyp.model.BaseVdypSpecies;
 import ca.bc.gov.nrs.vdyp.model.BecDefinition;
 import ca.bc.gov.nrs.vdyp.model.Coefficients;
 import ca.bc.gov.nrs.vdyp.model.CompatibilityVariableMode;
+import ca.bc.gov.nrs.vdyp.model.FloatMatrixMap2Impl;
 import ca.bc.gov.nrs.vdyp.model.InputLayer;
 import ca.bc.gov.nrs.vdyp.model.LayerType;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap;
@@ -65,6 +77,7 @@ import ca.bc.gov.nrs.vdyp.model.Region;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
 import ca.bc.gov.nrs.vdyp.model.UtilizationVector;
 import ca.bc.gov.nrs.vdyp.model.VdypLayer;
+import ca.bc.gov.nrs.vdyp.model.VdypPolygon;
 import ca.bc.gov.nrs.vdyp.model.VdypSpecies;
 import ca.bc.gov.nrs.vdyp.model.VdypUtilizationHolder;
 import ca.bc.gov.nrs.vdyp.model.VolumeComputeMode;
@@ -79,6 +92,15 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 
 	public static final float LOW_CROWN_CLOSURE = 10f;
 
+	/**
+	 * System property giving the number of threads on which polygons are processed. If absent, polygons are processed
+	 * one at a time.
+	 */
+	public static final String N_THREADS_PROPERTY = "vdyp.start.threads";
+
+	/** The number of polygons per thread that may be read but not yet written */
+	private static final int POLYGONS_IN_FLIGHT_PER_THREAD = 4;
+
 	static final Map<String, Integer> ITG_PURE = Utils.constMap(map -> {
 		map.put("AC", 36);
 		map.put("AT", 42);
@@ -101,6 +123,12 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 	// TODO Should probably handle this with enums instead for clarity.
 	private int[] debugModes = new int[25];
 
+	/**
+	 * The number of threads on which polygons are processed. If one (or less), polygons are processed on the thread
+	 * calling {@link #process()}.
+	 */
+	private int nThreads = 1;
+
 	public int getDebugMode(int index) {
 		return debugModes[index];
 	}
@@ -114,7 +142,28 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 	protected static void doMain(VdypStartApplication<?, ?, ?, ?> app, final String... args) {
 		var resolver = new FileSystemFileResolver();
 
+		if (args.length > 0 && args[0].equals(BaseControlParser.COMPILE_COEFFICIENTS_OPTION)) {
+			try {
+				if (args.length < 3) {
+					throw new IllegalArgumentException(
+							MessageFormat.format(
+									"Usage: {0} <bundle> <control file>...",
+									BaseControlParser.COMPILE_COEFFICIENTS_OPTION
+							)
+					);
+				}
+				var bundlePath = Path.of(args[1]);
+				app.compileCoefficientBundle(resolver, bundlePath, Arrays.copyOfRange(args, 2, args.length));
+				log.info("Compiled coefficient bundle {}", bundlePath);
+			} catch (Exception ex) {
+				log.error("Error while compiling coefficient bundle", ex);
+				System.exit(CONFIG_LOAD_ERROR);
+			}
+			return;
+		}
+
 		try {
+			app.setThreads(Integer.getInteger(N_THREADS_PROPERTY, 1));
 			app.init(resolver, args);
 		} catch (Exception ex) {
 			log.error("Error during initialization", ex);
@@ -166,6 +215,21 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 
 	protected VriAdjustInputWriter vriWriter;
 
+	/**
+	 * Whether the polygons produced are written to the VRI adjust input files. If not, no writer is opened.
+	 */
+	private boolean writeOutputFiles = true;
+
+	/**
+	 * Receives the polygons produced, if not null
+	 */
+	private VdypPolygonSink polygonSink;
+
+	/**
+	 * Holds the configuration parsed by other runs in this process, if not null
+	 */
+	private CoefficientCache coefficientCache;
+
 	protected Map<String, Object> controlMap = new HashMap<>();
 
 	public EstimationMethods estimationMethods;
@@ -201,6 +265,10 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 		}
 
 		BaseControlParser parser = getControlFileParser();
+		parser.setCoefficientBundlePathFromSystemProperty();
+		if (coefficientCache != null) {
+			parser.setCoefficientCache(coefficientCache);
+		}
 		List<InputStream> resources = new ArrayList<>(controlFilePaths.length);
 		try {
 			for (String path : controlFilePaths) {
@@ -216,6 +284,22 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 		}
 	}
 
+	/**
+	 * Compile the configuration named by the control files into a coefficient bundle, which runs given the same control
+	 * files can take their configuration from. The application is not initialized.
+	 *
+	 * @param resolver         resolves the control files, and the files named in them
+	 * @param bundlePath       the location of the bundle
+	 * @param controlFilePaths the control files
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 * @see BaseControlParser#COEFFICIENT_BUNDLE_PROPERTY
+	 */
+	public void compileCoefficientBundle(FileResolver resolver, Path bundlePath, String... controlFilePaths)
+			throws IOException, ResourceParseException {
+		getControlFileParser().compileCoefficientBundle(resolver, Arrays.asList(controlFilePaths), bundlePath);
+	}
+
 	/**
 	 * Initialize application
 	 *
@@ -226,7 +310,240 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 
 		setControlMap(controlMap);
 		closeVriWriter();
-		vriWriter = new VriAdjustInputWriter(controlMap, resolver);
+		if (writeOutputFiles) {
+			vriWriter = new VriAdjustInputWriter(controlMap, resolver);
+		}
+	}
+
+	/**
+	 * Set whether the polygons produced are written to the VRI adjust input files. This must be set before the
+	 * application is initialized, and there is little point in not writing them unless a {@link VdypPolygonSink} has
+	 * been set.
+	 *
+	 * @param writeOutputFiles whether to write the files. By default they are written.
+	 */
+	public void setWriteOutputFiles(boolean writeOutputFiles) {
+		this.writeOutputFiles = writeOutputFiles;
+	}
+
+	/**
+	 * Set the sink to which each polygon produced is passed after it has been written, if it is written.
+	 *
+	 * @param polygonSink the sink, or null for none
+	 */
+	public void setPolygonSink(VdypPolygonSink polygonSink) {
+		this.polygonSink = polygonSink;
+	}
+
+	/**
+	 * Set the cache from which the configuration named by the control files is taken, if it holds it, when the
+	 * application is initialized from control files.
+	 *
+	 * @param coefficientCache the cache, or null for none
+	 */
+	public void setCoefficientCache(CoefficientCache coefficientCache) {
+		this.coefficientCache = coefficientCache;
+	}
+
+	/**
+	 * Set the number of threads on which polygons are processed. Polygons are still read, and their results written,
+	 * one at a time and in input order, on the thread calling {@link #process()}; only the processing of each polygon
+	 * is done on the other threads, so it must not depend on the polygons processed before it.
+	 *
+	 * @param nThreads the number of threads. If one, polygons are processed on the calling thread.
+	 */
+	public void setThreads(int nThreads) {
+		if (nThreads < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The number of threads must be at least one; it is {0}", nThreads)
+			);
+		}
+		this.nThreads = nThreads;
+	}
+
+	/**
+	 * @return the number of threads on which polygons are processed
+	 */
+	public int getThreads() {
+		return nThreads;
+	}
+
+	/**
+	 * Reads the next polygon from the input files.
+	 */
+	@FunctionalInterface
+	protected interface PolygonReader<P> {
+		/**
+		 * @return the next polygon, or empty if there are no more
+		 */
+		Optional<P> next() throws ProcessingException, IOException, ResourceParseException;
+	}
+
+	/**
+	 * Processes a polygon read from the input files.
+	 */
+	@FunctionalInterface
+	protected interface PolygonProcessor<P> {
+		/**
+		 * @param polygonsRead the number of the polygon, for logging
+		 * @param polygon      the polygon read
+		 * @return the polygon produced, or empty if the polygon is not to be processed
+		 * @throws StandProcessingException if the polygon could not be processed, in which case it is bypassed
+		 */
+		Optional<VdypPolygon> process(int polygonsRead, P polygon) throws ProcessingException;
+	}
+
+	/**
+	 * Read each polygon from the input files, process it, and write the polygon produced, if any. Polygons that can not
+	 * be processed are bypassed.
+	 * <p>
+	 * If more than one thread has been set, polygons are processed on a pool of that many threads, while they are read
+	 * and written on the calling thread, in input order. The number read but not yet written is bounded, so that a
+	 * single slow polygon can not cause the remainder of the input to be read into memory.
+	 *
+	 * @param reader    reads the polygons
+	 * @param processor processes each polygon
+	 * @throws ProcessingException if a polygon could not be read, processed, or written, other than by being bypassed
+	 */
+	protected void processPolygons(PolygonReader<P> reader, PolygonProcessor<P> processor)
+			throws ProcessingException, IOException, ResourceParseException {
+		if (nThreads > 1) {
+			processPolygonsInParallel(reader, processor);
+			return;
+		}
+
+		int polygonsRead = 0;
+		int polygonsWritten = 0;
+		Optional<P> polygon;
+
+		// FIP_GET
+		log.atInfo().setMessage("Getting polygon {}").addArgument(polygonsRead + 1).log();
+		while ( (polygon = reader.next()).isPresent()) {
+			try {
+				var resultPoly = processor.process(polygonsRead, polygon.get());
+				if (resultPoly.isPresent()) {
+					polygonsRead++;
+
+					// Output
+					writePolygon(resultPoly.get());
+
+					polygonsWritten++;
+				}
+
+				log.atInfo().setMessage("Read {} polygons and wrote {}").addArgument(polygonsRead)
+						.addArgument(polygonsWritten).log();
+
+			} catch (StandProcessingException ex) {
+				// TODO include some sort of hook for different forms of user output
+				// TODO Implement single stand mode that propagates the exception
+
+				log.atWarn().setMessage("Polygon {} bypassed").addArgument(polygon.get().getPolygonIdentifier())
+						.setCause(ex).log();
+			}
+
+			log.atInfo().setMessage("Getting polygon {}").addArgument(polygonsRead + 1).log();
+		}
+	}
+
+	private void processPolygonsInParallel(PolygonReader<P> reader, PolygonProcessor<P> processor)
+			throws ProcessingException, IOException, ResourceParseException {
+
+		log.atInfo().setMessage("Processing polygons with {} threads").addArgument(nThreads).log();
+
+		record Task<P>(P polygon, Future<Optional<VdypPolygon>> result) {
+		}
+
+		int maxInFlight = nThreads * POLYGONS_IN_FLIGHT_PER_THREAD;
+		Deque<Task<P>> inFlight = new ArrayDeque<>(maxInFlight);
+		int[] counts = new int[2]; // polygons processed, polygons written
+
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads, new WorkerThreadFactory());
+		try {
+			int polygonsRead = 0;
+			Optional<P> polygon;
+			while ( (polygon = reader.next()).isPresent()) {
+				var p = polygon.get();
+				int sequenceNumber = polygonsRead++;
+				inFlight.addLast(new Task<>(p, executor.submit(() -> processor.process(sequenceNumber, p))));
+
+				// Write those that are done, and wait for the oldest if too many are waiting.
+				while (!inFlight.isEmpty()
+						&& (inFlight.size() >= maxInFlight || inFlight.peekFirst().result().isDone())) {
+					var task = inFlight.removeFirst();
+					writeResult(task.polygon(), task.result(), counts);
+				}
+			}
+
+			while (!inFlight.isEmpty()) {
+				var task = inFlight.removeFirst();
+				writeResult(task.polygon(), task.result(), counts);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void writeResult(P polygon, Future<Optional<VdypPolygon>> result, int[] counts)
+			throws ProcessingException, IOException {
+		try {
+			var resultPoly = result.get();
+			if (resultPoly.isPresent()) {
+				counts[0]++;
+
+				writePolygon(resultPoly.get());
+
+				counts[1]++;
+			}
+
+			log.atInfo().setMessage("Read {} polygons and wrote {}").addArgument(counts[0]).addArgument(counts[1])
+					.log();
+
+		} catch (ExecutionException ex) {
+			var cause = ex.getCause();
+			if (cause instanceof StandProcessingException spe) {
+				log.atWarn().setMessage("Polygon {} bypassed").addArgument(polygon.getPolygonIdentifier()).setCause(spe)
+						.log();
+			} else if (cause instanceof ProcessingException pe) {
+				throw pe;
+			} else if (cause instanceof RuntimeException re) {
+				throw re;
+			} else {
+				throw new ProcessingException(cause);
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ProcessingException("Interrupted while waiting for polygons to be processed", ex);
+		}
+	}
+
+	private static class WorkerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			var thread = new Thread(r, "vdyp-start-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Output a polygon produced by the application: write it to the VRI adjust input files, if they are being written,
+	 * and pass it to the sink, if there is one.
+	 *
+	 * @param polygon the polygon produced
+	 * @throws IOException         if the polygon could not be written
+	 * @throws ProcessingException if the sink did not accept the polygon
+	 */
+	protected void writePolygon(VdypPolygon polygon) throws IOException, ProcessingException {
+		var writer = getVriWriter();
+		if (writer != null) {
+			writer.writePolygonWithSpeciesAndUtilization(polygon);
+		}
+		if (polygonSink != null) {
+			polygonSink.accept(polygon);
+		}
 	}
 
 	protected abstract BaseControlParser getControlFileParser();
@@ -575,7 +892,7 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 			baseArea = a00 * FloatMath.pow(crownClosure / 100, coe.getCoe(7) + coe.getCoe(8) * FloatMath.log(height))
 					* FloatMath.pow(fHeight, ap) * exp(coe.getCoe(5) * height + coe.getCoe(6) * baseAreaOverstory);
 
-			baseArea *= modMap.get(leadGenus.getGenus(), bec.getRegion());
+			baseArea *= FloatMatrixMap2Impl.getFloat(modMap, leadGenus.getGenus(), bec.getRegion());
 
 			// TODO
 			var NDEBUG_1 = 0;
@@ -878,7 +1195,7 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 		/* @formatter:off */
 		//      DQ = DQ * DQMOD200(JLEAD, INDEX_IC)
 		/* @formatter:on */
-		quadMeanDiameter *= modMap.get(leadGenus.getGenus(), bec.getRegion());
+		quadMeanDiameter *= FloatMatrixMap2Impl.getFloat(modMap, leadGenus.getGenus(), bec.getRegion());
 
 		quadMeanDiameter = max(quadMeanDiameter, 7.6f);
 
@@ -1456,44 +1773,38 @@ public abstract class VdypStartApplication<P extends BaseVdypPolygon<L, Optional
 				var adjust = new Coefficients(new float[] { 0f, 0f, 0f, 0f }, 1);
 
 				// EMP091
-				EstimationMethods.estimateWholeStemVolume(
-						controlMap, utilizationClass, volumeAdjustCoe.getCoe(1), vdypSpecies.getVolumeGroup(), hlSp,
+				estimationMethods.estimateWholeStemVolume(
+						utilizationClass, volumeAdjustCoe.getCoe(1), vdypSpecies.getVolumeGroup(), hlSp,
 						quadMeanDiameterUtil, baseAreaUtil, wholeStemVolumeUtil
 				);
 
 				adjust.setCoe(4, volumeAdjustCoe.getCoe(2));
 				// EMP092
-				EstimationMethods.estimateCloseUtilizationVolume(
-						controlMap, utilizationClass, adjust, vdypSpecies.getVolumeGroup(), hlSp, quadMeanDiameterUtil,
+				estimationMethods.estimateCloseUtilizationVolume(
+						utilizationClass, adjust, vdypSpecies.getVolumeGroup(), hlSp, quadMeanDiameterUtil,
 						wholeStemVolumeUtil, closeUtilizationVolumeUtil
 				);
 
 				adjust.setCoe(4, volumeAdjustCoe.getCoe(3));
 				// EMP093
-				EstimationMethods.estimateNetDecayVolume(
-						controlMap, vdypSpecies.getGenus(), bec.getRegion(), utilizationClass, adjust,
-						vdypSpecies.getDecayGroup(), vdypLayer.getBreastHeightAge().orElse(0f), quadMeanDiameterUtil,
-						closeUtilizationVolumeUtil, closeUtilizationNetOfDecayUtil
+				estimationMethods.estimateNetDecayVolume(
+						vdypSpecies.getGenus(), bec.getRegion(), utilizationClass, adjust, vdypSpecies.getDecayGroup(),
+						vdypLayer.getBreastHeightAge().orElse(0f), quadMeanDiameterUtil, closeUtilizationVolumeUtil,
+						closeUtilizationNetOfDecayUtil
 				);
 
 				adjust.setCoe(4, volumeAdjustCoe.getCoe(4));
 				// EMP094
-				final var netDecayCoeMap = Utils.<Map<String, Coefficients>>expectParsedControl(
-						controlMap, ControlKey.VOLUME_NET_DECAY_WASTE, java.util.Map.class
-				);
-				final var wasteModifierMap = Utils.<MatrixMap2<String, Region, Float>>expectParsedControl(
-						controlMap, ControlKey.WASTE_MODIFIERS, ca.bc.gov.nrs.vdyp.model.MatrixMap2.class
-				);
-				EstimationMethods.estimateNetDecayAndWasteVolume(
-						bec.getRegion(), utilizationClass, adjust, vdypSpecies.getGenus(), hlSp, netDecayCoeMap,
-						wasteModifierMap, quadMeanDiameterUtil, closeUtilizationVolumeUtil,
-						closeUtilizationNetOfDecayUtil, closeUtilizationNetOfDecayAndWasteUtil
+				estimationMethods.estimateNetDecayAndWasteVolume(
+						bec.getRegion(), utilizationClass, adjust, vdypSpecies.getGenus(), hlSp, quadMeanDiameterUtil,
+						closeUtilizationVolumeUtil, closeUtilizationNetOfDecayUtil,
+						closeUtilizationNetOfDecayAndWasteUtil
 				);
 
 				if (getId().isStart()) {
 					// EMP095
-					EstimationMethods.estimateNetDecayWasteAndBreakageVolume(
-							controlMap, utilizationClass, vdypSpecies.getBreakageGroup(), quadMeanDiameterUtil,
+					estimationMethods.estimateNetDecayWasteAndBreakageVolume(
+							utilizationClass, vdypSpecies.getBreakageGroup(), quadMeanDiameterUtil,
 							closeUtilizationVolumeUtil, closeUtilizationNetOfDecayAndWasteUtil,
 							closeUtilizationNetOfDecayWasteAndBreakageUtil
 					);
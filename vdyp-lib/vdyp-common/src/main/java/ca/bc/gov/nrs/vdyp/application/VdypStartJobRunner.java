@@ -0,0 +1,54 @@
+package ca.bc.gov.nrs.vdyp.application;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
+
+/**
+ * Runs a {@link VdypStartApplication} as a job: a new instance of the application is initialized from the job's control
+ * files, processes its polygons on the job's thread, and is closed.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+public class VdypStartJobRunner implements VdypJobRunner {
+
+	private final VdypApplicationIdentifier id;
+	private final Supplier<? extends VdypStartApplication<?, ?, ?, ?>> applicationFactory;
+
+	/**
+	 * @param id                 the application run
+	 * @param applicationFactory creates a new instance of the application for each job
+	 */
+	protected VdypStartJobRunner(
+			VdypApplicationIdentifier id, Supplier<? extends VdypStartApplication<?, ?, ?, ?>> applicationFactory
+	) {
+		this.id = id;
+		this.applicationFactory = applicationFactory;
+	}
+
+	@Override
+	public VdypApplicationIdentifier getId() {
+		return id;
+	}
+
+	/**
+	 * @return a new, uninitialized instance of the application
+	 */
+	public VdypStartApplication<?, ?, ?, ?> newApplication() {
+		return applicationFactory.get();
+	}
+
+	@Override
+	public void run(FileSystemFileResolver resolver, List<String> controlFileNames, CoefficientCache coefficientCache)
+			throws IOException, ResourceParseException, ProcessingException {
+		try (var app = newApplication()) {
+			app.setCoefficientCache(coefficientCache);
+			app.init(resolver, controlFileNames.toArray(String[]::new));
+			app.process();
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package ca.bc.gov.nrs.vdyp.common;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.model.BecLookup;
+import ca.bc.gov.nrs.vdyp.model.Coefficients;
+import ca.bc.gov.nrs.vdyp.model.CompVarAdjustments;
+import ca.bc.gov.nrs.vdyp.model.MatrixMap2;
+import ca.bc.gov.nrs.vdyp.model.MatrixMap3;
+import ca.bc.gov.nrs.vdyp.model.NonprimaryHLCoefficients;
+import ca.bc.gov.nrs.vdyp.model.Region;
+
+/**
+ * The coefficient tables of a parsed control map, extracted and type-checked once.
+ * <p>
+ * A context is built from a fully parsed control map and, once built, does not change; in particular, it does not
+ * observe later changes to the control map from which it was built. The maps it returns are read-only views, so a
+ * single context may be shared by any number of engines running on any number of threads. The {@link Coefficients} held
+ * in them are not copied, however, and are shared by every engine: callers must not modify them, and must use the
+ * methods that return new coefficients, such as {@link Coefficients#scalar}, rather than those that work in place.
+ * <p>
+ * Control map entries that are absent are tolerated at construction time, so that a context can be built from the
+ * partial control maps used by the individual applications; requesting such an entry throws an
+ * {@link IllegalStateException}, exactly as {@link Utils#expectParsedControl} would.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public final class CoefficientContext {
+
+	private final BecLookup becLookup;
+	private final GenusDefinitionMap genusDefinitionMap;
+
+	private final MatrixMap2<String, String, Integer> volumeEquationGroups;
+	private final MatrixMap2<String, String, Integer> decayEquationGroups;
+	private final MatrixMap2<String, String, Integer> breakageEquationGroups;
+
+	private final MatrixMap2<String, Region, SiteIndexEquation> siteCurveMap;
+	private final CompVarAdjustments compVarAdjustments;
+
+	private final MatrixMap2<String, Region, Coefficients> hlPrimarySpeciesEqnP1Coefficients;
+	private final MatrixMap2<String, Region, Coefficients> hlPrimarySpeciesEqnP2Coefficients;
+	private final MatrixMap3<String, String, Region, Optional<NonprimaryHLCoefficients>> hlNonPrimaryCoefficients;
+
+	private final Map<String, Coefficients> bySpeciesDqCoefficients;
+	private final MatrixMap2<String, Region, Coefficients> speciesComponentSizeLimits;
+
+	private final MatrixMap3<Integer, String, String, Coefficients> basalAreaUtilizationComponentMap;
+	private final MatrixMap3<Integer, String, String, Coefficients> quadMeanDiameterUtilizationComponentMap;
+	private final MatrixMap2<Integer, Integer, Optional<Coefficients>> wholeStemUtilizationComponentMap;
+
+	private final Map<String, Coefficients> smallComponentProbabilityCoefficients;
+	private final Map<String, Coefficients> smallComponentBasalAreaCoefficients;
+	private final Map<String, Coefficients> smallComponentQuadMeanDiameterCoefficients;
+	private final Map<String, Coefficients> smallComponentLoreyHeightCoefficients;
+	private final Map<String, Coefficients> smallComponentWholeStemVolumeCoefficients;
+
+	private final Map<Integer, Coefficients> totalStandWholeStemVolumeCoeMap;
+	private final MatrixMap2<Integer, Integer, Optional<Coefficients>> closeUtilizationCoeMap;
+	private final MatrixMap2<Integer, Integer, Optional<Coefficients>> netDecayCoeMap;
+	private final Map<String, Coefficients> netDecayWasteCoeMap;
+	private final Map<Integer, Coefficients> netBreakageCoeMap;
+
+	private final MatrixMap2<String, Region, Float> decayModifierMap;
+	private final MatrixMap2<String, Region, Float> wasteModifierMap;
+
+	/**
+	 * Build a context from the given control map, which must have been fully parsed.
+	 *
+	 * @param controlMap the parsed control map
+	 * @throws IllegalStateException if an entry of the control map is present but is not of the expected type.
+	 */
+	public CoefficientContext(Map<String, Object> controlMap) {
+		becLookup = optional(controlMap, ControlKey.BEC_DEF, BecLookup.class);
+		genusDefinitionMap = optional(controlMap, ControlKey.SP0_DEF, GenusDefinitionMap.class);
+
+		volumeEquationGroups = unmodifiable2(optional(controlMap, ControlKey.VOLUME_EQN_GROUPS, MatrixMap2.class));
+		decayEquationGroups = unmodifiable2(optional(controlMap, ControlKey.DECAY_GROUPS, MatrixMap2.class));
+		breakageEquationGroups = unmodifiable2(optional(controlMap, ControlKey.BREAKAGE_GROUPS, MatrixMap2.class));
+
+		siteCurveMap = unmodifiable2(optional(controlMap, ControlKey.SITE_CURVE_NUMBERS, MatrixMap2.class));
+		compVarAdjustments = optional(controlMap, ControlKey.PARAM_ADJUSTMENTS, CompVarAdjustments.class);
+
+		hlPrimarySpeciesEqnP1Coefficients = unmodifiable2(
+				optional(controlMap, ControlKey.HL_PRIMARY_SP_EQN_P1, MatrixMap2.class)
+		);
+		hlPrimarySpeciesEqnP2Coefficients = unmodifiable2(
+				optional(controlMap, ControlKey.HL_PRIMARY_SP_EQN_P2, MatrixMap2.class)
+		);
+		hlNonPrimaryCoefficients = unmodifiable3(optional(controlMap, ControlKey.HL_NONPRIMARY, MatrixMap3.class));
+
+		bySpeciesDqCoefficients = unmodifiable(optional(controlMap, ControlKey.BY_SPECIES_DQ, Map.class));
+		speciesComponentSizeLimits = unmodifiable2(
+				optional(controlMap, ControlKey.SPECIES_COMPONENT_SIZE_LIMIT, MatrixMap2.class)
+		);
+
+		basalAreaUtilizationComponentMap = unmodifiable3(
+				optional(controlMap, ControlKey.UTIL_COMP_BA, MatrixMap3.class)
+		);
+		quadMeanDiameterUtilizationComponentMap = unmodifiable3(
+				optional(controlMap, ControlKey.UTIL_COMP_DQ, MatrixMap3.class)
+		);
+		wholeStemUtilizationComponentMap = unmodifiable2(
+				optional(controlMap, ControlKey.UTIL_COMP_WS_VOLUME, MatrixMap2.class)
+		);
+
+		smallComponentProbabilityCoefficients = unmodifiable(
+				optional(controlMap, ControlKey.SMALL_COMP_PROBABILITY, Map.class)
+		);
+		smallComponentBasalAreaCoefficients = unmodifiable(optional(controlMap, ControlKey.SMALL_COMP_BA, Map.class));
+		smallComponentQuadMeanDiameterCoefficients = unmodifiable(
+				optional(controlMap, ControlKey.SMALL_COMP_DQ, Map.class)
+		);
+		smallComponentLoreyHeightCoefficients = unmodifiable(optional(controlMap, ControlKey.SMALL_COMP_HL, Map.class));
+		smallComponentWholeStemVolumeCoefficients = unmodifiable(
+				optional(controlMap, ControlKey.SMALL_COMP_WS_VOLUME, Map.class)
+		);
+
+		totalStandWholeStemVolumeCoeMap = unmodifiable(
+				optional(controlMap, ControlKey.TOTAL_STAND_WHOLE_STEM_VOL, Map.class)
+		);
+		closeUtilizationCoeMap = unmodifiable2(optional(controlMap, ControlKey.CLOSE_UTIL_VOLUME, MatrixMap2.class));
+		netDecayCoeMap = unmodifiable2(optional(controlMap, ControlKey.VOLUME_NET_DECAY, MatrixMap2.class));
+		netDecayWasteCoeMap = unmodifiable(optional(controlMap, ControlKey.VOLUME_NET_DECAY_WASTE, Map.class));
+		netBreakageCoeMap = unmodifiable(optional(controlMap, ControlKey.BREAKAGE, Map.class));
+
+		decayModifierMap = unmodifiable2(optional(controlMap, ControlKey.DECAY_MODIFIERS, MatrixMap2.class));
+		wasteModifierMap = unmodifiable2(optional(controlMap, ControlKey.WASTE_MODIFIERS, MatrixMap2.class));
+	}
+
+	private static <U> U optional(Map<String, Object> controlMap, ControlKey key, Class<? super U> clazz) {
+		return Utils.<U>parsedControl(controlMap, key, clazz).orElse(null);
+	}
+
+	private static <K, V> Map<K, V> unmodifiable(Map<K, V> map) {
+		return map == null ? null : Collections.unmodifiableMap(map);
+	}
+
+	private static <K1, K2, V> MatrixMap2<K1, K2, V> unmodifiable2(MatrixMap2<K1, K2, V> map) {
+		return map == null ? null : MatrixMap2.unmodifiable(map);
+	}
+
+	private static <K1, K2, K3, V> MatrixMap3<K1, K2, K3, V> unmodifiable3(MatrixMap3<K1, K2, K3, V> map) {
+		return map == null ? null : MatrixMap3.unmodifiable(map);
+	}
+
+	private static <U> U expect(U value, ControlKey key) {
+		if (value == null) {
+			throw new IllegalStateException("Expected control map to have " + key.name());
+		}
+		return value;
+	}
+
+	public BecLookup getBecLookup() {
+		return expect(becLookup, ControlKey.BEC_DEF);
+	}
+
+	public GenusDefinitionMap getGenusDefinitionMap() {
+		return expect(genusDefinitionMap, ControlKey.SP0_DEF);
+	}
+
+	public MatrixMap2<String, String, Integer> getVolumeEquationGroups() {
+		return expect(volumeEquationGroups, ControlKey.VOLUME_EQN_GROUPS);
+	}
+
+	public MatrixMap2<String, String, Integer> getDecayEquationGroups() {
+		return expect(decayEquationGroups, ControlKey.DECAY_GROUPS);
+	}
+
+	public MatrixMap2<String, String, Integer> getBreakageEquationGroups() {
+		return expect(breakageEquationGroups, ControlKey.BREAKAGE_GROUPS);
+	}
+
+	public MatrixMap2<String, Region, SiteIndexEquation> getSiteCurveMap() {
+		return expect(siteCurveMap, ControlKey.SITE_CURVE_NUMBERS);
+	}
+
+	public CompVarAdjustments getCompVarAdjustments() {
+		return expect(compVarAdjustments, ControlKey.PARAM_ADJUSTMENTS);
+	}
+
+	public MatrixMap2<String, Region, Coefficients> getHlPrimarySpeciesEqnP1Coefficients() {
+		return expect(hlPrimarySpeciesEqnP1Coefficients, ControlKey.HL_PRIMARY_SP_EQN_P1);
+	}
+
+	public MatrixMap2<String, Region, Coefficients> getHlPrimarySpeciesEqnP2Coefficients() {
+		return expect(hlPrimarySpeciesEqnP2Coefficients, ControlKey.HL_PRIMARY_SP_EQN_P2);
+	}
+
+	public MatrixMap3<String, String, Region, Optional<NonprimaryHLCoefficients>> getHlNonPrimaryCoefficients() {
+		return expect(hlNonPrimaryCoefficients, ControlKey.HL_NONPRIMARY);
+	}
+
+	public Map<String, Coefficients> getBySpeciesDqCoefficients() {
+		return expect(bySpeciesDqCoefficients, ControlKey.BY_SPECIES_DQ);
+	}
+
+	public MatrixMap2<String, Region, Coefficients> getSpeciesComponentSizeLimits() {
+		return expect(speciesComponentSizeLimits, ControlKey.SPECIES_COMPONENT_SIZE_LIMIT);
+	}
+
+	public MatrixMap3<Integer, String, String, Coefficients> getBasalAreaUtilizationComponentMap() {
+		return expect(basalAreaUtilizationComponentMap, ControlKey.UTIL_COMP_BA);
+	}
+
+	public MatrixMap3<Integer, String, String, Coefficients> getQuadMeanDiameterUtilizationComponentMap() {
+		return expect(quadMeanDiameterUtilizationComponentMap, ControlKey.UTIL_COMP_DQ);
+	}
+
+	public MatrixMap2<Integer, Integer, Optional<Coefficients>> getWholeStemUtilizationComponentMap() {
+		return expect(wholeStemUtilizationComponentMap, ControlKey.UTIL_COMP_WS_VOLUME);
+	}
+
+	public Map<String, Coefficients> getSmallComponentProbabilityCoefficients() {
+		return expect(smallComponentProbabilityCoefficients, ControlKey.SMALL_COMP_PROBABILITY);
+	}
+
+	public Map<String, Coefficients> getSmallComponentBasalAreaCoefficients() {
+		return expect(smallComponentBasalAreaCoefficients, ControlKey.SMALL_COMP_BA);
+	}
+
+	public Map<String, Coefficients> getSmallComponentQuadMeanDiameterCoefficients() {
+		return expect(smallComponentQuadMeanDiameterCoefficients, ControlKey.SMALL_COMP_DQ);
+	}
+
+	public Map<String, Coefficients> getSmallComponentLoreyHeightCoefficients() {
+		return expect(smallComponentLoreyHeightCoefficients, ControlKey.SMALL_COMP_HL);
+	}
+
+	public Map<String, Coefficients> getSmallComponentWholeStemVolumeCoefficients() {
+		return expect(smallComponentWholeStemVolumeCoefficients, ControlKey.SMALL_COMP_WS_VOLUME);
+	}
+
+	public Map<Integer, Coefficients> getTotalStandWholeStemVolumeCoeMap() {
+		return expect(totalStandWholeStemVolumeCoeMap, ControlKey.TOTAL_STAND_WHOLE_STEM_VOL);
+	}
+
+	public MatrixMap2<Integer, Integer, Optional<Coefficients>> getCloseUtilizationCoeMap() {
+		return expect(closeUtilizationCoeMap, ControlKey.CLOSE_UTIL_VOLUME);
+	}
+
+	public MatrixMap2<Integer, Integer, Optional<Coefficients>> getNetDecayCoeMap() {
+		return expect(netDecayCoeMap, ControlKey.VOLUME_NET_DECAY);
+	}
+
+	public Map<String, Coefficients> getNetDecayWasteCoeMap() {
+		return expect(netDecayWasteCoeMap, ControlKey.VOLUME_NET_DECAY_WASTE);
+	}
+
+	public Map<Integer, Coefficients> getNetBreakageCoeMap() {
+		return expect(netBreakageCoeMap, ControlKey.BREAKAGE);
+	}
+
+	public MatrixMap2<String, Region, Float> getDecayModifierMap() {
+		return expect(decayModifierMap, ControlKey.DECAY_MODIFIERS);
+	}
+
+	public MatrixMap2<String, Region, Float> getWasteModifierMap() {
+		return expect(wasteModifierMap, ControlKey.WASTE_MODIFIERS);
+	}
+}
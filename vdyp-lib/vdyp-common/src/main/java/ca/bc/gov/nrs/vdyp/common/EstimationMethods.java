@@ -20,14 +20,13 @@ import org.slf4j.LoggerFactory;
 
 import ca.bc.gov.nrs.vdyp.application.ProcessingException;
 import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
-import ca.bc.gov.nrs.vdyp.io.parse.coe.GenusDefinitionParser;
 import ca.bc.gov.nrs.vdyp.io.parse.coe.ModifierParser;
 import ca.bc.gov.nrs.vdyp.model.BaseVdypSpecies;
 import ca.bc.gov.nrs.vdyp.model.BecDefinition;
 import ca.bc.gov.nrs.vdyp.model.Coefficients;
+import ca.bc.gov.nrs.vdyp.model.FloatMatrixMap2Impl;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap2;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap3;
-import ca.bc.gov.nrs.vdyp.model.NonprimaryHLCoefficients;
 import ca.bc.gov.nrs.vdyp.model.Region;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
 import ca.bc.gov.nrs.vdyp.model.UtilizationVector;
@@ -53,10 +52,24 @@ public class EstimationMethods {
 			oldX, newX, uc
 	) -> UtilizationClass.ALL_BUT_SMALL.contains(uc) ? newX : oldX;
 
-	Map<String, Object> controlMap;
+	private final CoefficientContext context;
 
 	public EstimationMethods(Map<String, Object> controlMap) {
-		this.controlMap = controlMap;
+		this(new CoefficientContext(controlMap));
+	}
+
+	/**
+	 * Create an instance that takes its coefficients from the given context. The context may be shared with other
+	 * instances, on any thread.
+	 *
+	 * @param context the coefficients
+	 */
+	public EstimationMethods(CoefficientContext context) {
+		this.context = context;
+	}
+
+	public CoefficientContext getContext() {
+		return context;
 	}
 
 	private static float heightMultiplier(
@@ -65,6 +78,12 @@ public class EstimationMethods {
 		final var coeMap = Utils.<MatrixMap2<String, Region, Coefficients>>expectParsedControl(
 				controlMap, ControlKey.HL_PRIMARY_SP_EQN_P1, MatrixMap2.class
 		);
+		return heightMultiplier(coeMap, genus, region, treesPerHectarePrimary);
+	}
+
+	private static float heightMultiplier(
+			MatrixMap2<String, Region, Coefficients> coeMap, String genus, Region region, float treesPerHectarePrimary
+	) {
 		var coe = coeMap.get(genus, region).reindex(0);
 		return coe.get(0) - coe.getCoe(1) + coe.getCoe(1) * exp(coe.getCoe(2) * (treesPerHectarePrimary - 100f));
 	}
@@ -80,7 +99,9 @@ public class EstimationMethods {
 	 */
 	public float
 			primaryHeightFromLeadHeight(float leadHeight, String genus, Region region, float treesPerHectarePrimary) {
-		return primaryHeightFromLeadHeight(controlMap, leadHeight, genus, region, treesPerHectarePrimary);
+		return 1.3f + (leadHeight - 1.3f) * heightMultiplier(
+				context.getHlPrimarySpeciesEqnP1Coefficients(), genus, region, treesPerHectarePrimary
+		);
 	}
 
 	/**
@@ -110,7 +131,9 @@ public class EstimationMethods {
 	public float leadHeightFromPrimaryHeight(
 			float primaryHeight, String genus, Region region, float treesPerHectarePrimary
 	) {
-		return leadHeightFromPrimaryHeight(controlMap, primaryHeight, genus, region, treesPerHectarePrimary);
+		return 1.3f + (primaryHeight - 1.3f) / heightMultiplier(
+				context.getHlPrimarySpeciesEqnP1Coefficients(), genus, region, treesPerHectarePrimary
+		);
 	}
 
 	/**
@@ -137,7 +160,9 @@ public class EstimationMethods {
 	 * @param region     Region of the polygon
 	 */
 	public float primaryHeightFromLeadHeightInitial(float leadHeight, String genus, Region region) {
-		return primaryHeightFromLeadHeightInitial(controlMap, leadHeight, genus, region);
+		return primaryHeightFromLeadHeightInitial(
+				context.getHlPrimarySpeciesEqnP2Coefficients(), leadHeight, genus, region
+		);
 	}
 
 	/**
@@ -154,6 +179,12 @@ public class EstimationMethods {
 		final var coeMap = Utils.<MatrixMap2<String, Region, Coefficients>>expectParsedControl(
 				controlMap, ControlKey.HL_PRIMARY_SP_EQN_P2, MatrixMap2.class
 		);
+		return primaryHeightFromLeadHeightInitial(coeMap, leadHeight, genus, region);
+	}
+
+	private static float primaryHeightFromLeadHeightInitial(
+			MatrixMap2<String, Region, Coefficients> coeMap, float leadHeight, String genus, Region region
+	) {
 		var coe = coeMap.get(genus, region);
 		return 1.3f + coe.getCoe(1) * pow(leadHeight - 1.3f, coe.getCoe(2));
 	}
@@ -191,15 +222,11 @@ public class EstimationMethods {
 	public float estimateNonPrimaryLoreyHeight(
 			String vspec, String vspecPrime, BecDefinition bec, float leadHeight, float primaryHeight
 	) throws ProcessingException {
-		var coeMap = Utils.<MatrixMap3<String, String, Region, Optional<NonprimaryHLCoefficients>>>expectParsedControl(
-				controlMap, ControlKey.HL_NONPRIMARY, MatrixMap3.class
-		);
-
-		var coe = coeMap.get(vspec, vspecPrime, bec.getRegion()).orElseThrow(
+		var coe = context.getHlNonPrimaryCoefficients().get(vspec, vspecPrime, bec.getRegion()).orElseThrow(
 				() -> new ProcessingException(
 						String.format(
-								"Could not find Lorey Height Nonprimary Coefficients for %s %s %s", vspec, vspecPrime, bec
-										.getRegion()
+								"Could not find Lorey Height Nonprimary Coefficients for %s %s %s", vspec, vspecPrime,
+								bec.getRegion()
 						)
 				)
 		);
@@ -243,9 +270,8 @@ public class EstimationMethods {
 			return standQuadMeanDiameter;
 		}
 
-		var coeMap = Utils
-				.<Map<String, Coefficients>>expectParsedControl(controlMap, ControlKey.BY_SPECIES_DQ, Map.class);
-		var specAliases = GenusDefinitionParser.getSpeciesAliases(controlMap);
+		var coeMap = context.getBySpeciesDqCoefficients();
+		var specAliases = context.getGenusDefinitionMap().getAllGeneraAliases();
 
 		// TODO we can probably remove these as they seem to only be used for debugging
 		// in VDYP7
@@ -384,11 +410,7 @@ public class EstimationMethods {
 
 	// EMP061
 	public Limits getLimitsForHeightAndDiameter(String genus, Region region) {
-		var coeMap = Utils.<MatrixMap2<String, Region, Coefficients>>expectParsedControl(
-				controlMap, ControlKey.SPECIES_COMPONENT_SIZE_LIMIT, MatrixMap2.class
-		);
-
-		var coe = coeMap.get(genus, region);
+		var coe = context.getSpeciesComponentSizeLimits().get(genus, region);
 		return new Limits(coe.getCoe(1), coe.getCoe(2), coe.getCoe(3), coe.getCoe(4));
 	}
 
@@ -406,7 +428,9 @@ public class EstimationMethods {
 			BecDefinition bec, UtilizationVector quadMeanDiameterUtil, UtilizationVector baseAreaUtil, String genus
 	) throws ProcessingException {
 
-		estimateBaseAreaByUtilization(controlMap, bec, quadMeanDiameterUtil, baseAreaUtil, genus);
+		estimateBaseAreaByUtilization(
+				bec, context.getBasalAreaUtilizationComponentMap(), quadMeanDiameterUtil, baseAreaUtil, genus
+		);
 	}
 
 	/**
@@ -489,7 +513,9 @@ public class EstimationMethods {
 			BecDefinition bec, UtilizationVector quadMeanDiameterUtil, String genus
 	) throws ProcessingException {
 
-		estimateQuadMeanDiameterByUtilization(controlMap, bec, quadMeanDiameterUtil, genus);
+		estimateQuadMeanDiameterByUtilization(
+				bec, context.getQuadMeanDiameterUtilizationComponentMap(), quadMeanDiameterUtil, genus
+		);
 	}
 
 	/**
@@ -605,7 +631,9 @@ public class EstimationMethods {
 	 */
 	public float estimateWholeStemVolumePerTree(int volumeGroup, float loreyHeight, float quadMeanDiameter) {
 
-		return estimateWholeStemVolumePerTree(controlMap, volumeGroup, loreyHeight, quadMeanDiameter);
+		return estimateWholeStemVolumePerTree(
+				volumeGroup, loreyHeight, quadMeanDiameter, context.getTotalStandWholeStemVolumeCoeMap()
+		);
 	}
 
 	/**
@@ -662,7 +690,7 @@ public class EstimationMethods {
 
 	/**
 	 * EMP091. Updates wholeStemVolumeUtil with estimated values, getting wholeStemUtilizationComponentMap from the
-	 * given controlMap.
+	 * coefficient context.
 	 *
 	 * @param utilizationClass
 	 * @param adjustCloseUtil
@@ -680,7 +708,8 @@ public class EstimationMethods {
 	) throws ProcessingException {
 
 		estimateWholeStemVolume(
-				controlMap, utilizationClass, adjustCloseUtil, volumeGroup, hlSp, quadMeanDiameterUtil, baseAreaUtil, wholeStemVolumeUtil
+				utilizationClass, adjustCloseUtil, volumeGroup, hlSp, context.getWholeStemUtilizationComponentMap(),
+				quadMeanDiameterUtil, baseAreaUtil, wholeStemVolumeUtil
 		);
 	}
 
@@ -783,7 +812,8 @@ public class EstimationMethods {
 			UtilizationVector closeUtilizationVolumeUtil
 	) throws ProcessingException {
 		estimateCloseUtilizationVolume(
-				controlMap, utilizationClass, aAdjust, volumeGroup, hlSp, quadMeanDiameterUtil, wholeStemVolumeUtil, closeUtilizationVolumeUtil
+				utilizationClass, aAdjust, volumeGroup, hlSp, context.getCloseUtilizationCoeMap(), quadMeanDiameterUtil,
+				wholeStemVolumeUtil, closeUtilizationVolumeUtil
 		);
 	}
 
@@ -876,7 +906,9 @@ public class EstimationMethods {
 	) throws ProcessingException {
 
 		estimateNetDecayVolume(
-				controlMap, genus, region, utilizationClass, aAdjust, decayGroup, ageBreastHeight, quadMeanDiameterUtil, closeUtilizationUtil, closeUtilizationNetOfDecayUtil
+				genus, region, utilizationClass, aAdjust, decayGroup, ageBreastHeight, context.getNetDecayCoeMap(),
+				context.getDecayModifierMap(), quadMeanDiameterUtil, closeUtilizationUtil,
+				closeUtilizationNetOfDecayUtil
 		);
 	}
 
@@ -953,7 +985,7 @@ public class EstimationMethods {
 				arg = a0 + a1 * log(quadMeanDiameterUtil.getCoe(uc.index)) + a2 * ageTr;
 			}
 
-			arg += aAdjust.getCoe(uc.index) + decayModifierMap.get(genus, region);
+			arg += aAdjust.getCoe(uc.index) + FloatMatrixMap2Impl.getFloat(decayModifierMap, genus, region);
 
 			float ratio = ratio(arg, 8.0f);
 
@@ -986,7 +1018,9 @@ public class EstimationMethods {
 	) throws ProcessingException {
 
 		estimateNetDecayAndWasteVolume(
-				controlMap, region, utilizationClass, aAdjust, genus, loreyHeight, quadMeanDiameterUtil, closeUtilizationUtil, closeUtilizationNetOfDecayUtil, closeUtilizationNetOfDecayAndWasteUtil
+				region, utilizationClass, aAdjust, genus, loreyHeight, context.getNetDecayWasteCoeMap(),
+				context.getWasteModifierMap(), quadMeanDiameterUtil, closeUtilizationUtil,
+				closeUtilizationNetOfDecayUtil, closeUtilizationNetOfDecayAndWasteUtil
 		);
 	}
 
@@ -1072,7 +1106,7 @@ public class EstimationMethods {
 
 					float arg = a0 + a1 * frd + a3 * log(quadMeanDiameterUtil.getCoe(i.index)) + a4 * log(loreyHeight);
 
-					arg += wasteModifierMap.get(genus, region);
+					arg += FloatMatrixMap2Impl.getFloat(wasteModifierMap, genus, region);
 
 					arg = clamp(arg, -10f, 10f);
 
@@ -1123,7 +1157,9 @@ public class EstimationMethods {
 	) throws ProcessingException {
 
 		estimateNetDecayWasteAndBreakageVolume(
-				controlMap, utilizationClass, breakageGroup, quadMeanDiameterUtil, closeUtilizationUtil, closeUtilizationNetOfDecayAndWasteUtil, closeUtilizationNetOfDecayWasteAndBreakageUtil
+				utilizationClass, breakageGroup, context.getNetBreakageCoeMap(), quadMeanDiameterUtil,
+				closeUtilizationUtil, closeUtilizationNetOfDecayAndWasteUtil,
+				closeUtilizationNetOfDecayWasteAndBreakageUtil
 		);
 	}
 
@@ -1,5 +1,6 @@
 package ca.bc.gov.nrs.vdyp.common;
 
+import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -9,7 +10,10 @@ import java.util.Map;
 
 import ca.bc.gov.nrs.vdyp.model.GenusDefinition;
 
-public class GenusDefinitionMap {
+public class GenusDefinitionMap implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private final Map<String, GenusDefinition> genusByAliasMap = new HashMap<>();
 	private final Map<String, Integer> indexByAliasMap = new HashMap<>();
 	private final Map<Integer, GenusDefinition> genusByIndexMap = new HashMap<>();
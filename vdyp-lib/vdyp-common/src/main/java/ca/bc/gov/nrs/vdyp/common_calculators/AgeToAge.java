@@ -24,6 +24,80 @@ public class AgeToAge {
 
 		double returnValue;
 
+		boolean shouldBranch = isBreastHeightAtHalfYear(cuIndex);
+
+		if (shouldBranch) {
+			if (sourceAgeType == SI_AT_BREAST) {
+				if (targetAgeType == SI_AT_TOTAL) {
+					/* convert to total age */
+					returnValue = sourceAge + years2BreastHeight - 0.5;
+					if (returnValue < 0) {
+						returnValue = 0;
+					}
+					return returnValue;
+				}
+				throw new AgeTypeErrorException(
+						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_TOTAL)
+				);
+			}
+
+			if (sourceAgeType == SI_AT_TOTAL) {
+				if (targetAgeType == SI_AT_BREAST) {
+					/* convert to breast-height age */
+					returnValue = sourceAge - years2BreastHeight + 0.5;
+					if (returnValue < 0) {
+						returnValue = 0;
+					}
+					return returnValue;
+				}
+				throw new AgeTypeErrorException(
+						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_BREAST)
+				);
+			}
+		} else {
+			if (sourceAgeType == SI_AT_BREAST) {
+				if (targetAgeType == SI_AT_TOTAL) {
+					/* convert to total age */
+					returnValue = sourceAge + years2BreastHeight;
+					if (returnValue < 0) {
+						returnValue = 0;
+					}
+					return returnValue;
+				}
+				throw new AgeTypeErrorException(
+						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_TOTAL)
+				);
+			}
+
+			if (sourceAgeType == SI_AT_TOTAL) {
+				if (targetAgeType == SI_AT_BREAST) {
+					/* convert to breast-height age */
+					returnValue = sourceAge - years2BreastHeight;
+					if (returnValue < 0) {
+						returnValue = 0;
+					}
+					return returnValue;
+				}
+				throw new AgeTypeErrorException(
+						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_BREAST)
+				);
+			}
+		}
+		throw new AgeTypeErrorException(
+				MessageFormat.format("Unknown source age type provided \"{0}\"", sourceAgeType)
+		);
+	}
+
+	/**
+	 * Whether breast height is taken to be reached half way through the year given by the years to breast height of
+	 * <code>cuIndex</code>, as it is for most of the curves defined from breast height age, and so whether the ages
+	 * differ by half a year less than the years to breast height.
+	 *
+	 * @param cuIndex the curve, or null
+	 * @return as above; true for a null curve
+	 */
+	@SuppressWarnings("java:S6541, java:S1479")
+	static boolean isBreastHeightAtHalfYear(SiteIndexEquation cuIndex) {
 		boolean shouldBranch;
 
 		if (cuIndex == null) {
@@ -146,65 +220,6 @@ public class AgeToAge {
 			}
 		}
 
-		if (shouldBranch) {
-			if (sourceAgeType == SI_AT_BREAST) {
-				if (targetAgeType == SI_AT_TOTAL) {
-					/* convert to total age */
-					returnValue = sourceAge + years2BreastHeight - 0.5;
-					if (returnValue < 0) {
-						returnValue = 0;
-					}
-					return returnValue;
-				}
-				throw new AgeTypeErrorException(
-						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_TOTAL)
-				);
-			}
-
-			if (sourceAgeType == SI_AT_TOTAL) {
-				if (targetAgeType == SI_AT_BREAST) {
-					/* convert to breast-height age */
-					returnValue = sourceAge - years2BreastHeight + 0.5;
-					if (returnValue < 0) {
-						returnValue = 0;
-					}
-					return returnValue;
-				}
-				throw new AgeTypeErrorException(
-						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_BREAST)
-				);
-			}
-		} else {
-			if (sourceAgeType == SI_AT_BREAST) {
-				if (targetAgeType == SI_AT_TOTAL) {
-					/* convert to total age */
-					returnValue = sourceAge + years2BreastHeight;
-					if (returnValue < 0) {
-						returnValue = 0;
-					}
-					return returnValue;
-				}
-				throw new AgeTypeErrorException(
-						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_TOTAL)
-				);
-			}
-
-			if (sourceAgeType == SI_AT_TOTAL) {
-				if (targetAgeType == SI_AT_BREAST) {
-					/* convert to breast-height age */
-					returnValue = sourceAge - years2BreastHeight;
-					if (returnValue < 0) {
-						returnValue = 0;
-					}
-					return returnValue;
-				}
-				throw new AgeTypeErrorException(
-						MessageFormat.format("Unknown target age type provided; expecting \"{0}\"", SI_AT_BREAST)
-				);
-			}
-		}
-		throw new AgeTypeErrorException(
-				MessageFormat.format("Unknown source age type provided \"{0}\"", sourceAgeType)
-		);
+		return shouldBranch;
 	}
 }
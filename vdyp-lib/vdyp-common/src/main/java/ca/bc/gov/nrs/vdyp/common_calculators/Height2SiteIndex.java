@@ -142,10 +142,7 @@ public class Height2SiteIndex {
 					index = 0.39 + 0.3104 * height + 33.3828 * height / bhage;
 					break;
 				case SI_PLI_THROWER:
-					x1 = 1 + Math.exp(6.0925 + 0.7979 * Math.log(50.0) - 2.7338 * Math.log(height));
-					x2 = 1 + Math.exp(6.0925 + 0.7979 * Math.log(bhage) - 2.7338 * Math.log(height));
-
-					index = height * x1 / x2;
+					index = SiteCurves.PLI_THROWER.siteIndexDirect(bhage, height);
 					break;
 				// #undef LA_MILNER Removed since never used again?
 				// #define LA_MILNER 1 Removed since never used again?
@@ -3669,84 +3666,51 @@ public class Height2SiteIndex {
 
 	public static double siteIterate(SiteIndexEquation cuIndex, double age, SiteIndexAgeType ageType, double height)
 			throws CommonCalculatorException {
-		double site;
-		double step;
-		double testTop;
-		double y2bh;
-
-		/* initial guess */
-		site = height;
-		if (site < 1.3) {
-			site = 1.3;
-		}
-		step = site / 2.0;
+		return siteIterate(SiteCurves.of(cuIndex), age, ageType, height);
+	}
 
-		/* loop until real close, or other end condition */
-		do {
+	/**
+	 * Finds the site index of a curve at which the height at the given age is within 0.01 of <code>height</code>.
+	 *
+	 * @param curve   the site curve
+	 * @param age     the age
+	 * @param ageType the type of <code>age</code>
+	 * @param height  the height at that age
+	 * @return the site index
+	 * @throws NoAnswerException if there is no such site index of at most 999
+	 */
+	static double siteIterate(SiteCurve curve, double age, SiteIndexAgeType ageType, double height)
+			throws CommonCalculatorException {
+		/* initial guess; site index must be at least 1.3 */
+		double guess = Math.max(height, 1.3);
 
+		/*
+		 * find the site index giving a height within 0.01 of the one given; where the curve is not increasing the
+		 * search is made by halving a step, as it always was
+		 */
+		double site = RootFinder.findIncreasing(index -> {
 			/* estimate y2bh */
-			y2bh = SiteIndexYears2BreastHeight.y2bh(cuIndex, site);
+			double y2bh = curve.y2bh(index);
 
+			double testTop;
 			if (ageType == SI_AT_BREAST) {
-				testTop = SiteIndex2Height
-						.indexToHeight(cuIndex, age, SI_AT_BREAST, site, y2bh, 0.5 /* may have to change */);
+				testTop = curve.height(age, SI_AT_BREAST, index, y2bh, 0.5 /* may have to change */);
 			} else {
 				/* was age - y2bh */
-				testTop = SiteIndex2Height.indexToHeight(
-						cuIndex, AgeToAge
-								.ageToAge(cuIndex, age, SI_AT_TOTAL, SI_AT_BREAST, y2bh), SI_AT_BREAST, site, y2bh, 0.5
+				testTop = curve.height(
+						AgeToAge.ageToAge(curve.equation(), age, SI_AT_TOTAL, SI_AT_BREAST, y2bh), SI_AT_BREAST, index,
+						y2bh, 0.5
 				); // 0.5 may have to change
 			}
+			return testTop - height;
+		}, guess, guess / 2.0, 1.3, 999.0, 0.01);
 
-			/*
-			 * System.out. printf("age=%.0f, height=%.1f, test_top=%.1f, site=%.2f, step=%.7f%n", age, height, test_top,
-			 * site, step);
-			 *
-			 */
-
-			if ( (testTop - height > 0.01) || (testTop - height < -0.01)) {
-				/* not close enough */
-				if (testTop > height) {
-					if (step > 0) {
-						step = -step / 2.0;
-					}
-				} else {
-					if (step < 0) {
-						step = -step / 2.0;
-					}
-				}
-				site += step;
-			} else {
-				/* done */
-				break;
-			}
-
-			/* check for lack of convergence, so we're not here forever */
-			if (step < 0.00001 && step > -0.00001) {
-				/* we have a value, but perhaps not too accurate */
-				break;
-			}
-			if (site > 999.0) {
-				site = SI_ERR_NO_ANS;
-				break;
-			}
-			/* site index must be at least 1.3 */
-			if (site < 1.3) {
-				if (step > 0) {
-					site += step;
-				} else {
-					site -= step;
-					step = step / 2.0;
-				}
-			}
-		} while (true);
-
-		if (site == SI_ERR_NO_ANS) {
-			throw new NoAnswerException("Iteration could not converge (projected site index > 999), site: " + site);
-		} else {
-			return site;
+		if (Double.isNaN(site)) {
+			throw new NoAnswerException(
+					"Iteration could not converge (projected site index > 999), site: " + (double) SI_ERR_NO_ANS
+			);
 		}
-
+		return site;
 	}
 
 	@SuppressWarnings("java:S3776, java:S6541")
@@ -0,0 +1,224 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+
+/**
+ * RootFinder - finds where an increasing function, such as height by age or by site index, reaches a target.
+ * <p>
+ * A bracket around the root is found by stepping from an initial guess, doubling the step each time, and is then
+ * narrowed by Brent's method: inverse quadratic interpolation or secant steps, falling back to bisection whenever they
+ * would not shrink the bracket quickly enough. This takes far fewer evaluations than halving a fixed step.
+ * <p>
+ * Some curves are not increasing everywhere; at very young ages the height of some falls as their site index rises. If
+ * the function is seen not to increase, or no bracket is found between the limits, the search is made instead by the
+ * step halving the site index calculators have always used, so that their answers there are unchanged.
+ */
+public class RootFinder {
+
+	/** The bracket width, or step, at which a search stops, whether or not the function is within its tolerance */
+	public static final double X_TOLERANCE = 0.00001;
+
+	/** The most evaluations made while narrowing a bracket */
+	public static final int MAX_EVALUATIONS = 100;
+
+	private RootFinder() {
+	}
+
+	/**
+	 * A function of one variable that may fail.
+	 */
+	@FunctionalInterface
+	public interface Function {
+		double apply(double x) throws CommonCalculatorException;
+	}
+
+	/**
+	 * Find x where an increasing function is 0.
+	 *
+	 * @param f         the function, which is evaluated first at <code>guess</code>. Exceptions it throws are passed
+	 *                  on.
+	 * @param guess     the initial guess
+	 * @param step      the first step away from the guess when looking for a bracket
+	 * @param min       the least x to consider
+	 * @param max       the greatest x to consider
+	 * @param tolerance the value of f, either side of 0, that is close enough
+	 * @return x such that f(x) is within the tolerance of 0, or, if f is too steep for that, that is within
+	 *         {@link #X_TOLERANCE} of where f crosses 0. Otherwise, as {@link #findByStepHalving}.
+	 * @throws CommonCalculatorException if f does
+	 */
+	public static double findIncreasing(Function f, double guess, double step, double min, double max, double tolerance)
+			throws CommonCalculatorException {
+
+		double initialStep = step;
+		double x = guess;
+		double fx = f.apply(x);
+		if (Math.abs(fx) <= tolerance) {
+			return x;
+		}
+
+		// Step towards the root until it is passed
+		double direction = fx < 0 ? 1 : -1;
+		double previous;
+		double fPrevious;
+		do {
+			previous = x;
+			fPrevious = fx;
+			if (direction > 0 ? x >= max : x <= min) {
+				return findByStepHalving(f, guess, initialStep, min, max, tolerance);
+			}
+			x = Math.max(min, Math.min(max, x + direction * step));
+			step *= 2;
+			fx = f.apply(x);
+			if (Math.abs(fx) <= tolerance) {
+				return x;
+			}
+			if ( (fx - fPrevious) * direction < 0) {
+				return findByStepHalving(f, guess, initialStep, min, max, tolerance);
+			}
+		} while (fx * direction < 0);
+
+		double root = fx < 0 ? brent(f, x, fx, previous, fPrevious, tolerance)
+				: brent(f, previous, fPrevious, x, fx, tolerance);
+		return Double.isNaN(root) ? findByStepHalving(f, guess, initialStep, min, max, tolerance) : root;
+	}
+
+	/**
+	 * Find x where a function is 0 by stepping from an initial guess, halving the step and turning back each time the
+	 * function changes sign. This is the search the site index calculators have always made, and works, if slowly,
+	 * where the function is not increasing everywhere.
+	 *
+	 * @param f         the function, which is evaluated first at <code>guess</code>. Exceptions it throws are passed
+	 *                  on.
+	 * @param guess     the initial guess
+	 * @param step      the first step away from the guess
+	 * @param min       the least x to consider; the search turns back, with half the step, when it passes below this
+	 * @param max       the greatest x to consider
+	 * @param tolerance the value of f, either side of 0, that is close enough
+	 * @return x such that f(x) is within the tolerance of 0, or the x reached when the step is less than
+	 *         {@link #X_TOLERANCE}, or NaN if the search passes above max.
+	 * @throws CommonCalculatorException if f does
+	 */
+	public static double
+			findByStepHalving(Function f, double guess, double step, double min, double max, double tolerance)
+					throws CommonCalculatorException {
+		double x = guess;
+		do {
+			double fx = f.apply(x);
+			if (Math.abs(fx) <= tolerance) {
+				return x;
+			}
+
+			if (fx > 0) {
+				if (step > 0) {
+					step = -step / 2.0;
+				}
+			} else if (step < 0) {
+				step = -step / 2.0;
+			}
+			x += step;
+
+			/* check for lack of convergence, so we're not here forever */
+			if (Math.abs(step) < X_TOLERANCE) {
+				/* we have a value, but perhaps not too accurate */
+				return x;
+			}
+			if (x > max) {
+				return Double.NaN;
+			}
+			if (x < min) {
+				if (step > 0) {
+					x += step;
+				} else {
+					x -= step;
+					step = step / 2.0;
+				}
+			}
+		} while (true);
+	}
+
+	/**
+	 * Brent's method, on a bracket with f(low) &lt; 0 &lt; f(high). NaN is returned if f is seen not to increase.
+	 */
+	@SuppressWarnings("java:S3776")
+	private static double brent(Function f, double low, double fLow, double high, double fHigh, double tolerance)
+			throws CommonCalculatorException {
+
+		// b is the best estimate so far, a the previous one and c the other end of the bracket around the root
+		double a = low;
+		double fa = fLow;
+		double b = high;
+		double fb = fHigh;
+		double c = a;
+		double fc = fa;
+		double d = b - a;
+		double e = d;
+
+		for (int evaluations = 0; evaluations < MAX_EVALUATIONS; evaluations++) {
+			if (Math.abs(fc) < Math.abs(fb)) {
+				a = b;
+				b = c;
+				c = a;
+				fa = fb;
+				fb = fc;
+				fc = fa;
+			}
+
+			double m = (c - b) / 2;
+			if (Math.abs(fb) <= tolerance || Math.abs(m) <= X_TOLERANCE) {
+				return b;
+			}
+
+			if (Math.abs(e) >= X_TOLERANCE && Math.abs(fa) > Math.abs(fb)) {
+				double s = fb / fa;
+				double p;
+				double q;
+				if (a == c) {
+					// Secant
+					p = 2 * m * s;
+					q = 1 - s;
+				} else {
+					// Inverse quadratic interpolation
+					double r = fb / fc;
+					q = fa / fc;
+					p = s * (2 * m * q * (q - r) - (b - a) * (r - 1));
+					q = (q - 1) * (r - 1) * (s - 1);
+				}
+				if (p > 0) {
+					q = -q;
+				} else {
+					p = -p;
+				}
+				if (2 * p < Math.min(3 * m * q - Math.abs(X_TOLERANCE * q), Math.abs(e * q))) {
+					e = d;
+					d = p / q;
+				} else {
+					d = m;
+					e = m;
+				}
+			} else {
+				d = m;
+				e = m;
+			}
+
+			a = b;
+			fa = fb;
+			b += Math.abs(d) > X_TOLERANCE ? d : Math.copySign(X_TOLERANCE, m);
+			fb = f.apply(b);
+
+			// b lies between a and c, so an increasing f must too
+			if ( (fb - fa) * (fc - fb) < 0) {
+				return Double.NaN;
+			}
+
+			if (fb * fc > 0) {
+				c = a;
+				fc = fa;
+				d = b - a;
+				e = d;
+			}
+		}
+
+		// We have a value, but perhaps not too accurate
+		return b;
+	}
+}
@@ -0,0 +1,58 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType;
+
+/**
+ * SiteCurve - one site curve, with the calculations of {@link SiteIndex2Height}, {@link Height2SiteIndex} and
+ * {@link SiteIndexYears2BreastHeight} bound to it.
+ * <p>
+ * Obtain instances from {@link SiteCurves#of}, once per species, and keep them for as long as the curve is in use;
+ * calls then go straight to the curve's equations instead of finding them among those of every curve each time.
+ * Instances are immutable and thread safe.
+ */
+public interface SiteCurve {
+
+	/**
+	 * @return the equation of the curve
+	 */
+	SiteIndexEquation equation();
+
+	/**
+	 * Equivalent to {@link SiteIndex2Height#indexToHeight} for this curve.
+	 *
+	 * @param age                the age
+	 * @param ageType            the type of <code>age</code>
+	 * @param siteIndex          the site index
+	 * @param years2BreastHeight the years to breast height
+	 * @param pi                 the proportion of the growing season complete
+	 * @return the height at the given age
+	 * @throws CommonCalculatorException as {@link SiteIndex2Height#indexToHeight} would
+	 */
+	double height(double age, SiteIndexAgeType ageType, double siteIndex, double years2BreastHeight, double pi)
+			throws CommonCalculatorException;
+
+	/**
+	 * Equivalent to {@link Height2SiteIndex#heightToIndex} for this curve.
+	 *
+	 * @param age     the age
+	 * @param ageType the type of <code>age</code>; total age if null
+	 * @param height  the height at the given age
+	 * @param estType how the site index is to be estimated; by iteration if null
+	 * @return the site index
+	 * @throws CommonCalculatorException as {@link Height2SiteIndex#heightToIndex} would
+	 */
+	double siteIndex(double age, SiteIndexAgeType ageType, double height, SiteIndexEstimationType estType)
+			throws CommonCalculatorException;
+
+	/**
+	 * Equivalent to {@link SiteIndexYears2BreastHeight#y2bh} for this curve.
+	 *
+	 * @param siteIndex the site index
+	 * @return the years to breast height, not rounded
+	 * @throws CommonCalculatorException as {@link SiteIndexYears2BreastHeight#y2bh} would
+	 */
+	double y2bh(double siteIndex) throws CommonCalculatorException;
+}
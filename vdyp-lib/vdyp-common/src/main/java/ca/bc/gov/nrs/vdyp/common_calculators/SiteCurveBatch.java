@@ -0,0 +1,114 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_TOTAL;
+
+import java.text.MessageFormat;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.LessThan13Exception;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+
+/**
+ * SiteCurveBatch - evaluates a site curve at many points per call, such as the height of every year of a yield curve.
+ * <p>
+ * Each method gives exactly the values of the corresponding single point method, and throws what it would throw for the
+ * first point at which it would throw. The checks of the arguments, the choice of curve and the part of each equation
+ * that depends only on the site index are done once per call, leaving simple counted loops over the arrays. This is
+ * done for the default curves of the common species, using their equations in {@link SiteCurves}; other curves are
+ * evaluated point by point.
+ */
+public class SiteCurveBatch {
+
+	private SiteCurveBatch() {
+	}
+
+	/**
+	 * Equivalent to calling {@link SiteIndex2Height#indexToHeight} for each of <code>ages</code>.
+	 *
+	 * @param cuIndex            the site curve
+	 * @param ages               the ages
+	 * @param ageType            the type of the ages
+	 * @param siteIndex          the site index
+	 * @param years2BreastHeight the years to breast height
+	 * @param pi                 the proportion of the growing season complete
+	 * @param heights            receives the height at each age, in the same position. Must be at least as long as
+	 *                           <code>ages</code>.
+	 * @throws CommonCalculatorException as {@link SiteIndex2Height#indexToHeight} would at the first age at which it
+	 *                                   would throw. <code>heights</code> is then complete only up to that age.
+	 */
+	public static void indexToHeight(
+			SiteIndexEquation cuIndex, double[] ages, SiteIndexAgeType ageType, double siteIndex,
+			double years2BreastHeight, double pi, double[] heights
+	) throws CommonCalculatorException {
+		if (heights.length < ages.length) {
+			throw new IllegalArgumentException(
+					MessageFormat
+							.format("There are {0} ages but room for only {1} heights", ages.length, heights.length)
+			);
+		}
+		if (siteIndex < 1.3) {
+			throw new LessThan13Exception("Site index < 1.3m: " + siteIndex);
+		}
+		if (SiteCurves.of(cuIndex) instanceof SiteCurves.Specialized curve) {
+			// As SiteIndex2Height does for each point
+			double y2bh = ((int) years2BreastHeight) + 0.5;
+			curve.heights(ages, ageType == SI_AT_TOTAL, siteIndex, y2bh, pi, heights);
+		} else {
+			indexToHeightByPoint(cuIndex, ages, ageType, siteIndex, years2BreastHeight, pi, heights);
+		}
+	}
+
+	/**
+	 * Equivalent to calling {@link SiteIndexYears2BreastHeight#y2bh} for each of <code>siteIndices</code>.
+	 *
+	 * @param cuIndex     the site curve
+	 * @param siteIndices the site indices
+	 * @param y2bhs       receives the years to breast height of each site index, in the same position. Must be at least
+	 *                    as long as <code>siteIndices</code>.
+	 * @throws CommonCalculatorException as {@link SiteIndexYears2BreastHeight#y2bh} would for the first site index for
+	 *                                   which it would throw. <code>y2bhs</code> is then incomplete.
+	 */
+	public static void y2bh(SiteIndexEquation cuIndex, double[] siteIndices, double[] y2bhs)
+			throws CommonCalculatorException {
+		if (y2bhs.length < siteIndices.length) {
+			throw new IllegalArgumentException(
+					MessageFormat.format(
+							"There are {0} site indices but room for only {1} results", siteIndices.length, y2bhs.length
+					)
+			);
+		}
+		if (SiteCurves.of(cuIndex) instanceof SiteCurves.Specialized curve) {
+			checkSiteIndices(siteIndices);
+			for (int i = 0; i < siteIndices.length; i++) {
+				y2bhs[i] = curve.y2bhAt(siteIndices[i]);
+			}
+		} else {
+			y2bhByPoint(cuIndex, siteIndices, y2bhs);
+		}
+	}
+
+	private static void indexToHeightByPoint(
+			SiteIndexEquation cuIndex, double[] ages, SiteIndexAgeType ageType, double siteIndex,
+			double years2BreastHeight, double pi, double[] heights
+	) throws CommonCalculatorException {
+		for (int i = 0; i < ages.length; i++) {
+			heights[i] = SiteIndex2Height.indexToHeight(cuIndex, ages[i], ageType, siteIndex, years2BreastHeight, pi);
+		}
+	}
+
+	private static void y2bhByPoint(SiteIndexEquation cuIndex, double[] siteIndices, double[] y2bhs)
+			throws CommonCalculatorException {
+		for (int i = 0; i < siteIndices.length; i++) {
+			y2bhs[i] = SiteIndexYears2BreastHeight.y2bh(cuIndex, siteIndices[i]);
+		}
+	}
+
+	private static void checkSiteIndices(double[] siteIndices) throws LessThan13Exception {
+		for (double siteIndex : siteIndices) {
+			if (siteIndex < 1.3) {
+				throw new LessThan13Exception("Site index < 1.3m: " + siteIndex);
+			}
+		}
+	}
+}
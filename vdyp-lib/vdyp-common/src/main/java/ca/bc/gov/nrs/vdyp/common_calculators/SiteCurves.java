@@ -0,0 +1,539 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.SiteIndexUtilities.llog;
+import static ca.bc.gov.nrs.vdyp.common_calculators.SiteIndexUtilities.ppow;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_BREAST;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_TOTAL;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType.SI_EST_DIRECT;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.GrowthInterceptMinimumException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.LessThan13Exception;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType;
+
+/**
+ * SiteCurves - the {@link SiteCurve} of each site index equation.
+ * <p>
+ * The default curves of the common species each have a class of their own, holding just their equations, so that a call
+ * made through one of them does only that curve's arithmetic. These are the only copies of those equations:
+ * {@link SiteIndex2Height}, {@link SiteIndexYears2BreastHeight}, {@link Height2SiteIndex} and {@link SiteCurveBatch}
+ * use them for these curves. The other curves call the static methods.
+ */
+public class SiteCurves {
+
+	static final FdcBruceAc FDC_BRUCEAC = new FdcBruceAc();
+	static final FdiThrowerAc FDI_THROWERAC = new FdiThrowerAc();
+	static final CwcNigh CWC_NIGH = new CwcNigh();
+	static final PliThrower PLI_THROWER = new PliThrower();
+	static final AtNigh AT_NIGH = new AtNigh();
+
+	private static final Map<SiteIndexEquation, SiteCurve> CURVES = new EnumMap<>(SiteIndexEquation.class);
+	private static final SiteCurve UNKNOWN = new General(null);
+
+	static {
+		for (var equation : SiteIndexEquation.values()) {
+			CURVES.put(equation, new General(equation));
+		}
+		for (var curve : new Specialized[] { FDC_BRUCEAC, FDI_THROWERAC, CWC_NIGH, PLI_THROWER, AT_NIGH }) {
+			CURVES.put(curve.equation(), curve);
+		}
+	}
+
+	private SiteCurves() {
+	}
+
+	/**
+	 * @param equation the site index equation
+	 * @return the curve of the equation. If <code>equation</code> is null, a curve whose methods throw what the static
+	 *         methods throw when given no curve.
+	 */
+	public static SiteCurve of(SiteIndexEquation equation) {
+		return equation == null ? UNKNOWN : CURVES.get(equation);
+	}
+
+	/**
+	 * A curve whose calculations are those of the static methods.
+	 */
+	private static final class General implements SiteCurve {
+
+		private final SiteIndexEquation equation;
+
+		General(SiteIndexEquation equation) {
+			this.equation = equation;
+		}
+
+		@Override
+		public SiteIndexEquation equation() {
+			return equation;
+		}
+
+		@Override
+		public double
+				height(double age, SiteIndexAgeType ageType, double siteIndex, double years2BreastHeight, double pi)
+						throws CommonCalculatorException {
+			return SiteIndex2Height.indexToHeight(equation, age, ageType, siteIndex, years2BreastHeight, pi);
+		}
+
+		@Override
+		public double siteIndex(double age, SiteIndexAgeType ageType, double height, SiteIndexEstimationType estType)
+				throws CommonCalculatorException {
+			return Height2SiteIndex.heightToIndex(equation, age, ageType, height, estType);
+		}
+
+		@Override
+		public double y2bh(double siteIndex) throws CommonCalculatorException {
+			return SiteIndexYears2BreastHeight.y2bh(equation, siteIndex);
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(equation);
+		}
+	}
+
+	/**
+	 * A curve with equations of its own. The checks and age conversions common to all curves are made here, as the
+	 * static methods make them, and subclasses supply the equations.
+	 */
+	abstract static class Specialized implements SiteCurve {
+
+		private final SiteIndexEquation equation;
+		private final boolean halfYear;
+
+		Specialized(SiteIndexEquation equation) {
+			this.equation = equation;
+			this.halfYear = AgeToAge.isBreastHeightAtHalfYear(equation);
+		}
+
+		@Override
+		public final SiteIndexEquation equation() {
+			return equation;
+		}
+
+		@Override
+		public final double
+				height(double age, SiteIndexAgeType ageType, double siteIndex, double years2BreastHeight, double pi)
+						throws CommonCalculatorException {
+			if (siteIndex < 1.3) {
+				throw new LessThan13Exception("Site index < 1.3m: " + siteIndex);
+			}
+
+			double y2bh = ((int) years2BreastHeight) + 0.5;
+			boolean total = ageType == SI_AT_TOTAL;
+			double totalAge = totalAge(age, total, y2bh);
+			if (totalAge < 0.00001) {
+				return 0.0;
+			}
+			return height(total, totalAge, breastHeightAge(age, total, y2bh), siteIndex, y2bh, pi);
+		}
+
+		/**
+		 * Equivalent to {@link #height(double, SiteIndexAgeType, double, double, double)} for each of
+		 * <code>ages</code>, the terms depending only on the site index being calculated once.
+		 *
+		 * @param ages      the ages
+		 * @param total     whether the ages are total ages
+		 * @param siteIndex the site index, at least 1.3
+		 * @param y2bh      the years to breast height, rounded to the half year
+		 * @param pi        the proportion of the growing season complete
+		 * @param heights   receives the height at each age, in the same position
+		 * @throws NoAnswerException at the first negative total age
+		 */
+		final void heights(double[] ages, boolean total, double siteIndex, double y2bh, double pi, double[] heights)
+				throws NoAnswerException {
+			Equation terms = terms(siteIndex, y2bh, pi);
+			for (int i = 0; i < ages.length; i++) {
+				double totalAge = totalAge(ages[i], total, y2bh);
+				heights[i] = totalAge < 0.00001 ? 0.0
+						: terms.height(total, totalAge, breastHeightAge(ages[i], total, y2bh));
+			}
+		}
+
+		/**
+		 * The height at a positive total age. Subclasses evaluate their own {@link #terms}, so that the call can be
+		 * compiled without them being allocated.
+		 *
+		 * @param total           whether the age given was a total age
+		 * @param totalAge        the total age
+		 * @param breastHeightAge the breast height age, which is the age given if that was not a total age
+		 * @param siteIndex       the site index, at least 1.3
+		 * @param y2bh            the years to breast height, rounded to the half year
+		 * @param pi              the proportion of the growing season complete
+		 * @return the height, as given by {@link SiteIndex2Height#indexToHeight}
+		 */
+		abstract double height(
+				boolean total, double totalAge, double breastHeightAge, double siteIndex, double y2bh, double pi
+		);
+
+		/**
+		 * The curve's height equation, with the terms that depend only on the site index evaluated.
+		 */
+		abstract Equation terms(double siteIndex, double y2bh, double pi);
+
+		@Override
+		public final double y2bh(double siteIndex) throws CommonCalculatorException {
+			if (siteIndex < 1.3) {
+				throw new LessThan13Exception("Site index < 1.3m: " + siteIndex);
+			}
+			return y2bhAt(siteIndex);
+		}
+
+		/**
+		 * The years to breast height of a site index of at least 1.3, as given by
+		 * {@link SiteIndexYears2BreastHeight#y2bh}.
+		 */
+		abstract double y2bhAt(double siteIndex);
+
+		@Override
+		public final double
+				siteIndex(double age, SiteIndexAgeType ageType, double height, SiteIndexEstimationType estType)
+						throws CommonCalculatorException {
+			if (ageType == SI_AT_BREAST) {
+				if (height < 1.3) {
+					throw new LessThan13Exception("Height < 1.3 for breast height age: " + height);
+				}
+			} else if (height <= 0) {
+				throw new NoAnswerException(
+						"Iteration could not converge (projected site index > 999), Height: " + height
+				);
+			}
+			if (age <= 0) {
+				throw new NoAnswerException("Iteration could not converge (projected site index > 999), Age: " + age);
+			}
+
+			if (ageType != SI_AT_BREAST) {
+				return Height2SiteIndex.siteIterate(this, age, SI_AT_TOTAL, height);
+			}
+			if (age <= 0.5) {
+				throw new GrowthInterceptMinimumException(
+						"Bhage < 0.5 years which indicates that it can't be done, bhage: " + age
+				);
+			}
+			return estType == SI_EST_DIRECT ? siteIndexDirect(age, height)
+					: Height2SiteIndex.siteIterate(this, age, SI_AT_BREAST, height);
+		}
+
+		/**
+		 * The site index given by the direct method from a breast height age greater than 0.5 and a height of at least
+		 * 1.3. Curves without a direct method iterate, as {@link Height2SiteIndex#baHeightToIndex} does.
+		 */
+		double siteIndexDirect(double breastHeightAge, double height) throws CommonCalculatorException {
+			return Height2SiteIndex.siteIterate(this, breastHeightAge, SI_AT_BREAST, height);
+		}
+
+		/*
+		 * The total and breast height ages of a point, as given by AgeToAge.ageToAge. Total ages below 0 are reported
+		 * as SiteIndex2Height.indexToHeight reports them.
+		 */
+
+		private double totalAge(double age, boolean total, double y2bh) throws NoAnswerException {
+			if (total) {
+				if (age < 0.0) {
+					throw new NoAnswerException("Iteration could not converge (projected height > 999), age: " + age);
+				}
+				return age;
+			}
+			double totalAge = halfYear ? age + y2bh - 0.5 : age + y2bh;
+			return totalAge < 0 ? 0 : totalAge;
+		}
+
+		private double breastHeightAge(double age, boolean total, double y2bh) {
+			if (!total) {
+				return age;
+			}
+			double breastHeightAge = halfYear ? age - y2bh + 0.5 : age - y2bh;
+			return breastHeightAge < 0 ? 0 : breastHeightAge;
+		}
+
+		@Override
+		public String toString() {
+			return equation.toString();
+		}
+	}
+
+	/**
+	 * A height equation with the terms that depend only on the site index evaluated.
+	 */
+	interface Equation {
+
+		/**
+		 * @param total           whether the age given was a total age
+		 * @param totalAge        the total age, which is positive
+		 * @param breastHeightAge the breast height age, which is the age given if that was not a total age
+		 * @return the height
+		 */
+		double height(boolean total, double totalAge, double breastHeightAge);
+	}
+
+	static final class FdcBruceAc extends Specialized {
+
+		private FdcBruceAc() {
+			super(SiteIndexEquation.SI_FDC_BRUCEAC);
+		}
+
+		@Override
+		double height(
+				boolean total, double totalAge, double breastHeightAge, double siteIndex, double y2bh, double pi
+		) {
+			return terms(siteIndex, y2bh, pi).height(total, totalAge, breastHeightAge);
+		}
+
+		@Override
+		Terms terms(double siteIndex, double y2bh, double pi) {
+			return new Terms(siteIndex, pi);
+		}
+
+		@Override
+		double y2bhAt(double siteIndex) {
+			/* from seed */
+			double y2bh = 13.25 - siteIndex / 6.096;
+			return y2bh < 1 ? 1.0 : y2bh;
+		}
+
+		private static final class Terms implements Equation {
+
+			private final double siteIndex;
+			private final double pi;
+			private final double y2bhFromSeed;
+			private final double x2;
+			private final double x3;
+			private final double x4;
+
+			Terms(double siteIndex, double pi) {
+				this.siteIndex = siteIndex;
+				this.pi = pi;
+				// 2009 may 6: force a non-rounded y2bh
+				y2bhFromSeed = 13.25 - siteIndex / 6.096;
+				double x1 = siteIndex / 30.48;
+				x2 = -0.477762 + x1 * (-0.894427 + x1 * (0.793548 - x1 * 0.171666));
+				x3 = ppow(49 + (1 - pi) + y2bhFromSeed, x2);
+				x4 = Math.log(1.372 / siteIndex) / (ppow(y2bhFromSeed, x2) - x3);
+			}
+
+			@Override
+			public double height(boolean total, double totalAge, double breastHeightAge) {
+				if (total) {
+					return siteIndex * Math.exp(x4 * (ppow(totalAge, x2) - x3));
+				}
+				return siteIndex * Math.exp(x4 * (ppow(breastHeightAge + y2bhFromSeed - pi, x2) - x3));
+			}
+		}
+	}
+
+	static final class FdiThrowerAc extends Specialized {
+
+		private FdiThrowerAc() {
+			super(SiteIndexEquation.SI_FDI_THROWERAC);
+		}
+
+		@Override
+		double height(
+				boolean total, double totalAge, double breastHeightAge, double siteIndex, double y2bh, double pi
+		) {
+			return terms(siteIndex, y2bh, pi).height(total, totalAge, breastHeightAge);
+		}
+
+		@Override
+		Terms terms(double siteIndex, double y2bh, double pi) {
+			return new Terms(siteIndex, y2bh);
+		}
+
+		@Override
+		double y2bhAt(double siteIndex) {
+			/* copied from FDI_THROWER */
+			/* from seed */
+			return 4.0 + 99.0 / siteIndex;
+		}
+
+		private static final class Terms implements Equation {
+
+			private static final double X1 = -0.237724692;
+			private static final double X2 = 5.780089777;
+			private static final double X3 = -1.150039266;
+
+			private final double siteIndex;
+			private final double y2bh;
+			private final double a;
+			private final double numerator;
+
+			Terms(double siteIndex, double y2bh) {
+				this.siteIndex = siteIndex;
+				this.y2bh = y2bh;
+				a = X2 + X1 * llog(siteIndex - 1.3);
+				numerator = 1.0 + Math.exp(a + X3 * Math.log(49.5));
+			}
+
+			@Override
+			public double height(boolean total, double totalAge, double breastHeightAge) {
+				if (breastHeightAge > 0.5) {
+					double ratio = numerator / (1.0 + Math.exp(a + X3 * Math.log(breastHeightAge - 0.5)));
+					return 1.3 + (siteIndex - 1.3) * ratio;
+				}
+				return totalAge * totalAge * 1.3 / y2bh / y2bh;
+			}
+		}
+	}
+
+	static final class CwcNigh extends Specialized {
+
+		private CwcNigh() {
+			super(SiteIndexEquation.SI_CWC_NIGH);
+		}
+
+		@Override
+		double height(
+				boolean total, double totalAge, double breastHeightAge, double siteIndex, double y2bh, double pi
+		) {
+			return terms(siteIndex, y2bh, pi).height(total, totalAge, breastHeightAge);
+		}
+
+		@Override
+		Terms terms(double siteIndex, double y2bh, double pi) {
+			return new Terms(siteIndex, y2bh);
+		}
+
+		@Override
+		double y2bhAt(double siteIndex) {
+			/* approximate function, borrowed from Fdc Bruce 1981 */
+			/* from seed */
+			double y2bh = 13.25 - siteIndex / 6.096;
+			return y2bh < 1 ? 1.0 : y2bh;
+		}
+
+		private static final class Terms implements Equation {
+
+			private final double y2bh;
+			private final double x1;
+			private final double exponent;
+
+			Terms(double siteIndex, double y2bh) {
+				this.y2bh = y2bh;
+				x1 = -3.004284755 + 2.5332489439 * siteIndex - 0.019027688 * siteIndex * siteIndex
+						+ 0.0000992968 * Math.pow(siteIndex, 3.0);
+				exponent = 1.4026 - 0.005781 * x1;
+			}
+
+			@Override
+			public double height(boolean total, double totalAge, double breastHeightAge) {
+				if (breastHeightAge > 0.5) {
+					return 1.3 + x1 * Math.pow(1 - Math.exp(-0.01449 * (breastHeightAge - 0.5)), exponent);
+				}
+				return totalAge * totalAge * 1.3 / y2bh / y2bh;
+			}
+		}
+	}
+
+	static final class PliThrower extends Specialized {
+
+		private PliThrower() {
+			super(SiteIndexEquation.SI_PLI_THROWER);
+		}
+
+		@Override
+		double height(
+				boolean total, double totalAge, double breastHeightAge, double siteIndex, double y2bh, double pi
+		) {
+			return terms(siteIndex, y2bh, pi).height(total, totalAge, breastHeightAge);
+		}
+
+		@Override
+		Terms terms(double siteIndex, double y2bh, double pi) {
+			return new Terms(siteIndex, y2bh, pi);
+		}
+
+		@Override
+		double y2bhAt(double siteIndex) {
+			/* from seed */
+			return 2 + 0.55 + 69.4 / siteIndex;
+		}
+
+		@Override
+		double siteIndexDirect(double breastHeightAge, double height) {
+			double x1 = 1 + Math.exp(6.0925 + 0.7979 * Math.log(50.0) - 2.7338 * Math.log(height));
+			double x2 = 1 + Math.exp(6.0925 + 0.7979 * Math.log(breastHeightAge) - 2.7338 * Math.log(height));
+			return height * x1 / x2;
+		}
+
+		private static final class Terms implements Equation {
+
+			private final double siteIndex;
+			private final double y2bh;
+			private final double pi;
+			private final double a;
+			private final double numerator;
+			private final double exponent;
+
+			Terms(double siteIndex, double y2bh, double pi) {
+				this.siteIndex = siteIndex;
+				this.y2bh = y2bh;
+				this.pi = pi;
+				a = 7.6298 - 0.8940 * llog(siteIndex - 1.3);
+				numerator = 1.0 + Math.exp(a - 1.3563 * Math.log(50 - pi));
+				exponent = 1.77 - 0.1028 * y2bh;
+			}
+
+			@Override
+			public double height(boolean total, double totalAge, double breastHeightAge) {
+				if (breastHeightAge > pi) {
+					double x1 = numerator / (1.0 + Math.exp(a - 1.3563 * Math.log(breastHeightAge - pi)));
+					return 1.3 + (siteIndex - 1.3) * x1;
+				}
+				return 1.3 * Math.pow(totalAge / y2bh, exponent) * Math.pow(1.179, totalAge - y2bh);
+			}
+		}
+	}
+
+	static final class AtNigh extends Specialized {
+
+		private AtNigh() {
+			super(SiteIndexEquation.SI_AT_NIGH);
+		}
+
+		@Override
+		double height(
+				boolean total, double totalAge, double breastHeightAge, double siteIndex, double y2bh, double pi
+		) {
+			return terms(siteIndex, y2bh, pi).height(total, totalAge, breastHeightAge);
+		}
+
+		@Override
+		Terms terms(double siteIndex, double y2bh, double pi) {
+			return new Terms(siteIndex, y2bh);
+		}
+
+		@Override
+		double y2bhAt(double siteIndex) {
+			/* equation copied from At Goudie */
+			return 1.331 + 38.56 / siteIndex;
+		}
+
+		private static final class Terms implements Equation {
+
+			private final double y2bh;
+			private final double c;
+			private final double scale;
+
+			Terms(double siteIndex, double y2bh) {
+				this.y2bh = y2bh;
+				c = 0.9614 * Math.log(siteIndex - 1.3);
+				double x1 = 1 + Math.exp(7.423 - 1.15 * Math.log(49.5) - c);
+				scale = (siteIndex - 1.3) * x1;
+			}
+
+			@Override
+			public double height(boolean total, double totalAge, double breastHeightAge) {
+				if (breastHeightAge > 0.5) {
+					double x2 = 1 + Math.exp(7.423 - 1.15 * Math.log(breastHeightAge - 0.5) - c);
+					return 1.3 + scale / x2;
+				}
+				return Math.pow(totalAge / y2bh, 1.5) * 1.3;
+			}
+		}
+	}
+}
@@ -528,24 +528,8 @@ public class SiteIndex2Age {
 			double yearsToBreastHeight
 	) throws CommonCalculatorException {
 
-		double si2age;
-		double step;
-		double test_ht;
-		int err_count;
-
-		/* initial guess */
-		si2age = 25;
-		step = si2age / 2;
-		err_count = 0;
-
-		/* do a preliminary test to catch some obvious errors */
-		test_ht = SiteIndex2Height.indexToHeight(
-				cuIndex, si2age, SI_AT_TOTAL, siteIndex, yearsToBreastHeight, 0.5 /* may have to change */
-		);
-		// This would throw an illegal argument exception and move up the stack
-
-		/* loop until real close, or other end condition */
-		do {
+		/* find the total age at which the height is within 0.005 of the site height, starting from 25 */
+		double si2age = RootFinder.findIncreasing(totalAge -> {
 			if (TEST) {
 				try {
 					// Open the file for writing
@@ -556,96 +540,43 @@ public class SiteIndex2Age {
 						// Write to the file
 						fileWriter.write(
 								String.format(
-										"before index_to_height(age=%.2f, age_type=%s, site_index=%.2f, y2bh=%.2f)%n", si2age, ageType
-												.toString(), siteIndex, yearsToBreastHeight
+										"before index_to_height(age=%.2f, age_type=%s, site_index=%.2f, y2bh=%.2f)%n",
+										totalAge, ageType.toString(), siteIndex, yearsToBreastHeight
 								)
 						);
-
-						// Close the file
-						fileWriter.close();
 					}
 				} catch (IOException e) {
 					throw new RuntimeException("An error occurred while writing to the file.", e);
 				}
 			}
 
+			double test_ht;
 			try {
 				// 0.5 may have to change
 				test_ht = SiteIndex2Height
-						.indexToHeight(cuIndex, si2age, SI_AT_TOTAL, siteIndex, yearsToBreastHeight, 0.5);
-
-				if (TEST) {
-					try {
-						// Open the file for writing
-						File testfile = new File("si2age.tst");
-						try (FileWriter fileWriter = new FileWriter(testfile, true)) {
-
-							// Write to the file
-							fileWriter.write(String.format("index_to_height()=%.2f%n", test_ht));
-
-							// Close the file
-							fileWriter.close();
-						}
-					} catch (IOException e) {
-						throw new RuntimeException("An error occurred while writing to the file.", e);
-					}
-				}
+						.indexToHeight(cuIndex, totalAge, SI_AT_TOTAL, siteIndex, yearsToBreastHeight, 0.5);
 			} catch (NoAnswerException e) { /* height > 999 */
-				/*
-				 * printf ("si2age.c: site_height=%f, test_ht=%f, si2age=%f\n", site_height, test_ht, si2age);
-				 */
-				test_ht = 1000; /* should eventualy force an error code */
-				err_count++;
-				if (err_count == 100) {
-					si2age = SI_ERR_NO_ANS;
-					break;
-				}
+				test_ht = 1000;
 			}
+			return test_ht - siteHeight;
+		}, 25, 12.5, 0, 999, 0.005);
 
-			/* see if we're close enough */
-			if ( (test_ht - siteHeight > 0.005) || (test_ht - siteHeight < -0.005)) {
-				/* not close enough */
-				if (test_ht > siteHeight) {
-					if (step > 0) {
-						step = -step / 2.0;
-					}
-				} else {
-					if (step < 0) {
-						step = -step / 2.0;
-					}
-				}
-				si2age += step;
-			} else {
-				/* done */
-				break;
-			}
+		if (Double.isNaN(si2age)) {
+			si2age = SI_ERR_NO_ANS;
+			if (TEST) {
+				try {
+					// Open the file for writing
+					File testfile = new File("si2age.tst");
+					try (FileWriter fileWriter = new FileWriter(testfile, true)) {
 
-			/* check for lack of convergence, so we're not here forever */
-			if (step < 0.00001 && step > -0.00001) {
-				/* we have a value, but perhaps not too accurate */
-				break;
-			}
-			if (si2age > 999.0) {
-				si2age = SI_ERR_NO_ANS;
-				if (TEST) {
-					try {
-						// Open the file for writing
-						File testfile = new File("si2age.tst");
-						try (FileWriter fileWriter = new FileWriter(testfile, true)) {
-
-							// Write to the file
-							fileWriter.write(String.format("Failed due to age too high (> 999).\n"));
-
-							// Close the file
-							fileWriter.close();
-						}
-					} catch (IOException e) {
-						throw new RuntimeException("An error occurred while writing to the file.", e);
+						// Write to the file
+						fileWriter.write(String.format("Failed due to age too high (> 999).\n"));
 					}
+				} catch (IOException e) {
+					throw new RuntimeException("An error occurred while writing to the file.", e);
 				}
-				break;
 			}
-		} while (true);
+		}
 
 		if (si2age >= 0) {
 			if (ageType == SI_AT_BREAST) {
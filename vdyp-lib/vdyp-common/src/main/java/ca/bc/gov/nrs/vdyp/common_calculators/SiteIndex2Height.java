@@ -374,18 +374,8 @@ public class SiteIndex2Height {
 			}
 			break;
 		case SI_PLI_THROWER:
-			if (breastHeightAge > pi) {
-				x1 = (1.0 + Math.exp(7.6298 - 0.8940 * llog(siteIndex - 1.3) - 1.3563 * Math.log(50 - pi))) / (1.0
-						+ Math.exp(7.6298 - 0.8940 * llog(siteIndex - 1.3) - 1.3563 * Math.log(breastHeightAge - pi)));
-
-				height = 1.3 + (siteIndex - 1.3) * x1;
-			} else {
-				/*
-				 * height = tage * tage * 1.3 / y2bh / y2bh;
-				 */
-				height = 1.3 * Math.pow(totalAge / years2BreastHeight, 1.77 - 0.1028 * years2BreastHeight)
-						* Math.pow(1.179, totalAge - years2BreastHeight);
-			}
+			height = SiteCurves.PLI_THROWER
+					.height(ageType == SI_AT_TOTAL, totalAge, breastHeightAge, siteIndex, years2BreastHeight, pi);
 			break;
 		case SI_PLI_NIGHTA2004:
 			if (totalAge <= 15) {
@@ -463,22 +453,8 @@ public class SiteIndex2Height {
 			}
 			break;
 		case SI_FDC_BRUCEAC:
-			// 2009 may 6: force a non-rounded y2bh
-			years2BreastHeight = 13.25 - siteIndex / 6.096;
-
-			x1 = siteIndex / 30.48;
-
-			x2 = -0.477762 + x1 * (-0.894427 + x1 * (0.793548 - x1 * 0.171666));
-
-			x3 = ppow(49 + (1 - pi) + years2BreastHeight, x2);
-
-			x4 = Math.log(1.372 / siteIndex) / (ppow(years2BreastHeight, x2) - x3);
-
-			if (ageType == SI_AT_TOTAL) {
-				height = siteIndex * Math.exp(x4 * (ppow(totalAge, x2) - x3));
-			} else {
-				height = siteIndex * Math.exp(x4 * (ppow(breastHeightAge + years2BreastHeight - pi, x2) - x3));
-			}
+			height = SiteCurves.FDC_BRUCEAC
+					.height(ageType == SI_AT_TOTAL, totalAge, breastHeightAge, siteIndex, years2BreastHeight, pi);
 			break;
 		case SI_FDC_BRUCENIGH:
 			// 2009 may 6: force a non-rounded y2bh
@@ -828,17 +804,8 @@ public class SiteIndex2Height {
 			}
 			break;
 		case SI_FDI_THROWERAC:
-			if (breastHeightAge > 0.5) {
-				x1 = -0.237724692;
-				x2 = 5.780089777;
-				x3 = -1.150039266;
-				x1 = (1.0 + Math.exp(x2 + x1 * llog(siteIndex - 1.3) + x3 * Math.log(49.5)))
-						/ (1.0 + Math.exp(x2 + x1 * llog(siteIndex - 1.3) + x3 * Math.log(breastHeightAge - 0.5)));
-
-				height = 1.3 + (siteIndex - 1.3) * x1;
-			} else {
-				height = totalAge * totalAge * 1.3 / years2BreastHeight / years2BreastHeight;
-			}
+			height = SiteCurves.FDI_THROWERAC
+					.height(ageType == SI_AT_TOTAL, totalAge, breastHeightAge, siteIndex, years2BreastHeight, pi);
 			break;
 		case SI_SS_NIGH:
 			if (breastHeightAge > 0.5) {
@@ -1168,13 +1135,8 @@ public class SiteIndex2Height {
 			break;
 
 		case SI_CWC_NIGH:
-			if (breastHeightAge > 0.5) {
-				x1 = -3.004284755 + 2.5332489439 * siteIndex - 0.019027688 * siteIndex * siteIndex
-						+ 0.0000992968 * Math.pow(siteIndex, 3.0);
-				height = 1.3 + x1 * Math.pow(1 - Math.exp(-0.01449 * (breastHeightAge - 0.5)), 1.4026 - 0.005781 * x1);
-			} else {
-				height = totalAge * totalAge * 1.3 / years2BreastHeight / years2BreastHeight;
-			}
+			height = SiteCurves.CWC_NIGH
+					.height(ageType == SI_AT_TOTAL, totalAge, breastHeightAge, siteIndex, years2BreastHeight, pi);
 			break;
 		case SI_BA_DILUCCA:
 			if (breastHeightAge > 0.0) {
@@ -1548,16 +1510,8 @@ public class SiteIndex2Height {
 			}
 			break;
 		case SI_AT_NIGH:
-			if (breastHeightAge > 0.5) {
-				x1 = 1 + Math.exp(7.423 - 1.15 * Math.log(49.5) - 0.9614 * Math.log(siteIndex - 1.3));
-				x2 = 1 + Math.exp(7.423 - 1.15 * Math.log(breastHeightAge - 0.5) - 0.9614 * Math.log(siteIndex - 1.3));
-				height = 1.3 + (siteIndex - 1.3) * x1 / x2;
-			} else {
-				/*
-				 * was height = tage * tage * 1.3 / y2bh / y2bh;
-				 */
-				height = Math.pow(totalAge / years2BreastHeight, 1.5) * 1.3;
-			}
+			height = SiteCurves.AT_NIGH
+					.height(ageType == SI_AT_TOTAL, totalAge, breastHeightAge, siteIndex, years2BreastHeight, pi);
 			break;
 		// Cannot find constant
 		/*
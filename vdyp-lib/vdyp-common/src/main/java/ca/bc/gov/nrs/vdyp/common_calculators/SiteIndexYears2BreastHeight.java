@@ -47,8 +47,7 @@ public class SiteIndexYears2BreastHeight {
 			break;
 
 		case SI_FDC_BRUCEAC:
-			/* from seed */
-			y2bh = min1(13.25 - siteIndex / 6.096);
+			y2bh = SiteCurves.FDC_BRUCEAC.y2bhAt(siteIndex);
 			break;
 
 		case SI_FDC_NIGHTA:
@@ -293,8 +292,7 @@ public class SiteIndexYears2BreastHeight {
 			break;
 
 		case SI_PLI_THROWER:
-			/* from seed */
-			y2bh = 2 + 0.55 + 69.4 / siteIndex;
+			y2bh = SiteCurves.PLI_THROWER.y2bhAt(siteIndex);
 			break;
 
 		case SI_PLI_MILNER:
@@ -512,11 +510,7 @@ public class SiteIndexYears2BreastHeight {
 			break;
 
 		case SI_CWC_NIGH:
-			/*
-			 * approximate function, borrowed from Fdc Bruce 1981
-			 */
-			/* from seed */
-			y2bh = min1(13.25 - siteIndex / 6.096);
+			y2bh = SiteCurves.CWC_NIGH.y2bhAt(siteIndex);
 			break;
 
 		case SI_BA_DILUCCA:
@@ -632,9 +626,7 @@ public class SiteIndexYears2BreastHeight {
 			break;
 
 		case SI_FDI_THROWERAC:
-			/* copied from FDI_THROWER */
-			/* from seed */
-			y2bh = 4.0 + 99.0 / siteIndex;
+			y2bh = SiteCurves.FDI_THROWERAC.y2bhAt(siteIndex);
 			break;
 
 		case SI_FDI_VDP_MONT:
@@ -668,10 +660,7 @@ public class SiteIndexYears2BreastHeight {
 			break;
 
 		case SI_AT_NIGH:
-			/*
-			 * equation copied from At Goudie
-			 */
-			y2bh = 1.331 + 38.56 / siteIndex;
+			y2bh = SiteCurves.AT_NIGH.y2bhAt(siteIndex);
 			break;
 
 		case SI_AT_CHEN:
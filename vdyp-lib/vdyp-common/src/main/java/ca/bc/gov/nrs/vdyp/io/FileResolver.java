@@ -3,10 +3,23 @@ package ca.bc.gov.nrs.vdyp.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
 
 public interface FileResolver {
 	InputStream resolveForInput(String filename) throws IOException;
 
+	/**
+	 * Resolve a file to its location on the local file system, if it has one, so that it can be read by means other
+	 * than {@link #resolveForInput(String)}, such as memory mapping.
+	 *
+	 * @param filename
+	 * @return the path of the file, or empty if it is not a local file.
+	 */
+	default Optional<Path> resolveLocalPath(String filename) {
+		return Optional.empty();
+	}
+
 	OutputStream resolveForOutput(String filename) throws IOException;
 
 	String toString(String filename) throws IOException;
@@ -28,6 +28,11 @@ public class FileSystemFileResolver implements FileResolver {
 		return Files.newInputStream(toPath(filename));
 	}
 
+	@Override
+	public Optional<Path> resolveLocalPath(String filename) {
+		return Optional.of(toPath(filename));
+	}
+
 	@Override
 	public OutputStream resolveForOutput(String filename) throws IOException {
 		return Files.newOutputStream(toPath(filename));
@@ -23,6 +23,7 @@ import ca.bc.gov.nrs.vdyp.io.parse.control.OptionalResourceControlMapModifier;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
 import ca.bc.gov.nrs.vdyp.model.Coefficients;
+import ca.bc.gov.nrs.vdyp.model.FloatMatrixMap2Impl;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap2;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap2Impl;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap3;
@@ -322,16 +323,16 @@ public class ModifierParser implements OptionalResourceControlMapModifier {
 		var spAliases = GenusDefinitionParser.getSpeciesAliases(control);
 		var regions = Arrays.asList(Region.values());
 
-		var baModifiers = new MatrixMap2Impl<String, Region, Float>(spAliases, regions, (k1, k2) -> 1f);
+		var baModifiers = new FloatMatrixMap2Impl<String, Region>(spAliases, regions, (k1, k2) -> 1f);
 		control.put(ControlKey.BA_MODIFIERS.name(), baModifiers);
 
-		var dqModifiers = new MatrixMap2Impl<String, Region, Float>(spAliases, regions, (k1, k2) -> 1f);
+		var dqModifiers = new FloatMatrixMap2Impl<String, Region>(spAliases, regions, (k1, k2) -> 1f);
 		control.put(ControlKey.DQ_MODIFIERS.name(), dqModifiers);
 
-		var decayModifiers = new MatrixMap2Impl<String, Region, Float>(spAliases, regions, (k1, k2) -> 0f);
+		var decayModifiers = new FloatMatrixMap2Impl<String, Region>(spAliases, regions, (k1, k2) -> 0f);
 		control.put(CONTROL_KEY_MOD301_DECAY.name(), decayModifiers);
 
-		var wasteModifiers = new MatrixMap2Impl<String, Region, Float>(spAliases, regions, (k1, k2) -> 0f);
+		var wasteModifiers = new FloatMatrixMap2Impl<String, Region>(spAliases, regions, (k1, k2) -> 0f);
 		control.put(CONTROL_KEY_MOD301_WASTE.name(), wasteModifiers);
 	}
 
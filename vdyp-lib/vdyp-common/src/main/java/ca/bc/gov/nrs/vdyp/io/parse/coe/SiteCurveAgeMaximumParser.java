@@ -80,15 +80,21 @@ public class SiteCurveAgeMaximumParser
 	};
 
 	@Override
-	@SuppressWarnings("serial")
 	public Map<Integer, SiteCurveAgeMaximum> defaultResult() {
-		return new HashMap<>() {
-			@Override
-			public SiteCurveAgeMaximum get(Object key) {
-				return containsKey(key) ? super.get(key)
-						: new SiteCurveAgeMaximum(DEFAULT_AGE, DEFAULT_AGE, DEFAULT_T1, DEFAULT_T2);
-			}
-		};
+		return new DefaultingMap();
+	}
+
+	/**
+	 * Supplies the default maximum for site curves without one of their own. A static class rather than an anonymous
+	 * one, so that it does not capture the parser and can be serialized.
+	 */
+	@SuppressWarnings("serial")
+	private static class DefaultingMap extends HashMap<Integer, SiteCurveAgeMaximum> {
+		@Override
+		public SiteCurveAgeMaximum get(Object key) {
+			return containsKey(key) ? super.get(key)
+					: new SiteCurveAgeMaximum(DEFAULT_AGE, DEFAULT_AGE, DEFAULT_T1, DEFAULT_T2);
+		}
 	}
 
 	@Override
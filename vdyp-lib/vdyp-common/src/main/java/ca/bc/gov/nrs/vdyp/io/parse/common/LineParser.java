@@ -58,10 +58,13 @@ public class LineParser {
 		}
 	}
 
-	abstract static class LineParserValueSegment<T> extends LineParserSegment {
+	static class LineParserValueSegment<T> extends LineParserSegment {
 		String name;
+		ControlledValueParser<T> parser;
 
-		abstract T parse(String value, Map<String, Object> control) throws ValueParseException;
+		T parse(String value, Map<String, Object> control) throws ValueParseException {
+			return parser.parse(value, control);
+		}
 
 		public String getName() {
 			return name;
@@ -74,9 +77,10 @@ public class LineParser {
 			map.put(this.getName(), value);
 		}
 
-		protected LineParserValueSegment(int length, String name) {
+		protected LineParserValueSegment(int length, String name, ControlledValueParser<T> parser) {
 			super(length);
 			this.name = name;
+			this.parser = parser;
 		}
 	}
 
@@ -179,18 +183,31 @@ public class LineParser {
 	private <T> LineParser doValue(int length, String name, ControlledValueParser<T> parser) {
 		if (!segments.isEmpty() && segments.get(segments.size() - 1).length < 0)
 			throw new IllegalStateException("Can not add a segment after an unbounded segment");
-		segments.add(new LineParserValueSegment<T>(length, name) {
+		segments.add(new LineParserValueSegment<T>(length, name, parser));
+		return this;
+	}
 
-			@Override
-			T parse(String value, Map<String, Object> control) throws ValueParseException {
-				return parser.parse(value, control);
+	/**
+	 * Compile this parser into a {@link RecordDecoder}, which decodes the same records without building a map for each
+	 * of them. Segments added to this parser after the decoder is created are not seen by it.
+	 */
+	public RecordDecoder decoder() {
+		int n = segments.size();
+		var names = new String[n];
+		var lengths = new int[n];
+		var parsers = new ControlledValueParser<?>[n];
+		for (int i = 0; i < n; i++) {
+			var segment = segments.get(i);
+			lengths[i] = segment.getLength();
+			if (segment instanceof LineParserValueSegment<?> valueSegment) {
+				names[i] = valueSegment.getName();
+				parsers[i] = valueSegment.parser;
 			}
-
-		});
-		return this;
+		}
+		return new RecordDecoder(this, names, lengths, parsers);
 	}
 
-	private List<String> segmentize(String line) {
+	List<String> segmentize(String line) {
 		List<String> result = new ArrayList<>(segments.size());
 
 		int i = 0;
@@ -231,7 +248,8 @@ public class LineParser {
 			throw new IllegalStateException("segment strings and segment handlers must have the same size");
 		}
 
-		var result = new HashMap<String, Object>();
+		// Room for every segment and the line number without rehashing
+		var result = new HashMap<String, Object>(segments.size() * 2);
 
 		for (int i = 0; i < segments.size(); i++) {
 			var segmentHandler = segments.get(i);
@@ -291,6 +309,7 @@ public class LineParser {
 		private Map<String, Object> control;
 
 		private Optional<Optional<String>> nextLine = Optional.empty();
+		private List<String> nextSegments;
 
 		public LineStream(BufferedReader reader, Map<String, Object> control) {
 			this.reader = reader;
@@ -302,11 +321,11 @@ public class LineParser {
 				nextLine = Optional.of(doGetNextLine());
 			}
 			try {
-				var line = nextLine.get()
+				nextLine.get()
 						.orElseThrow(() -> new NoSuchElementException("Tried to get next entry when none exists"));
-				var segments = segmentize(line);
 
-				var entry = parse(segments, control);
+				// The line has already been segmentized by doGetNextLine
+				var entry = parse(nextSegments, control);
 
 				entry.put(LINE_NUMBER_KEY, lineNumber);
 
@@ -315,6 +334,7 @@ public class LineParser {
 				throw handleValueParseException(ex);
 			} finally {
 				nextLine = Optional.empty();
+				nextSegments = null;
 			}
 		}
 
@@ -346,6 +366,7 @@ public class LineParser {
 					continue;
 				}
 
+				nextSegments = segments;
 				return Optional.of(line);
 
 			}
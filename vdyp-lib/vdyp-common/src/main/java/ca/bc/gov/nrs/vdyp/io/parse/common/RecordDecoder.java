@@ -0,0 +1,580 @@
+package ca.bc.gov.nrs.vdyp.io.parse.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import ca.bc.gov.nrs.vdyp.io.FileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.value.AsciiNumbers;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ControlledValueParser;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
+
+/**
+ * Decodes files of fixed width records, as described by a {@link LineParser}, without building a map of boxed values
+ * for each record.
+ * <p>
+ * Records are presented through a single, reused, {@link Record} whose fields are decoded on demand: numeric fields
+ * directly from the bytes of the record with {@link Record#getInt(int)} and {@link Record#getFloat(int)}, and any field
+ * with the parser it was declared with using {@link Record#getValue(int)}. Fields are identified by index, which is
+ * looked up once by name with {@link #field(String)}.
+ * <p>
+ * Files on the local file system are memory mapped, and records are decoded where they lie in the mapping. Other
+ * streams are read in blocks, and records are decoded where they lie in the block. In either case a record is only
+ * copied if it straddles two blocks. The position of each record can be taken, and streams of memory mapped files can
+ * be repositioned to any such position.
+ * <p>
+ * Records are decoded exactly as {@link LineParser} would decode them, including the line parser's ignore and stop
+ * tests. Those tests take the line as a string, so a line parser that overrides them causes each line to be
+ * materialized as one.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class RecordDecoder {
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	private static final int MAP_WINDOW_SIZE = 128 * 1024 * 1024;
+	private static final int INITIAL_LINE_LENGTH = 256;
+
+	private final LineParser lineParser;
+	private final String[] names;
+	private final int[] offsets;
+	private final int[] lengths;
+	private final ControlledValueParser<?>[] parsers;
+
+	private final boolean hasLineTests;
+	private final boolean hasSegmentTests;
+
+	RecordDecoder(LineParser lineParser, String[] names, int[] lengths, ControlledValueParser<?>[] parsers) {
+		this.lineParser = lineParser;
+		this.names = names;
+		this.lengths = lengths;
+		this.parsers = parsers;
+
+		this.offsets = new int[lengths.length];
+		int offset = 0;
+		for (int i = 0; i < lengths.length; i++) {
+			offsets[i] = offset;
+			// Only the last segment may be unbounded
+			offset += Math.max(lengths[i], 0);
+		}
+
+		this.hasLineTests = overrides(lineParser, "isStopLine", String.class)
+				|| overrides(lineParser, "isIgnoredLine", String.class);
+		this.hasSegmentTests = overrides(lineParser, "isStopSegment", List.class)
+				|| overrides(lineParser, "isIgnoredSegment", List.class);
+	}
+
+	private static boolean overrides(LineParser lineParser, String methodName, Class<?> parameterType) {
+		try {
+			return lineParser.getClass().getMethod(methodName, parameterType).getDeclaringClass() != LineParser.class;
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param name the name of a field
+	 * @return the index by which the field's value is retrieved from a {@link Record}
+	 * @throws IllegalArgumentException if there is no field with that name
+	 */
+	public int field(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (name.equals(names[i])) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException(MessageFormat.format("There is no field named {0}", name));
+	}
+
+	/**
+	 * Returns a stream of the records in <code>is</code>. Closing it will close <code>is</code>.
+	 *
+	 * @param is      the records
+	 * @param control the control map, passed to the field parsers used by {@link Record#getValue(int)}
+	 */
+	public RecordStream stream(InputStream is, Map<String, Object> control) {
+		return new RecordStream(new InputStreamSource(is), control);
+	}
+
+	/**
+	 * Returns a stream of the records in the file at <code>path</code>, which is memory mapped.
+	 *
+	 * @param path    the records
+	 * @param control the control map, passed to the field parsers used by {@link Record#getValue(int)}
+	 * @throws IOException if the file can not be opened
+	 */
+	public RecordStream stream(Path path, Map<String, Object> control) throws IOException {
+		return stream(path, control, MAP_WINDOW_SIZE);
+	}
+
+	RecordStream stream(Path path, Map<String, Object> control, int windowSize) throws IOException {
+		return new RecordStream(
+				new MappedSource(path, FileChannel.open(path, StandardOpenOption.READ), windowSize), control
+		);
+	}
+
+	/**
+	 * Returns a stream of the records in the named file. The file is memory mapped if <code>fileResolver</code>
+	 * resolves it to a local file, and read as a stream otherwise.
+	 *
+	 * @param fileResolver resolves <code>fileName</code>
+	 * @param fileName     the records
+	 * @param control      the control map, passed to the field parsers used by {@link Record#getValue(int)}
+	 * @throws IOException if the file can not be opened
+	 */
+	public RecordStream stream(FileResolver fileResolver, String fileName, Map<String, Object> control)
+			throws IOException {
+		var path = fileResolver.resolveLocalPath(fileName);
+		if (path.isPresent()) {
+			return stream(path.get(), control);
+		}
+		return stream(fileResolver.resolveForInput(fileName), control);
+	}
+
+	/**
+	 * Supplies the content of a file as a sequence of blocks.
+	 */
+	private interface Source extends Closeable {
+
+		/**
+		 * @return the next block, from its position 0 up to its limit, or null at the end of the file. The block
+		 *         returned by the previous call need not remain valid.
+		 */
+		ByteBuffer nextBlock() throws IOException;
+
+		default boolean isSeekable() {
+			return false;
+		}
+
+		/**
+		 * @return the file being read, if it is a local file
+		 */
+		default Optional<Path> localPath() {
+			return Optional.empty();
+		}
+
+		/**
+		 * Continue from <code>offset</code>, so that the next block starts there.
+		 */
+		default void seek(long offset) throws IOException {
+			throw new UnsupportedOperationException("The records can only be read sequentially");
+		}
+	}
+
+	private static class InputStreamSource implements Source {
+
+		private final InputStream is;
+		private final byte[] block = new byte[READ_BUFFER_SIZE];
+		private final ByteBuffer blockBuffer = ByteBuffer.wrap(block);
+
+		InputStreamSource(InputStream is) {
+			this.is = is;
+		}
+
+		@Override
+		public ByteBuffer nextBlock() throws IOException {
+			int n = is.read(block);
+			if (n < 0) {
+				return null;
+			}
+			return blockBuffer.clear().limit(n);
+		}
+
+		@Override
+		public void close() throws IOException {
+			is.close();
+		}
+	}
+
+	private static class MappedSource implements Source {
+
+		private final Path path;
+		private final FileChannel channel;
+		private final int windowSize;
+		private long position = 0;
+
+		MappedSource(Path path, FileChannel channel, int windowSize) {
+			this.path = path;
+			this.channel = channel;
+			this.windowSize = windowSize;
+		}
+
+		@Override
+		public ByteBuffer nextBlock() throws IOException {
+			long size = channel.size();
+			if (position >= size) {
+				return null;
+			}
+			long length = Math.min(windowSize, size - position);
+			var block = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+			position += length;
+			return block;
+		}
+
+		@Override
+		public boolean isSeekable() {
+			return true;
+		}
+
+		@Override
+		public void seek(long offset) {
+			position = offset;
+		}
+
+		@Override
+		public Optional<Path> localPath() {
+			return Optional.of(path);
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	public class RecordStream implements AutoCloseable {
+
+		private final Source source;
+		private final Map<String, Object> control;
+		private final Record record = new Record();
+
+		private ByteBuffer block = null;
+		private long blockOffset = 0; // The offset in the file of the start of the block
+		private int blockPosition = 0;
+		private int blockLimit = 0;
+		private boolean skipLineFeed = false;
+
+		// Holds lines that straddle two blocks
+		private byte[] spill = new byte[INITIAL_LINE_LENGTH];
+		private ByteBuffer spillBuffer = ByteBuffer.wrap(spill);
+		private int spillLength;
+
+		// The current line is bytes lineStart to lineStart + lineLength of lineBytes
+		private ByteBuffer lineBytes = spillBuffer;
+		private int lineStart;
+		private int lineLength;
+		private long lineOffset = 0; // The offset in the file of the start of the line
+		private int lineNumber = 0;
+
+		/** null if the next record has not been looked for, otherwise whether there is one */
+		private Boolean hasNext = null;
+
+		RecordStream(Source source, Map<String, Object> control) {
+			this.source = source;
+			this.control = control;
+		}
+
+		public boolean hasNext() throws IOException {
+			if (hasNext == null) {
+				hasNext = findNextRecord();
+			}
+			return hasNext;
+		}
+
+		/**
+		 * Returns the next record. The record is only valid until the next call to <code>hasNext</code> or
+		 * <code>next</code>.
+		 */
+		public Record next() throws IOException {
+			if (!hasNext()) {
+				throw new NoSuchElementException("Tried to get next entry when none exists");
+			}
+			hasNext = null;
+			return record;
+		}
+
+		public int getLineNumber() {
+			return lineNumber;
+		}
+
+		/**
+		 * The position of the record that the next call to <code>next</code> will return or, if there are no more
+		 * records, of the point at which reading stopped. Like <code>hasNext</code>, this invalidates the current
+		 * record.
+		 */
+		public StreamPosition position() throws IOException {
+			hasNext();
+			return new StreamPosition(lineOffset, lineNumber);
+		}
+
+		/**
+		 * @return true if {@link #seek(StreamPosition)} is supported, which it is for memory mapped files.
+		 */
+		public boolean isSeekable() {
+			return source.isSeekable();
+		}
+
+		/**
+		 * @return the file being read, if it is a local file
+		 */
+		public Optional<Path> localPath() {
+			return source.localPath();
+		}
+
+		/**
+		 * Continue reading from a position previously returned by {@link #position()}.
+		 *
+		 * @throws UnsupportedOperationException if the stream is not {@link #isSeekable() seekable}
+		 */
+		public void seek(StreamPosition position) throws IOException {
+			source.seek(position.offset());
+			block = null;
+			blockOffset = position.offset();
+			blockPosition = 0;
+			blockLimit = 0;
+			skipLineFeed = false;
+			lineOffset = position.offset();
+			lineNumber = position.lineNumber() - 1;
+			hasNext = null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			source.close();
+		}
+
+		private boolean findNextRecord() throws IOException {
+			while (true) {
+				lineNumber++;
+				if (!readLine()) {
+					return false;
+				}
+
+				if (hasLineTests || hasSegmentTests) {
+					var lineString = string(lineStart, lineStart + lineLength);
+					if (lineParser.isStopLine(lineString)) {
+						return false;
+					}
+					if (lineParser.isIgnoredLine(lineString)) {
+						continue;
+					}
+					if (hasSegmentTests) {
+						var segments = lineParser.segmentize(lineString);
+						if (lineParser.isStopSegment(segments)) {
+							return false;
+						}
+						if (lineParser.isIgnoredSegment(segments)) {
+							continue;
+						}
+					}
+				}
+
+				return true;
+			}
+		}
+
+		/**
+		 * Find the next line. Lines are terminated as they are by {@link java.io.BufferedReader#readLine()}.
+		 *
+		 * @return false if the end of the file had already been reached
+		 */
+		private boolean readLine() throws IOException {
+			boolean spilled = false;
+			spillLength = 0;
+			while (true) {
+				if (blockPosition == blockLimit) {
+					block = source.nextBlock();
+					blockOffset += blockLimit;
+					blockPosition = 0;
+					if (block == null) {
+						blockLimit = 0;
+						if (spilled) {
+							setLine(spillBuffer, 0, spillLength);
+						} else {
+							lineOffset = blockOffset;
+						}
+						return spilled;
+					}
+					blockLimit = block.limit();
+					continue;
+				}
+				if (skipLineFeed) {
+					skipLineFeed = false;
+					if (block.get(blockPosition) == '\n') {
+						blockPosition++;
+						continue;
+					}
+				}
+
+				int start = blockPosition;
+				if (!spilled) {
+					lineOffset = blockOffset + start;
+				}
+				while (blockPosition < blockLimit && block.get(blockPosition) != '\n'
+						&& block.get(blockPosition) != '\r') {
+					blockPosition++;
+				}
+
+				if (blockPosition == blockLimit) {
+					// The line continues in the next block
+					spill(start, blockPosition);
+					spilled = true;
+					continue;
+				}
+
+				if (spilled) {
+					spill(start, blockPosition);
+					setLine(spillBuffer, 0, spillLength);
+				} else {
+					setLine(block, start, blockPosition - start);
+				}
+				skipLineFeed = block.get(blockPosition) == '\r';
+				blockPosition++;
+				return true;
+			}
+		}
+
+		private void setLine(ByteBuffer bytes, int start, int length) {
+			lineBytes = bytes;
+			lineStart = start;
+			lineLength = length;
+		}
+
+		private void spill(int from, int to) {
+			int n = to - from;
+			if (spillLength + n > spill.length) {
+				spill = Arrays.copyOf(spill, Math.max(spill.length * 2, spillLength + n));
+				spillBuffer = ByteBuffer.wrap(spill);
+			}
+			block.get(from, spill, spillLength, n);
+			spillLength += n;
+		}
+
+		private String string(int from, int to) {
+			if (lineBytes.hasArray()) {
+				return new String(lineBytes.array(), lineBytes.arrayOffset() + from, to - from, LineParser.charset);
+			}
+			var bytes = new byte[to - from];
+			lineBytes.get(from, bytes);
+			return new String(bytes, LineParser.charset);
+		}
+
+		/**
+		 * A view of the current record.
+		 */
+		public class Record {
+
+			public int getLineNumber() {
+				return lineNumber;
+			}
+
+			/**
+			 * @return true if the line is long enough to include at least part of the field. Fields that are not
+			 *         present are omitted from the map produced by {@link LineParser}.
+			 */
+			public boolean isPresent(int field) {
+				return offsets[field] < lineLength;
+			}
+
+			/**
+			 * @return true if the field is not present, or consists entirely of whitespace.
+			 */
+			public boolean isBlank(int field) {
+				int end = end(field);
+				for (int i = start(field); i < end; i++) {
+					if (!Character.isWhitespace(lineBytes.get(i))) {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			/**
+			 * @return the text of the field, as the string segment parser would return it, or null if it is not
+			 *         present.
+			 */
+			public String getString(int field) {
+				if (!isPresent(field)) {
+					return null;
+				}
+				return string(start(field), end(field));
+			}
+
+			/**
+			 * @return the value of the field, as it would be parsed by the parser it was declared with, or null if it
+			 *         is not present.
+			 */
+			public Object getValue(int field) throws ValueParseException {
+				if (!isPresent(field)) {
+					return null;
+				}
+				if (parsers[field] == null) {
+					throw new IllegalArgumentException(MessageFormat.format("Field {0} is a space", field));
+				}
+				return parsers[field].parse(getString(field), control);
+			}
+
+			/**
+			 * Decode the field as {@link ValueParser#INTEGER} would.
+			 *
+			 * @throws ValueParseException if the field is not present or is not an integer
+			 */
+			public int getInt(int field) throws ValueParseException {
+				long result = AsciiNumbers.parseInt(lineBytes, start(field), end(field));
+				if (result != AsciiNumbers.NOT_SIMPLE_INT) {
+					return (int) result;
+				}
+
+				var stripped = string(start(field), end(field)).strip();
+				try {
+					return Integer.parseInt(stripped);
+				} catch (NumberFormatException ex) {
+					throw numberParseException(stripped, Integer.class, ex);
+				}
+			}
+
+			/**
+			 * Decode the field as {@link ValueParser#FLOAT} would.
+			 *
+			 * @throws ValueParseException if the field is not present or is not a number
+			 */
+			public float getFloat(int field) throws ValueParseException {
+				float result = AsciiNumbers.parseFloat(lineBytes, start(field), end(field));
+				if (!Float.isNaN(result)) {
+					return result;
+				}
+
+				var stripped = string(start(field), end(field)).strip();
+				try {
+					return Float.parseFloat(stripped);
+				} catch (NumberFormatException ex) {
+					throw numberParseException(stripped, Float.class, ex);
+				}
+			}
+
+			private ValueParseException
+					numberParseException(String stripped, Class<?> klazz, NumberFormatException cause) {
+				return new ValueParseException(
+						stripped, String.format(ValueParser.S_IS_NOT_A_VALID_S, stripped, klazz.getSimpleName()), cause
+				);
+			}
+
+			/** The position in <code>lineBytes</code> of the start of the field */
+			private int start(int field) {
+				return lineStart + Math.min(offsets[field], lineLength);
+			}
+
+			/** The position in <code>lineBytes</code> of the end of the field */
+			private int end(int field) {
+				if (!isPresent(field)) {
+					return start(field);
+				}
+				if (lengths[field] >= 0 && offsets[field] + lengths[field] < lineLength) {
+					return lineStart + offsets[field] + lengths[field];
+				}
+				return lineStart + lineLength;
+			}
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package ca.bc.gov.nrs.vdyp.io.parse.common;
+
+/**
+ * A position in a file of records, from which reading can be resumed.
+ *
+ * @param offset     the offset in bytes, from the start of the file, of the start of a line
+ * @param lineNumber the number, counting from one, of that line
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public record StreamPosition(long offset, int lineNumber) {
+
+	/** The start of a file */
+	public static final StreamPosition START = new StreamPosition(0, 1);
+
+}
@@ -2,9 +2,16 @@ package ca.bc.gov.nrs.vdyp.io.parse.control;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +24,24 @@ import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
 
 public abstract class BaseControlParser {
 
-	@SuppressWarnings("unused")
 	private static final Logger log = LoggerFactory.getLogger(BaseControlParser.class);
 
+	/**
+	 * System property giving the location of a coefficient bundle to be used by the applications. If absent, the
+	 * configuration files named by the control file are always parsed.
+	 *
+	 * @see #setCoefficientBundlePath(Path)
+	 */
+	public static final String COEFFICIENT_BUNDLE_PROPERTY = "vdyp.coefficient.bundle";
+
+	/**
+	 * Command line option which, followed by the location of a coefficient bundle and the control file(s), has an
+	 * application compile the bundle from the configuration named by the control file(s) rather than process polygons.
+	 * Runs given the same control file(s) and the bundle's location by {@link #COEFFICIENT_BUNDLE_PROPERTY} then take
+	 * their configuration from the bundle.
+	 */
+	public static final String COMPILE_COEFFICIENTS_OPTION = "--compile-coefficients";
+
 	protected static final ValueParser<String> FILENAME = String::strip;
 
 	public static final String MINIMUM_HEIGHT = "MINIMUM_HEIGHT";
@@ -39,6 +61,10 @@ public abstract class BaseControlParser {
 
 	protected ControlFileParser controlParser = new ControlFileParser();
 
+	private Optional<Path> coefficientBundlePath = Optional.empty();
+
+	private Optional<CoefficientCache> coefficientCache = Optional.empty();
+
 	protected BaseControlParser() {
 	}
 
@@ -95,13 +121,180 @@ public abstract class BaseControlParser {
 			map.putAll(controlParser.parse(is, map));
 		}
 
-		applyAllModifiers(map, fileResolver);
+		if (coefficientCache.isEmpty() && coefficientBundlePath.isEmpty()) {
+			applyAllModifiers(map, fileResolver);
+			return map;
+		}
+
+		var fingerprint = CoefficientBundle.fingerprint(map, inputAndOutputFileKeys(), fileResolver);
+
+		var cached = coefficientCache.flatMap(cache -> cache.get(getProgramId(), fingerprint));
+		if (cached.isPresent()) {
+			log.debug("Taking configuration from coefficient cache");
+
+			map.putAll(cached.get());
+			applyInputModifiers(map, fileResolver);
+			return map;
+		}
+
+		Map<String, Object> configuration;
+		if (coefficientBundlePath.isPresent()) {
+			var bundlePath = coefficientBundlePath.get();
+
+			var bundle = CoefficientBundle.read(bundlePath);
+			if (bundle.isPresent() && bundle.get().isCurrent(getProgramId(), fingerprint)) {
+				log.debug("Reading configuration from coefficient bundle {}", bundlePath);
+
+				configuration = bundle.get().getEntries();
+				map.putAll(configuration);
+				applyInputModifiers(map, fileResolver);
+			} else {
+				log.info("Coefficient bundle {} is missing or out of date; compiling it", bundlePath);
+
+				configuration = applyAllModifiersAndCollectConfiguration(map, fileResolver);
+				try {
+					new CoefficientBundle(getProgramId(), fingerprint, configuration).write(bundlePath);
+				} catch (IOException e) {
+					// The configuration has been parsed, so the run can go on without the bundle
+					log.warn(MessageFormat.format("Unable to write coefficient bundle {0}", bundlePath), e);
+				}
+			}
+		} else {
+			configuration = applyAllModifiersAndCollectConfiguration(map, fileResolver);
+		}
+
+		coefficientCache.ifPresent(cache -> cache.put(getProgramId(), fingerprint, configuration));
 
 		return map;
 	}
 
+	/**
+	 * Read the configuration named by the given control file(s) and write it to a coefficient bundle, which later
+	 * parses of the same control file(s) may then use in place of the configuration files themselves.
+	 *
+	 * @param resources    the control file(s)
+	 * @param fileResolver resolves the names of the files named in the control file(s)
+	 * @param bundlePath   the location of the bundle
+	 * @throws IOException            if a file cannot be read or the bundle cannot be written
+	 * @throws ResourceParseException if a file cannot be parsed
+	 */
+	public void compileCoefficientBundle(List<InputStream> resources, FileResolver fileResolver, Path bundlePath)
+			throws IOException, ResourceParseException {
+
+		Map<String, Object> map = new HashMap<>();
+		for (var is : resources) {
+			map.putAll(controlParser.parse(is, map));
+		}
+
+		var fingerprint = CoefficientBundle.fingerprint(map, inputAndOutputFileKeys(), fileResolver);
+		var configuration = applyAllModifiersAndCollectConfiguration(map, fileResolver);
+
+		new CoefficientBundle(getProgramId(), fingerprint, configuration).write(bundlePath);
+	}
+
+	/**
+	 * Read the configuration named by the given control file(s) and write it to a coefficient bundle.
+	 *
+	 * @param fileResolver     resolves the control file(s), and the files named in them
+	 * @param controlFileNames the names of the control file(s)
+	 * @param bundlePath       the location of the bundle
+	 * @throws IOException            if a file cannot be read or the bundle cannot be written
+	 * @throws ResourceParseException if a file cannot be parsed
+	 * @see #compileCoefficientBundle(List, FileResolver, Path)
+	 */
+	public void compileCoefficientBundle(FileResolver fileResolver, List<String> controlFileNames, Path bundlePath)
+			throws IOException, ResourceParseException {
+
+		if (controlFileNames.isEmpty()) {
+			throw new IllegalArgumentException("At least one control file must be specified.");
+		}
+
+		List<InputStream> resources = new ArrayList<>(controlFileNames.size());
+		try {
+			for (String controlFileName : controlFileNames) {
+				resources.add(fileResolver.resolveForInput(controlFileName));
+			}
+
+			compileCoefficientBundle(resources, fileResolver, bundlePath);
+		} finally {
+			for (var resource : resources) {
+				resource.close();
+			}
+		}
+	}
+
+	/**
+	 * Have subsequent parses take the configuration named by the control file from the coefficient bundle at
+	 * <code>bundlePath</code> rather than from the configuration files themselves, as long as the bundle is current. If
+	 * the bundle is absent or not current, the configuration files are parsed and the bundle is (re)written; failing to
+	 * write it is logged but does not fail the parse.
+	 *
+	 * @param bundlePath the location of the bundle
+	 */
+	public void setCoefficientBundlePath(Path bundlePath) {
+		this.coefficientBundlePath = Optional.of(bundlePath);
+	}
+
+	/**
+	 * Have subsequent parses take the configuration named by the control file from <code>coefficientCache</code> if it
+	 * holds the same configuration, and put it there if not. The cache is consulted before any coefficient bundle.
+	 *
+	 * @param coefficientCache the cache, which may be shared by any number of parsers
+	 */
+	public void setCoefficientCache(CoefficientCache coefficientCache) {
+		this.coefficientCache = Optional.of(coefficientCache);
+	}
+
+	/**
+	 * Use the coefficient bundle named by the {@link #COEFFICIENT_BUNDLE_PROPERTY} system property, if it is set.
+	 */
+	public void setCoefficientBundlePathFromSystemProperty() {
+		var bundlePath = System.getProperty(COEFFICIENT_BUNDLE_PROPERTY);
+		if (bundlePath != null && !bundlePath.isBlank()) {
+			setCoefficientBundlePath(Path.of(bundlePath));
+		}
+	}
+
+	/**
+	 * Apply all the modifiers and return those entries that were added or replaced by them, other than the input files.
+	 * These are the entries that can be taken from a coefficient bundle.
+	 */
+	private Map<String, Object>
+			applyAllModifiersAndCollectConfiguration(Map<String, Object> map, FileResolver fileResolver)
+					throws ResourceParseException, IOException {
+
+		var unmodified = new HashMap<>(map);
+
+		applyAllModifiers(map, fileResolver);
+
+		var excludedKeys = inputAndOutputFileKeys();
+		Map<String, Object> configuration = new HashMap<>();
+		for (var entry : map.entrySet()) {
+			if (!excludedKeys.contains(entry.getKey()) && entry.getValue() != unmodified.get(entry.getKey())) {
+				configuration.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return configuration;
+	}
+
+	private Set<String> inputAndOutputFileKeys() {
+		Set<String> keys = new HashSet<>();
+		inputFileParsers().forEach(p -> keys.add(p.getControlKeyName()));
+		outputFileParsers().forEach(k -> keys.add(k.name()));
+		return keys;
+	}
+
 	protected abstract void applyAllModifiers(Map<String, Object> map, FileResolver fileResolver)
 			throws ResourceParseException, IOException;
 
+	/**
+	 * Apply only the modifiers that open the input files; used when the rest of the control map has been taken from a
+	 * coefficient bundle.
+	 */
+	protected void applyInputModifiers(Map<String, Object> map, FileResolver fileResolver)
+			throws ResourceParseException, IOException {
+		applyModifiers(map, inputFileParsers(), fileResolver);
+	}
+
 	protected abstract VdypApplicationIdentifier getProgramId();
 }
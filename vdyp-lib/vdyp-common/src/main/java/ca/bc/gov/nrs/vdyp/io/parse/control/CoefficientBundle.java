@@ -0,0 +1,464 @@
+package ca.bc.gov.nrs.vdyp.io.parse.control;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.io.FileResolver;
+
+/**
+ * A precompiled form of the configuration part of a control map: the coefficient tables and definitions that are
+ * otherwise read from the <code>.coe</code> and <code>.dat</code> files named by a control file.
+ * <p>
+ * A bundle is tied to the control file entries, and the content of the files they name, from which it was compiled by a
+ * fingerprint (SHA-256) of both. A bundle whose fingerprint does not match the current control file and configuration
+ * files is stale and is not used. Input and output file entries are not part of the fingerprint, so one bundle serves
+ * any number of runs over different input data.
+ * <p>
+ * A bundle is also tied to the build that wrote it. The serialized form of the entries depends on the classes of their
+ * values, whose <code>serialVersionUID</code>s are not maintained, so the header names each of those classes and holds
+ * a digest of their class files. A bundle whose classes have changed since it was written is stale too, as is one that
+ * cannot be deserialized for any other reason. Only VDYP classes and the <code>java.lang</code> and
+ * <code>java.util</code> classes that the coefficient tables are made of are deserialized; a bundle naming any other
+ * class is rejected.
+ * <p>
+ * The file format is a header (magic number, format version, application, fingerprint, and the names and digest of the
+ * classes of the entries) followed by the entries in Java serialization form. Bundles are read by memory mapping the
+ * file.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class CoefficientBundle {
+
+	private static final Logger logger = LoggerFactory.getLogger(CoefficientBundle.class);
+
+	private static final byte[] MAGIC = "VDYPCOEB".getBytes(StandardCharsets.US_ASCII);
+
+	/** Increment whenever the serialized form of any control map value changes incompatibly. */
+	public static final int FORMAT_VERSION = 2;
+
+	private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+	private static final String VDYP_PACKAGE_PREFIX = "ca.bc.gov.nrs.vdyp.";
+
+	/**
+	 * The classes that may be deserialized from a bundle: see {@link ObjectInputFilter.Config#createFilter(String)}.
+	 */
+	static final String CLASS_FILTER_PATTERN = VDYP_PACKAGE_PREFIX + "**;java.lang.*;java.util.*;!*";
+
+	private static final ObjectInputFilter CLASS_FILTER = ObjectInputFilter.Config.createFilter(CLASS_FILTER_PATTERN);
+
+	private final VdypApplicationIdentifier applicationId;
+	private final byte[] fingerprint;
+	private final Map<String, Object> entries;
+
+	CoefficientBundle(VdypApplicationIdentifier applicationId, byte[] fingerprint, Map<String, Object> entries) {
+		this.applicationId = applicationId;
+		this.fingerprint = fingerprint;
+		this.entries = entries;
+	}
+
+	public VdypApplicationIdentifier getApplicationId() {
+		return applicationId;
+	}
+
+	/**
+	 * @return the control map entries held by this bundle.
+	 */
+	public Map<String, Object> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * @param applicationId the application about to use the bundle
+	 * @param fingerprint   the fingerprint of the control map, as returned by
+	 *                      {@link #fingerprint(Map, Collection, FileResolver)}, about to be completed from the bundle
+	 * @return true if and only if this bundle was compiled for the given application from the same configuration.
+	 */
+	public boolean isCurrent(VdypApplicationIdentifier applicationId, byte[] fingerprint) {
+		return this.applicationId == applicationId && Arrays.equals(this.fingerprint, fingerprint);
+	}
+
+	/**
+	 * Compute the fingerprint of a control map that has been read from its control file(s) but to which no modifiers
+	 * have yet been applied. The value of each entry contributes to the fingerprint except for the entries named in
+	 * <code>excludedKeys</code>; where the value is the name of a file that <code>fileResolver</code> can open, the
+	 * content of that file contributes too.
+	 *
+	 * @param controlMap   the control map
+	 * @param excludedKeys the names of entries that do not contribute, such as the input and output files.
+	 * @param fileResolver resolves the names of the configuration files
+	 * @return the fingerprint
+	 * @throws IOException if a configuration file cannot be read
+	 */
+	public static byte[]
+			fingerprint(Map<String, Object> controlMap, Collection<String> excludedKeys, FileResolver fileResolver)
+					throws IOException {
+		MessageDigest digest = newDigest();
+
+		var buffer = new byte[64 * 1024];
+		for (var entry : new TreeMap<>(controlMap).entrySet()) {
+			if (excludedKeys.contains(entry.getKey())) {
+				continue;
+			}
+
+			digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			if (hasIdentityToString(entry.getValue())) {
+				logger.warn(
+						"Control map entry {} has no textual form, so no coefficient bundle will be current for it",
+						entry.getKey()
+				);
+			}
+			digest.update(String.valueOf(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+
+			var value = entry.getValue() instanceof Optional<?> opt ? opt.orElse(null) : entry.getValue();
+			if (value instanceof String filename && !filename.isBlank()) {
+				try (InputStream is = resolveIfPresent(fileResolver, filename.strip())) {
+					if (is != null) {
+						int n;
+						while ( (n = is.read(buffer)) != -1) {
+							digest.update(buffer, 0, n);
+						}
+					}
+				}
+			}
+		}
+
+		return digest.digest();
+	}
+
+	/**
+	 * @return whether the textual form of <code>value</code> is that of {@link Object#toString()}, which differs from
+	 *         one run to the next
+	 */
+	private static boolean hasIdentityToString(Object value) {
+		if (value == null) {
+			return false;
+		}
+		try {
+			return value.getClass().getMethod("toString").getDeclaringClass() == Object.class;
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Every class has a toString method", e);
+		}
+	}
+
+	private static InputStream resolveIfPresent(FileResolver fileResolver, String filename) {
+		try {
+			return fileResolver.resolveForInput(filename);
+		} catch (IOException e) {
+			// Not a file, or not one that exists; the value itself has been included.
+			return null;
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(FINGERPRINT_ALGORITHM + " is required to be supported by every JVM", e);
+		}
+	}
+
+	/**
+	 * Write the bundle to <code>path</code>. The bundle is written to a temporary file that then replaces any existing
+	 * one, so that a concurrent reader never sees a partially written bundle.
+	 *
+	 * @param path the location of the bundle
+	 * @throws IOException if the bundle cannot be written, including if one of its entries cannot be serialized.
+	 */
+	public void write(Path path) throws IOException {
+		Path absolutePath = path.toAbsolutePath();
+		Path tempPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+		try {
+			try (var os = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+				write(os);
+			}
+			Files.move(tempPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	void write(OutputStream os) throws IOException {
+		// The entries are serialized first to learn which classes they are made of
+		var serialized = new ByteArrayOutputStream();
+		SortedSet<String> classNames;
+		try (var oos = new BundleOutputStream(serialized)) {
+			oos.writeObject(new HashMap<>(entries));
+			classNames = oos.getVdypClassNames();
+		}
+		var classDigest = classDigest(classNames)
+				.orElseThrow(() -> new IOException("The class files of the coefficient bundle entries cannot be read"));
+
+		var dos = new DataOutputStream(os);
+		dos.write(MAGIC);
+		dos.writeInt(FORMAT_VERSION);
+		dos.writeUTF(applicationId.name());
+		dos.writeInt(fingerprint.length);
+		dos.write(fingerprint);
+		dos.writeInt(classNames.size());
+		for (var className : classNames) {
+			dos.writeUTF(className);
+		}
+		dos.writeInt(classDigest.length);
+		dos.write(classDigest);
+
+		serialized.writeTo(dos);
+		dos.flush();
+	}
+
+	/**
+	 * Compute the digest of the class files of the named classes, as they are in this build.
+	 *
+	 * @param classNames the names of the classes, which must be VDYP classes
+	 * @return the digest, or empty if the class file of any of the classes cannot be found
+	 * @throws IOException if a class file cannot be read
+	 */
+	static Optional<byte[]> classDigest(Collection<String> classNames) throws IOException {
+		MessageDigest digest = newDigest();
+
+		var classLoader = CoefficientBundle.class.getClassLoader();
+		var contextClassLoader = Thread.currentThread().getContextClassLoader();
+		for (var className : classNames) {
+			if (!className.startsWith(VDYP_PACKAGE_PREFIX)) {
+				return Optional.empty();
+			}
+			var resourceName = className.replace('.', '/') + ".class";
+			var resource = classLoader.getResource(resourceName);
+			if (resource == null && contextClassLoader != null) {
+				resource = contextClassLoader.getResource(resourceName);
+			}
+			if (resource == null) {
+				return Optional.empty();
+			}
+
+			digest.update(className.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			try (var is = resource.openStream()) {
+				digest.update(is.readAllBytes());
+			}
+		}
+
+		return Optional.of(digest.digest());
+	}
+
+	/**
+	 * Read the bundle at <code>path</code>, if there is one.
+	 *
+	 * @param path the location of the bundle
+	 * @return the bundle, or empty if there is no file at <code>path</code>, or it is not a bundle of the current
+	 *         format version that was written by this build and can be deserialized.
+	 * @throws IOException if the file exists but cannot be opened.
+	 */
+	public static Optional<CoefficientBundle> read(Path path) throws IOException {
+		if (!Files.isRegularFile(path)) {
+			return Optional.empty();
+		}
+
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return read(new ByteBufferInputStream(buffer), path.toString());
+		}
+	}
+
+	/**
+	 * Read a bundle from <code>is</code>. Whatever prevents the bundle from being read, it is treated as stale, so that
+	 * it is compiled again.
+	 *
+	 * @param is   the stream
+	 * @param name the name of the bundle, for logging
+	 * @return the bundle, or empty if it cannot be read
+	 */
+	static Optional<CoefficientBundle> read(InputStream is, String name) {
+		try {
+			return readBundle(new DataInputStream(is), name);
+		} catch (InvalidClassException e) {
+			// Includes classes rejected by the filter
+			logger.warn(MessageFormat.format("Coefficient bundle {0} has an unexpected class; ignoring it", name), e);
+			return Optional.empty();
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
+			logger.warn(MessageFormat.format("Coefficient bundle {0} cannot be read; ignoring it", name), e);
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<CoefficientBundle> readBundle(DataInputStream dis, String name)
+			throws IOException, ClassNotFoundException {
+
+		byte[] magic = new byte[MAGIC.length];
+		dis.readFully(magic);
+		if (!Arrays.equals(magic, MAGIC)) {
+			logger.warn("{} is not a coefficient bundle; ignoring it", name);
+			return Optional.empty();
+		}
+		int version = dis.readInt();
+		if (version != FORMAT_VERSION) {
+			logger.info(
+					"Coefficient bundle {} is of format version {} rather than {}; ignoring it", name, version,
+					FORMAT_VERSION
+			);
+			return Optional.empty();
+		}
+
+		var applicationId = VdypApplicationIdentifier.valueOf(dis.readUTF());
+		byte[] fingerprint = new byte[dis.readInt()];
+		dis.readFully(fingerprint);
+
+		int classCount = dis.readInt();
+		var classNames = new ArrayList<String>(classCount);
+		for (int i = 0; i < classCount; i++) {
+			classNames.add(dis.readUTF());
+		}
+		byte[] classDigest = new byte[dis.readInt()];
+		dis.readFully(classDigest);
+
+		if (!classDigest(classNames).map(digest -> Arrays.equals(digest, classDigest)).orElse(false)) {
+			logger.info("Coefficient bundle {} was written by a different build; ignoring it", name);
+			return Optional.empty();
+		}
+
+		try (var ois = new BundleInputStream(dis)) {
+			@SuppressWarnings("unchecked")
+			var entries = (Map<String, Object>) ois.readObject();
+			return Optional.of(new CoefficientBundle(applicationId, fingerprint, entries));
+		}
+	}
+
+	/**
+	 * {@link Optional} is not serializable but is used throughout the coefficient tables; it is written in this form
+	 * instead.
+	 */
+	private record SerializedOptional(Object value) implements Serializable {
+	}
+
+	private static class BundleOutputStream extends ObjectOutputStream {
+
+		private final SortedSet<String> vdypClassNames = new TreeSet<>();
+
+		BundleOutputStream(OutputStream os) throws IOException {
+			super(os);
+			enableReplaceObject(true);
+		}
+
+		/**
+		 * @return the names of the VDYP classes written so far
+		 */
+		SortedSet<String> getVdypClassNames() {
+			return vdypClassNames;
+		}
+
+		@Override
+		protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+			if (desc.getName().startsWith(VDYP_PACKAGE_PREFIX)) {
+				vdypClassNames.add(desc.getName());
+			}
+			super.writeClassDescriptor(desc);
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException {
+			if (obj instanceof Optional<?> opt) {
+				return new SerializedOptional(opt.orElse(null));
+			}
+			// Anonymous views, such as those created by MatrixMap.cast, are written as copies.
+			if (! (obj instanceof Serializable) && obj.getClass().isAnonymousClass()) {
+				if (obj instanceof Map<?, ?> map) {
+					return new LinkedHashMap<>(map);
+				} else if (obj instanceof List<?> list) {
+					return new ArrayList<>(list);
+				} else if (obj instanceof Set<?> set) {
+					return new LinkedHashSet<>(set);
+				}
+			}
+			return obj;
+		}
+	}
+
+	private static class BundleInputStream extends ObjectInputStream {
+
+		BundleInputStream(InputStream is) throws IOException {
+			super(is);
+			setObjectInputFilter(CLASS_FILTER);
+			enableResolveObject(true);
+		}
+
+		@Override
+		protected Object resolveObject(Object obj) throws IOException {
+			if (obj instanceof SerializedOptional opt) {
+				return Optional.ofNullable(opt.value());
+			}
+			return obj;
+		}
+	}
+
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int n = Math.min(len, buffer.remaining());
+			buffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package ca.bc.gov.nrs.vdyp.io.parse.control;
+
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+
+/**
+ * An in-memory counterpart of {@link CoefficientBundle}: the configuration part of the control maps parsed in this
+ * process, by application and fingerprint, so that later parses of the same configuration take it from memory rather
+ * than from the configuration files.
+ * <p>
+ * The entries are not copied; every control map completed from the cache shares the same coefficient tables and
+ * definitions, which must therefore not be modified. This is already required of control maps shared by the threads of
+ * one run.
+ * <p>
+ * The cache holds the configurations most recently used, up to its capacity. It may be used by any number of threads.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+public class CoefficientCache {
+
+	private record Key(VdypApplicationIdentifier applicationId, ByteBuffer fingerprint) {
+	}
+
+	private final Map<Key, Map<String, Object>> configurations;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Create a cache.
+	 *
+	 * @param capacity the number of configurations held. Must be at least one.
+	 */
+	public CoefficientCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The capacity must be at least one; it is {0}", capacity)
+			);
+		}
+
+		this.configurations = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Map<String, Object>> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * @param applicationId the application parsing the control map
+	 * @param fingerprint   the fingerprint of the control map, as returned by {@link CoefficientBundle#fingerprint}
+	 * @return the configuration entries previously put for the same application and fingerprint, if any
+	 */
+	public Optional<Map<String, Object>> get(VdypApplicationIdentifier applicationId, byte[] fingerprint) {
+		Map<String, Object> result;
+		synchronized (configurations) {
+			result = configurations.get(key(applicationId, fingerprint));
+		}
+		(result == null ? misses : hits).incrementAndGet();
+		return Optional.ofNullable(result);
+	}
+
+	/**
+	 * Hold the configuration entries of a control map, replacing any held for the same application and fingerprint.
+	 */
+	public void put(VdypApplicationIdentifier applicationId, byte[] fingerprint, Map<String, Object> entries) {
+		synchronized (configurations) {
+			configurations.put(key(applicationId, fingerprint), Collections.unmodifiableMap(new HashMap<>(entries)));
+		}
+	}
+
+	/**
+	 * @return the number of configurations held
+	 */
+	public int size() {
+		synchronized (configurations) {
+			return configurations.size();
+		}
+	}
+
+	/**
+	 * @return the number of lookups that found a configuration
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups that did not find a configuration
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private static Key key(VdypApplicationIdentifier applicationId, byte[] fingerprint) {
+		return new Key(applicationId, ByteBuffer.wrap(fingerprint.clone()));
+	}
+}
@@ -0,0 +1,148 @@
+package ca.bc.gov.nrs.vdyp.io.parse.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.Optional;
+
+import ca.bc.gov.nrs.vdyp.io.FileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder.RecordStream;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseLineException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
+
+/**
+ * A streaming parser that converts each record directly from a {@link RecordDecoder}, rather than from a map of its
+ * parsed values as {@link AbstractStreamingParser} does. Each entry is converted from a single record, so the parser is
+ * seekable whenever the underlying record stream is.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public abstract class AbstractRecordStreamingParser<T> implements SeekableStreamingParser<T> {
+
+	private RecordStream recordStream;
+
+	/**
+	 * Create a new streaming parser
+	 *
+	 * @param is      Input stream to read from
+	 * @param decoder
+	 * @param control
+	 */
+	protected AbstractRecordStreamingParser(InputStream is, RecordDecoder decoder, Map<String, Object> control) {
+
+		this.recordStream = decoder.stream(is, control);
+	}
+
+	/**
+	 * Create a new streaming parser over a named file, which is memory mapped if it is on the local file system.
+	 *
+	 * @param fileResolver resolves <code>fileName</code>
+	 * @param fileName     the file to read from
+	 * @param decoder
+	 * @param control
+	 * @throws IOException if the file can not be opened
+	 */
+	protected AbstractRecordStreamingParser(
+			FileResolver fileResolver, String fileName, RecordDecoder decoder, Map<String, Object> control
+	) throws IOException {
+
+		this.recordStream = decoder.stream(fileResolver, fileName, control);
+	}
+
+	@Override
+	public T next() throws IOException, ResourceParseException {
+		var record = recordStream.next();
+		try {
+			return this.convert(record);
+		} catch (ValueParseException ex) {
+			throw new ResourceParseLineException(record.getLineNumber(), ex);
+		}
+	}
+
+	/**
+	 * Convert the current record. The record must not be retained.
+	 */
+	protected abstract T convert(RecordStream.Record entry) throws ValueParseException, ResourceParseException;
+
+	/**
+	 * Skip the next record without converting it.
+	 */
+	@Override
+	public void skipNext() throws IOException {
+		recordStream.next();
+	}
+
+	/**
+	 * @return true if the parser implements {@link #endsGroup(RecordStream.Record)}, so that its entries can be skipped
+	 *         a group at a time with {@link #skipGroup()}.
+	 */
+	public boolean recognizesGroupEnds() {
+		return false;
+	}
+
+	/**
+	 * Returns true if the record ends a group of entries; that is, if a {@link GroupingStreamingParser} over this
+	 * parser would stop at the entry converted from it. This must be decided from the record alone, without converting
+	 * it.
+	 */
+	protected boolean endsGroup(RecordStream.Record entry) {
+		return false;
+	}
+
+	/**
+	 * Skip the records up to and including the next one that ends a group, without converting them.
+	 *
+	 * @return false if the end of the records was reached before the end of a group
+	 * @throws UnsupportedOperationException if the parser does not {@link #recognizesGroupEnds() recognize} the ends of
+	 *                                       groups
+	 */
+	public boolean skipGroup() throws IOException {
+		if (!recognizesGroupEnds()) {
+			throw new UnsupportedOperationException(
+					MessageFormat.format("{0} does not recognize the ends of groups", getClass().getName())
+			);
+		}
+		while (recordStream.hasNext()) {
+			if (endsGroup(recordStream.next())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean hasNext() throws IOException, ResourceParseException {
+		return recordStream.hasNext();
+	}
+
+	@Override
+	public StreamPosition position() throws IOException {
+		return recordStream.position();
+	}
+
+	@Override
+	public boolean isSeekable() {
+		return recordStream.isSeekable();
+	}
+
+	@Override
+	public void seek(StreamPosition position) throws IOException {
+		recordStream.seek(position);
+	}
+
+	@Override
+	public Optional<Path> localPath() {
+		return recordStream.localPath();
+	}
+
+	@Override
+	public void close() throws IOException {
+		recordStream.close();
+	}
+
+}
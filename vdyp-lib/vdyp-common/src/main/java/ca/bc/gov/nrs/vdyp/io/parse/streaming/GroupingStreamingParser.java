@@ -1,26 +1,30 @@
 package ca.bc.gov.nrs.vdyp.io.parse.streaming;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
 
 /**
- * Wraps a StreamingParser and groups its entries.
+ * Wraps a StreamingParser and groups its entries. If the delegate is a {@link SeekableStreamingParser}, the position of
+ * a group is that of the first entry read for it.
  *
  * @author Kevin Smith, Vivid Solutions
  *
  * @param <T>
  * @param <U>
  */
-public abstract class GroupingStreamingParser<T, U> implements StreamingParser<T> {
+public abstract class GroupingStreamingParser<T, U> implements SeekableStreamingParser<T> {
 
 	final StreamingParser<U> delegate;
 
 	private Optional<List<U>> next = Optional.empty();
+	private StreamPosition nextPosition = null;
 
 	protected GroupingStreamingParser(StreamingParser<U> delegate) {
 		super();
@@ -63,6 +67,9 @@ public abstract class GroupingStreamingParser<T, U> implements StreamingParser<T
 	protected void doGetNext() throws IOException, ResourceParseException {
 
 		if (next.isEmpty()) {
+			if (delegate instanceof SeekableStreamingParser<U> seekable) {
+				nextPosition = seekable.position();
+			}
 			var nextResult = new ArrayList<U>();
 
 			var nextChild = safeNextChild();
@@ -94,6 +101,53 @@ public abstract class GroupingStreamingParser<T, U> implements StreamingParser<T
 		return next.isPresent();
 	}
 
+	/**
+	 * Advance past the next group. If the delegate is an {@link AbstractRecordStreamingParser} that recognizes the ends
+	 * of groups, the entries of the group are skipped without being converted.
+	 */
+	@Override
+	public void skipNext() throws IOException, ResourceParseException {
+		if (next.isEmpty() && delegate instanceof AbstractRecordStreamingParser<U> records
+				&& records.recognizesGroupEnds()) {
+			if (!records.skipGroup()) {
+				throw new NoSuchElementException("Requested next group when there is none");
+			}
+			return;
+		}
+		next();
+	}
+
+	@Override
+	public StreamPosition position() throws IOException, ResourceParseException {
+		if (next.isPresent()) {
+			return nextPosition;
+		}
+		return seekableDelegate().position();
+	}
+
+	@Override
+	public boolean isSeekable() {
+		return delegate instanceof SeekableStreamingParser<U> seekable && seekable.isSeekable();
+	}
+
+	@Override
+	public void seek(StreamPosition position) throws IOException {
+		seekableDelegate().seek(position);
+		next = Optional.empty();
+	}
+
+	@Override
+	public Optional<Path> localPath() {
+		return delegate instanceof SeekableStreamingParser<U> seekable ? seekable.localPath() : Optional.empty();
+	}
+
+	private SeekableStreamingParser<U> seekableDelegate() {
+		if (delegate instanceof SeekableStreamingParser<U> seekable) {
+			return seekable;
+		}
+		throw new UnsupportedOperationException("The grouped parser does not support positions");
+	}
+
 	@Override
 	public void close() throws IOException {
 		delegate.close();
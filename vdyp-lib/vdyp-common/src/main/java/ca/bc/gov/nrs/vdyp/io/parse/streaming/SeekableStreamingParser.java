@@ -0,0 +1,49 @@
+package ca.bc.gov.nrs.vdyp.io.parse.streaming;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
+
+/**
+ * A streaming parser that can report where in its resource each entry starts, and that, if its resource allows it, can
+ * be repositioned to resume reading from such a position.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public interface SeekableStreamingParser<T> extends StreamingParser<T> {
+
+	/**
+	 * The position of the entry that the next call to {@link #next()} will return or, if there are no more entries, of
+	 * the point at which reading stopped.
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 */
+	StreamPosition position() throws IOException, ResourceParseException;
+
+	/**
+	 * @return true if {@link #seek(StreamPosition)} is supported. Resources that can only be read sequentially, such as
+	 *         those that are not local files, can not be sought.
+	 */
+	boolean isSeekable();
+
+	/**
+	 * Resume reading from a position previously returned by {@link #position()} for the same resource.
+	 *
+	 * @throws IOException
+	 * @throws UnsupportedOperationException if the parser is not {@link #isSeekable() seekable}
+	 */
+	void seek(StreamPosition position) throws IOException;
+
+	/**
+	 * @return the file being parsed, if it is a local file. Positions in the file remain valid only as long as the file
+	 *         is unchanged, which its size and modification time may be used to check.
+	 */
+	default Optional<Path> localPath() {
+		return Optional.empty();
+	}
+
+}
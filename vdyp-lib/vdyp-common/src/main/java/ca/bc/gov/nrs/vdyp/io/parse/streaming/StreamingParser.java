@@ -24,6 +24,16 @@ public interface StreamingParser<T> extends AutoCloseable {
 	 */
 	boolean hasNext() throws IOException, ResourceParseException;
 
+	/**
+	 * Advance past the next entry without returning it. Parsers that can do so skip the entry without converting it.
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 */
+	default void skipNext() throws IOException, ResourceParseException {
+		next();
+	}
+
 	@Override
 	void close() throws IOException;
 
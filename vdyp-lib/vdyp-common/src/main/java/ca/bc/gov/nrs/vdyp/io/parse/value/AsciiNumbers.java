@@ -0,0 +1,195 @@
+package ca.bc.gov.nrs.vdyp.io.parse.value;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fast paths for decoding the numbers found in fixed width input files, directly from their characters or ASCII bytes.
+ * <p>
+ * Only the simple forms that make up nearly all of the input are handled: optional surrounding whitespace, an optional
+ * sign, and decimal digits with, for floats, an optional decimal point. Anything else, including anything that is not a
+ * number at all, is reported as not simple and should be left to the library parsers, which then produce the result or
+ * the error. Where a fast path does produce a result it is identical to that of {@link Integer#parseInt(String)} or
+ * {@link Float#parseFloat(String)} respectively.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public final class AsciiNumbers {
+
+	/** Returned by the <code>parseInt</code> methods when the text is not a simple integer */
+	public static final long NOT_SIMPLE_INT = Long.MIN_VALUE;
+
+	/** Returned by the <code>parseFloat</code> methods when the text is not a simple float */
+	public static final float NOT_SIMPLE_FLOAT = Float.NaN;
+
+	// Any integer of at most this many digits fits in an int
+	private static final int MAX_SIMPLE_INT_DIGITS = 9;
+
+	// A float whose digits, without the decimal point, form an integer of at most 2^24 and that has at most 10 decimal
+	// places is the correctly rounded quotient of two exactly representable floats, which is also what
+	// Float.parseFloat returns.
+	private static final int EXACT_FLOAT_MANTISSA_LIMIT = 1 << 24;
+	private static final float[] POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	private AsciiNumbers() {
+	}
+
+	/**
+	 * Parse the integer in bytes <code>from</code> (inclusive) to <code>to</code> (exclusive) of <code>bytes</code>.
+	 *
+	 * @return the integer, or {@link #NOT_SIMPLE_INT}
+	 */
+	public static long parseInt(ByteBuffer bytes, int from, int to) {
+		while (from < to && Character.isWhitespace(bytes.get(from))) {
+			from++;
+		}
+		while (to > from && Character.isWhitespace(bytes.get(to - 1))) {
+			to--;
+		}
+
+		int i = from;
+		boolean negative = false;
+		if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+			negative = bytes.get(i) == '-';
+			i++;
+		}
+		if (i == to || to - i > MAX_SIMPLE_INT_DIGITS) {
+			return NOT_SIMPLE_INT;
+		}
+
+		int result = 0;
+		for (; i < to; i++) {
+			int digit = bytes.get(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return NOT_SIMPLE_INT;
+			}
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Parse the integer in characters <code>from</code> (inclusive) to <code>to</code> (exclusive) of
+	 * <code>chars</code>.
+	 *
+	 * @return the integer, or {@link #NOT_SIMPLE_INT}
+	 */
+	public static long parseInt(CharSequence chars, int from, int to) {
+		while (from < to && Character.isWhitespace(chars.charAt(from))) {
+			from++;
+		}
+		while (to > from && Character.isWhitespace(chars.charAt(to - 1))) {
+			to--;
+		}
+
+		int i = from;
+		boolean negative = false;
+		if (i < to && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+			negative = chars.charAt(i) == '-';
+			i++;
+		}
+		if (i == to || to - i > MAX_SIMPLE_INT_DIGITS) {
+			return NOT_SIMPLE_INT;
+		}
+
+		int result = 0;
+		for (; i < to; i++) {
+			int digit = chars.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return NOT_SIMPLE_INT;
+			}
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Parse the float in bytes <code>from</code> (inclusive) to <code>to</code> (exclusive) of <code>bytes</code>.
+	 *
+	 * @return the float, or {@link #NOT_SIMPLE_FLOAT}
+	 */
+	public static float parseFloat(ByteBuffer bytes, int from, int to) {
+		while (from < to && Character.isWhitespace(bytes.get(from))) {
+			from++;
+		}
+		while (to > from && Character.isWhitespace(bytes.get(to - 1))) {
+			to--;
+		}
+
+		int i = from;
+		boolean negative = false;
+		if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+			negative = bytes.get(i) == '-';
+			i++;
+		}
+
+		int mantissa = 0;
+		int nDecimals = -1;
+		boolean anyDigits = false;
+		for (; i < to; i++) {
+			int c = bytes.get(i);
+			if (c >= '0' && c <= '9') {
+				anyDigits = true;
+				mantissa = mantissa * 10 + (c - '0');
+				if (nDecimals >= 0) {
+					nDecimals++;
+				}
+				if (mantissa > EXACT_FLOAT_MANTISSA_LIMIT || nDecimals >= POWERS_OF_TEN.length) {
+					return NOT_SIMPLE_FLOAT;
+				}
+			} else if (c == '.' && nDecimals < 0) {
+				nDecimals = 0;
+			} else {
+				return NOT_SIMPLE_FLOAT;
+			}
+		}
+		return anyDigits ? toFloat(negative, mantissa, nDecimals) : NOT_SIMPLE_FLOAT;
+	}
+
+	/**
+	 * Parse the float in characters <code>from</code> (inclusive) to <code>to</code> (exclusive) of <code>chars</code>.
+	 *
+	 * @return the float, or {@link #NOT_SIMPLE_FLOAT}
+	 */
+	public static float parseFloat(CharSequence chars, int from, int to) {
+		while (from < to && Character.isWhitespace(chars.charAt(from))) {
+			from++;
+		}
+		while (to > from && Character.isWhitespace(chars.charAt(to - 1))) {
+			to--;
+		}
+
+		int i = from;
+		boolean negative = false;
+		if (i < to && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+			negative = chars.charAt(i) == '-';
+			i++;
+		}
+
+		int mantissa = 0;
+		int nDecimals = -1;
+		boolean anyDigits = false;
+		for (; i < to; i++) {
+			int c = chars.charAt(i);
+			if (c >= '0' && c <= '9') {
+				anyDigits = true;
+				mantissa = mantissa * 10 + (c - '0');
+				if (nDecimals >= 0) {
+					nDecimals++;
+				}
+				if (mantissa > EXACT_FLOAT_MANTISSA_LIMIT || nDecimals >= POWERS_OF_TEN.length) {
+					return NOT_SIMPLE_FLOAT;
+				}
+			} else if (c == '.' && nDecimals < 0) {
+				nDecimals = 0;
+			} else {
+				return NOT_SIMPLE_FLOAT;
+			}
+		}
+		return anyDigits ? toFloat(negative, mantissa, nDecimals) : NOT_SIMPLE_FLOAT;
+	}
+
+	private static float toFloat(boolean negative, int mantissa, int nDecimals) {
+		float result = nDecimals > 0 ? mantissa / POWERS_OF_TEN[nDecimals] : mantissa;
+		return negative ? -result : result;
+	}
+}
@@ -104,9 +104,18 @@ public interface ValueParser<T> extends ControlledValueParser<T> {
 	public static final ValueParser<Long> LONG = numberParser(Long::parseLong, Long.class);
 
 	/**
-	 * Parser for integers
+	 * Parser for integers. Simple decimal integers are decoded directly, see {@link AsciiNumbers}.
 	 */
-	public static final ValueParser<Integer> INTEGER = numberParser(Integer::parseInt, Integer.class);
+	public static final ValueParser<Integer> INTEGER = new ValueParser<>() {
+
+		private final ValueParser<Integer> general = numberParser(Integer::parseInt, Integer.class);
+
+		@Override
+		public Integer parse(String string) throws ValueParseException {
+			long result = AsciiNumbers.parseInt(string, 0, string.length());
+			return result != AsciiNumbers.NOT_SIMPLE_INT ? (int) result : general.parse(string);
+		}
+	};
 
 	/**
 	 * Parser for short integers
@@ -119,9 +128,18 @@ public interface ValueParser<T> extends ControlledValueParser<T> {
 	public static final ValueParser<Double> DOUBLE = numberParser(Double::parseDouble, Double.class);
 
 	/**
-	 * Parser for single precision floats
+	 * Parser for single precision floats. Simple decimal numbers are decoded directly, see {@link AsciiNumbers}.
 	 */
-	public static final ValueParser<Float> FLOAT = numberParser(Float::parseFloat, Float.class);
+	public static final ValueParser<Float> FLOAT = new ValueParser<>() {
+
+		private final ValueParser<Float> general = numberParser(Float::parseFloat, Float.class);
+
+		@Override
+		public Float parse(String string) throws ValueParseException {
+			float result = AsciiNumbers.parseFloat(string, 0, string.length());
+			return !Float.isNaN(result) ? result : general.parse(string);
+		}
+	};
 
 	/**
 	 * Parser for single precision floats >0
@@ -0,0 +1,127 @@
+package ca.bc.gov.nrs.vdyp.io.write;
+
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A record layout given as a {@link java.util.Formatter} format string, compiled for writing with a
+ * {@link FixedWidthWriter}.
+ * <p>
+ * Only the conversions used for fixed width records are supported: <code>%s</code>, <code>%d</code> and
+ * <code>%f</code>, each with an optional <code>-</code> (left justify) flag, width and, for <code>%f</code>, precision.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class FixedWidthFormat {
+
+	/**
+	 * A single conversion, and the literal text that precedes it.
+	 */
+	record Field(byte[] prefix, char conversion, boolean leftJustify, int width, int precision, String specifier) {
+	}
+
+	private final String format;
+	private final Field[] fields;
+	private final byte[] suffix;
+
+	private FixedWidthFormat(String format, Field[] fields, byte[] suffix) {
+		this.format = format;
+		this.fields = fields;
+		this.suffix = suffix;
+	}
+
+	/**
+	 * Compile a format string.
+	 *
+	 * @param format the format
+	 * @return the compiled format
+	 * @throws IllegalArgumentException if the format uses anything other than the supported conversions
+	 */
+	public static FixedWidthFormat compile(String format) {
+		// Literal text is encoded as String.getBytes() would encode it.
+		Charset charset = Charset.defaultCharset();
+
+		List<Field> fields = new ArrayList<>();
+		var literal = new StringBuilder();
+
+		int i = 0;
+		while (i < format.length()) {
+			char c = format.charAt(i);
+			if (c != '%') {
+				literal.append(c);
+				i++;
+				continue;
+			}
+
+			int start = i++;
+			boolean leftJustify = false;
+			if (i < format.length() && format.charAt(i) == '-') {
+				leftJustify = true;
+				i++;
+			}
+			int width = 0;
+			while (i < format.length() && Character.isDigit(format.charAt(i))) {
+				width = width * 10 + (format.charAt(i++) - '0');
+			}
+			int precision = -1;
+			if (i < format.length() && format.charAt(i) == '.') {
+				i++;
+				precision = 0;
+				while (i < format.length() && Character.isDigit(format.charAt(i))) {
+					precision = precision * 10 + (format.charAt(i++) - '0');
+				}
+			}
+			if (i == format.length()) {
+				throw unsupported(format, format.substring(start));
+			}
+			char conversion = format.charAt(i++);
+			String specifier = format.substring(start, i);
+
+			boolean supported = switch (conversion) {
+			case 's', 'd' -> precision < 0 && (width > 0 || !leftJustify);
+			case 'f' -> width > 0 || !leftJustify;
+			default -> false;
+			};
+			if (!supported) {
+				throw unsupported(format, specifier);
+			}
+			if (conversion == 'f' && precision < 0) {
+				precision = 6;
+			}
+
+			fields.add(
+					new Field(
+							literal.toString().getBytes(charset), conversion, leftJustify, width, precision, specifier
+					)
+			);
+			literal.setLength(0);
+		}
+
+		return new FixedWidthFormat(format, fields.toArray(Field[]::new), literal.toString().getBytes(charset));
+	}
+
+	private static IllegalArgumentException unsupported(String format, String specifier) {
+		return new IllegalArgumentException(
+				MessageFormat.format("Format specifier \"{0}\" in format \"{1}\" is not supported", specifier, format)
+		);
+	}
+
+	Field field(int index) {
+		return fields[index];
+	}
+
+	int fieldCount() {
+		return fields.length;
+	}
+
+	byte[] suffix() {
+		return suffix;
+	}
+
+	@Override
+	public String toString() {
+		return format;
+	}
+}
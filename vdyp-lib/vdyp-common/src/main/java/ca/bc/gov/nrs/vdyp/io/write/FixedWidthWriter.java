@@ -0,0 +1,312 @@
+package ca.bc.gov.nrs.vdyp.io.write;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.util.Formattable;
+import java.util.Locale;
+
+/**
+ * Writes fixed width records laid out by a {@link FixedWidthFormat}, producing exactly the bytes that
+ * <code>String.format(format, values).getBytes()</code> would but without parsing the format or boxing the values for
+ * each record.
+ * <p>
+ * A record is written by calling {@link #begin(FixedWidthFormat)}, then the method for the type of each field in turn,
+ * then {@link #end()}:
+ *
+ * <pre>
+ * writer.begin(format).string(id).integer(index).floating(height).end();
+ * </pre>
+ *
+ * Output is collected in a buffer and written to the underlying stream in large blocks; it is written when the buffer
+ * fills, and by {@link #flush()} and {@link #close()}.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class FixedWidthWriter implements Closeable, Flushable {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final long[] POWERS_OF_TEN = new long[19];
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	// Beyond these the scaled value of a float is not exactly representable by a double
+	private static final int MAX_PRECISION = 9;
+	private static final double MAX_SCALED = 1e15;
+
+	// Scaled values closer than this (relative) to halfway between two outputs may round differently from the way
+	// java.util.Formatter rounds them, so are left to it.
+	private static final double TIE_TOLERANCE = 1e-12;
+
+	private final OutputStream os;
+	private final Charset charset = Charset.defaultCharset();
+
+	// String.format localizes the digits and decimal separator; the fast paths only apply where that has no effect.
+	private final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+	private final boolean plainNumbers;
+
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	private int position = 0;
+
+	private FixedWidthFormat format = null;
+	private int nextField;
+
+	public FixedWidthWriter(OutputStream os) {
+		this.os = os;
+
+		var symbols = DecimalFormatSymbols.getInstance(locale);
+		this.plainNumbers = symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.';
+	}
+
+	/**
+	 * Start a record.
+	 *
+	 * @param format the layout of the record
+	 * @return this writer
+	 * @throws IllegalStateException if the previous record has not been ended
+	 */
+	public FixedWidthWriter begin(FixedWidthFormat format) {
+		if (this.format != null) {
+			throw new IllegalStateException(
+					MessageFormat.format("Record \"{0}\" was not ended before another was begun", this.format)
+			);
+		}
+		this.format = format;
+		this.nextField = 0;
+		return this;
+	}
+
+	/**
+	 * Write the next field of the current record, which must be a <code>%s</code> field.
+	 */
+	public FixedWidthWriter string(Object value) throws IOException {
+		var field = nextField('s');
+		if (value instanceof Formattable) {
+			return fallback(field, value);
+		}
+
+		String text = String.valueOf(value);
+		int padding = field.width() - text.length();
+		if (!field.leftJustify()) {
+			pad(padding);
+		}
+		writeText(text);
+		if (field.leftJustify()) {
+			pad(padding);
+		}
+		return this;
+	}
+
+	/**
+	 * Write the next field of the current record, which must be a <code>%d</code> field.
+	 */
+	public FixedWidthWriter integer(int value) throws IOException {
+		var field = nextField('d');
+		if (!plainNumbers) {
+			return fallback(field, value);
+		}
+
+		long magnitude = Math.abs((long) value);
+		int length = digitCount(magnitude) + (value < 0 ? 1 : 0);
+		int padding = field.width() - length;
+		if (!field.leftJustify()) {
+			pad(padding);
+		}
+		if (value < 0) {
+			writeByte('-');
+		}
+		writeDigits(magnitude, digitCount(magnitude));
+		if (field.leftJustify()) {
+			pad(padding);
+		}
+		return this;
+	}
+
+	/**
+	 * Write the next field of the current record, which must be a <code>%f</code> field.
+	 */
+	public FixedWidthWriter floating(float value) throws IOException {
+		var field = nextField('f');
+
+		// Formatter formats a float as the double it widens to, rounding its shortest decimal representation half up.
+		double doubleValue = value;
+		int precision = field.precision();
+		if (!plainNumbers || !Double.isFinite(doubleValue) || precision > MAX_PRECISION) {
+			return fallback(field, value);
+		}
+
+		boolean negative = Double.compare(doubleValue, 0.0) < 0;
+		double scaled = Math.abs(doubleValue) * POWERS_OF_TEN[precision];
+		if (scaled >= MAX_SCALED) {
+			return fallback(field, value);
+		}
+		double floor = Math.floor(scaled);
+		double fraction = scaled - floor;
+		if (Math.abs(fraction - 0.5) <= TIE_TOLERANCE * Math.max(scaled, 1.0)) {
+			return fallback(field, value);
+		}
+		long rounded = (long) floor + (fraction > 0.5 ? 1 : 0);
+
+		long integerPart = rounded / POWERS_OF_TEN[precision];
+		long fractionPart = rounded % POWERS_OF_TEN[precision];
+		int integerDigits = digitCount(integerPart);
+		int length = (negative ? 1 : 0) + integerDigits + (precision > 0 ? 1 + precision : 0);
+
+		int padding = field.width() - length;
+		if (!field.leftJustify()) {
+			pad(padding);
+		}
+		if (negative) {
+			writeByte('-');
+		}
+		writeDigits(integerPart, integerDigits);
+		if (precision > 0) {
+			writeByte('.');
+			writeDigits(fractionPart, precision);
+		}
+		if (field.leftJustify()) {
+			pad(padding);
+		}
+		return this;
+	}
+
+	/**
+	 * End the current record, writing any text that follows its last field.
+	 *
+	 * @throws IllegalStateException if not every field of the record has been written
+	 */
+	public void end() throws IOException {
+		if (format == null) {
+			throw new IllegalStateException("No record has been begun");
+		}
+		if (nextField != format.fieldCount()) {
+			throw new IllegalStateException(
+					MessageFormat.format(
+							"Record \"{0}\" was ended after {1} of its {2} fields", format, nextField,
+							format.fieldCount()
+					)
+			);
+		}
+		writeBytes(format.suffix());
+		format = null;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		os.write(buffer, 0, position);
+		position = 0;
+		os.flush();
+	}
+
+	/**
+	 * Flush the writer and close the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			os.close();
+		}
+	}
+
+	private FixedWidthFormat.Field nextField(char conversion) throws IOException {
+		if (format == null) {
+			throw new IllegalStateException("No record has been begun");
+		}
+		if (nextField >= format.fieldCount()) {
+			throw new IllegalStateException(
+					MessageFormat.format("Record \"{0}\" has only {1} fields", format, format.fieldCount())
+			);
+		}
+		var field = format.field(nextField);
+		if (field.conversion() != conversion) {
+			throw new IllegalStateException(
+					MessageFormat.format(
+							"Field {0} of record \"{1}\" is \"{2}\", not %{3}", nextField, format, field.specifier(),
+							conversion
+					)
+			);
+		}
+		nextField++;
+		writeBytes(field.prefix());
+		return field;
+	}
+
+	private FixedWidthWriter fallback(FixedWidthFormat.Field field, Object value) throws IOException {
+		writeText(String.format(locale, field.specifier(), value));
+		return this;
+	}
+
+	private static int digitCount(long value) {
+		int count = 1;
+		while (count < 19 && value >= POWERS_OF_TEN[count]) {
+			count++;
+		}
+		return count;
+	}
+
+	/** Write the lowest <code>count</code> digits of <code>value</code>, with leading zeros as needed */
+	private void writeDigits(long value, int count) throws IOException {
+		ensureCapacity(count);
+		for (int i = position + count - 1; i >= position; i--) {
+			buffer[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		position += count;
+	}
+
+	private void writeText(String text) throws IOException {
+		int length = text.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= 0x80) {
+				// Not ASCII, so leave the encoding to the charset
+				writeBytes(text.substring(i).getBytes(charset));
+				return;
+			}
+			buffer[position++] = (byte) c;
+		}
+	}
+
+	private void pad(int count) throws IOException {
+		if (count > 0) {
+			ensureCapacity(count);
+			for (int i = 0; i < count; i++) {
+				buffer[position++] = ' ';
+			}
+		}
+	}
+
+	private void writeByte(char c) throws IOException {
+		ensureCapacity(1);
+		buffer[position++] = (byte) c;
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	private void ensureCapacity(int count) throws IOException {
+		if (position + count <= buffer.length) {
+			return;
+		}
+		os.write(buffer, 0, position);
+		position = 0;
+		if (count > buffer.length) {
+			buffer = new byte[count];
+		}
+	}
+}
@@ -28,9 +28,9 @@ import ca.bc.gov.nrs.vdyp.model.VdypUtilizationHolder;
  */
 public class VriAdjustInputWriter implements Closeable {
 
-	private OutputStream polygonFile;
-	private OutputStream speciesFile;
-	private OutputStream utilizationFile;
+	private FixedWidthWriter polygonFile;
+	private FixedWidthWriter speciesFile;
+	private FixedWidthWriter utilizationFile;
 
 	static final String POLY_IDENTIFIER_FORMAT = "%-25s";
 	static final String LAYER_TYPE_FORMAT = "%-1s";
@@ -40,8 +40,8 @@ public class VriAdjustInputWriter implements Closeable {
 	static final String DISTANCE_FORMAT = "%6.2f";
 	static final String AGE_FORMAT = "%6.1f";
 
-	static final float EMPTY_FLOAT = -9f;
-	static final int EMPTY_INT = -9;
+	public static final float EMPTY_FLOAT = -9f;
+	public static final int EMPTY_INT = -9;
 
 	// FORMAT(A25, 1x,A4,1x,A1,I6, I3, I3 , I3 )
 	static final String POLY_FORMAT = POLY_IDENTIFIER_FORMAT + " %-4s %1s%6d%3d%3d%3d\n";
@@ -60,9 +60,15 @@ public class VriAdjustInputWriter implements Closeable {
 
 	static final String END_RECORD_FORMAT = POLY_IDENTIFIER_FORMAT + "  \n";
 
+	// These files are also the input files of VDYP Forward, whose output files have the same layout.
+	public static final FixedWidthFormat POLY_RECORD = FixedWidthFormat.compile(POLY_FORMAT);
+	public static final FixedWidthFormat SPEC_RECORD = FixedWidthFormat.compile(SPEC_FORMAT);
+	public static final FixedWidthFormat UTIL_RECORD = FixedWidthFormat.compile(UTIL_FORMAT);
+	public static final FixedWidthFormat END_RECORD = FixedWidthFormat.compile(END_RECORD_FORMAT);
+
 	/**
-	 * Create a writer for VRI Adjust input files using provided OutputStreams. The Streams will be closed when the
-	 * writer is closed.
+	 * Create a writer for VRI Adjust input files using provided OutputStreams. Output to the streams is buffered, and
+	 * the Streams will be flushed and closed when the writer is closed.
 	 *
 	 * @param polygonFile
 	 * @param speciesFile
@@ -73,9 +79,9 @@ public class VriAdjustInputWriter implements Closeable {
 			OutputStream polygonFile, OutputStream speciesFile, OutputStream utilizationFile,
 			Map<String, Object> controlMap
 	) {
-		this.polygonFile = polygonFile;
-		this.speciesFile = speciesFile;
-		this.utilizationFile = utilizationFile;
+		this.polygonFile = new FixedWidthWriter(polygonFile);
+		this.speciesFile = new FixedWidthWriter(speciesFile);
+		this.utilizationFile = new FixedWidthWriter(utilizationFile);
 	}
 
 	/**
@@ -109,19 +115,20 @@ public class VriAdjustInputWriter implements Closeable {
 	 * @throws IOException
 	 */
 	void writePolygon(VdypPolygon polygon) throws IOException {
-		writeFormat(
-				polygonFile, //
-				POLY_FORMAT, //
-
-				polygon.getPolygonIdentifier(), //
-				polygon.getBiogeoclimaticZone().getAlias(), //
-				polygon.getForestInventoryZone(), //
-
-				polygon.getPercentAvailable().intValue(), //
-				polygon.getLayers().get(LayerType.PRIMARY).getInventoryTypeGroup().orElse(EMPTY_INT), //
-				polygon.getLayers().get(LayerType.PRIMARY).getEmpiricalRelationshipParameterIndex().orElse(EMPTY_INT), //
-				polygon.getMode().orElse(PolygonMode.START).getCode()
-		);
+		polygonFile.begin(POLY_RECORD) //
+
+				.string(polygon.getPolygonIdentifier()) //
+				.string(polygon.getBiogeoclimaticZone().getAlias()) //
+				.string(polygon.getForestInventoryZone()) //
+
+				.integer(polygon.getPercentAvailable().intValue()) //
+				.integer(polygon.getLayers().get(LayerType.PRIMARY).getInventoryTypeGroup().orElse(EMPTY_INT)) //
+				.integer(
+						polygon.getLayers().get(LayerType.PRIMARY).getEmpiricalRelationshipParameterIndex()
+								.orElse(EMPTY_INT)
+				) //
+				.integer(polygon.getMode().orElse(PolygonMode.START).getCode()) //
+				.end();
 	}
 
 	/**
@@ -140,35 +147,34 @@ public class VriAdjustInputWriter implements Closeable {
 		).limit(4).toList();
 		// 082E004 615 1988 P 9 L LW 100.0 0.0 0.0 0.0 -9.00 -9.00 -9.0 -9.0 -9.0 0 -9
 		boolean isSiteSpec = layer.getSiteGenus().map(spec.getGenus()::equals).orElse(false);
-		writeFormat(
-				speciesFile, //
-				SPEC_FORMAT, //
-
-				spec.getPolygonIdentifier(), //
-				spec.getLayerType().getAlias(), //
-
-				spec.getGenusIndex(), //
-				spec.getGenus(), //
-
-				specDistributionEntries.get(0).getGenusAlias(), //
-				specDistributionEntries.get(0).getPercentage(), //
-				specDistributionEntries.get(1).getGenusAlias(), //
-				specDistributionEntries.get(1).getPercentage(), //
-				specDistributionEntries.get(2).getGenusAlias(), //
-				specDistributionEntries.get(2).getPercentage(), //
-				specDistributionEntries.get(3).getGenusAlias(), //
-				specDistributionEntries.get(3).getPercentage(), //
-
-				layer.getSiteIndex().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT), //
-				layer.getHeight().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT), //
-				layer.getAgeTotal().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT), //
-				layer.getBreastHeightAge().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT), //
-				layer.getYearsToBreastHeight().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT), //
-				layer.getSiteGenus().filter(x -> isSiteSpec).map(id -> id.equals(spec.getGenus())).orElse(false) ? 1
-						: 0, //
-				layer.getSiteCurveNumber().filter(x -> isSiteSpec).orElse(EMPTY_INT)
-
-		);
+		speciesFile.begin(SPEC_RECORD) //
+
+				.string(spec.getPolygonIdentifier()) //
+				.string(spec.getLayerType().getAlias()) //
+
+				.integer(spec.getGenusIndex()) //
+				.string(spec.getGenus()) //
+
+				.string(specDistributionEntries.get(0).getGenusAlias()) //
+				.floating(specDistributionEntries.get(0).getPercentage()) //
+				.string(specDistributionEntries.get(1).getGenusAlias()) //
+				.floating(specDistributionEntries.get(1).getPercentage()) //
+				.string(specDistributionEntries.get(2).getGenusAlias()) //
+				.floating(specDistributionEntries.get(2).getPercentage()) //
+				.string(specDistributionEntries.get(3).getGenusAlias()) //
+				.floating(specDistributionEntries.get(3).getPercentage()) //
+
+				.floating(layer.getSiteIndex().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT)) //
+				.floating(layer.getHeight().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT)) //
+				.floating(layer.getAgeTotal().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT)) //
+				.floating(layer.getBreastHeightAge().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT)) //
+				.floating(layer.getYearsToBreastHeight().filter(x -> isSiteSpec).orElse(EMPTY_FLOAT)) //
+				.integer(
+						layer.getSiteGenus().filter(x -> isSiteSpec).map(id -> id.equals(spec.getGenus())).orElse(false)
+								? 1 : 0
+				) //
+				.integer(layer.getSiteCurveNumber().filter(x -> isSiteSpec).orElse(EMPTY_INT)) //
+				.end();
 
 	}
 
@@ -203,32 +209,30 @@ public class VriAdjustInputWriter implements Closeable {
 				);
 			}
 
-			writeFormat(
-					utilizationFile, //
-					UTIL_FORMAT, //
+			utilizationFile.begin(UTIL_RECORD) //
 
-					layer.getPolygonIdentifier(), //
-					layer.getLayerType().getAlias(), //
+					.string(layer.getPolygonIdentifier()) //
+					.string(layer.getLayerType().getAlias()) //
 
-					specIndex.orElse(0), //
-					specId.orElse("  "), //
+					.integer(specIndex.orElse(0)) //
+					.string(specId.orElse("  ")) //
 
-					uc.index,
+					.integer(uc.index)
 
-					utils.getBaseAreaByUtilization().getCoe(uc.index), //
-					utils.getTreesPerHectareByUtilization().getCoe(uc.index), //
-					height.orElse(EMPTY_FLOAT), //
+					.floating(utils.getBaseAreaByUtilization().getCoe(uc.index)) //
+					.floating(utils.getTreesPerHectareByUtilization().getCoe(uc.index)) //
+					.floating(height.orElse(EMPTY_FLOAT)) //
 
-					utils.getWholeStemVolumeByUtilization().getCoe(uc.index), //
-					utils.getCloseUtilizationVolumeByUtilization().getCoe(uc.index), //
-					utils.getCloseUtilizationVolumeNetOfDecayByUtilization().getCoe(uc.index), //
-					utils.getCloseUtilizationVolumeNetOfDecayAndWasteByUtilization().getCoe(uc.index), //
-					utils.getCloseUtilizationVolumeNetOfDecayWasteAndBreakageByUtilization().getCoe(uc.index), //
+					.floating(utils.getWholeStemVolumeByUtilization().getCoe(uc.index)) //
+					.floating(utils.getCloseUtilizationVolumeByUtilization().getCoe(uc.index)) //
+					.floating(utils.getCloseUtilizationVolumeNetOfDecayByUtilization().getCoe(uc.index)) //
+					.floating(utils.getCloseUtilizationVolumeNetOfDecayAndWasteByUtilization().getCoe(uc.index)) //
+					.floating(utils.getCloseUtilizationVolumeNetOfDecayWasteAndBreakageByUtilization().getCoe(uc.index)) //
 
-					quadMeanDiameter.orElse(layer.getLayerType() == LayerType.PRIMARY ? //
+					.floating(quadMeanDiameter.orElse(layer.getLayerType() == LayerType.PRIMARY ? //
 							EMPTY_FLOAT : 0f
-					) // FIXME: VDYP7 is being inconsistent. Should consider using -9 for both.
-			);
+					)) // FIXME: VDYP7 is being inconsistent. Should consider using -9 for both.
+					.end();
 		}
 	}
 
@@ -256,8 +260,8 @@ public class VriAdjustInputWriter implements Closeable {
 		writeUtilizationEndRecord(polygon);
 	}
 
-	private void writeEndRecord(OutputStream os, VdypPolygon polygon) throws IOException {
-		writeFormat(os, END_RECORD_FORMAT, polygon.getPolygonIdentifier());
+	private void writeEndRecord(FixedWidthWriter writer, VdypPolygon polygon) throws IOException {
+		writer.begin(END_RECORD).string(polygon.getPolygonIdentifier()).end();
 	}
 
 	private void writeUtilizationEndRecord(VdypPolygon polygon) throws IOException {
@@ -268,10 +272,6 @@ public class VriAdjustInputWriter implements Closeable {
 		writeEndRecord(speciesFile, polygon);
 	}
 
-	void writeFormat(OutputStream os, String format, Object... params) throws IOException {
-		os.write(String.format(format, params).getBytes());
-	}
-
 	@Override
 	public void close() throws IOException {
 		polygonFile.close();
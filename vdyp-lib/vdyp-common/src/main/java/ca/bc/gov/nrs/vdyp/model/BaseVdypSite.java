@@ -6,6 +6,9 @@ import java.util.Optional;
 
 import ca.bc.gov.nrs.vdyp.common.Computed;
 import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurve;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 
 public abstract class BaseVdypSite {
 
@@ -19,6 +22,8 @@ public abstract class BaseVdypSite {
 	private final Optional<Float> height; // LVCOM3/HDLV, L1COM3/HDL1, VRISI/VR_HD
 	private final Optional<Float> yearsToBreastHeight; // LVCOM3/YTBHLV, L1COM3/YTBHL1, VRISI/VR_YTBH
 
+	private Optional<SiteCurve> siteCurve; // The curve of siteCurveNumber, looked up when first needed
+
 	protected BaseVdypSite(
 			PolygonIdentifier polygonIdentifier, LayerType layerType, String siteGenus,
 			Optional<Integer> siteCurveNumber, Optional<Float> siteIndex, Optional<Float> height,
@@ -51,6 +56,18 @@ public abstract class BaseVdypSite {
 		return siteCurveNumber;
 	}
 
+	/**
+	 * @return the site curve identified by the site curve number, if there is one
+	 * @throws IllegalArgumentException if the site curve number does not identify a curve
+	 */
+	@Computed
+	public Optional<SiteCurve> getSiteCurve() {
+		if (siteCurve == null) {
+			siteCurve = siteCurveNumber.map(SiteIndexEquation::getByIndex).map(SiteCurves::of);
+		}
+		return siteCurve;
+	}
+
 	public Optional<Float> getSiteIndex() {
 		return siteIndex;
 	}
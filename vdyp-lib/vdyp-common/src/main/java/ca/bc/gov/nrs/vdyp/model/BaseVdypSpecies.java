@@ -50,6 +50,23 @@ public abstract class BaseVdypSpecies<I extends BaseVdypSite> {
 		this.sp64DistributionSet = sp64DistributionSet;
 	}
 
+	/**
+	 * Construct a copy of a species with the given site attached. The copy shares the species' distribution set rather
+	 * than rebuilding it, so this is intended for attaching a site to a freshly parsed species that is then discarded.
+	 *
+	 * @param toCopy the species to copy
+	 * @param site   the site of the species
+	 * @throws IllegalArgumentException if the site is not of the species' genus, polygon and layer
+	 */
+	protected BaseVdypSpecies(BaseVdypSpecies<I> toCopy, I site) {
+		this(
+				toCopy.polygonIdentifier, toCopy.layerType, toCopy.genus, toCopy.genusIndex, toCopy.percentGenus,
+				toCopy.sp64DistributionSet, Optional.empty()
+		);
+		this.fractionGenus = toCopy.fractionGenus;
+		setSite(Optional.of(site));
+	}
+
 	public PolygonIdentifier getPolygonIdentifier() {
 		return polygonIdentifier;
 	}
@@ -131,6 +148,29 @@ public abstract class BaseVdypSpecies<I extends BaseVdypSite> {
 		return site;
 	}
 
+	/**
+	 * Set the site of the species.
+	 *
+	 * @param site the site of the species, if it has one
+	 * @throws IllegalArgumentException if the site is not of this species' genus, polygon and layer
+	 */
+	void setSite(Optional<I> site) {
+		site.ifPresent(this::checkSite);
+		this.site = site;
+	}
+
+	private void checkSite(I site) {
+		if (!site.getSiteGenus().equals(genus) || !site.getPolygonIdentifier().equals(polygonIdentifier)
+				|| site.getLayerType() != layerType) {
+			throw new IllegalArgumentException(
+					MessageFormat.format(
+							"Site {0} {1} {2} does not belong to species {3} {4} {5}", site.getPolygonIdentifier(),
+							site.getLayerType(), site.getSiteGenus(), polygonIdentifier, layerType, genus
+					)
+			);
+		}
+	}
+
 	public abstract static class Builder<T extends BaseVdypSpecies<I>, I extends BaseVdypSite, IB extends BaseVdypSite.Builder<I>>
 			extends ModelClassBuilder<T> {
 		protected Optional<PolygonIdentifier> polygonIdentifier = Optional.empty();
@@ -6,6 +6,8 @@ import ca.bc.gov.nrs.vdyp.common.Computed;
 
 public class BecDefinition extends AliasedEntity {
 
+	private static final long serialVersionUID = 1L;
+
 	private final Region region;
 
 	private final Optional<BecDefinition> growthBec;
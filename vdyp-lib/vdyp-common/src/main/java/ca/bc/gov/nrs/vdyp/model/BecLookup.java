@@ -1,5 +1,6 @@
 package ca.bc.gov.nrs.vdyp.model;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -13,7 +14,9 @@ import java.util.Optional;
  * @author Kevin Smith, Vivid Solutions
  *
  */
-public class BecLookup {
+public class BecLookup implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Create a bec lookup
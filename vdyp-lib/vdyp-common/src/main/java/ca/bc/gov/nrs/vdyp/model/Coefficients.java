@@ -1,5 +1,6 @@
 package ca.bc.gov.nrs.vdyp.model;
 
+import java.io.Serializable;
 import java.util.AbstractList;
 import java.util.Collection;
 import java.util.List;
@@ -16,7 +17,10 @@ import ca.bc.gov.nrs.vdyp.common.IndexedFloatUnaryOperator;
  * @author Kevin Smith, Vivid Solutions
  *
  */
-public class Coefficients extends AbstractList<Float> implements List<Float> {
+public class Coefficients extends AbstractList<Float> implements List<Float>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private float[] coe;
 	private int indexFrom;
 
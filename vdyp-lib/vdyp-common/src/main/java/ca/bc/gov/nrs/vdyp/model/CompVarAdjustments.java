@@ -1,10 +1,14 @@
 package ca.bc.gov.nrs.vdyp.model;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-public class CompVarAdjustments {
+public class CompVarAdjustments implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	public static final int MIN_INDEX = 1;
 	public static final int MAX_INDEX = 98;
 
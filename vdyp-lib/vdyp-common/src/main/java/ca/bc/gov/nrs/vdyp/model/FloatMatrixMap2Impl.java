@@ -0,0 +1,61 @@
+package ca.bc.gov.nrs.vdyp.model;
+
+import java.util.Collection;
+import java.util.function.BiFunction;
+
+/**
+ * A MatrixMap2 of Float values that also keeps them as primitive floats, so that they can be read with
+ * {@link #getFloat(Object, Object)} without unboxing. Used for the modifier maps, which are read for every species of
+ * every polygon. A null value is held as NaN.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class FloatMatrixMap2Impl<K1, K2> extends MatrixMap2Impl<K1, K2, Float> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final float[] floats;
+
+	public FloatMatrixMap2Impl(
+			Collection<K1> dimension1, Collection<K2> dimension2, BiFunction<K1, K2, Float> defaultMapper
+	) {
+		super(dimension1, dimension2, defaultMapper);
+
+		// The default values are stored by the superclass constructor, before this array exists
+		floats = new float[size()];
+		for (int i = 0; i < floats.length; i++) {
+			floats[i] = toFloat(getAt(i));
+		}
+	}
+
+	public float getFloat(K1 key1, K2 key2) {
+		return floats[getIndex2(key1, key2)];
+	}
+
+	/**
+	 * Get a value from a MatrixMap2 of Floats, without unboxing if it is a FloatMatrixMap2Impl.
+	 *
+	 * @throws NullPointerException if the value is null and the map is not a FloatMatrixMap2Impl
+	 */
+	public static <K1, K2> float getFloat(MatrixMap2<K1, K2, Float> map, K1 key1, K2 key2) {
+		if (map instanceof UnmodifiableMatrixMap.Of2<K1, K2, Float> view) {
+			map = view.underlying();
+		}
+		if (map instanceof FloatMatrixMap2Impl<K1, K2> floatMap) {
+			return floatMap.getFloat(key1, key2);
+		}
+		return map.get(key1, key2);
+	}
+
+	@Override
+	protected void putAt(int index, Float value) {
+		super.putAt(index, value);
+		if (floats != null) {
+			floats[index] = toFloat(value);
+		}
+	}
+
+	private static float toFloat(Float value) {
+		return value == null ? Float.NaN : value;
+	}
+}
@@ -4,6 +4,8 @@ import java.util.Objects;
 
 public class GenusDefinition extends AliasedEntity implements Comparable<GenusDefinition> {
 
+	private static final long serialVersionUID = 1L;
+
 	private final int index;
 
 	@SuppressWarnings("java:S2789")
@@ -1,8 +1,12 @@
 package ca.bc.gov.nrs.vdyp.model;
 
+import java.io.Serializable;
 import java.util.List;
 
-public class GrowthFiatDetails {
+public class GrowthFiatDetails implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private final Region region;
 	private final Float[] ages;
 	private final Float[] coefficients;
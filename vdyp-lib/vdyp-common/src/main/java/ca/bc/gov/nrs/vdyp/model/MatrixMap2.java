@@ -39,6 +39,14 @@ public interface MatrixMap2<K1, K2, V> extends MatrixMap<V> {
 		});
 	}
 
+	/**
+	 * Return a read-only view of a MatrixMap2. Changes to the underlying map are visible through the view; attempts to
+	 * change the map through the view throw an {@link UnsupportedOperationException}.
+	 */
+	public static <K1, K2, V> MatrixMap2<K1, K2, V> unmodifiable(MatrixMap2<K1, K2, V> map) {
+		return map instanceof UnmodifiableMatrixMap ? map : new UnmodifiableMatrixMap.Of2<>(map);
+	}
+
 	/**
 	 * Cast a 2 dimension MatrixMap to MatrixMap2, wrapping it if it has 2 dimensions but does not implement the
 	 * interface.
@@ -17,6 +17,16 @@ public class MatrixMap2Impl<K1, K2, V> extends MatrixMapImpl<V> implements Matri
 		}, Arrays.asList(dimension1, dimension2));
 	}
 
+	@Override
+	public V get(K1 key1, K2 key2) {
+		return getAt(getIndex2(key1, key2));
+	}
+
+	@Override
+	public void put(K1 key1, K2 key2, V value) {
+		putAt(getIndex2(key1, key2), value);
+	}
+
 	/**
 	 * Default mapper function that maps all keys to an empty Optional
 	 */
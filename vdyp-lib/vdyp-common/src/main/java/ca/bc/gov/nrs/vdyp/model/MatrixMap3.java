@@ -15,6 +15,14 @@ public interface MatrixMap3<K1, K2, K3, V> extends MatrixMap<V> {
 		return getM(key1, key2, key3);
 	}
 
+	/**
+	 * Return a read-only view of a MatrixMap3. Changes to the underlying map are visible through the view; attempts to
+	 * change the map through the view throw an {@link UnsupportedOperationException}.
+	 */
+	public static <K1, K2, K3, V> MatrixMap3<K1, K2, K3, V> unmodifiable(MatrixMap3<K1, K2, K3, V> map) {
+		return map instanceof UnmodifiableMatrixMap ? map : new UnmodifiableMatrixMap.Of3<>(map);
+	}
+
 	/**
 	 * Cast a 3 dimension MatrixMap to MatrixMap3, wrapping it if it has 3 dimensions but does not implement the
 	 * interface.
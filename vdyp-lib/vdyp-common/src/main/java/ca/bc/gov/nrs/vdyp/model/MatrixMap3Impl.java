@@ -19,6 +19,16 @@ public class MatrixMap3Impl<K1, K2, K3, V> extends MatrixMapImpl<V> implements M
 		}, Arrays.asList(dimension1, dimension2, dimension3));
 	}
 
+	@Override
+	public V get(K1 key1, K2 key2, K3 key3) {
+		return getAt(getIndex3(key1, key2, key3));
+	}
+
+	@Override
+	public void put(K1 key1, K2 key2, K3 key3, V value) {
+		putAt(getIndex3(key1, key2, key3), value);
+	}
+
 	@FunctionalInterface
 	public static interface TriFunction<P1, P2, P3, V> {
 		public V apply(P1 p1, P2 p2, P3 p3);
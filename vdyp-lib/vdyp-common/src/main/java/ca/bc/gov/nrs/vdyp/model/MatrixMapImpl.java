@@ -1,5 +1,9 @@
 package ca.bc.gov.nrs.vdyp.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -14,15 +18,24 @@ import java.util.stream.Collectors;
 
 /**
  * A mapping from the cartesian product of a set of arbitrary identifiers to a value.
+ * <p>
+ * The values are held in a single array. Each dimension resolves a key to its position in that dimension through a
+ * {@link KeyIndex} chosen for the kind of keys it has: enum keys through their ordinal, small integer keys through a
+ * direct table, and other keys, such as species aliases, through an open addressed hash table. Fixed arity lookups, as
+ * made by {@link MatrixMap2Impl} and {@link MatrixMap3Impl}, do not allocate.
  *
  * @author Kevin Smith, Vivid Solutions
  *
  * @param <T>
  */
-public class MatrixMapImpl<T> implements MatrixMap<T> {
+public class MatrixMapImpl<T> implements MatrixMap<T>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private List<Map<Object, Integer>> maps;
 	private Object[] matrix;
-	private Function<Object[], T> defaultMapper;
+	private transient Function<Object[], T> defaultMapper;
+	private transient KeyIndex[] indices;
 
 	public MatrixMapImpl(Function<Object[], T> defaultMapper, Collection<? extends Collection<?>> dimensions) {
 		this.defaultMapper = defaultMapper;
@@ -38,6 +51,7 @@ public class MatrixMapImpl<T> implements MatrixMap<T> {
 			}
 			return map;
 		}).toList();
+		indices = buildIndices(maps);
 		var matrixSize = maps.stream().map(Map::size).reduce(1, (x, y) -> x * y);
 		matrix = new Object[matrixSize];
 		eachKey(k -> {
@@ -49,43 +63,110 @@ public class MatrixMapImpl<T> implements MatrixMap<T> {
 		this(defaultValues, Arrays.asList(dimensions));
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public T getM(Object... params) {
-		return (T) matrix[getIndex(params)];
+		return getAt(getIndex(params));
 	}
 
 	@Override
 	public void putM(T value, Object... params) {
-		matrix[getIndex(params)] = value;
+		putAt(getIndex(params), value);
+	}
+
+	/**
+	 * @return the value at a position in the matrix
+	 */
+	@SuppressWarnings("unchecked")
+	protected T getAt(int index) {
+		return (T) matrix[index];
+	}
+
+	/**
+	 * Set the value at a position in the matrix. All changes to the matrix are made through this method.
+	 */
+	protected void putAt(int index, T value) {
+		matrix[index] = value;
+	}
+
+	/**
+	 * @return the number of positions in the matrix
+	 */
+	protected int size() {
+		return matrix.length;
 	}
 
 	protected int getIndex(Object... params) {
-		return getIndexSafe(params).orElseThrow(() -> {
-			String keyString = Arrays.stream(params).map(Object::toString).collect(Collectors.joining(", ", "[", "]"));
-			return new IllegalArgumentException("Key " + keyString + " is invalid for this MatrixMap");
-		});
+		int index = indexOf(params);
+		if (index < 0) {
+			throw invalidKey(params);
+		}
+		return index;
 	}
 
-	protected Optional<Integer> getIndexSafe(Object... params) {
-		if (params.length != maps.size()) {
-			throw new IllegalArgumentException("MatrixMap requires parameters to equal the number of dimensions");
+	/**
+	 * The position of a key of two dimensions in the matrix.
+	 *
+	 * @throws IllegalArgumentException if the map does not have two dimensions, or the key is not in it
+	 */
+	protected int getIndex2(Object key1, Object key2) {
+		checkDimensions(2);
+		int i1 = indices[0].indexOf(key1);
+		int i2 = indices[1].indexOf(key2);
+		if (i1 < 0 || i2 < 0) {
+			throw invalidKey(key1, key2);
 		}
-		int i = 0;
+		return i1 + indices[0].size * i2;
+	}
+
+	/**
+	 * The position of a key of three dimensions in the matrix.
+	 *
+	 * @throws IllegalArgumentException if the map does not have three dimensions, or the key is not in it
+	 */
+	protected int getIndex3(Object key1, Object key2, Object key3) {
+		checkDimensions(3);
+		int i1 = indices[0].indexOf(key1);
+		int i2 = indices[1].indexOf(key2);
+		int i3 = indices[2].indexOf(key3);
+		if (i1 < 0 || i2 < 0 || i3 < 0) {
+			throw invalidKey(key1, key2, key3);
+		}
+		return i1 + indices[0].size * (i2 + indices[1].size * i3);
+	}
+
+	protected Optional<Integer> getIndexSafe(Object... params) {
+		int index = indexOf(params);
+		return index < 0 ? Optional.empty() : Optional.of(index);
+	}
+
+	/**
+	 * @return the position of a key in the matrix, or -1 if the key is not in the map
+	 */
+	protected int indexOf(Object... params) {
+		checkDimensions(params.length);
 		int index = 0;
 		int step = 1;
-		for (var o : params) {
-			var dim = maps.get(i);
-			Integer dimIndex = dim.get(o);
-			if (dimIndex == null) {
-				return Optional.empty();
+		for (int i = 0; i < params.length; i++) {
+			var dim = indices[i];
+			int dimIndex = dim.indexOf(params[i]);
+			if (dimIndex < 0) {
+				return -1;
 			}
 			index += step * dimIndex;
+			step *= dim.size;
+		}
+		return index;
+	}
 
-			step *= dim.size();
-			i++;
+	private void checkDimensions(int count) {
+		if (count != indices.length) {
+			throw new IllegalArgumentException("MatrixMap requires parameters to equal the number of dimensions");
 		}
-		return Optional.of(index);
+	}
+
+	private static IllegalArgumentException invalidKey(Object... params) {
+		String keyString = Arrays.stream(params).map(String::valueOf).collect(Collectors.joining(", ", "[", "]"));
+		return new IllegalArgumentException("Key " + keyString + " is invalid for this MatrixMap");
 	}
 
 	@SuppressWarnings("unchecked")
@@ -123,7 +204,9 @@ public class MatrixMapImpl<T> implements MatrixMap<T> {
 
 	@Override
 	public void setAll(T value) {
-		Arrays.fill(matrix, value);
+		for (int i = 0; i < matrix.length; i++) {
+			putAt(i, value);
+		}
 	}
 
 	@Override
@@ -147,14 +230,194 @@ public class MatrixMapImpl<T> implements MatrixMap<T> {
 
 	@Override
 	public T remove(Object... params) {
-		@SuppressWarnings("unchecked")
-		var old = (T) matrix[getIndex(params)];
-		matrix[getIndex(params)] = defaultMapper.apply(params);
+		int index = getIndex(params);
+		var old = getAt(index);
+		putAt(index, defaultMapper.apply(params));
 		return old;
 	}
 
 	@Override
 	public boolean hasM(Object... params) {
-		return this.getIndexSafe(params).isPresent();
+		return indexOf(params) >= 0;
+	}
+
+	/**
+	 * The default mapper is usually a lambda, which can not be serialized, so the default values it gives are written
+	 * in its place.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+
+		var defaults = new Object[matrix.length];
+		eachKey(k -> defaults[getIndex(k)] = defaultMapper.apply(k));
+		out.writeObject(defaults);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		indices = buildIndices(maps);
+
+		var defaults = (Object[]) in.readObject();
+		defaultMapper = k -> (T) defaults[getIndex(k)];
+	}
+
+	private static KeyIndex[] buildIndices(List<Map<Object, Integer>> maps) {
+		return maps.stream().map(KeyIndex::of).toArray(KeyIndex[]::new);
+	}
+
+	/**
+	 * Resolves the keys of one dimension to their positions in that dimension.
+	 */
+	abstract static class KeyIndex {
+
+		/**
+		 * Integer keys are looked up directly in a table if it would be no larger than this, or than a small multiple
+		 * of the number of keys.
+		 */
+		static final int MAX_DIRECT_RANGE = 64;
+
+		final int size;
+
+		KeyIndex(int size) {
+			this.size = size;
+		}
+
+		/**
+		 * @return the position of the key in the dimension, or -1 if it is not in the dimension
+		 */
+		abstract int indexOf(Object key);
+
+		static KeyIndex of(Map<Object, Integer> dimension) {
+			var keys = dimension.keySet();
+			if (!keys.isEmpty()) {
+				var first = keys.iterator().next();
+				if (first instanceof Enum<?> e) {
+					var enumClass = e.getDeclaringClass();
+					if (keys.stream().allMatch(k -> k instanceof Enum<?> ek && ek.getDeclaringClass() == enumClass)) {
+						return new EnumKeyIndex(enumClass, dimension);
+					}
+				}
+				if (keys.stream().allMatch(Integer.class::isInstance)) {
+					var summary = keys.stream().mapToInt(Integer.class::cast).summaryStatistics();
+					long range = (long) summary.getMax() - summary.getMin() + 1;
+					if (range <= Math.max(MAX_DIRECT_RANGE, 4L * keys.size())) {
+						return new IntegerKeyIndex(summary.getMin(), (int) range, dimension);
+					}
+				}
+			}
+			return new HashKeyIndex(dimension);
+		}
+
+		static int[] emptyTable(int length) {
+			var table = new int[length];
+			Arrays.fill(table, -1);
+			return table;
+		}
+	}
+
+	static final class EnumKeyIndex extends KeyIndex {
+		private final Class<?> enumClass;
+		private final int[] byOrdinal;
+
+		EnumKeyIndex(Class<?> enumClass, Map<Object, Integer> dimension) {
+			super(dimension.size());
+			this.enumClass = enumClass;
+			byOrdinal = emptyTable(enumClass.getEnumConstants().length);
+			dimension.forEach((k, i) -> byOrdinal[ ((Enum<?>) k).ordinal()] = i);
+		}
+
+		@Override
+		int indexOf(Object key) {
+			if (key instanceof Enum<?> e && e.getDeclaringClass() == enumClass) {
+				return byOrdinal[e.ordinal()];
+			}
+			return -1;
+		}
+	}
+
+	static final class IntegerKeyIndex extends KeyIndex {
+		private final int min;
+		private final int[] table;
+
+		IntegerKeyIndex(int min, int range, Map<Object, Integer> dimension) {
+			super(dimension.size());
+			this.min = min;
+			table = emptyTable(range);
+			dimension.forEach((k, i) -> table[(Integer) k - min] = i);
+		}
+
+		@Override
+		int indexOf(Object key) {
+			if (key instanceof Integer i) {
+				// Subtracting as longs keeps keys far outside the range from wrapping into it
+				long offset = (long) i - min;
+				if (offset >= 0 && offset < table.length) {
+					return table[(int) offset];
+				}
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * An open addressed hash table with linear probing, at most a quarter full: its length is the smallest power of
+	 * two that is at least four times the number of keys. As Strings cache their hash codes, a lookup of a species alias
+	 * or BEC zone alias is usually a single identity or equals comparison.
+	 */
+	static final class HashKeyIndex extends KeyIndex {
+		private final Object[] keys;
+		private final int[] positions;
+		private final int mask;
+		private final boolean hasNullKey;
+		private final int nullKeyPosition;
+
+		HashKeyIndex(Map<Object, Integer> dimension) {
+			super(dimension.size());
+			int length = Integer.highestOneBit(Math.max(dimension.size(), 1) * 4 - 1) << 1;
+			keys = new Object[length];
+			positions = new int[length];
+			mask = length - 1;
+			boolean foundNull = false;
+			int nullPosition = -1;
+			for (var entry : dimension.entrySet()) {
+				var key = entry.getKey();
+				if (key == null) {
+					foundNull = true;
+					nullPosition = entry.getValue();
+					continue;
+				}
+				int slot = hash(key) & mask;
+				while (keys[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+				positions[slot] = entry.getValue();
+			}
+			hasNullKey = foundNull;
+			nullKeyPosition = nullPosition;
+		}
+
+		private static int hash(Object key) {
+			int h = key.hashCode();
+			return h ^ (h >>> 16);
+		}
+
+		@Override
+		int indexOf(Object key) {
+			if (key == null) {
+				return hasNullKey ? nullKeyPosition : -1;
+			}
+			int slot = hash(key) & mask;
+			Object candidate;
+			while ( (candidate = keys[slot]) != null) {
+				if (candidate == key || candidate.equals(key)) {
+					return positions[slot];
+				}
+				slot = (slot + 1) & mask;
+			}
+			return -1;
+		}
 	}
 }
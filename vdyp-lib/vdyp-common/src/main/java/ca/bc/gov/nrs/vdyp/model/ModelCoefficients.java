@@ -1,6 +1,11 @@
 package ca.bc.gov.nrs.vdyp.model;
 
-public class ModelCoefficients {
+import java.io.Serializable;
+
+public class ModelCoefficients implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private final int model;
 	private final Coefficients coefficients;
 
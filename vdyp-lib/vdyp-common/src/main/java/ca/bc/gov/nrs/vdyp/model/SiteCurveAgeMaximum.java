@@ -1,9 +1,13 @@
 package ca.bc.gov.nrs.vdyp.model;
 
+import java.io.Serializable;
 import java.util.EnumMap;
 import java.util.Map;
 
-public class SiteCurveAgeMaximum {
+public class SiteCurveAgeMaximum implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private final Map<Region, Float> ageMaximums;
 	private final float t1;
 	private final float t2;
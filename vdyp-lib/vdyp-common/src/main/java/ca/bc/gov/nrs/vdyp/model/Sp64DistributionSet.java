@@ -3,12 +3,11 @@ package ca.bc.gov.nrs.vdyp.model;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 import ca.bc.gov.nrs.vdyp.io.parse.common.InvalidGenusDistributionSet;
 
@@ -22,10 +21,12 @@ import ca.bc.gov.nrs.vdyp.io.parse.common.InvalidGenusDistributionSet;
  */
 public class Sp64DistributionSet implements Comparable<Sp64DistributionSet> {
 
+	private static final Comparator<Sp64Distribution> BY_INDEX = Comparator.comparingInt(Sp64Distribution::getIndex);
+
 	private Map<Integer, Sp64Distribution> sp64DistributionMap = new HashMap<>();
 
 	/** The Sp64Distributions, sorted by increasing index */
-	private List<Sp64Distribution> sp64DistributionList = new ArrayList<>();
+	private final List<Sp64Distribution> sp64DistributionList;
 
 	/** The highest index in the given distributions */
 	private final int maxIndex;
@@ -38,18 +39,25 @@ public class Sp64DistributionSet implements Comparable<Sp64DistributionSet> {
 	 */
 	public Sp64DistributionSet(List<Sp64Distribution> sdList) {
 
-		this(
-				(sdList == null || sdList.isEmpty()) ? 0
-						: sdList.stream().max((o1, o2) -> o1.getIndex() - o2.getIndex()).get().getIndex(),
-				sdList
-		);
+		this(maxIndex(sdList), sdList);
+	}
+
+	private static int maxIndex(List<Sp64Distribution> sdList) {
+		int maxIndex = 0;
+		if (sdList != null) {
+			for (Sp64Distribution sd : sdList) {
+				maxIndex = Math.max(maxIndex, sd.getIndex());
+			}
+		}
+		return maxIndex;
 	}
 
 	public Sp64DistributionSet(int maxIndex, List<Sp64Distribution> sdList) {
 
-		// sort the list by increasing index
-		var sp64DistributionListSortedByIndex = sdList.stream().sorted((o1, o2) -> o1.getIndex() - o2.getIndex())
-				.toList();
+		// sort the list by increasing index. The lists are short, and one of these is made for each species built, so
+		// this is done without streams.
+		var sp64DistributionListSortedByIndex = new ArrayList<>(sdList);
+		sp64DistributionListSortedByIndex.sort(BY_INDEX);
 
 		try {
 			validate(maxIndex, sp64DistributionListSortedByIndex);
@@ -78,6 +86,7 @@ public class Sp64DistributionSet implements Comparable<Sp64DistributionSet> {
 	 * Construct an empty Sp64DistributionSet. Usefulness is limited to testing.
 	 */
 	public Sp64DistributionSet() {
+		sp64DistributionList = new ArrayList<>();
 		maxIndex = 0;
 	}
 
@@ -113,20 +122,19 @@ public class Sp64DistributionSet implements Comparable<Sp64DistributionSet> {
 
 	private static void validate(int maxIndex, List<Sp64Distribution> gdList) throws InvalidGenusDistributionSet {
 
-		Set<String> sp64sSeen = new HashSet<>();
-		Set<Integer> indicesSeen = new HashSet<>();
-
 		Sp64Distribution prevGd = null;
 
-		for (Sp64Distribution gd : gdList) {
-			if (sp64sSeen.contains(gd.getGenusAlias())) {
+		for (int i = 0; i < gdList.size(); i++) {
+			var gd = gdList.get(i);
+			if (containsGenusAlias(gdList, i, gd.getGenusAlias())) {
 				throw new InvalidGenusDistributionSet(
 						MessageFormat.format(
 								"Species {0} appears more than once in GenusDistributionSet", gd.getGenusAlias()
 						)
 				);
 			}
-			if (indicesSeen.contains(gd.getIndex())) {
+			// The list is in index order, so a repeated index is that of the previous distribution
+			if (prevGd != null && prevGd.getIndex() == gd.getIndex()) {
 				throw new InvalidGenusDistributionSet(
 						MessageFormat.format("Index {0} appears more than once in GenusDistributionSet", gd.getIndex())
 				);
@@ -149,13 +157,19 @@ public class Sp64DistributionSet implements Comparable<Sp64DistributionSet> {
 				);
 			}
 
-			sp64sSeen.add(gd.getGenusAlias());
-			indicesSeen.add(gd.getIndex());
-
 			prevGd = gd;
 		}
 	}
 
+	private static boolean containsGenusAlias(List<Sp64Distribution> gdList, int end, String genusAlias) {
+		for (int i = 0; i < end; i++) {
+			if (gdList.get(i).getGenusAlias().equals(genusAlias)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public int hashCode() {
 		return sp64DistributionMap.hashCode() * 17 + maxIndex;
@@ -1,6 +1,10 @@
 package ca.bc.gov.nrs.vdyp.model;
 
-public class StockingClassFactor {
+import java.io.Serializable;
+
+public class StockingClassFactor implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final Character stk;
 	private final Region region;
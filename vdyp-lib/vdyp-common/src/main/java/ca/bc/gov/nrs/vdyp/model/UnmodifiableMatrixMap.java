@@ -0,0 +1,108 @@
+package ca.bc.gov.nrs.vdyp.model;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A read-only view of a MatrixMap, in the manner of {@link java.util.Collections#unmodifiableMap}. Lookups pass through
+ * to the underlying map, which may still be changed by whoever holds it; any attempt to change it through the view
+ * throws an {@link UnsupportedOperationException}.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ *
+ * @param <T>
+ */
+class UnmodifiableMatrixMap<T> implements MatrixMap<T> {
+
+	private final MatrixMap<T> map;
+
+	UnmodifiableMatrixMap(MatrixMap<T> map) {
+		this.map = map;
+	}
+
+	@Override
+	public T getM(Object... params) {
+		return map.getM(params);
+	}
+
+	@Override
+	public boolean hasM(Object... params) {
+		return map.hasM(params);
+	}
+
+	@Override
+	public void putM(T value, Object... params) {
+		throw new UnsupportedOperationException("This MatrixMap is read-only");
+	}
+
+	@Override
+	public boolean all(Predicate<T> pred) {
+		return map.all(pred);
+	}
+
+	@Override
+	public boolean any(Predicate<T> pred) {
+		return map.any(pred);
+	}
+
+	@Override
+	public void eachKey(Consumer<Object[]> body) {
+		map.eachKey(body);
+	}
+
+	@Override
+	public List<Set<?>> getDimensions() {
+		return map.getDimensions();
+	}
+
+	@Override
+	public T remove(Object... params) {
+		throw new UnsupportedOperationException("This MatrixMap is read-only");
+	}
+
+	@Override
+	public String toString() {
+		return map.toString();
+	}
+
+	static class Of2<K1, K2, V> extends UnmodifiableMatrixMap<V> implements MatrixMap2<K1, K2, V> {
+
+		private final MatrixMap2<K1, K2, V> map;
+
+		Of2(MatrixMap2<K1, K2, V> map) {
+			super(map);
+			this.map = map;
+		}
+
+		@Override
+		public V get(K1 key1, K2 key2) {
+			// Keep the underlying map's fixed arity lookup, which does not allocate
+			return map.get(key1, key2);
+		}
+
+		/**
+		 * @return the map of which this is a view, for lookups that are specialized by the type of map
+		 */
+		MatrixMap2<K1, K2, V> underlying() {
+			return map;
+		}
+	}
+
+	static class Of3<K1, K2, K3, V> extends UnmodifiableMatrixMap<V> implements MatrixMap3<K1, K2, K3, V> {
+
+		private final MatrixMap3<K1, K2, K3, V> map;
+
+		Of3(MatrixMap3<K1, K2, K3, V> map) {
+			super(map);
+			this.map = map;
+		}
+
+		@Override
+		public V get(K1 key1, K2 key2, K3 key3) {
+			// Keep the underlying map's fixed arity lookup, which does not allocate
+			return map.get(key1, key2, key3);
+		}
+	}
+}
@@ -199,7 +199,9 @@ public class VdypLayer extends SingleSiteLayer<VdypSpecies, VdypSite> implements
 			this.empiricalRelationshipParameterIndex(Optional.of(empiricalRelationshipParameterIndex));
 		}
 
-		UtilizationVector loreyHeight = VdypUtilizationHolder.emptyLoreyHeightUtilization();
+		// Vectors that are not set are left null so that the layer keeps the empty vectors it was created with,
+		// rather than having them replaced by equal ones.
+		UtilizationVector loreyHeight = null;
 
 		public void loreyHeight(float height) {
 			this.loreyHeight = Utils.heightVector(0, height);
@@ -209,7 +211,7 @@ public class VdypLayer extends SingleSiteLayer<VdypSpecies, VdypSite> implements
 			this.loreyHeight = Utils.heightVector(small, height);
 		}
 
-		protected UtilizationVector baseArea = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector baseArea = null;
 
 		public void baseArea(float small, float u1, float u2, float u3, float u4) {
 			this.baseArea = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -219,7 +221,7 @@ public class VdypLayer extends SingleSiteLayer<VdypSpecies, VdypSite> implements
 			this.baseArea = Utils.utilizationVector(height);
 		}
 
-		protected UtilizationVector treesPerHectare = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector treesPerHectare = null;
 
 		public void treesPerHectare(float small, float u1, float u2, float u3, float u4) {
 			this.treesPerHectare = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -229,7 +231,7 @@ public class VdypLayer extends SingleSiteLayer<VdypSpecies, VdypSite> implements
 			this.treesPerHectare = Utils.utilizationVector(height);
 		}
 
-		protected UtilizationVector quadMeanDiameter = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector quadMeanDiameter = null;
 
 		public void quadMeanDiameter(float small, float u1, float u2, float u3, float u4) {
 			this.quadMeanDiameter = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -239,7 +241,7 @@ public class VdypLayer extends SingleSiteLayer<VdypSpecies, VdypSite> implements
 			this.quadMeanDiameter = Utils.utilizationVector(height);
 		}
 
-		protected UtilizationVector wholeStemVolume = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector wholeStemVolume = null;
 
 		public void wholeStemVolume(float small, float u1, float u2, float u3, float u4) {
 			this.wholeStemVolume = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -252,11 +254,21 @@ public class VdypLayer extends SingleSiteLayer<VdypSpecies, VdypSite> implements
 		@Override
 		protected void postProcess(VdypLayer layer) {
 			super.postProcess(layer);
-			layer.setLoreyHeightByUtilization(loreyHeight);
-			layer.setBaseAreaByUtilization(baseArea);
-			layer.setTreesPerHectareByUtilization(treesPerHectare);
-			layer.setQuadraticMeanDiameterByUtilization(quadMeanDiameter);
-			layer.setWholeStemVolumeByUtilization(wholeStemVolume);
+			if (loreyHeight != null) {
+				layer.setLoreyHeightByUtilization(loreyHeight);
+			}
+			if (baseArea != null) {
+				layer.setBaseAreaByUtilization(baseArea);
+			}
+			if (treesPerHectare != null) {
+				layer.setTreesPerHectareByUtilization(treesPerHectare);
+			}
+			if (quadMeanDiameter != null) {
+				layer.setQuadraticMeanDiameterByUtilization(quadMeanDiameter);
+			}
+			if (wholeStemVolume != null) {
+				layer.setWholeStemVolumeByUtilization(wholeStemVolume);
+			}
 		}
 
 		@Override
@@ -211,7 +211,9 @@ public class VdypSpecies extends BaseVdypSpecies<VdypSite> implements VdypUtiliz
 		protected Optional<Integer> decayGroup = Optional.empty();
 		protected Optional<Integer> breakageGroup = Optional.empty();
 
-		protected UtilizationVector loreyHeight = VdypUtilizationHolder.emptyLoreyHeightUtilization();
+		// Vectors that are not set are left null so that the species keeps the empty vectors it was created with,
+		// rather than having them replaced by equal ones.
+		protected UtilizationVector loreyHeight = null;
 
 		public void loreyHeight(float height) {
 			this.loreyHeight = Utils.heightVector(0, height);
@@ -221,7 +223,7 @@ public class VdypSpecies extends BaseVdypSpecies<VdypSite> implements VdypUtiliz
 			this.loreyHeight = Utils.heightVector(small, height);
 		}
 
-		protected UtilizationVector baseArea = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector baseArea = null;
 
 		public void baseArea(float small, float u1, float u2, float u3, float u4) {
 			this.baseArea = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -231,7 +233,7 @@ public class VdypSpecies extends BaseVdypSpecies<VdypSite> implements VdypUtiliz
 			this.baseArea = Utils.utilizationVector(height);
 		}
 
-		protected UtilizationVector treesPerHectare = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector treesPerHectare = null;
 
 		public void treesPerHectare(float small, float u1, float u2, float u3, float u4) {
 			this.treesPerHectare = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -241,7 +243,7 @@ public class VdypSpecies extends BaseVdypSpecies<VdypSite> implements VdypUtiliz
 			this.treesPerHectare = Utils.utilizationVector(height);
 		}
 
-		protected UtilizationVector quadMeanDiameter = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector quadMeanDiameter = null;
 
 		public void quadMeanDiameter(float small, float u1, float u2, float u3, float u4) {
 			this.quadMeanDiameter = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -251,7 +253,7 @@ public class VdypSpecies extends BaseVdypSpecies<VdypSite> implements VdypUtiliz
 			this.quadMeanDiameter = Utils.utilizationVector(height);
 		}
 
-		protected UtilizationVector wholeStemVolume = VdypUtilizationHolder.emptyUtilization();
+		protected UtilizationVector wholeStemVolume = null;
 
 		public void wholeStemVolume(float small, float u1, float u2, float u3, float u4) {
 			this.wholeStemVolume = Utils.utilizationVector(small, u1, u2, u3, u4);
@@ -281,11 +283,21 @@ public class VdypSpecies extends BaseVdypSpecies<VdypSite> implements VdypUtiliz
 		@Override
 		protected void postProcess(VdypSpecies spec) {
 			super.postProcess(spec);
-			spec.setLoreyHeightByUtilization(loreyHeight);
-			spec.setBaseAreaByUtilization(baseArea);
-			spec.setTreesPerHectareByUtilization(treesPerHectare);
-			spec.setQuadraticMeanDiameterByUtilization(quadMeanDiameter);
-			spec.setWholeStemVolumeByUtilization(wholeStemVolume);
+			if (loreyHeight != null) {
+				spec.setLoreyHeightByUtilization(loreyHeight);
+			}
+			if (baseArea != null) {
+				spec.setBaseAreaByUtilization(baseArea);
+			}
+			if (treesPerHectare != null) {
+				spec.setTreesPerHectareByUtilization(treesPerHectare);
+			}
+			if (quadMeanDiameter != null) {
+				spec.setQuadraticMeanDiameterByUtilization(quadMeanDiameter);
+			}
+			if (wholeStemVolume != null) {
+				spec.setWholeStemVolumeByUtilization(wholeStemVolume);
+			}
 		}
 
 		@Override
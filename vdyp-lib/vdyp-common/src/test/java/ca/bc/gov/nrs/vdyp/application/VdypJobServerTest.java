@@ -0,0 +1,181 @@
+package ca.bc.gov.nrs.vdyp.application;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
+
+class VdypJobServerTest {
+
+	CoefficientCache cache;
+	List<List<String>> jobsRun;
+	VdypJobServer unit;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	void setup() {
+		cache = new CoefficientCache(1);
+		jobsRun = new CopyOnWriteArrayList<>();
+		unit = new VdypJobServer(List.of(new TestRunner()), 2, new FileSystemFileResolver(), cache);
+	}
+
+	@AfterEach
+	void teardown() {
+		unit.close();
+	}
+
+	class TestRunner implements VdypJobRunner {
+
+		@Override
+		public VdypApplicationIdentifier getId() {
+			return VdypApplicationIdentifier.VRI_START;
+		}
+
+		@Override
+		public void
+				run(FileSystemFileResolver resolver, List<String> controlFileNames, CoefficientCache coefficientCache)
+						throws ProcessingException {
+			assertThat(coefficientCache, sameInstance(cache));
+			if (controlFileNames.contains("fail.ctr")) {
+				throw new ProcessingException("Test failure");
+			}
+			jobsRun.add(controlFileNames);
+		}
+	}
+
+	@Test
+	void testSubmit() throws Exception {
+		var result1 = unit.submit(VdypApplicationIdentifier.VRI_START, List.of("test1.ctr", "test2.ctr")).get();
+		var result2 = unit.submit(VdypApplicationIdentifier.VRI_START, List.of("test3.ctr")).get();
+
+		assertThat(result1.succeeded(), is(true));
+		assertThat(result1.jobNumber(), is(1L));
+		assertThat(result1.application(), is(VdypApplicationIdentifier.VRI_START));
+		assertThat(result2.jobNumber(), is(2L));
+		assertThat(jobsRun, contains(List.of("test1.ctr", "test2.ctr"), List.of("test3.ctr")));
+	}
+
+	@Test
+	void testSubmitFailure() throws Exception {
+		var result = unit.submit(VdypApplicationIdentifier.VRI_START, List.of("fail.ctr")).get();
+
+		assertThat(result.succeeded(), is(false));
+		assertThat(result.failure().get().getMessage(), is("Test failure"));
+	}
+
+	@Test
+	void testSubmitInvalid() {
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> unit.submit(VdypApplicationIdentifier.FIP_START, List.of("test.ctr"))
+		);
+		assertThrows(IllegalArgumentException.class, () -> unit.submit(VdypApplicationIdentifier.VRI_START, List.of()));
+	}
+
+	@Test
+	void testRespond() {
+		assertThat(unit.respond("VRI_START test.ctr"), matchesPattern("OK 1 \\d+"));
+		assertThat(unit.respond("  VRI_START   fail.ctr "), matchesPattern("FAILED 2 \\d+ .*Test failure"));
+		assertThat(unit.respond("FIP_START test.ctr"), startsWith("ERROR "));
+		assertThat(unit.respond("NOT_AN_APPLICATION test.ctr"), startsWith("ERROR "));
+		assertThat(unit.respond("VRI_START"), startsWith("ERROR "));
+	}
+
+	@Test
+	void testListen() throws IOException {
+		var tokenFile = tempDir.resolve("token");
+		int port = unit.listen(0, tokenFile);
+		var token = Files.readString(tokenFile, StandardCharsets.UTF_8);
+
+		try (
+				var socket = new Socket(InetAddress.getLoopbackAddress(), port);
+				var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				var writer = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))
+		) {
+			writer.print(token + "\nVRI_START test1.ctr\n\nVRI_START fail.ctr\n");
+			writer.flush();
+
+			assertThat(reader.readLine(), matchesPattern("OK 1 \\d+"));
+			assertThat(reader.readLine(), matchesPattern("FAILED 2 \\d+ .*"));
+		}
+
+		assertThat(jobsRun, contains(List.of("test1.ctr")));
+		assertThrows(IllegalStateException.class, () -> unit.listen(0, tokenFile));
+
+		unit.close();
+		assertThat(Files.exists(tokenFile), is(false));
+	}
+
+	@Test
+	void testListenWrongToken() throws IOException {
+		int port = unit.listen(0, tempDir.resolve("token"));
+
+		try (
+				var socket = new Socket(InetAddress.getLoopbackAddress(), port);
+				var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				var writer = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))
+		) {
+			writer.print("VRI_START test1.ctr\nVRI_START test2.ctr\n");
+			writer.flush();
+
+			assertThat(reader.readLine(), is("ERROR Not authorized"));
+			assertThat(reader.readLine(), nullValue());
+		}
+
+		assertThat(jobsRun, empty());
+	}
+
+	@Test
+	void testTokenFileOwnerOnly() throws IOException {
+		var tokenFile = tempDir.resolve("token");
+		assumeTrue(tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+		// Replaces a file that others could read
+		Files.writeString(tokenFile, "old");
+		unit.listen(0, tokenFile);
+
+		assertThat(
+				Files.getPosixFilePermissions(tokenFile),
+				is(Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE))
+		);
+		assertThat(Files.readString(tokenFile), matchesPattern("[A-Za-z0-9_-]{43}"));
+	}
+
+	@Test
+	void testInvalidThreads() {
+		var runners = List.of(new TestRunner());
+		var resolver = new FileSystemFileResolver();
+		assertThrows(IllegalArgumentException.class, () -> new VdypJobServer(runners, 0, resolver, cache));
+	}
+}
@@ -14,6 +14,8 @@ import static org.hamcrest.Matchers.describedAs;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -21,6 +23,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -199,6 +202,129 @@ class VdypStartApplicationTest {
 
 	}
 
+	@Nested
+	class WritePolygon {
+
+		@Test
+		void testWithoutOutputFiles() throws IOException, ProcessingException {
+			controlMap = TestUtils.loadControlMap();
+
+			var app = new TestStartApplication(controlMap, true);
+			app.setWriteOutputFiles(false);
+
+			// No output streams are opened
+			app.init(new MockFileResolver("Test"), controlMap);
+			assertThat(app.getVriWriter(), nullValue());
+
+			var polygon = VdypPolygon.build(builder -> {
+				builder.polygonIdentifier("Test", 2024);
+				builder.percentAvailable(90f);
+				builder.biogeoclimaticZone(Utils.getBec("IDF", controlMap));
+				builder.forestInventoryZone("D");
+			});
+
+			List<VdypPolygon> received = new ArrayList<>();
+			app.setPolygonSink(received::add);
+			app.writePolygon(polygon);
+
+			assertThat(received, contains(polygon));
+
+			app.close();
+		}
+
+		@Test
+		void testWithOutputFiles() throws IOException {
+			MockFileResolver resolver = dummyIo();
+
+			var app = new TestStartApplication(controlMap, true);
+
+			app.init(resolver, controlMap);
+			assertThat(app.getVriWriter(), notNullValue());
+
+			app.close();
+		}
+
+	}
+
+	@Nested
+	class ProcessPolygons {
+
+		List<TestPolygon> polygons(int n) {
+			controlMap = TestUtils.loadControlMap();
+
+			List<TestPolygon> result = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				var id = "Test" + i;
+				result.add(TestPolygon.build(pb -> {
+					pb.polygonIdentifier(id, 2024);
+					pb.biogeoclimaticZone(Utils.getBec("IDF", controlMap));
+					pb.forestInventoryZone("D");
+					pb.mode(PolygonMode.START);
+					pb.percentAvailable(Optional.of(90f));
+				}));
+			}
+			return result;
+		}
+
+		VdypPolygon result(TestPolygon polygon) {
+			return VdypPolygon.build(builder -> {
+				builder.adapt(polygon, pa -> pa.orElse(0f));
+			});
+		}
+
+		List<String> processPolygons(int nThreads, List<TestPolygon> polygons) throws Exception {
+			List<String> written = new ArrayList<>();
+			try (var app = new TestStartApplication(controlMap, true)) {
+				app.setWriteOutputFiles(false);
+				app.setThreads(nThreads);
+				app.init(new MockFileResolver("Test"), controlMap);
+				app.setPolygonSink(polygon -> written.add(polygon.getPolygonIdentifier().getBase()));
+
+				var input = polygons.iterator();
+				app.processPolygons(() -> input.hasNext() ? Optional.of(input.next()) : Optional.empty(), (i, p) -> {
+					var id = p.getPolygonIdentifier().getBase();
+					try {
+						// Finish out of order
+						Thread.sleep( (polygons.size() - polygons.indexOf(p)) % 4);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return switch (id) {
+					case "Test3" -> throw new StandProcessingException("Bypassed");
+					case "Test5" -> Optional.empty();
+					case "Test7" -> throw new IllegalStateException("Failed");
+					default -> Optional.of(result(p));
+					};
+				});
+			}
+			return written;
+		}
+
+		@ParameterizedTest
+		@ValueSource(ints = { 1, 3 })
+		void testWrittenInOrder(int nThreads) throws Exception {
+			var written = processPolygons(nThreads, polygons(7));
+
+			assertThat(written, contains("Test0", "Test1", "Test2", "Test4", "Test6"));
+		}
+
+		@ParameterizedTest
+		@ValueSource(ints = { 1, 3 })
+		void testFailure(int nThreads) throws Exception {
+			var polygons = polygons(40);
+			var ex = assertThrows(IllegalStateException.class, () -> processPolygons(nThreads, polygons));
+
+			assertThat(ex.getMessage(), is("Failed"));
+		}
+
+		@Test
+		void testInvalidThreads() {
+			var app = new TestStartApplication(controlMap, false);
+
+			assertThrows(IllegalArgumentException.class, () -> app.setThreads(0));
+		}
+	}
+
 	protected VdypStartApplication getTestUnit(IMocksControl control) throws IOException {
 
 		VdypStartApplication mock = EasyMock.createMockBuilder(VdypStartApplication.class)//
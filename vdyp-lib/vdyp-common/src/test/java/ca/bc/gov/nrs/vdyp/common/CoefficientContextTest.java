@@ -0,0 +1,86 @@
+package ca.bc.gov.nrs.vdyp.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.model.Coefficients;
+import ca.bc.gov.nrs.vdyp.model.MatrixMap;
+import ca.bc.gov.nrs.vdyp.model.Region;
+import ca.bc.gov.nrs.vdyp.test.TestUtils;
+
+class CoefficientContextTest {
+
+	@Test
+	void testTablesAreTakenFromControlMap() {
+		Map<String, Object> controlMap = TestUtils.loadControlMap();
+
+		var context = new CoefficientContext(controlMap);
+
+		assertThat(context.getBecLookup(), sameInstance(controlMap.get(ControlKey.BEC_DEF.name())));
+		assertThat(context.getGenusDefinitionMap(), sameInstance(controlMap.get(ControlKey.SP0_DEF.name())));
+		assertViewOf(
+				context.getHlPrimarySpeciesEqnP1Coefficients(), controlMap.get(ControlKey.HL_PRIMARY_SP_EQN_P1.name())
+		);
+		assertViewOf(context.getDecayModifierMap(), controlMap.get(ControlKey.DECAY_MODIFIERS.name()));
+		assertThat(context.getNetBreakageCoeMap(), equalTo(controlMap.get(ControlKey.BREAKAGE.name())));
+	}
+
+	private static void assertViewOf(MatrixMap<?> view, Object map) {
+		assertThat(map, instanceOf(MatrixMap.class));
+		var matrixMap = (MatrixMap<?>) map;
+		assertThat(view.getDimensions(), equalTo(matrixMap.getDimensions()));
+		matrixMap.eachKey(key -> assertThat(view.getM(key), sameInstance(matrixMap.getM(key))));
+	}
+
+	@Test
+	void testLaterChangesToControlMapAreNotObserved() {
+		Map<String, Object> controlMap = TestUtils.loadControlMap();
+
+		var context = new CoefficientContext(controlMap);
+		var becLookup = context.getBecLookup();
+
+		controlMap.remove(ControlKey.BEC_DEF.name());
+
+		assertThat(context.getBecLookup(), sameInstance(becLookup));
+	}
+
+	@Test
+	void testMapsAreReadOnly() {
+		var context = new CoefficientContext(TestUtils.loadControlMap());
+
+		var breakage = context.getNetBreakageCoeMap();
+		var coe = new Coefficients(new float[] { 0f }, 1);
+		assertThrows(UnsupportedOperationException.class, () -> breakage.put(1, coe));
+
+		var hlCoefficients = context.getHlPrimarySpeciesEqnP1Coefficients();
+		assertThrows(UnsupportedOperationException.class, () -> hlCoefficients.put("AC", Region.COASTAL, coe));
+		assertThrows(UnsupportedOperationException.class, () -> hlCoefficients.remove("AC", Region.COASTAL));
+
+		var utilizationComponents = context.getBasalAreaUtilizationComponentMap();
+		assertThrows(UnsupportedOperationException.class, () -> utilizationComponents.put(1, "AC", "AT", coe));
+	}
+
+	@Test
+	void testMissingEntry() {
+		var context = new CoefficientContext(new HashMap<>());
+
+		var ex = assertThrows(IllegalStateException.class, context::getSiteCurveMap);
+		assertThat(ex.getMessage(), equalTo("Expected control map to have SITE_CURVE_NUMBERS"));
+	}
+
+	@Test
+	void testWrongType() {
+		Map<String, Object> controlMap = new HashMap<>();
+		controlMap.put(ControlKey.BEC_DEF.name(), "not parsed");
+
+		assertThrows(IllegalStateException.class, () -> new CoefficientContext(controlMap));
+	}
+}
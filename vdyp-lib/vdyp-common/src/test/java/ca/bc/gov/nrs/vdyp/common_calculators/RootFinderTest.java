@@ -0,0 +1,187 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_BREAST;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_TOTAL;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notANumber;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+
+class RootFinderTest {
+
+	@Test
+	void testGuessIsRoot() throws CommonCalculatorException {
+		int[] evaluations = { 0 };
+		double root = RootFinder.findIncreasing(x -> {
+			evaluations[0]++;
+			return x - 25;
+		}, 25, 12.5, 0, 999, 0.005);
+		assertThat(root, is(25.0));
+		assertThat(evaluations[0], is(1));
+	}
+
+	@Test
+	void testRootAboveAndBelowGuess() throws CommonCalculatorException {
+		assertThat(RootFinder.findIncreasing(x -> x * x * x - 1000, 25, 12.5, 0, 999, 1e-9), closeTo(10, 1e-6));
+		assertThat(RootFinder.findIncreasing(x -> Math.log(x) - 5, 25, 12.5, 0.1, 999, 1e-9), closeTo(148.4132, 1e-4));
+	}
+
+	@Test
+	void testSteepFunction() throws CommonCalculatorException {
+		// Never within the tolerance, so the search stops when the bracket is narrow enough
+		assertThat(
+				RootFinder.findIncreasing(x -> x < 30.3 ? -1 : 1, 25, 12.5, 0, 999, 0.005),
+				closeTo(30.3, RootFinder.X_TOLERANCE)
+		);
+	}
+
+	@Test
+	void testNoRootInRange() throws CommonCalculatorException {
+		assertThat(RootFinder.findIncreasing(x -> x - 2000, 25, 12.5, 0, 999, 0.005), notANumber());
+		// Below the least x the step halving search turns back, so it stops just above it
+		assertThat(RootFinder.findIncreasing(x -> x + 10, 25, 12.5, 1.3, 999, 0.005), closeTo(1.3, 0.0001));
+	}
+
+	@Test
+	void testFunctionNotIncreasing() throws CommonCalculatorException {
+		// Falls while looking for a bracket
+		RootFinder.Function falling = x -> x < 30 ? -1 : x < 40 ? -2 : x - 45;
+		assertThat(
+				RootFinder.findIncreasing(falling, 25, 12.5, 0, 999, 0.005),
+				is(RootFinder.findByStepHalving(falling, 25, 12.5, 0, 999, 0.005))
+		);
+
+		// Falls inside the bracket
+		RootFinder.Function dipping = x -> x < 30 ? x - 30 : x < 35 ? -10 : x - 35;
+		assertThat(
+				RootFinder.findIncreasing(dipping, 25, 12.5, 0, 999, 0.005),
+				is(RootFinder.findByStepHalving(dipping, 25, 12.5, 0, 999, 0.005))
+		);
+	}
+
+	@Test
+	void testCochranAtYoungAge() throws CommonCalculatorException {
+		// At a breast height age of 1 the height of this curve falls as its site index rises, so site index is found
+		// as it always was
+		for (double height : new double[] { 1.31, 1.5, 2.0, 3.0 }) {
+			RootFinder.Function f = index -> SiteIndex2Height.indexToHeight(
+					SI_FDC_COCHRAN, 1, SI_AT_BREAST, index, SiteIndexYears2BreastHeight.y2bh(SI_FDC_COCHRAN, index), 0.5
+			) - height;
+			double guess = Math.max(height, 1.3);
+			assertThat(
+					RootFinder.findIncreasing(f, guess, guess / 2.0, 1.3, 999.0, 0.01),
+					is(RootFinder.findByStepHalving(f, guess, guess / 2.0, 1.3, 999.0, 0.01))
+			);
+		}
+		assertThat(SiteIndex2Height.giSi2Ht(SI_FDC_COCHRAN, 1, 1.31), closeTo(1.965, 0.001));
+	}
+
+	@Test
+	void testFunctionExceptionsPassedOn() {
+		assertThrows(CurveErrorException.class, () -> RootFinder.findIncreasing(x -> {
+			throw new CurveErrorException("Unknown curve index");
+		}, 25, 12.5, 0, 999, 0.005));
+		assertThrows(NoAnswerException.class, () -> RootFinder.findIncreasing(x -> {
+			if (x > 30) {
+				throw new NoAnswerException("Iteration could not converge");
+			}
+			return x - 40;
+		}, 25, 12.5, 0, 999, 0.005));
+	}
+
+	@Test
+	void testFewerEvaluationsThanStepHalving() throws CommonCalculatorException {
+		// Find the total ages at which several curves reach a range of heights, as SiteIndex2Age.iterate does, by
+		// halving a step as it used to and by the root finder, and compare the number of curve evaluations where there
+		// is an age to find. Where there is not, the root finder searches again by halving a step, so gives the same
+		// answer.
+		int halvingEvaluations = 0;
+		int rootFinderEvaluations = 0;
+		for (SiteIndexEquation curve : new SiteIndexEquation[] { SI_FDC_BRUCE, SI_HWC_WILEY, SI_PLI_THROWER,
+				SI_SW_GOUDIE_PLA, SI_AT_NIGH }) {
+			for (int si = 10; si <= 40; si += 5) {
+				for (int h = 2; h <= 40; h += 2) {
+					double siteIndex = si;
+					double height = h;
+					int[] count = { 0 };
+					RootFinder.Function f = totalAge -> {
+						count[0]++;
+						return SiteIndex2Height.indexToHeight(curve, totalAge, SI_AT_TOTAL, siteIndex, 5.5, 0.5)
+								- height;
+					};
+
+					double halvingAge = RootFinder.findByStepHalving(f, 25, 12.5, 0, 999, 0.005);
+					int halvingCount = count[0];
+
+					count[0] = 0;
+					double age = RootFinder.findIncreasing(f, 25, 12.5, 0, 999, 0.005);
+					int rootFinderCount = count[0];
+
+					// Both find an age at which the height is within the tolerance, though where the curve is flat the
+					// ages may be far apart, or neither does
+					assertThat(Double.isNaN(age), is(Double.isNaN(halvingAge)));
+					if (!Double.isNaN(age)) {
+						assertThat(f.apply(age), closeTo(0, 0.005));
+						halvingEvaluations += halvingCount;
+						rootFinderEvaluations += rootFinderCount;
+					}
+				}
+			}
+		}
+
+		assertThat(rootFinderEvaluations * 2, lessThan(halvingEvaluations));
+	}
+
+	@Test
+	void testFewerEvaluationsThanStepHalvingForSiteIndex() throws CommonCalculatorException {
+		// Find the site indices at which several curves reach a range of heights at a range of breast height ages, as
+		// Height2SiteIndex.siteIterate does, by halving a step as it used to and by the root finder, and compare the
+		// number of curve evaluations where there is a site index to find.
+		int halvingEvaluations = 0;
+		int rootFinderEvaluations = 0;
+		for (SiteIndexEquation curve : new SiteIndexEquation[] { SI_FDC_BRUCE, SI_HWC_WILEY, SI_PLI_THROWER,
+				SI_SW_GOUDIE_PLA, SI_AT_NIGH }) {
+			for (int bhage = 5; bhage <= 50; bhage += 5) {
+				for (int h = 2; h <= 40; h += 2) {
+					double breastHeightAge = bhage;
+					double height = h;
+					int[] count = { 0 };
+					RootFinder.Function f = index -> {
+						count[0]++;
+						return SiteIndex2Height.indexToHeight(
+								curve, breastHeightAge, SI_AT_BREAST, index,
+								SiteIndexYears2BreastHeight.y2bh(curve, index), 0.5
+						) - height;
+					};
+					double guess = Math.max(height, 1.3);
+
+					double halvingIndex = RootFinder.findByStepHalving(f, guess, guess / 2.0, 1.3, 999.0, 0.01);
+					int halvingCount = count[0];
+
+					count[0] = 0;
+					double index = RootFinder.findIncreasing(f, guess, guess / 2.0, 1.3, 999.0, 0.01);
+					int rootFinderCount = count[0];
+
+					assertThat(Double.isNaN(index), is(Double.isNaN(halvingIndex)));
+					if (!Double.isNaN(index)) {
+						assertThat(f.apply(index), closeTo(0, 0.01));
+						halvingEvaluations += halvingCount;
+						rootFinderEvaluations += rootFinderCount;
+					}
+				}
+			}
+		}
+
+		assertThat(rootFinderEvaluations * 2, lessThan(halvingEvaluations));
+	}
+}
@@ -0,0 +1,148 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_BREAST;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_TOTAL;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.LessThan13Exception;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+
+class SiteCurveBatchTest {
+
+	private static final double[] AGES = new double[801];
+	static {
+		for (int i = 0; i < AGES.length; i++) {
+			AGES[i] = i * 0.5;
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(
+			names = { "SI_FDC_BRUCEAC", "SI_FDI_THROWERAC", "SI_CWC_NIGH", "SI_PLI_THROWER", "SI_AT_NIGH",
+					"SI_FDC_BRUCE", "SI_HWC_WILEYAC", "SI_SW_GOUDIE_PLA" }
+	)
+	void testHeightsAsByPoint(SiteIndexEquation curve) throws CommonCalculatorException {
+		double[] heights = new double[AGES.length];
+		for (var ageType : new SiteIndexAgeType[] { SI_AT_TOTAL, SI_AT_BREAST }) {
+			for (double siteIndex : new double[] { 1.3, 2.0, 8.5, 17.25, 30.0, 45.5, 65.0 }) {
+				for (double y2bh : new double[] { 0.0, 1.7, 4.2, 9.9 }) {
+					for (double pi : new double[] { 0.5, 0.25 }) {
+						SiteCurveBatch.indexToHeight(curve, AGES, ageType, siteIndex, y2bh, pi, heights);
+						for (int i = 0; i < AGES.length; i++) {
+							// Exactly, not merely closely
+							assertThat(
+									heights[i],
+									is(SiteIndex2Height.indexToHeight(curve, AGES[i], ageType, siteIndex, y2bh, pi))
+							);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(
+			names = { "SI_FDC_BRUCEAC", "SI_FDI_THROWERAC", "SI_CWC_NIGH", "SI_PLI_THROWER", "SI_AT_NIGH",
+					"SI_FDC_BRUCE", "SI_FDC_NIGHTA" }
+	)
+	void testY2bhsAsByPoint(SiteIndexEquation curve) throws CommonCalculatorException {
+		double[] siteIndices = new double[600];
+		for (int i = 0; i < siteIndices.length; i++) {
+			siteIndices[i] = 9.1 + i * 0.1;
+		}
+		double[] y2bhs = new double[siteIndices.length];
+
+		SiteCurveBatch.y2bh(curve, siteIndices, y2bhs);
+		for (int i = 0; i < siteIndices.length; i++) {
+			assertThat(y2bhs[i], is(SiteIndexYears2BreastHeight.y2bh(curve, siteIndices[i])));
+		}
+	}
+
+	@Test
+	void testErrorsAsByPoint() {
+		double[] heights = new double[3];
+		assertThrows(
+				LessThan13Exception.class,
+				() -> SiteCurveBatch
+						.indexToHeight(SI_AT_NIGH, new double[] { 10, 20 }, SI_AT_TOTAL, 1.2, 5, 0.5, heights)
+		);
+		assertThrows(
+				NoAnswerException.class,
+				() -> SiteCurveBatch
+						.indexToHeight(SI_AT_NIGH, new double[] { 10, -1, 20 }, SI_AT_TOTAL, 20, 5, 0.5, heights)
+		);
+		assertThat(heights[0] > 0, is(true));
+		assertThrows(
+				NoAnswerException.class,
+				() -> SiteCurveBatch
+						.indexToHeight(SI_FDC_BRUCE, new double[] { 10, -1, 20 }, SI_AT_TOTAL, 20, 5, 0.5, heights)
+		);
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> SiteCurveBatch.indexToHeight(SI_AT_NIGH, new double[4], SI_AT_TOTAL, 20, 5, 0.5, heights)
+		);
+
+		double[] y2bhs = new double[2];
+		assertThrows(LessThan13Exception.class, () -> SiteCurveBatch.y2bh(SI_AT_NIGH, new double[] { 20, 1.0 }, y2bhs));
+		assertThrows(CurveErrorException.class, () -> SiteCurveBatch.y2bh(null, new double[] { 20, 1.0 }, y2bhs));
+		assertThrows(NoAnswerException.class, () -> SiteCurveBatch.y2bh(SI_FDC_NIGHTA, new double[] { 20, 9 }, y2bhs));
+	}
+
+	@Test
+	@Disabled("Benchmark, to be run by hand")
+	void benchmarkYieldCurves() throws CommonCalculatorException {
+		// The height of every year to 400 of 5000 stands on each of the specialized curves, point by point and in
+		// batches
+		SiteIndexEquation[] curves = { SI_FDC_BRUCEAC, SI_FDI_THROWERAC, SI_CWC_NIGH, SI_PLI_THROWER, SI_AT_NIGH };
+		double[] ages = new double[400];
+		for (int i = 0; i < ages.length; i++) {
+			ages[i] = i + 1.0;
+		}
+		double[] heights = new double[ages.length];
+
+		for (int round = 0; round < 5; round++) {
+			double sum = 0;
+			long start = System.nanoTime();
+			for (var curve : curves) {
+				for (int stand = 0; stand < 5000; stand++) {
+					double siteIndex = 5 + stand % 400 * 0.1;
+					for (int i = 0; i < ages.length; i++) {
+						sum += SiteIndex2Height.indexToHeight(curve, ages[i], SI_AT_TOTAL, siteIndex, 6.0, 0.5);
+					}
+				}
+			}
+			long byPoint = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (var curve : curves) {
+				for (int stand = 0; stand < 5000; stand++) {
+					double siteIndex = 5 + stand % 400 * 0.1;
+					SiteCurveBatch.indexToHeight(curve, ages, SI_AT_TOTAL, siteIndex, 6.0, 0.5, heights);
+					for (double height : heights) {
+						sum -= height;
+					}
+				}
+			}
+			long batched = System.nanoTime() - start;
+
+			System.out.println(
+					String.format(
+							"By point %d ms, batched %d ms (checksum %g)", byPoint / 1_000_000, batched / 1_000_000, sum
+					)
+			);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_BREAST;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_TOTAL;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.GrowthInterceptTotalException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.LessThan13Exception;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+
+class SiteCurveTablesTest {
+
+	private static final double TOLERANCE = SiteCurveTables.DEFAULT_TOLERANCE;
+
+	private final SiteCurveTables unit = new SiteCurveTables();
+
+	@ParameterizedTest
+	@EnumSource(names = { "SI_FDC_BRUCE", "SI_HWC_WILEY", "SI_PLI_THROWER", "SI_SW_GOUDIE_PLA", "SI_FDC_BRUCEAC" })
+	void testHeightsWithinTolerance(SiteIndexEquation curve) throws CommonCalculatorException {
+		var random = new Random(curve.ordinal());
+		for (int k = 0; k < 2000; k++) {
+			double age = 1 + random.nextDouble() * 300;
+			double siteIndex = 3 + random.nextDouble() * 50;
+			double y2bh = 1 + random.nextDouble() * 10;
+			SiteIndexAgeType ageType = random.nextBoolean() ? SI_AT_TOTAL : SI_AT_BREAST;
+
+			double expected = SiteIndex2Height.indexToHeight(curve, age, ageType, siteIndex, y2bh, 0.5);
+			assertThat(unit.indexToHeight(curve, age, ageType, siteIndex, y2bh), closeTo(expected, TOLERANCE));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = { "SI_FDC_BRUCE", "SI_FDC_BRUCEAC" })
+	void testHeightsWithinToleranceThroughoutCell(SiteIndexEquation curve) throws CommonCalculatorException {
+		// At these old ages the heights of these curves stop rising with site index, so neighbouring rows of the grid
+		// cross within a cell
+		for (double age0 : new double[] { 187, 363 }) {
+			for (int k = 0; k <= 32; k++) {
+				for (int l = 0; l <= 32; l++) {
+					double age = age0 + l / 32.0;
+					double siteIndex = 64 + k / 16.0;
+					assertThat(
+							unit.indexToHeight(curve, age, SI_AT_BREAST, siteIndex, 5),
+							closeTo(
+									SiteIndex2Height.indexToHeight(curve, age, SI_AT_BREAST, siteIndex, 5, 0.5),
+									TOLERANCE
+							)
+					);
+				}
+			}
+		}
+	}
+
+	@Test
+	void testClosedFormOutsideGrid() throws CommonCalculatorException {
+		// Older, younger, and of greater site index than the grid covers
+		for (double[] point : new double[][] { { 700, 20 }, { 0.5, 20 }, { 50, 90 } }) {
+			assertThat(
+					unit.indexToHeight(SI_FDC_BRUCE, point[0], SI_AT_BREAST, point[1], 5),
+					is(SiteIndex2Height.indexToHeight(SI_FDC_BRUCE, point[0], SI_AT_BREAST, point[1], 5, 0.5))
+			);
+		}
+	}
+
+	@Test
+	void testClosedFormForUntabulatedCurves() throws CommonCalculatorException {
+		// A growth intercept curve, and one whose total age branch does not follow its breast height age one
+		assertThat(
+				unit.indexToHeight(SI_FDC_NIGHGI, 20.3, SI_AT_BREAST, 27.6, 5),
+				is(SiteIndex2Height.indexToHeight(SI_FDC_NIGHGI, 20.3, SI_AT_BREAST, 27.6, 5, 0.5))
+		);
+		assertThat(
+				unit.indexToHeight(SI_FDC_BRUCEAC, 40.3, SI_AT_TOTAL, 27.6, 5),
+				is(SiteIndex2Height.indexToHeight(SI_FDC_BRUCEAC, 40.3, SI_AT_TOTAL, 27.6, 5, 0.5))
+		);
+	}
+
+	@Test
+	void testErrorsOfClosedForm() {
+		assertThrows(LessThan13Exception.class, () -> unit.indexToHeight(SI_FDC_BRUCE, 20, SI_AT_BREAST, 1.2, 5));
+		assertThrows(CurveErrorException.class, () -> unit.indexToHeight(null, 20, SI_AT_BREAST, 20, 5));
+		assertThrows(LessThan13Exception.class, () -> unit.y2bh(SI_FDC_BRUCE, 1.2));
+		assertThrows(GrowthInterceptTotalException.class, () -> unit.y2bh(SI_FDC_NIGHGI, 20));
+	}
+
+	@ParameterizedTest
+	@EnumSource(
+			names = { "SI_FDC_BRUCE", "SI_HWC_WILEY", "SI_PLI_THROWER", "SI_SW_GOUDIE_PLA", "SI_BA_DILUCCA",
+					"SI_BA_KURUCZ86", "SI_CWC_BARKER" }
+	)
+	void testYearsToBreastHeightWithinTolerance(SiteIndexEquation curve) throws CommonCalculatorException {
+		var random = new Random(curve.ordinal());
+		for (int k = 0; k < 2000; k++) {
+			double siteIndex = 1.3 + random.nextDouble() * 70;
+			assertThat(
+					unit.y2bh(curve, siteIndex), closeTo(SiteIndexYears2BreastHeight.y2bh(curve, siteIndex), TOLERANCE)
+			);
+		}
+	}
+
+	@Test
+	void testInvalidTolerance() {
+		assertThrows(IllegalArgumentException.class, () -> new SiteCurveTables(0));
+	}
+
+	@Test
+	void testHermite() {
+		assertThat(SiteCurveTables.hermite(1, 3, 2, 2, 0), is(1.0));
+		assertThat(SiteCurveTables.hermite(1, 3, 2, 2, 1), is(3.0));
+		assertThat(SiteCurveTables.hermite(1, 3, 2, 2, 0.5), closeTo(2.0, 1e-12));
+	}
+
+	@Test
+	void testMonotoneSlopes() {
+		double[] values = { 0, 1, 1, 3 };
+		double[] slopes = new double[4];
+		SiteCurveTables.monotoneSlopes(values, slopes, 0, 4, 1);
+		// Flat between the middle two values, so no overshoot there
+		assertThat(slopes[1], is(0.0));
+		assertThat(slopes[2], is(0.0));
+		assertThat(slopes[0], is(1.0));
+		assertThat(slopes[3], is(2.0));
+	}
+}
@@ -0,0 +1,157 @@
+package ca.bc.gov.nrs.vdyp.common_calculators;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_BREAST;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_TOTAL;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.*;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType.SI_EST_DIRECT;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType.SI_EST_ITERATE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType;
+
+class SiteCurvesTest {
+
+	private static final SiteIndexEquation[] SPECIALIZED = { SI_FDC_BRUCEAC, SI_FDI_THROWERAC, SI_CWC_NIGH,
+			SI_PLI_THROWER, SI_AT_NIGH };
+
+	@FunctionalInterface
+	private interface Calculation {
+		double apply() throws CommonCalculatorException;
+	}
+
+	/** The value calculated, or the class of what was thrown instead */
+	private static Object outcome(Calculation calculation) {
+		try {
+			return calculation.apply();
+		} catch (CommonCalculatorException e) {
+			return e.getClass();
+		}
+	}
+
+	@Test
+	void testOf() {
+		for (var equation : SiteIndexEquation.values()) {
+			assertThat(SiteCurves.of(equation).equation(), is(equation));
+			assertThat(SiteCurves.of(equation), sameInstance(SiteCurves.of(equation)));
+		}
+		assertThat(SiteCurves.of(null).equation(), nullValue());
+		assertThrows(CurveErrorException.class, () -> SiteCurves.of(null).height(10, SI_AT_TOTAL, 20, 5, 0.5));
+		assertThrows(CurveErrorException.class, () -> SiteCurves.of(null).y2bh(20));
+	}
+
+	@ParameterizedTest
+	@EnumSource(
+			names = { "SI_FDC_BRUCEAC", "SI_FDI_THROWERAC", "SI_CWC_NIGH", "SI_PLI_THROWER", "SI_AT_NIGH",
+					"SI_FDC_BRUCE", "SI_HWC_WILEYAC" }
+	)
+	void testHeightAsStatic(SiteIndexEquation equation) {
+		var curve = SiteCurves.of(equation);
+		for (var ageType : new SiteIndexAgeType[] { SI_AT_TOTAL, SI_AT_BREAST, null }) {
+			for (double siteIndex : new double[] { 1.2, 1.3, 2.0, 8.5, 17.25, 30.0, 45.5, 65.0 }) {
+				for (double y2bh : new double[] { 0.0, 1.7, 4.2, 9.9 }) {
+					for (double pi : new double[] { 0.5, 0.25 }) {
+						for (double age = -1.0; age <= 400; age += 0.5) {
+							double a = age;
+							// Exactly, not merely closely
+							assertThat(
+									outcome(() -> curve.height(a, ageType, siteIndex, y2bh, pi)),
+									is(
+											outcome(
+													() -> SiteIndex2Height
+															.indexToHeight(equation, a, ageType, siteIndex, y2bh, pi)
+											)
+									)
+							);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(
+			names = { "SI_FDC_BRUCEAC", "SI_FDI_THROWERAC", "SI_CWC_NIGH", "SI_PLI_THROWER", "SI_AT_NIGH",
+					"SI_FDC_NIGHTA" }
+	)
+	void testY2bhAsStatic(SiteIndexEquation equation) {
+		var curve = SiteCurves.of(equation);
+		for (double siteIndex = 0.5; siteIndex < 70; siteIndex += 0.1) {
+			double s = siteIndex;
+			assertThat(outcome(() -> curve.y2bh(s)), is(outcome(() -> SiteIndexYears2BreastHeight.y2bh(equation, s))));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(names = { "SI_FDC_BRUCEAC", "SI_FDI_THROWERAC", "SI_CWC_NIGH", "SI_PLI_THROWER", "SI_AT_NIGH" })
+	void testSiteIndexAsStatic(SiteIndexEquation equation) {
+		var curve = SiteCurves.of(equation);
+		for (var ageType : new SiteIndexAgeType[] { SI_AT_TOTAL, SI_AT_BREAST, null }) {
+			for (var estType : new SiteIndexEstimationType[] { SI_EST_ITERATE, SI_EST_DIRECT, null }) {
+				for (double height : new double[] { -1.0, 0.0, 0.5, 1.2, 1.3, 2.5, 10.0, 27.3, 48.0, 90.0 }) {
+					for (double age = -1.0; age <= 300; age += 2.25) {
+						double a = age;
+						assertThat(
+								outcome(() -> curve.siteIndex(a, ageType, height, estType)), is(
+										outcome(
+												() -> Height2SiteIndex
+														.heightToIndex(equation, a, ageType, height, estType)
+										)
+								)
+						);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	@Disabled("Benchmark, to be run by hand")
+	void benchmarkSiteIndexes() throws CommonCalculatorException {
+		// The site index of 100000 stands on each of the specialized curves from their height at a total age, which
+		// iterates on height and years to breast height, through the static methods and through the curves
+		for (int round = 0; round < 5; round++) {
+			double sum = 0;
+			long start = System.nanoTime();
+			for (var equation : SPECIALIZED) {
+				for (int stand = 0; stand < 100_000; stand++) {
+					double age = 20 + stand % 150;
+					double height = 5 + stand % 300 * 0.1;
+					sum += Height2SiteIndex.heightToIndex(equation, age, SI_AT_TOTAL, height, SI_EST_ITERATE);
+				}
+			}
+			long statics = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (var equation : SPECIALIZED) {
+				var curve = SiteCurves.of(equation);
+				for (int stand = 0; stand < 100_000; stand++) {
+					double age = 20 + stand % 150;
+					double height = 5 + stand % 300 * 0.1;
+					sum -= curve.siteIndex(age, SI_AT_TOTAL, height, SI_EST_ITERATE);
+				}
+			}
+			long curves = System.nanoTime() - start;
+
+			System.out.println(
+					String.format(
+							"Static methods %d ms, curves %d ms (checksum %g)", statics / 1_000_000, curves / 1_000_000,
+							sum
+					)
+			);
+		}
+	}
+}
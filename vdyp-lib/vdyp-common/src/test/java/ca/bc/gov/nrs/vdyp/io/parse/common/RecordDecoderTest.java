@@ -0,0 +1,321 @@
+package ca.bc.gov.nrs.vdyp.io.parse.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
+
+class RecordDecoderTest {
+
+	@Test
+	void testNumbers() throws Exception {
+		var decoder = new LineParser().integer(4, "part1").space(1).floating(8, "part2").decoder();
+		int part1 = decoder.field("part1");
+		int part2 = decoder.field("part2");
+
+		try (var stream = stream(decoder, " 4     0.5  \n -12  -3.25\n+007   +1.  ")) {
+			var record = stream.next();
+			assertThat(record.getInt(part1), is(4));
+			assertThat(record.getFloat(part2), is(0.5f));
+
+			record = stream.next();
+			assertThat(record.getInt(part1), is(-12));
+			assertThat(record.getFloat(part2), is(-3.25f));
+
+			record = stream.next();
+			assertThat(record.getInt(part1), is(7));
+			assertThat(record.getFloat(part2), is(1.0f));
+		}
+	}
+
+	@Test
+	void testFloatsMatchFloatParseFloat() throws Exception {
+		var decoder = new LineParser().floating(12, "value").decoder();
+		int value = decoder.field("value");
+
+		var random = new Random(42);
+		var lines = new ArrayList<String>();
+		for (int i = 0; i < 10000; i++) {
+			long digits = random.nextLong(1_000_000_000L);
+			int decimals = random.nextInt(10);
+			var text = Long.toString(digits);
+			if (decimals > 0) {
+				text = "0".repeat(Math.max(0, decimals - text.length() + 1)) + text;
+				text = text.substring(0, text.length() - decimals) + "." + text.substring(text.length() - decimals);
+			}
+			lines.add(String.format("%12s", random.nextBoolean() ? "-" + text : text));
+		}
+
+		try (var stream = stream(decoder, String.join("\r\n", lines))) {
+			for (var line : lines) {
+				var expected = Float.parseFloat(line.strip());
+				assertThat(
+						line, Float.floatToIntBits(stream.next().getFloat(value)), is(Float.floatToIntBits(expected))
+				);
+			}
+		}
+	}
+
+	@Test
+	void testNumberParseErrors() throws Exception {
+		var decoder = new LineParser().integer(4, "part1").space(1).floating(5, "part2").decoder();
+		int part1 = decoder.field("part1");
+		int part2 = decoder.field("part2");
+
+		try (var stream = stream(decoder, " X   0.x  \n9999999999")) {
+			var record = stream.next();
+
+			var ex1 = assertThrows(ValueParseException.class, () -> record.getInt(part1));
+			assertThat(ex1, hasProperty("value", is("X")));
+			assertThat(ex1, hasProperty("cause", isA(NumberFormatException.class)));
+
+			var ex2 = assertThrows(ValueParseException.class, () -> record.getFloat(part2));
+			assertThat(ex2, hasProperty("value", is("0.x")));
+			assertThat(ex2, hasProperty("cause", isA(NumberFormatException.class)));
+
+			stream.next();
+			assertThat(record.getInt(part1), is(9999));
+		}
+	}
+
+	@Test
+	void testIncomplete() throws Exception {
+		var decoder = new LineParser().integer(4, "part1").space(1).floating(5, "part2").decoder();
+		int part1 = decoder.field("part1");
+		int part2 = decoder.field("part2");
+
+		try (var stream = stream(decoder, " 4  \n 4   5.0")) {
+			var record = stream.next();
+			assertThat(record.getInt(part1), is(4));
+			assertThat(record.isPresent(part2), is(false));
+			assertThat(record.isBlank(part2), is(true));
+			assertThat(record.getString(part2), nullValue());
+			assertThat(record.getValue(part2), nullValue());
+
+			record = stream.next();
+			assertThat(record.isPresent(part2), is(true));
+			assertThat(record.getString(part2), is("5.0"));
+			assertThat(record.getFloat(part2), is(5.0f));
+		}
+	}
+
+	@Test
+	void testValuesUseDeclaredParser() throws Exception {
+		var lineParser = new LineParser().strippedString(6, "stripped").string(6, "unstripped").floating(6, "number");
+		var decoder = lineParser.decoder();
+
+		var line = "  AB    CD    1.5 ";
+		try (var stream = stream(decoder, line)) {
+			var record = stream.next();
+			var expected = lineParser.parseLine(line, Collections.emptyMap());
+
+			for (var name : List.of("stripped", "unstripped", "number")) {
+				assertThat(name, record.getValue(decoder.field(name)), equalTo(expected.get(name)));
+			}
+		}
+	}
+
+	@Test
+	void testUnknownField() {
+		var decoder = new LineParser().integer(4, "part1").decoder();
+
+		assertThrows(IllegalArgumentException.class, () -> decoder.field("part2"));
+	}
+
+	@Test
+	void testLineEndingsAndLineNumbers() throws Exception {
+		var decoder = new LineParser().strippedString("value").decoder();
+		int value = decoder.field("value");
+
+		var result = new ArrayList<String>();
+		var lineNumbers = new ArrayList<Integer>();
+		try (var stream = stream(decoder, "a\nb\r\nc\rd\r\n\r\ne")) {
+			while (stream.hasNext()) {
+				var record = stream.next();
+				result.add((String) record.getValue(value));
+				lineNumbers.add(record.getLineNumber());
+			}
+		}
+
+		assertThat(result, contains("a", "b", "c", "d", null, "e"));
+		assertThat(lineNumbers, contains(1, 2, 3, 4, 5, 6));
+	}
+
+	@Test
+	void testLongInput() throws Exception {
+		var decoder = new LineParser().integer(8, "index").string("rest").decoder();
+		int index = decoder.field("index");
+		int rest = decoder.field("rest");
+
+		// Lines that span the read buffer, and a line longer than the initial line buffer
+		var sb = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			sb.append(String.format("%8d", i)).append(i == 10000 ? "x".repeat(1000) : "rest").append("\r\n");
+		}
+
+		int n = 0;
+		try (var stream = stream(decoder, sb.toString())) {
+			while (stream.hasNext()) {
+				var record = stream.next();
+				assertThat(record.getInt(index), is(n));
+				assertThat(record.getString(rest), is(n == 10000 ? "x".repeat(1000) : "rest"));
+				n++;
+			}
+		}
+		assertThat(n, is(20000));
+	}
+
+	@Test
+	void testMappedFile(@TempDir Path dir) throws Exception {
+		var decoder = new LineParser().integer(4, "part1").space(1).floating(6, "part2").decoder();
+		int part1 = decoder.field("part1");
+		int part2 = decoder.field("part2");
+
+		var path = dir.resolve("records.dat");
+		Files.writeString(path, "   1   1.5\r\n  22  -2.25\n\r 333 333.0\r\n4444    4.", StandardCharsets.US_ASCII);
+
+		// Windows smaller than a line, so that every line straddles two or more of them
+		for (int windowSize : new int[] { 1, 3, 7, 1024 }) {
+			var ints = new ArrayList<Integer>();
+			var floats = new ArrayList<Float>();
+			var blanks = new ArrayList<Integer>();
+			try (var stream = decoder.stream(path, Collections.emptyMap(), windowSize)) {
+				while (stream.hasNext()) {
+					var record = stream.next();
+					if (record.isBlank(part1)) {
+						blanks.add(record.getLineNumber());
+						continue;
+					}
+					ints.add(record.getInt(part1));
+					floats.add(record.getFloat(part2));
+				}
+			}
+			assertThat("window " + windowSize, ints, contains(1, 22, 333, 4444));
+			assertThat("window " + windowSize, floats, contains(1.5f, -2.25f, 333.0f, 4.0f));
+			assertThat("window " + windowSize, blanks, contains(3));
+		}
+	}
+
+	@Test
+	void testPositionAndSeek(@TempDir Path dir) throws Exception {
+		var decoder = new LineParser().integer(4, "value").decoder();
+		int value = decoder.field("value");
+
+		var path = dir.resolve("records.dat");
+		Files.writeString(path, "   1\r\n  22\n\r 333\r\n4444", StandardCharsets.US_ASCII);
+
+		for (int windowSize : new int[] { 1, 3, 7, 1024 }) {
+			var positions = new ArrayList<StreamPosition>();
+			try (var stream = decoder.stream(path, Collections.emptyMap(), windowSize)) {
+				assertThat(stream.isSeekable(), is(true));
+				while (stream.hasNext()) {
+					positions.add(stream.position());
+					stream.next();
+				}
+				positions.add(stream.position());
+
+				assertThat(
+						"window " + windowSize, positions,
+						contains(
+								new StreamPosition(0, 1), new StreamPosition(6, 2), new StreamPosition(11, 3),
+								new StreamPosition(12, 4), new StreamPosition(18, 5), new StreamPosition(22, 6)
+						)
+				);
+
+				stream.seek(positions.get(3));
+				var record = stream.next();
+				assertThat(record.getInt(value), is(333));
+				assertThat(record.getLineNumber(), is(4));
+
+				stream.seek(StreamPosition.START);
+				assertThat(stream.next().getInt(value), is(1));
+
+				stream.seek(positions.get(5));
+				assertThat(stream.hasNext(), is(false));
+			}
+		}
+	}
+
+	@Test
+	void testStreamIsNotSeekable() throws Exception {
+		var decoder = new LineParser().integer(4, "value").decoder();
+
+		try (var stream = stream(decoder, "   1\n  22")) {
+			assertThat(stream.isSeekable(), is(false));
+
+			stream.next();
+			assertThat(stream.position(), is(new StreamPosition(5, 2)));
+			assertThrows(UnsupportedOperationException.class, () -> stream.seek(StreamPosition.START));
+		}
+	}
+
+	@Test
+	void testFileSystemResolverIsMapped(@TempDir Path dir) throws Exception {
+		var decoder = new LineParser().strippedString("value").decoder();
+		int value = decoder.field("value");
+
+		Files.writeString(dir.resolve("records.dat"), "a\nb", StandardCharsets.US_ASCII);
+
+		var result = new ArrayList<String>();
+		try (var stream = decoder.stream(new FileSystemFileResolver(dir), "records.dat", Collections.emptyMap())) {
+			while (stream.hasNext()) {
+				result.add(stream.next().getString(value));
+			}
+		}
+		assertThat(result, contains("a", "b"));
+	}
+
+	@Test
+	void testIgnoreAndStopTests() throws Exception {
+		var lineParser = new LineParser() {
+
+			@Override
+			public boolean isIgnoredLine(String line) {
+				return line.startsWith("#");
+			}
+
+			@Override
+			public boolean isStopSegment(List<String> segments) {
+				return "0000".equals(segments.get(0));
+			}
+
+		};
+		lineParser.integer(4, "part1").space(1).string("part2");
+		var decoder = lineParser.decoder();
+		int part1 = decoder.field("part1");
+
+		var result = new ArrayList<Integer>();
+		try (var stream = stream(decoder, "0042 Value1\r\n# comment\r\n0043 Value2\r\n0000\r\n0044 Value3")) {
+			while (stream.hasNext()) {
+				result.add(stream.next().getInt(part1));
+			}
+		}
+
+		assertThat(result, contains(42, 43));
+	}
+
+	static RecordDecoder.RecordStream stream(RecordDecoder decoder, String content) throws IOException {
+		return decoder
+				.stream(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)), Collections.emptyMap());
+	}
+}
@@ -0,0 +1,252 @@
+package ca.bc.gov.nrs.vdyp.io.parse.control;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.model.BecLookup;
+import ca.bc.gov.nrs.vdyp.model.Coefficients;
+import ca.bc.gov.nrs.vdyp.model.MatrixMap2;
+import ca.bc.gov.nrs.vdyp.model.Region;
+import ca.bc.gov.nrs.vdyp.model.SiteCurveAgeMaximum;
+import ca.bc.gov.nrs.vdyp.test.TestUtils;
+
+@SuppressWarnings("unchecked")
+class CoefficientBundleTest {
+
+	@Test
+	void testParseWritesBundle(@TempDir Path dir) throws Exception {
+		var bundlePath = dir.resolve("VRISTART.bundle");
+
+		parse(bundlePath);
+
+		var bundle = CoefficientBundle.read(bundlePath);
+		assertTrue(bundle.isPresent());
+		assertThat(bundle.get().getApplicationId(), is(VdypApplicationIdentifier.VRI_START));
+		assertThat(bundle.get().getEntries(), hasKey(ControlKey.BEC_DEF.name()));
+		assertThat(bundle.get().getEntries(), not(hasKey(ControlKey.VRI_INPUT_YIELD_POLY.name())));
+	}
+
+	@Test
+	void testParseFromBundleMatchesParseFromFiles(@TempDir Path dir) throws Exception {
+		var bundlePath = dir.resolve("VRISTART.bundle");
+
+		var expected = TestUtils.loadControlMap();
+		parse(bundlePath);
+		var fromBundle = parse(bundlePath);
+
+		assertThat(fromBundle.keySet(), equalTo(expected.keySet()));
+
+		BecLookup expectedBecs = Utils.expectParsedControl(expected, ControlKey.BEC_DEF, BecLookup.class);
+		BecLookup actualBecs = Utils.expectParsedControl(fromBundle, ControlKey.BEC_DEF, BecLookup.class);
+		assertThat(actualBecs.getBecAliases(), equalTo(expectedBecs.getBecAliases()));
+
+		MatrixMap2<String, Region, Coefficients> expectedHl = Utils
+				.expectParsedControl(expected, ControlKey.HL_PRIMARY_SP_EQN_P1, MatrixMap2.class);
+		MatrixMap2<String, Region, Coefficients> actualHl = Utils
+				.expectParsedControl(fromBundle, ControlKey.HL_PRIMARY_SP_EQN_P1, MatrixMap2.class);
+		assertThat(actualHl.get("AC", Region.COASTAL), equalTo(expectedHl.get("AC", Region.COASTAL)));
+
+		Map<Integer, SiteCurveAgeMaximum> expectedAgeMax = Utils
+				.expectParsedControl(expected, ControlKey.SITE_CURVE_AGE_MAX, Map.class);
+		Map<Integer, SiteCurveAgeMaximum> actualAgeMax = Utils
+				.expectParsedControl(fromBundle, ControlKey.SITE_CURVE_AGE_MAX, Map.class);
+		assertThat(actualAgeMax.keySet(), equalTo(expectedAgeMax.keySet()));
+		assertThat(actualAgeMax.get(1).getT1(), equalTo(expectedAgeMax.get(1).getT1()));
+		// Curves without a maximum of their own still get the default
+		assertThat(
+				actualAgeMax.get(999).getAgeMaximum(Region.INTERIOR),
+				equalTo(expectedAgeMax.get(999).getAgeMaximum(Region.INTERIOR))
+		);
+	}
+
+	@Test
+	void testStaleBundleIsNotUsed() throws Exception {
+		var resolver = TestUtils.fileResolver(TestUtils.class);
+
+		Map<String, Object> controlMap = new HashMap<>();
+		controlMap.put(ControlKey.MAX_NUM_POLY.name(), 10);
+		controlMap.put(ControlKey.BEC_DEF.name(), "Becdef.dat");
+		controlMap.put(ControlKey.VRI_INPUT_YIELD_POLY.name(), "VRIPOLY.dat");
+
+		var fingerprint = CoefficientBundle.fingerprint(controlMap, Set.of(), resolver);
+		var bundle = new CoefficientBundle(VdypApplicationIdentifier.VRI_START, fingerprint, Map.of());
+		assertTrue(bundle.isCurrent(VdypApplicationIdentifier.VRI_START, fingerprint));
+		assertFalse(bundle.isCurrent(VdypApplicationIdentifier.FIP_START, fingerprint));
+
+		controlMap.put(ControlKey.MAX_NUM_POLY.name(), 11);
+		assertFalse(
+				bundle.isCurrent(
+						VdypApplicationIdentifier.VRI_START,
+						CoefficientBundle.fingerprint(controlMap, Set.of(), resolver)
+				)
+		);
+	}
+
+	@Test
+	void testExcludedEntriesDoNotContributeToFingerprint() throws Exception {
+		var resolver = TestUtils.fileResolver(TestUtils.class);
+		var excluded = Set.of(ControlKey.VRI_INPUT_YIELD_POLY.name());
+
+		Map<String, Object> controlMap = new HashMap<>();
+		controlMap.put(ControlKey.BEC_DEF.name(), "Becdef.dat");
+		controlMap.put(ControlKey.VRI_INPUT_YIELD_POLY.name(), "VRIPOLY.dat");
+		var fingerprint1 = CoefficientBundle.fingerprint(controlMap, excluded, resolver);
+
+		controlMap.put(ControlKey.VRI_INPUT_YIELD_POLY.name(), "OTHERPOLY.dat");
+		var fingerprint2 = CoefficientBundle.fingerprint(controlMap, excluded, resolver);
+
+		assertArrayEquals(fingerprint1, fingerprint2);
+	}
+
+	@Test
+	void testRoundTrip() throws Exception {
+		Map<String, Object> entries = new HashMap<>();
+		entries.put("A", Optional.of("value"));
+		entries.put("B", Optional.empty());
+		entries.put("C", List.of(1, 2, 3));
+
+		var fingerprint = new byte[] { 1, 2, 3 };
+		var os = new ByteArrayOutputStream();
+		new CoefficientBundle(VdypApplicationIdentifier.VRI_START, fingerprint, entries).write(os);
+
+		var result = CoefficientBundle.read(new ByteArrayInputStream(os.toByteArray()), "test");
+
+		assertTrue(result.isPresent());
+		assertTrue(result.get().isCurrent(VdypApplicationIdentifier.VRI_START, fingerprint));
+		assertThat(result.get().getEntries(), equalTo(entries));
+	}
+
+	@Test
+	void testBundleOfAnotherBuildIsNotUsed() throws Exception {
+		Map<String, Object> entries = new HashMap<>();
+		entries.put("A", Region.COASTAL);
+
+		var os = new ByteArrayOutputStream();
+		new CoefficientBundle(VdypApplicationIdentifier.VRI_START, new byte[] { 1, 2, 3 }, entries).write(os);
+		var bytes = os.toByteArray();
+
+		assertTrue(CoefficientBundle.read(new ByteArrayInputStream(bytes), "test").isPresent());
+
+		// Change the digest of the class files, as a build with a different Region class would have written it
+		bytes[classDigestOffset(bytes)] ^= 1;
+
+		assertThat(CoefficientBundle.read(new ByteArrayInputStream(bytes), "test"), is(Optional.empty()));
+	}
+
+	@Test
+	void testClassDigest() throws Exception {
+		var digest = CoefficientBundle.classDigest(List.of(Region.class.getName()));
+		assertTrue(digest.isPresent());
+		assertArrayEquals(digest.get(), CoefficientBundle.classDigest(List.of(Region.class.getName())).get());
+		assertFalse(
+				Arrays.equals(digest.get(), CoefficientBundle.classDigest(List.of(Coefficients.class.getName())).get())
+		);
+
+		assertThat(CoefficientBundle.classDigest(List.of("ca.bc.gov.nrs.vdyp.NoSuchClass")), is(Optional.empty()));
+		assertThat(CoefficientBundle.classDigest(List.of(String.class.getName())), is(Optional.empty()));
+	}
+
+	@Test
+	void testUnreadableBundleIsNotUsed() throws Exception {
+		Map<String, Object> entries = new HashMap<>();
+		entries.put("A", List.of(1, 2, 3));
+
+		var os = new ByteArrayOutputStream();
+		new CoefficientBundle(VdypApplicationIdentifier.VRI_START, new byte[] { 1, 2, 3 }, entries).write(os);
+		var bytes = os.toByteArray();
+
+		for (int length : new int[] { 4, classDigestOffset(bytes), bytes.length - 8 }) {
+			assertThat(
+					CoefficientBundle.read(new ByteArrayInputStream(Arrays.copyOf(bytes, length)), "test"),
+					is(Optional.empty())
+			);
+		}
+	}
+
+	@Test
+	void testBundleOfUnexpectedClassIsNotUsed() throws Exception {
+		Map<String, Object> entries = new HashMap<>();
+		entries.put("A", URI.create("http://example.com/"));
+
+		var os = new ByteArrayOutputStream();
+		new CoefficientBundle(VdypApplicationIdentifier.VRI_START, new byte[] { 1, 2, 3 }, entries).write(os);
+
+		assertThat(CoefficientBundle.read(new ByteArrayInputStream(os.toByteArray()), "test"), is(Optional.empty()));
+	}
+
+	@Test
+	void testParseDoesNotFailIfBundleCannotBeWritten(@TempDir Path dir) throws Exception {
+		var bundlePath = dir.resolve("missing").resolve("VRISTART.bundle");
+
+		var result = parse(bundlePath);
+
+		assertThat(result, hasKey(ControlKey.BEC_DEF.name()));
+		assertFalse(Files.exists(bundlePath));
+	}
+
+	@Test
+	void testMissingBundle(@TempDir Path dir) throws IOException {
+		assertThat(CoefficientBundle.read(dir.resolve("missing.bundle")), is(Optional.empty()));
+	}
+
+	@Test
+	void testNotABundle(@TempDir Path dir) throws IOException {
+		var path = dir.resolve("not.bundle");
+		Files.writeString(path, "This is not a coefficient bundle", StandardCharsets.US_ASCII);
+
+		assertThat(CoefficientBundle.read(path), is(Optional.empty()));
+	}
+
+	/**
+	 * @return the offset in a bundle of the digest of the class files of its entries
+	 */
+	private static int classDigestOffset(byte[] bundle) throws IOException {
+		var dis = new DataInputStream(new ByteArrayInputStream(bundle));
+		dis.skipNBytes(8 + 4); // magic number and format version
+		dis.readUTF();
+		dis.skipNBytes(dis.readInt());
+		int classCount = dis.readInt();
+		for (int i = 0; i < classCount; i++) {
+			dis.readUTF();
+		}
+		dis.readInt();
+		return bundle.length - dis.available();
+	}
+
+	private static Map<String, Object> parse(Path bundlePath) throws IOException, ResourceParseException {
+		var parser = TestUtils.startAppControlParser();
+		parser.setCoefficientBundlePath(bundlePath);
+		try (InputStream is = TestUtils.class.getResourceAsStream("VRISTART.CTR")) {
+			return parser.parse(is, TestUtils.fileResolver(TestUtils.class), new HashMap<>());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package ca.bc.gov.nrs.vdyp.io.parse.control;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.test.TestUtils;
+
+class CoefficientCacheTest {
+
+	@Test
+	void testParseFromCacheMatchesParseFromFiles() throws Exception {
+		var cache = new CoefficientCache(1);
+
+		var first = parse(cache, Optional.empty());
+		assertThat(cache.getMisses(), is(1L));
+		assertThat(cache.size(), is(1));
+
+		var second = parse(cache, Optional.empty());
+		assertThat(cache.getHits(), is(1L));
+
+		assertThat(second.keySet(), equalTo(first.keySet()));
+		assertThat(second.get(ControlKey.BEC_DEF.name()), sameInstance(first.get(ControlKey.BEC_DEF.name())));
+	}
+
+	@Test
+	void testCacheIsConsultedBeforeBundle(@TempDir Path dir) throws Exception {
+		var cache = new CoefficientCache(1);
+		var bundlePath = dir.resolve("VRISTART.bundle");
+
+		var first = parse(cache, Optional.of(bundlePath));
+		var second = parse(cache, Optional.of(bundlePath));
+
+		assertThat(cache.getHits(), is(1L));
+		assertThat(second.get(ControlKey.BEC_DEF.name()), sameInstance(first.get(ControlKey.BEC_DEF.name())));
+	}
+
+	@Test
+	void testLeastRecentlyUsedIsEvicted() {
+		var cache = new CoefficientCache(2);
+		var app = VdypApplicationIdentifier.VRI_START;
+
+		cache.put(app, new byte[] { 1 }, Map.of("A", 1));
+		cache.put(app, new byte[] { 2 }, Map.of("A", 2));
+		assertThat(cache.get(app, new byte[] { 1 }), is(Optional.of(Map.of("A", 1))));
+
+		cache.put(app, new byte[] { 3 }, Map.of("A", 3));
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.get(app, new byte[] { 1 }).isPresent(), is(true));
+		assertThat(cache.get(app, new byte[] { 2 }).isPresent(), is(false));
+		assertThat(cache.get(VdypApplicationIdentifier.FIP_START, new byte[] { 3 }).isPresent(), is(false));
+	}
+
+	@Test
+	void testEntriesAreHeldAsPut() {
+		var cache = new CoefficientCache(1);
+		var app = VdypApplicationIdentifier.VRI_START;
+
+		Map<String, Object> entries = new HashMap<>();
+		entries.put("A", 1);
+		cache.put(app, new byte[] { 1 }, entries);
+		entries.put("B", 2);
+
+		var result = cache.get(app, new byte[] { 1 }).get();
+		assertThat(result, not(hasKey("B")));
+		assertThrows(UnsupportedOperationException.class, () -> result.put("B", 2));
+	}
+
+	@Test
+	void testInvalidCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new CoefficientCache(0));
+	}
+
+	private static Map<String, Object> parse(CoefficientCache cache, Optional<Path> bundlePath)
+			throws IOException, ResourceParseException {
+		var parser = TestUtils.startAppControlParser();
+		parser.setCoefficientCache(cache);
+		bundlePath.ifPresent(parser::setCoefficientBundlePath);
+		try (InputStream is = TestUtils.class.getResourceAsStream("VRISTART.CTR")) {
+			return parser.parse(is, TestUtils.fileResolver(TestUtils.class), new HashMap<>());
+		}
+	}
+}
@@ -4,13 +4,23 @@ import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.assertEmpty;
 import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.assertNext;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.Test;
 
+import ca.bc.gov.nrs.vdyp.io.parse.common.LineParser;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder.RecordStream;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
+
 public class GroupingStreamingParserTest {
 
 	@Test
@@ -212,4 +222,116 @@ public class GroupingStreamingParserTest {
 		control.verify();
 	}
 
+	@Test
+	public void testPositions() throws Exception {
+		var control = EasyMock.createControl();
+
+		var values = Arrays.asList(1, 5, 3, 2, 5);
+		var index = new int[] { 0 };
+
+		SeekableStreamingParser<Integer> delegate = control.createMock("delegate", SeekableStreamingParser.class);
+
+		EasyMock.expect(delegate.hasNext()).andStubAnswer(() -> index[0] < values.size());
+		EasyMock.expect(delegate.next()).andStubAnswer(() -> values.get(index[0]++));
+		EasyMock.expect(delegate.position()).andStubAnswer(() -> new StreamPosition(index[0] * 10, index[0] + 1));
+		EasyMock.expect(delegate.isSeekable()).andStubReturn(true);
+		delegate.seek(StreamPosition.START);
+		EasyMock.expectLastCall().once();
+
+		control.replay();
+
+		var unit = new GroupingStreamingParser<List<Integer>, Integer>(delegate) {
+
+			@Override
+			protected boolean skip(Integer nextChild) {
+				return nextChild % 3 == 0;
+			}
+
+			@Override
+			protected boolean stop(Integer nextChild) {
+				return nextChild % 5 == 0;
+			}
+
+			@Override
+			protected List<Integer> convert(List<Integer> children) {
+				return children;
+			}
+
+		};
+
+		assertThat(unit.isSeekable(), is(true));
+		assertThat(unit.position(), is(new StreamPosition(0, 1)));
+		assertThat(assertNext(unit), contains(1));
+
+		// The second group starts with a skipped entry, which is included in it
+		assertThat(unit.position(), is(new StreamPosition(20, 3)));
+		assertThat(unit.hasNext(), is(true));
+		assertThat(unit.position(), is(new StreamPosition(20, 3)));
+		assertThat(assertNext(unit), contains(2));
+		assertThat(unit.position(), is(new StreamPosition(50, 6)));
+
+		unit.seek(StreamPosition.START);
+
+		control.verify();
+	}
+
+	@Test
+	public void testSkipNextWithoutConverting() throws Exception {
+		var decoder = new LineParser().strippedString(1, "marker").space(1).integer(3, "value").decoder();
+		int markerField = decoder.field("marker");
+		int valueField = decoder.field("value");
+
+		var content = "A   1\nA   2\nZ\nA   3\nA   4\nZ\nA   5\nZ\n";
+		var converted = new ArrayList<Integer>();
+
+		var delegate = new AbstractRecordStreamingParser<Integer>(
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)), decoder, Collections.emptyMap()
+		) {
+
+			@Override
+			protected Integer convert(RecordStream.Record entry) throws ValueParseException {
+				var value = "Z".equals(entry.getString(markerField)) ? 0 : entry.getInt(valueField);
+				converted.add(value);
+				return value;
+			}
+
+			@Override
+			public boolean recognizesGroupEnds() {
+				return true;
+			}
+
+			@Override
+			protected boolean endsGroup(RecordStream.Record entry) {
+				return "Z".equals(entry.getString(markerField));
+			}
+		};
+
+		var unit = new GroupingStreamingParser<List<Integer>, Integer>(delegate) {
+
+			@Override
+			protected boolean skip(Integer nextChild) {
+				return false;
+			}
+
+			@Override
+			protected boolean stop(Integer nextChild) {
+				return nextChild == 0;
+			}
+
+			@Override
+			protected List<Integer> convert(List<Integer> children) {
+				return children;
+			}
+
+		};
+
+		unit.skipNext();
+		assertThat(assertNext(unit), contains(3, 4));
+		unit.skipNext();
+		assertEmpty(unit);
+
+		assertThat(converted, contains(3, 4, 0));
+
+		unit.close();
+	}
 }
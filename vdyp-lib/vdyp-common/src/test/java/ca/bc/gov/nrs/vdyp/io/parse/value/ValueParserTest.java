@@ -8,11 +8,14 @@ import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isA;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -132,6 +135,65 @@ class ValueParserTest {
 		VALUE1, VALUE2
 	}
 
+	@Nested
+	class Numbers {
+
+		// Simple forms, which are decoded directly, and others, which are left to the library
+		static final List<String> INTEGERS = List.of(
+				"0", "7", " 42 ", "-12", "+007", "-0", "999999999", "-999999999", "2147483647", "-2147483648", "\t5\t"
+		);
+		static final List<String> NOT_INTEGERS = List.of("", "  ", "-", "+", "1.0", "1 2", "X", "2147483648", "1e3");
+		static final List<String> FLOATS = List.of(
+				"0", "0.0", "-0.0", "-0", " 1.5 ", "-3.25", "+1.", ".5", "-9.0", "16777216", "16777217", "123456.789",
+				"0.0000000001", "0.00000000001", "1e3", "1E-3", "NaN", "-Infinity", "1.5f"
+		);
+		static final List<String> NOT_FLOATS = List.of("", "  ", ".", "-", "+.", "1.2.3", "X", "1 2");
+
+		@Test
+		void testIntegerMatchesLibrary() throws Exception {
+			for (var text : INTEGERS) {
+				assertThat(text, ValueParser.INTEGER.parse(text), is(Integer.parseInt(text.strip())));
+			}
+			for (var text : NOT_INTEGERS) {
+				var ex = assertThrows(ValueParseException.class, () -> ValueParser.INTEGER.parse(text));
+				assertThat(ex, hasProperty("value", is(text.strip())));
+				assertThat(ex, hasProperty("cause", isA(NumberFormatException.class)));
+			}
+		}
+
+		@Test
+		void testFloatMatchesLibrary() throws Exception {
+			for (var text : FLOATS) {
+				assertThat(
+						text, Float.floatToIntBits(ValueParser.FLOAT.parse(text)),
+						is(Float.floatToIntBits(Float.parseFloat(text.strip())))
+				);
+			}
+			for (var text : NOT_FLOATS) {
+				var ex = assertThrows(ValueParseException.class, () -> ValueParser.FLOAT.parse(text));
+				assertThat(ex, hasProperty("value", is(text.strip())));
+				assertThat(ex, hasProperty("cause", isA(NumberFormatException.class)));
+			}
+		}
+
+		@Test
+		void testRandomFloatsMatchLibrary() throws Exception {
+			var random = new Random(42);
+			for (int i = 0; i < 100000; i++) {
+				var text = new StringBuilder(Integer.toString(random.nextInt(100_000_000)));
+				int decimals = random.nextInt(Math.min(text.length(), 11) + 1);
+				text.insert(text.length() - decimals, '.');
+				if (random.nextBoolean()) {
+					text.insert(0, '-');
+				}
+				assertThat(
+						text.toString(), Float.floatToIntBits(ValueParser.FLOAT.parse(text.toString())),
+						is(Float.floatToIntBits(Float.parseFloat(text.toString())))
+				);
+			}
+		}
+	}
+
 	@Test
 	void testEnumParser() throws Exception {
 		var parser = ValueParser.enumParser(TestEnum.class);
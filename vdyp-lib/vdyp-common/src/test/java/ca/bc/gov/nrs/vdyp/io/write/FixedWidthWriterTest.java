@@ -0,0 +1,112 @@
+package ca.bc.gov.nrs.vdyp.io.write;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.model.PolygonIdentifier;
+
+class FixedWidthWriterTest {
+
+	@Test
+	void testMatchesStringFormat() throws IOException {
+		var format = "%-25s %-4s %1s%6d%3d|%2d%9.5f%9.2f%6.1f%-7.3f%5.0f\n";
+		var compiled = FixedWidthFormat.compile(format);
+
+		var os = new ByteArrayOutputStream();
+		var expected = new StringBuilder();
+		try (var unit = new FixedWidthWriter(os)) {
+			var id = new PolygonIdentifier("082E004    615", 1988);
+			Object[][] rows = { //
+					{ id, "IDF", "D", 90, 28, -9, 19.97867f, 1485.82f, 13.1f, 0.0f, 1.5f }, //
+					{ id, "CWHvm", "", -123456, 1234, 100, -9f, -0.0f, 0.05f, -0.0004f, 2.5f }, //
+					{ id, "A", "L", Integer.MIN_VALUE, 0, 0, 1e10f, 123456789f, 0.25f, 0.0005f, 0.5f }, //
+					{ "too long to fit in twenty five", "", "", 0, 0, 0, Float.NaN, Float.POSITIVE_INFINITY,
+							Float.NEGATIVE_INFINITY, 1e-10f, -0.5f } };
+			for (var row : rows) {
+				unit.begin(compiled).string(row[0]).string(row[1]).string(row[2]).integer((Integer) row[3])
+						.integer((Integer) row[4]).integer((Integer) row[5]).floating((Float) row[6])
+						.floating((Float) row[7]).floating((Float) row[8]).floating((Float) row[9])
+						.floating((Float) row[10]).end();
+				expected.append(String.format(format, row));
+			}
+		}
+
+		assertThat(os.toString(), is(expected.toString()));
+	}
+
+	@Test
+	void testRandomFloatsMatchStringFormat() throws IOException {
+		var formats = new String[] { "%9.5f", "%9.4f", "%9.2f", "%6.2f", "%6.1f", "%5.1f" };
+		var random = new Random(42);
+
+		for (var format : formats) {
+			var compiled = FixedWidthFormat.compile(format + "\n");
+			var os = new ByteArrayOutputStream();
+			var expected = new StringBuilder();
+			try (var unit = new FixedWidthWriter(os)) {
+				for (int i = 0; i < 20000; i++) {
+					// A mix of arbitrary floats and ones at or near a rounding boundary
+					float value = switch (i % 3) {
+					case 0 -> (random.nextFloat() - 0.5f) * (float) Math.pow(10, random.nextInt(8));
+					case 1 -> (random.nextInt(2_000_000) - 1_000_000) / 10_000f + 0.00005f;
+					default -> Math.nextAfter( (random.nextInt(20000) + 0.5f) / 100f, random.nextBoolean() ? 1 : -1);
+					};
+					unit.begin(compiled).floating(value).end();
+					expected.append(String.format(format + "\n", value));
+				}
+			}
+			assertThat(format, os.toString(), is(expected.toString()));
+		}
+	}
+
+	@Test
+	void testBufferIsWrittenInBlocks() throws IOException {
+		var compiled = FixedWidthFormat.compile("%-100s\n");
+
+		var os = new ByteArrayOutputStream();
+		var unit = new FixedWidthWriter(os);
+		unit.begin(compiled).string("record").end();
+		assertThat(os.size(), is(0));
+
+		// Fill the buffer, and write a field larger than it
+		for (int i = 0; i < 1000; i++) {
+			unit.begin(compiled).string("record").end();
+		}
+		unit.begin(compiled).string("x".repeat(100_000)).end();
+		unit.close();
+
+		assertThat(os.size(), is(1001 * 101 + 100_001));
+	}
+
+	@Test
+	void testRecordMustMatchFormat() throws IOException {
+		var compiled = FixedWidthFormat.compile("%3d %-2s\n");
+		var unit = new FixedWidthWriter(new ByteArrayOutputStream());
+
+		assertThrows(IllegalStateException.class, () -> unit.string("A"));
+
+		unit.begin(compiled);
+		assertThrows(IllegalStateException.class, () -> unit.string("A"));
+		assertThrows(IllegalStateException.class, () -> unit.begin(compiled));
+
+		unit.integer(1);
+		assertThrows(IllegalStateException.class, () -> unit.end());
+		unit.string("A").end();
+	}
+
+	@Test
+	void testUnsupportedFormats() {
+		assertThrows(IllegalArgumentException.class, () -> FixedWidthFormat.compile("%x"));
+		assertThrows(IllegalArgumentException.class, () -> FixedWidthFormat.compile("%-s"));
+		assertThrows(IllegalArgumentException.class, () -> FixedWidthFormat.compile("%5.2s"));
+		assertThrows(IllegalArgumentException.class, () -> FixedWidthFormat.compile("%,d"));
+		assertThrows(IllegalArgumentException.class, () -> FixedWidthFormat.compile("100%"));
+	}
+}
@@ -9,9 +9,14 @@ import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -216,4 +221,185 @@ class MatrixMapTest {
 		assertThat(map.getM("b", 1), notPresent());
 		assertThat(map.getM("b", 2), present(is('Y')));
 	}
+
+	@Test
+	void testKeysOfEachKind() {
+		var dim1 = Arrays.asList(UtilizationClass.ALL, UtilizationClass.U75TO125, UtilizationClass.SMALL);
+		var dim2 = Arrays.asList(7, 3, 5);
+		var dim3 = Arrays.<Object>asList("AC", "B", "PL", new String("S"), 1_000_000);
+		var map = new MatrixMap3Impl<UtilizationClass, Integer, Object, String>(
+				dim1, dim2, dim3, (k1, k2, k3) -> k1 + "/" + k2 + "/" + k3
+		);
+
+		for (var k1 : dim1) {
+			for (var k2 : dim2) {
+				for (var k3 : dim3) {
+					assertThat(map.get(k1, k2, k3), is(k1 + "/" + k2 + "/" + k3));
+					assertThat(map.getM(k1, k2, k3), is(k1 + "/" + k2 + "/" + k3));
+					assertTrue(map.hasM(k1, k2, k3));
+				}
+			}
+		}
+
+		// Keys equal to those of the map, but not the same instances
+		assertThat(map.get(UtilizationClass.ALL, Integer.valueOf(5), new String("AC")), is("ALL/5/AC"));
+		assertThat(map.get(UtilizationClass.ALL, 5, "S"), is("ALL/5/S"));
+		assertThat(map.get(UtilizationClass.ALL, 5, Integer.valueOf(1_000_000)), is("ALL/5/1000000"));
+
+		map.put(UtilizationClass.SMALL, 3, "PL", "X");
+		assertThat(map.getM(UtilizationClass.SMALL, 3, "PL"), is("X"));
+
+		// Keys that are not in the map
+		assertThat(map.hasM(UtilizationClass.U125TO175, 3, "PL"), is(false));
+		assertThat(map.hasM(UtilizationClass.ALL, 4, "PL"), is(false));
+		assertThat(map.hasM(UtilizationClass.ALL, 8, "PL"), is(false));
+		assertThat(map.hasM(UtilizationClass.ALL, Integer.MIN_VALUE, "PL"), is(false));
+		assertThat(map.hasM(UtilizationClass.ALL, 3, "D"), is(false));
+		assertThat(map.hasM(LayerType.PRIMARY, 3, "PL"), is(false));
+		assertThat(map.hasM(UtilizationClass.ALL, "3", "PL"), is(false));
+		assertThat(map.hasM(UtilizationClass.ALL, 3, null), is(false));
+		assertThrows(IllegalArgumentException.class, () -> map.get(UtilizationClass.ALL, 4, "PL"));
+		assertThrows(IllegalArgumentException.class, () -> map.put(UtilizationClass.ALL, 3, "D", "X"));
+		assertThrows(IllegalArgumentException.class, () -> map.getM(UtilizationClass.ALL, 3));
+	}
+
+	@Test
+	void testSparseIntegerKeys() {
+		var dim1 = Arrays.asList(1, 1_000_000, -1_000_000);
+		var dim2 = Arrays.asList(Region.values());
+		var map = new MatrixMap2Impl<Integer, Region, Integer>(dim1, dim2, (k1, k2) -> k1 + k2.ordinal());
+
+		assertThat(map.get(1_000_000, Region.INTERIOR), is(1_000_001));
+		assertThat(map.get(-1_000_000, Region.COASTAL), is(-1_000_000));
+		assertThat(map.hasM(2, Region.COASTAL), is(false));
+	}
+
+	@Test
+	void testGetIndexMatchesFixedArity() {
+		var dim1 = Arrays.asList("a", "b", "c");
+		var dim2 = Arrays.asList(Region.values());
+		var dim3 = Arrays.asList(1, 2);
+		var map = new MatrixMap3Impl<String, Region, Integer, Optional<Character>>(
+				dim1, dim2, dim3, MatrixMap3Impl.emptyDefault()
+		);
+
+		for (var k1 : dim1) {
+			for (var k2 : dim2) {
+				for (var k3 : dim3) {
+					assertThat(map.getIndex3(k1, k2, k3), is(map.getIndex(k1, k2, k3)));
+				}
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> map.getIndex2("a", Region.COASTAL));
+	}
+
+	@Test
+	void testSerialization() throws Exception {
+		var dim1 = Arrays.asList("a", "b");
+		var dim2 = Arrays.asList(Region.values());
+		var map = new MatrixMap2Impl<String, Region, Float>(dim1, dim2, (k1, k2) -> 0f);
+		map.put("b", Region.INTERIOR, 2f);
+
+		var bytes = new ByteArrayOutputStream();
+		try (var os = new ObjectOutputStream(bytes)) {
+			os.writeObject(map);
+		}
+		try (var is = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			@SuppressWarnings("unchecked")
+			var result = (MatrixMap2<String, Region, Float>) is.readObject();
+
+			assertThat(result.get("b", Region.INTERIOR), is(2f));
+			assertThat(result.get("a", Region.INTERIOR), is(0f));
+			assertThat(result.hasM("c", Region.INTERIOR), is(false));
+		}
+	}
+
+	@Test
+	void testRemoveAfterSerialization() throws Exception {
+		var dim1 = Arrays.asList("a", "b");
+		var dim2 = Arrays.asList(Region.values());
+		var map = new FloatMatrixMap2Impl<String, Region>(
+				dim1, dim2,
+				(k1, k2) -> k2 == Region.COASTAL ? Float.valueOf(1f) : k1.equals("a") ? Float.valueOf(2f) : null
+		);
+		map.put("a", Region.COASTAL, 3f);
+		map.put("a", Region.INTERIOR, 4f);
+		map.put("b", Region.INTERIOR, 5f);
+
+		var bytes = new ByteArrayOutputStream();
+		try (var os = new ObjectOutputStream(bytes)) {
+			os.writeObject(map);
+		}
+		try (var is = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			@SuppressWarnings("unchecked")
+			var result = (FloatMatrixMap2Impl<String, Region>) is.readObject();
+
+			// Removing an entry restores its default value, as it does for the map that was serialized
+			assertThat(result.remove("a", Region.COASTAL), is(3f));
+			assertThat(result.get("a", Region.COASTAL), is(1f));
+			assertThat(result.remove("a", Region.INTERIOR), is(4f));
+			assertThat(result.get("a", Region.INTERIOR), is(2f));
+			assertThat(result.remove("b", Region.INTERIOR), is(5f));
+			assertThat(result.getM("b", Region.INTERIOR), nullValue());
+			assertThat(Float.isNaN(result.getFloat("b", Region.INTERIOR)), is(true));
+
+			// The map that was serialized is unchanged
+			assertThat(map.get("a", Region.COASTAL), is(3f));
+		}
+	}
+
+	@Test
+	void testUnmodifiableView() {
+		var dim1 = Arrays.asList("a", "b");
+		var dim2 = Arrays.asList(Region.values());
+		var map = new FloatMatrixMap2Impl<String, Region>(dim1, dim2, (k1, k2) -> 1f);
+		var view = MatrixMap2.unmodifiable(map);
+
+		map.put("a", Region.COASTAL, 2f);
+		assertThat(view.get("a", Region.COASTAL), is(2f));
+		assertThat(view.getM("b", Region.INTERIOR), is(1f));
+		assertThat(FloatMatrixMap2Impl.getFloat(view, "a", Region.COASTAL), is(2f));
+		assertThat(MatrixMap2.unmodifiable(view), sameInstance(view));
+
+		assertThrows(UnsupportedOperationException.class, () -> view.put("a", Region.COASTAL, 3f));
+		assertThrows(UnsupportedOperationException.class, () -> view.remove("a", Region.COASTAL));
+		assertThrows(UnsupportedOperationException.class, () -> view.setAll(3f));
+		assertThat(map.get("a", Region.COASTAL), is(2f));
+
+		var map3 = new MatrixMap3Impl<Integer, String, Region, String>(
+				Arrays.asList(1, 2), dim1, dim2, (k1, k2, k3) -> "x"
+		);
+		var view3 = MatrixMap3.unmodifiable(map3);
+		assertThat(view3.get(1, "a", Region.COASTAL), is("x"));
+		assertThrows(UnsupportedOperationException.class, () -> view3.put(1, "a", Region.COASTAL, "y"));
+	}
+
+	@Test
+	void testFloatMatrixMap() {
+		var dim1 = Arrays.asList("a", "b");
+		var dim2 = Arrays.asList(Region.values());
+		var map = new FloatMatrixMap2Impl<String, Region>(dim1, dim2, (k1, k2) -> 1f);
+
+		assertThat(map.getFloat("a", Region.COASTAL), is(1f));
+
+		map.put("a", Region.COASTAL, 2f);
+		map.putM(3f, "b", Region.INTERIOR);
+		assertThat(map.getFloat("a", Region.COASTAL), is(2f));
+		assertThat(map.get("a", Region.COASTAL), is(2f));
+		assertThat(map.getFloat("b", Region.INTERIOR), is(3f));
+		assertThat(FloatMatrixMap2Impl.getFloat(map, "b", Region.INTERIOR), is(3f));
+
+		map.remove("a", Region.COASTAL);
+		assertThat(map.getFloat("a", Region.COASTAL), is(1f));
+
+		map.put("b", Region.COASTAL, null);
+		assertThat(map.getFloat("b", Region.COASTAL), is(Float.NaN));
+
+		map.setAll(4f);
+		assertThat(map.getFloat("b", Region.INTERIOR), is(4f));
+		assertThrows(IllegalArgumentException.class, () -> map.getFloat("c", Region.COASTAL));
+
+		var boxed = new MatrixMap2Impl<String, Region, Float>(dim1, dim2, (k1, k2) -> 5f);
+		assertThat(FloatMatrixMap2Impl.getFloat(boxed, "a", Region.INTERIOR), is(5f));
+	}
 }
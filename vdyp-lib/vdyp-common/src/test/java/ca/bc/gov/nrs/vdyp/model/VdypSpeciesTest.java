@@ -1,6 +1,7 @@
 package ca.bc.gov.nrs.vdyp.model;
 
 import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.isPolyId;
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.notPresent;
 import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.present;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
@@ -9,10 +10,15 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 
+import ca.bc.gov.nrs.vdyp.common.Utils;
+
 class VdypSpeciesTest {
 
 	@Test
@@ -36,6 +42,84 @@ class VdypSpeciesTest {
 		assertThat(result, hasProperty("sp64DistributionSet", hasProperty("sp64DistributionMap", anEmptyMap())));
 	}
 
+	@Test
+	void buildUtilizationDefaults() throws Exception {
+		var result = VdypSpecies.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.genus("B", 3);
+			builder.percentGenus(50f);
+			builder.volumeGroup(1);
+			builder.decayGroup(2);
+			builder.breakageGroup(3);
+			builder.baseArea(2f);
+		});
+		assertThat(result.getBaseAreaByUtilization(), is(Utils.utilizationVector(2f)));
+		assertThat(result.getLoreyHeightByUtilization(), is(VdypUtilizationHolder.emptyLoreyHeightUtilization()));
+		assertThat(result.getTreesPerHectareByUtilization(), is(VdypUtilizationHolder.emptyUtilization()));
+		assertThat(result.getQuadraticMeanDiameterByUtilization(), is(VdypUtilizationHolder.emptyUtilization()));
+		assertThat(result.getWholeStemVolumeByUtilization(), is(VdypUtilizationHolder.emptyUtilization()));
+	}
+
+	@Test
+	void setSite() throws Exception {
+		var unit = VdypSpecies.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.genus("B", 3);
+			builder.percentGenus(50f);
+			builder.volumeGroup(1);
+			builder.decayGroup(2);
+			builder.breakageGroup(3);
+		});
+		var site = VdypSite.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.siteGenus("B");
+			builder.siteIndex(42.5f);
+		});
+
+		unit.setSite(Optional.of(site));
+		assertThat(unit.getSite(), present(sameInstance(site)));
+
+		unit.setSite(Optional.empty());
+		assertThat(unit.getSite(), notPresent());
+	}
+
+	@Test
+	void setSiteOfAnotherSpecies() throws Exception {
+		var unit = VdypSpecies.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.genus("B", 3);
+			builder.percentGenus(50f);
+			builder.volumeGroup(1);
+			builder.decayGroup(2);
+			builder.breakageGroup(3);
+		});
+		var otherGenus = Optional.of(VdypSite.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.siteGenus("C");
+		}));
+		var otherPolygon = Optional.of(VdypSite.build(builder -> {
+			builder.polygonIdentifier("Other", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.siteGenus("B");
+		}));
+		var otherLayer = Optional.of(VdypSite.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.VETERAN);
+			builder.siteGenus("B");
+		}));
+
+		var ex = assertThrows(IllegalArgumentException.class, () -> unit.setSite(otherGenus));
+		assertThat(ex, hasProperty("message", containsString("does not belong to species")));
+		assertThrows(IllegalArgumentException.class, () -> unit.setSite(otherPolygon));
+		assertThrows(IllegalArgumentException.class, () -> unit.setSite(otherLayer));
+		assertThat(unit.getSite(), notPresent());
+	}
+
 	@Test
 	void buildNoProperties() throws Exception {
 		var ex = assertThrows(IllegalStateException.class, () -> VdypSpecies.build(builder -> {
@@ -5,8 +5,10 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
@@ -61,6 +63,12 @@ public class MockFileResolver extends FileSystemFileResolver {
 		return get(isMap, filename, "resolveForInput");
 	}
 
+	@Override
+	public Optional<Path> resolveLocalPath(String filename) {
+		// Inputs are only available as the streams that have been added
+		return Optional.empty();
+	}
+
 	@Override
 	public OutputStream resolveForOutput(String filename) throws IOException {
 		return get(osMap, filename, "resolveForOutput");
@@ -0,0 +1,272 @@
+package ca.bc.gov.nrs.vdyp.fip;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresFactory;
+import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
+import org.apache.commons.math3.fitting.leastsquares.MultivariateJacobianFunction;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DiagonalMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.Pair;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
+import ca.bc.gov.nrs.vdyp.model.Coefficients;
+
+/**
+ * Finds the species percentages and the adjustment to the species' quadratic mean diameters that give a layer its
+ * proportions of volume and its quadratic mean diameter (SNQSOL), as {@link FipStart#findRoot} does.
+ * <p>
+ * The function solved gives the percentage by volume of each species but the last, then the layer's quadratic mean
+ * diameter. It is evaluated without changing the layer, and its Jacobian is found by forward differences, as in the
+ * general method the tests compare this one with. The point itself is not evaluated again for the Jacobian, and the
+ * columns for the species percentages, which leave every quadratic mean diameter and so every mean volume per tree
+ * unchanged, reuse the mean volumes of the point. Each iteration therefore computes the mean volumes twice rather than
+ * once per species and twice more, and the solution is exactly that of the general method.
+ * <p>
+ * An instance keeps its working arrays from one solution to the next, and must be used by only one thread at a time.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+class DiameterBaseAreaSolver {
+
+	// The optimizer's defaults are those the results of FIPSTART have always been computed with.
+	private static final LevenbergMarquardtOptimizer OPTIMIZER = new LevenbergMarquardtOptimizer();
+
+	private static final int MAX_EVALUATIONS = 200;
+	private static final int MAX_ITERATIONS = 1000;
+
+	/**
+	 * The cost of the solutions found since the statistics were last reset.
+	 *
+	 * @param solutions   the number of solutions
+	 * @param iterations  the number of iterations of the optimizer
+	 * @param evaluations the number of evaluations of the function and its Jacobian
+	 * @param nanoseconds the time taken
+	 */
+	record Statistics(int solutions, int iterations, int evaluations, long nanoseconds) {
+
+		static final Statistics NONE = new Statistics(0, 0, 0, 0);
+
+		Statistics plus(Statistics other) {
+			return new Statistics(
+					solutions + other.solutions, iterations + other.iterations, evaluations + other.evaluations,
+					nanoseconds + other.nanoseconds
+			);
+		}
+	}
+
+	private int nSpecies;
+	private float layerBaseArea;
+	private double[] diameterBase = new double[0];
+	private float[] loreyHeight = new float[0];
+	private Coefficients[] volumeCoefficients = new Coefficients[0];
+
+	// The state of the species at the point last evaluated in full
+	private float[] baseArea = new float[0];
+	private float[] quadMeanDiameter = new float[0];
+	private float[] treesPerHectare = new float[0];
+	private float[] meanVolume = new float[0];
+	private float[] wholeStemVolume = new float[0];
+
+	private double[] percent = new double[0];
+
+	private RealMatrix[] weights = new RealMatrix[0];
+
+	private Statistics statistics = Statistics.NONE;
+
+	/**
+	 * Find the root.
+	 *
+	 * @param diameterBase       the base quadratic mean diameter of each species (DQspbase)
+	 * @param goal               the percentage of each species but the last, then the quadratic mean diameter of the
+	 *                           layer
+	 * @param x                  the starting point: the percentage of each species but the last, then the adjustment to
+	 *                           the quadratic mean diameters
+	 * @param layerBaseArea      the base area of the layer
+	 * @param loreyHeight        the Lorey height of each species
+	 * @param volumeCoefficients the whole stem volume coefficients of each species' volume group
+	 * @return the root
+	 */
+	RealVector solve(
+			double[] diameterBase, double[] goal, double[] x, float layerBaseArea, float[] loreyHeight,
+			Coefficients[] volumeCoefficients
+	) {
+		long start = System.nanoTime();
+		prepare(diameterBase, layerBaseArea, loreyHeight, volumeCoefficients);
+
+		MultivariateJacobianFunction model = point -> {
+			double[] p = point.toArray();
+			double[] y = value(p);
+			return new Pair<>(new ArrayRealVector(y, false), new Array2DRowRealMatrix(jacobian(p, y), false));
+		};
+
+		var problem = LeastSquaresFactory.create(
+				model, new ArrayRealVector(goal, false), new ArrayRealVector(x, false), weight(x.length), null,
+				MAX_EVALUATIONS, MAX_ITERATIONS
+		);
+
+		var optimum = OPTIMIZER.optimize(problem);
+
+		statistics = statistics
+				.plus(new Statistics(1, optimum.getIterations(), optimum.getEvaluations(), System.nanoTime() - start));
+		return optimum.getPoint();
+	}
+
+	/**
+	 * @return the cost of the solutions found since the statistics were last reset
+	 */
+	Statistics statistics() {
+		return statistics;
+	}
+
+	void resetStatistics() {
+		statistics = Statistics.NONE;
+	}
+
+	void prepare(double[] diameterBase, float layerBaseArea, float[] loreyHeight, Coefficients[] coefficients) {
+		nSpecies = diameterBase.length;
+		this.layerBaseArea = layerBaseArea;
+		if (this.diameterBase.length < nSpecies) {
+			this.diameterBase = new double[nSpecies];
+			this.loreyHeight = new float[nSpecies];
+			this.volumeCoefficients = new Coefficients[nSpecies];
+			baseArea = new float[nSpecies];
+			quadMeanDiameter = new float[nSpecies];
+			treesPerHectare = new float[nSpecies];
+			meanVolume = new float[nSpecies];
+			wholeStemVolume = new float[nSpecies];
+			percent = new double[nSpecies];
+		}
+		System.arraycopy(diameterBase, 0, this.diameterBase, 0, nSpecies);
+		System.arraycopy(loreyHeight, 0, this.loreyHeight, 0, nSpecies);
+		System.arraycopy(coefficients, 0, this.volumeCoefficients, 0, nSpecies);
+	}
+
+	/**
+	 * The weights of the residuals, all equal to the number of species.
+	 */
+	private RealMatrix weight(int n) {
+		if (weights.length <= n) {
+			weights = Arrays.copyOf(weights, n + 1);
+		}
+		if (weights[n] == null) {
+			var diag = new double[n];
+			Arrays.fill(diag, n);
+			weights[n] = new DiagonalMatrix(diag);
+		}
+		return weights[n];
+	}
+
+	/**
+	 * Evaluate the function in full, leaving the state of each species at <code>point</code> in the working arrays.
+	 */
+	double[] value(double[] point) {
+		setPercentages(point);
+
+		final double diameterFactor = FastMath.exp(point[nSpecies - 1] / 20d);
+		for (int j = 0; j < nSpecies; j++) {
+			quadMeanDiameter[j] = (float) (7.5 + (diameterBase[j] - 7.5) * diameterFactor);
+			meanVolume[j] = FipStart.estimateMeanVolume(volumeCoefficients[j], loreyHeight[j], quadMeanDiameter[j]);
+			setBaseArea(j);
+		}
+		return result();
+	}
+
+	/**
+	 * The forward difference Jacobian at <code>point</code>, where the function is <code>y</code> and was the last
+	 * evaluated in full. The working arrays are left as they are for the last column.
+	 */
+	double[][] jacobian(double[] point, double[] y) {
+		final double machineEpsilon = 2.22e-16;
+		final double functionEpsilon = 1.19e-07;
+
+		double epsilon = FastMath.sqrt(FastMath.max(functionEpsilon, machineEpsilon));
+
+		double[] x2 = Arrays.copyOf(point, point.length);
+		double[][] result = new double[point.length][point.length];
+
+		for (int j = 0; j < point.length; j++) {
+			double temp = point[j];
+			double h = epsilon * FastMath.abs(temp);
+			if (h == 0) {
+				h = epsilon;
+			}
+			x2[j] = temp + h;
+			// The adjustment to the diameters is the last column, so the working arrays are needed no longer when it
+			// changes them
+			double[] y2 = j < nSpecies - 1 ? valueWithPercentChanged(x2, j) : value(x2);
+			x2[j] = temp;
+			for (int i = 0; i < point.length; i++) {
+				result[i][j] = (y2[i] - y[i]) / h;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Evaluate the function at a point that differs from the last evaluated in full only in the percentage of species
+	 * <code>changed</code>, so only it and the last species have other base areas, and no species has another quadratic
+	 * mean diameter.
+	 */
+	private double[] valueWithPercentChanged(double[] point, int changed) {
+		int last = nSpecies - 1;
+		float baseAreaChanged = baseArea[changed];
+		float baseAreaLast = baseArea[last];
+		float tphChanged = treesPerHectare[changed];
+		float tphLast = treesPerHectare[last];
+		float volumeChanged = wholeStemVolume[changed];
+		float volumeLast = wholeStemVolume[last];
+
+		setPercentages(point);
+		setBaseArea(changed);
+		setBaseArea(last);
+		var y = result();
+
+		baseArea[changed] = baseAreaChanged;
+		baseArea[last] = baseAreaLast;
+		treesPerHectare[changed] = tphChanged;
+		treesPerHectare[last] = tphLast;
+		wholeStemVolume[changed] = volumeChanged;
+		wholeStemVolume[last] = volumeLast;
+		return y;
+	}
+
+	private void setPercentages(double[] point) {
+		double percentSum = 0;
+		for (int i = 0; i < nSpecies - 1; i++) {
+			percent[i] = point[i];
+			percentSum += point[i];
+		}
+		percent[nSpecies - 1] = 100d - percentSum;
+	}
+
+	private void setBaseArea(int j) {
+		baseArea[j] = (float) (layerBaseArea * percent[j] / 100d);
+		treesPerHectare[j] = BaseAreaTreeDensityDiameter.treesPerHectare(baseArea[j], quadMeanDiameter[j]);
+		wholeStemVolume[j] = treesPerHectare[j] * meanVolume[j];
+	}
+
+	private double[] result() {
+		double volumeSum = 0d;
+		double treesPerHectareSum = 0d;
+		for (int j = 0; j < nSpecies; j++) {
+			treesPerHectareSum += treesPerHectare[j];
+			volumeSum += wholeStemVolume[j];
+		}
+
+		double dqFinal = BaseAreaTreeDensityDiameter.quadMeanDiameter(layerBaseArea, (float) treesPerHectareSum);
+
+		var y = new double[nSpecies];
+		if (nSpecies > 1) {
+			for (int i = 0; i < nSpecies; i++) {
+				y[i] = 100d * wholeStemVolume[i] / volumeSum;
+			}
+		}
+		y[nSpecies - 1] = dqFinal;
+		return y;
+	}
+}
@@ -10,7 +10,6 @@ import static java.lang.Math.min;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.EnumMap;
@@ -28,21 +27,12 @@ import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
-import org.apache.commons.math3.analysis.MultivariateVectorFunction;
-import org.apache.commons.math3.fitting.leastsquares.LeastSquaresFactory;
-import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem;
-import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
-import org.apache.commons.math3.linear.DiagonalMatrix;
-import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ca.bc.gov.nrs.vdyp.application.LowValueException;
 import ca.bc.gov.nrs.vdyp.application.ProcessingException;
-import ca.bc.gov.nrs.vdyp.application.StandProcessingException;
 import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
 import ca.bc.gov.nrs.vdyp.application.VdypStartApplication;
 import ca.bc.gov.nrs.vdyp.common.ControlKey;
@@ -83,7 +73,9 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 
 	public static final Logger log = LoggerFactory.getLogger(FipStart.class);
 
-	public static final float TOLERANCE = 2.0e-3f;
+	private final ThreadLocal<DiameterBaseAreaSolver> solvers = ThreadLocal.withInitial(DiameterBaseAreaSolver::new);
+
+	private DiameterBaseAreaSolver.Statistics rootFinderStatistics = DiameterBaseAreaSolver.Statistics.NONE;
 
 	public static void main(final String... args) throws IOException {
 
@@ -98,8 +90,6 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 	// implemented.
 	@Override
 	public void process() throws ProcessingException {
-		int polygonsRead = 0;
-		int polygonsWritten = 0;
 		try (
 				var polyStream = this.<FipPolygon>getStreamingParser(ControlKey.FIP_INPUT_YIELD_POLY);
 				var layerStream = this.<Map<LayerType, FipLayer>>getStreamingParser(ControlKey.FIP_INPUT_YIELD_LAYER);
@@ -107,40 +97,40 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		) {
 			log.atDebug().setMessage("Start Stand processing").log();
 
-			while (polyStream.hasNext()) {
-
-				// FIP_GET
-				log.atInfo().setMessage("Getting polygon {}").addArgument(polygonsRead + 1).log();
-				var polygon = getPolygon(polyStream, layerStream, speciesStream);
-				try {
-
-					var resultPoly = processPolygon(polygonsRead, polygon);
-					if (resultPoly.isPresent()) {
-						polygonsRead++;
-
-						// Output
-						vriWriter.writePolygonWithSpeciesAndUtilization(resultPoly.get());
-
-						polygonsWritten++;
-					}
-
-					log.atInfo().setMessage("Read {} polygons and wrote {}").addArgument(polygonsRead)
-							.addArgument(polygonsWritten);
-
-				} catch (StandProcessingException ex) {
-					// TODO include some sort of hook for different forms of user output
-					// TODO Implement single stand mode that propagates the exception
-
-					log.atWarn().setMessage("Polygon {} bypassed").addArgument(polygon.getPolygonIdentifier())
-							.setCause(ex);
-				}
+			processPolygons(
+					() -> polyStream.hasNext() ? Optional.of(getPolygon(polyStream, layerStream, speciesStream))
+							: Optional.empty(),
+					this::processPolygon
+			);
 
-			}
+			var statistics = getRootFinderStatistics();
+			log.atInfo().setMessage("Root finding: {} solutions, {} iterations, {} evaluations in {} ms")
+					.addArgument(statistics.solutions()).addArgument(statistics.iterations())
+					.addArgument(statistics.evaluations()).addArgument(statistics.nanoseconds() / 1_000_000).log();
 		} catch (IOException | ResourceParseException ex) {
 			throw new ProcessingException("Error while reading or writing data.", ex);
 		}
 	}
 
+	/**
+	 * @return the cost of the root finding of all the polygons processed so far
+	 */
+	synchronized DiameterBaseAreaSolver.Statistics getRootFinderStatistics() {
+		return rootFinderStatistics;
+	}
+
+	private void reportRootFinding(FipPolygon polygon) {
+		var statistics = solvers.get().statistics();
+		synchronized (this) {
+			rootFinderStatistics = rootFinderStatistics.plus(statistics);
+		}
+		log.atDebug()
+				.setMessage("Polygon {} root finding: {} solutions, {} iterations, {} evaluations in {} microseconds")
+				.addArgument(polygon.getPolygonIdentifier()).addArgument(statistics.solutions())
+				.addArgument(statistics.iterations()).addArgument(statistics.evaluations())
+				.addArgument(statistics.nanoseconds() / 1_000).log();
+	}
+
 	static final EnumSet<PolygonMode> ACCEPTABLE_MODES = EnumSet.of(PolygonMode.START, PolygonMode.YOUNG);
 
 	Optional<VdypPolygon> processPolygon(int polygonsRead, FipPolygon polygon)
@@ -149,6 +139,8 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		log.atInfo().setMessage("Read polygon {}, preparing to process").addArgument(polygon.getPolygonIdentifier())
 				.log();
 
+		solvers.get().resetStatistics();
+
 		// if (MODE .eq. -1) go to 100
 
 		final var mode = polygon.getMode().orElse(PolygonMode.START);
@@ -194,6 +186,8 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		);
 		processedLayers.put(LayerType.PRIMARY, resultPrimeLayer);
 
+		reportRootFinding(polygon);
+
 		resultPoly = createVdypPolygon(polygon, processedLayers);
 
 		float baseAreaTotalPrime = resultPrimeLayer.getBaseAreaByUtilization().getAll(); // BA_TOTL1
@@ -324,11 +318,12 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		result.setSpecies(vdypSpecies);
 
 		float leadHeight = fipLayer.getHeight().orElse(0f);
+		float diameterAdjustment = 0f;
 		for (var iPass = 1; iPass <= maxPass; iPass++) {
 			findPrimaryHeightPass(bec, tphTotal, vdypSpecies, vdypPrimarySpecies, targetPercentages, leadHeight, iPass);
 
-			// ROOTF01
-			findRootsForDiameterAndBaseArea(result, fipLayer, bec, iPass + 1);
+			// ROOTF01, starting from the previous pass's solution
+			diameterAdjustment = findRootsForDiameterAndBaseArea(result, fipLayer, bec, iPass + 1, diameterAdjustment);
 		}
 
 		estimateSmallComponents(fipPolygon, result);
@@ -384,6 +379,18 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 	// ROOTF01
 	void findRootsForDiameterAndBaseArea(VdypLayer result, FipLayerPrimary fipLayer, BecDefinition bec, int source)
 			throws ProcessingException {
+		findRootsForDiameterAndBaseArea(result, fipLayer, bec, source, 0f);
+	}
+
+	/**
+	 * ROOTF01, starting the search from the given adjustment to the species' quadratic mean diameters.
+	 *
+	 * @return the adjustment to the species' quadratic mean diameters that was found, or 0 if the layer has only one
+	 *         species.
+	 */
+	float findRootsForDiameterAndBaseArea(
+			VdypLayer result, FipLayerPrimary fipLayer, BecDefinition bec, int source, float diameterAdjustmentStart
+	) throws ProcessingException {
 
 		var quadMeanDiameterTotal = result.getQuadraticMeanDiameterByUtilization().getAll(); // DQ_TOT
 		var baseAreaTotal = result.getBaseAreaByUtilization().getAll(); // BA_TOT
@@ -392,6 +399,7 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		Map<String, Float> xMap = new LinkedHashMap<>(); // X
 
 		float treesPerHectareSum;
+		float diameterAdjustment = 0f;
 
 		assert result.getSpecies().size() > 0;
 
@@ -494,14 +502,15 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 				xMap.put(spec.getGenus(), spec.getPercentGenus());
 			}, spec -> {
 				goal.put(spec.getGenus(), quadMeanDiameterTotal);
-				xMap.put(spec.getGenus(), 0f);
+				xMap.put(spec.getGenus(), diameterAdjustmentStart);
 			});
 
 			var xVec = xMap.values().stream().mapToDouble(v -> (double) v).toArray();
 			var goalVec = goal.values().stream().mapToDouble(v -> (double) v).toArray();
 
 			// SNQSOL
-			var rootVec = this.findRoot(quadMeanDiameterBase, goalVec, xVec, result, TOLERANCE);
+			var rootVec = this.findRoot(quadMeanDiameterBase, goalVec, xVec, result);
+			diameterAdjustment = (float) rootVec.getEntry(rootVec.getDimension() - 1);
 
 			var rootMap = new LinkedHashMap<String, Float>();
 			{
@@ -576,6 +585,7 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 				}
 			}
 		}
+		return diameterAdjustment;
 	}
 
 	VdypLayer processLayerAsVeteran(FipPolygon fipPolygon, FipLayer fipLayer) throws ProcessingException {
@@ -869,12 +879,10 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 				controlMap, ControlKey.TOTAL_STAND_WHOLE_STEM_VOL, Map.class
 		);
 
-		var coe = coeMap.get(volumeGroup);
-
-		if (coe == null) {
-			throw new IllegalArgumentException("Coefficients not found for volume group " + volumeGroup);
-		}
+		return estimateMeanVolume(volumeCoefficients(coeMap, volumeGroup), loreyHeight, quadMeanDiameter);
+	}
 
+	static float estimateMeanVolume(Coefficients coe, float loreyHeight, float quadMeanDiameter) {
 		float lvMean = //
 				coe.getCoe(0) + //
 						coe.getCoe(1) * log(quadMeanDiameter) + //
@@ -889,69 +897,6 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		return exp(lvMean);
 	}
 
-	double[] rootFinderFunction(double[] point, VdypLayer layer, double[] diameterBase) {
-
-		var percentL1 = new double[point.length];
-		double percentSum = 0;
-		if (point.length > 1) {
-			for (int i = 0; i < point.length - 1; i++) {
-				percentL1[i] = point[i];
-				percentSum += point[i];
-			}
-		}
-		percentL1[point.length - 1] = 100d - percentSum;
-
-		double volumeSum = 0d;
-		double treesPerHectareSum = 0d;
-
-		final var layerBa = layer.getBaseAreaByUtilization().getAll();
-
-		// Iterate over the fixed order list with an index
-		{
-			var it = layer.getSpecies().entrySet().iterator();
-			for (int j = 0; it.hasNext(); j++) {
-				var spec = it.next().getValue();
-
-				// These side effects are evil but that's how VDYP7 works.
-
-				final float quadMeanDiameter = (float) (7.5
-						+ (diameterBase[j] - 7.5) * FastMath.exp(point[point.length - 1] / 20d));
-				spec.getQuadraticMeanDiameterByUtilization().setAll(quadMeanDiameter);
-
-				final float baseArea = (float) (layerBa * percentL1[j] / 100d);
-				spec.getBaseAreaByUtilization().setAll(baseArea);
-
-				final float tph = BaseAreaTreeDensityDiameter.treesPerHectare(baseArea, quadMeanDiameter);
-				spec.getTreesPerHectareByUtilization().setAll(tph);
-				treesPerHectareSum += tph;
-
-				final float loreyHeight = spec.getLoreyHeightByUtilization().getAll();
-
-				final float meanVolume = estimateMeanVolume(spec.getVolumeGroup(), loreyHeight, quadMeanDiameter);
-				final float wholeStemVolume = tph * meanVolume;
-
-				spec.getWholeStemVolumeByUtilization().setAll(wholeStemVolume);
-				volumeSum += wholeStemVolume;
-			}
-		}
-
-		double dqFinal = BaseAreaTreeDensityDiameter
-				.quadMeanDiameter(layer.getBaseAreaByUtilization().getAll(), (float) treesPerHectareSum);
-
-		var y = new double[point.length];
-
-		if (layer.getSpecies().size() > 1) {
-			var it = layer.getSpecies().values().iterator();
-			for (int i = 0; it.hasNext(); i++) {
-				var spec = it.next();
-
-				y[i] = 100d * spec.getWholeStemVolumeByUtilization().getAll() / volumeSum;
-			}
-		}
-		y[y.length - 1] = dqFinal;
-		return y;
-	}
-
 	@Override
 	protected ValueOrMarker<Float, Boolean>
 			isVeteranForEstimatePercentForestLand(FipPolygon polygon, Optional<FipLayer> vetLayer) {
@@ -961,82 +906,34 @@ public class FipStart extends VdypStartApplication<FipPolygon, FipLayer, FipSpec
 		return super.isVeteranForEstimatePercentForestLand(polygon, vetLayer);
 	}
 
-	/**
-	 * Estimate the Jacobian Matrix of a function using forward difference
-	 *
-	 * @param x
-	 * @param func
-	 * @return
-	 */
-	double[][] estimateJacobian(double[] x, MultivariateVectorFunction func) {
-		return estimateJacobian(x, func.value(x), func);
-	}
-
-	/**
-	 * Estimate the Jacobian Matrix of a function using forward difference
-	 *
-	 * @param x
-	 * @param y
-	 * @param func
-	 * @return
-	 */
-	double[][] estimateJacobian(double[] x, double[] y, MultivariateVectorFunction func) {
-		// TODO
-		final double machineEpsilon = 2.22e-16;
-		final double functionEpsilon = 1.19e-07;
-
-		double epsilon = FastMath.sqrt(FastMath.max(functionEpsilon, machineEpsilon));
-
-		double[] x2 = Arrays.copyOf(x, x.length);
-
-		double[][] result = new double[x.length][x.length];
+	RealVector findRoot(double[] diameterBase, double[] goal, double[] x, VdypLayer layer) {
+		var coeMap = Utils.<Map<Integer, Coefficients>>expectParsedControl(
+				controlMap, ControlKey.TOTAL_STAND_WHOLE_STEM_VOL, Map.class
+		);
 
-		for (int j = 0; j < x.length; j++) {
-			double temp = x[j];
-			double h = epsilon * FastMath.abs(temp);
-			if (h == 0) {
-				h = epsilon;
-			}
-			x2[j] = temp + h;
-			double[] y2 = func.value(x2);
-			x2[j] = temp;
-			for (int i = 0; i < x.length; i++) {
-				result[i][j] = (y2[i] - y[i]) / h;
+		var species = layer.getSpecies().values();
+		var loreyHeights = new float[species.size()];
+		var volumeCoefficients = new Coefficients[species.size()];
+		{
+			int j = 0;
+			for (var spec : species) {
+				loreyHeights[j] = spec.getLoreyHeightByUtilization().getAll();
+				volumeCoefficients[j++] = volumeCoefficients(coeMap, spec.getVolumeGroup());
 			}
 		}
-		return result;
-	}
-
-	RealMatrix identityMatrix(int n) {
-		var diag = new double[n];
-		Arrays.fill(diag, n);
-		return new DiagonalMatrix(diag);
 
-	}
-
-	RealVector findRoot(double[] diameterBase, double[] goal, double[] x, VdypLayer layer, double tolerance) {
-		MultivariateVectorFunction func = point -> rootFinderFunction(point, layer, diameterBase);
-
-		MultivariateMatrixFunction jacFunc = point -> estimateJacobian(point, func);
-
-		LevenbergMarquardtOptimizer optimizer = new LevenbergMarquardtOptimizer();
-
-		optimizer.withCostRelativeTolerance(tolerance); // Not sure if this is the right tolerance
-
-		LeastSquaresProblem leastSquaresProblem = LeastSquaresFactory.create(
-				func, //
-				jacFunc, //
-				goal, //
-				x, //
-				identityMatrix(x.length), //
-				null, //
-				200, //
-				1000 //
+		return solvers.get().solve(
+				diameterBase, goal, x, layer.getBaseAreaByUtilization().getAll(), loreyHeights, volumeCoefficients
 		);
+	}
 
-		var result = optimizer.optimize(leastSquaresProblem);
+	private static Coefficients volumeCoefficients(Map<Integer, Coefficients> coeMap, int volumeGroup) {
+		var coe = coeMap.get(volumeGroup);
 
-		return result.getPoint();
+		if (coe == null) {
+			throw new IllegalArgumentException("Coefficients not found for volume group " + volumeGroup);
+		}
+		return coe;
 	}
 
 	@Override
@@ -0,0 +1,16 @@
+package ca.bc.gov.nrs.vdyp.fip;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypStartJobRunner;
+
+/**
+ * Runs FIPSTART as a job of a {@link ca.bc.gov.nrs.vdyp.application.VdypJobServer}.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+public class FipStartJobRunner extends VdypStartJobRunner {
+
+	public FipStartJobRunner() {
+		super(VdypApplicationIdentifier.FIP_START, FipStart::new);
+	}
+}
@@ -9,6 +9,7 @@ import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.present;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -19,12 +20,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import ca.bc.gov.nrs.vdyp.common.ControlKey;
 import ca.bc.gov.nrs.vdyp.common.GenusDefinitionMap;
@@ -572,6 +577,54 @@ class FipControlParserTest {
 		);
 	}
 
+	@Test
+	void testParseFromCoefficientBundle(@TempDir Path dir) throws Exception {
+		var bundlePath = dir.resolve("FIPSTART.bundle");
+		var expected = parse(new FipControlParser(), TestUtils.class, "FIPSTART.CTR");
+
+		BaseControlParser compilingParser = new FipControlParser();
+		compilingParser.setCoefficientBundlePath(bundlePath);
+		parse(compilingParser, TestUtils.class, "FIPSTART.CTR");
+
+		BaseControlParser parser = new FipControlParser();
+		parser.setCoefficientBundlePath(bundlePath);
+		var result = parse(parser, TestUtils.class, "FIPSTART.CTR");
+
+		assertThat(result.keySet(), equalTo(expected.keySet()));
+		assertThat(
+				result,
+				(Matcher) controlMapHasEntry(
+						ControlKey.BEC_DEF,
+						allOf(instanceOf(BecLookup.class), hasBec("AT", present(instanceOf(BecDefinition.class))))
+				)
+		);
+		assertThat(
+				result,
+				(Matcher) controlMapHasEntry(ControlKey.FIP_INPUT_YIELD_POLY, instanceOf(StreamingParserFactory.class))
+		);
+	}
+
+	@Test
+	void testCompileCoefficientBundle(@TempDir Path dir) throws Exception {
+		var bundlePath = dir.resolve("FIPSTART.bundle");
+		var expected = parse(new FipControlParser(), TestUtils.class, "FIPSTART.CTR");
+
+		try (var app = new FipStart()) {
+			app.compileCoefficientBundle(TestUtils.fileResolver(TestUtils.class), bundlePath, "FIPSTART.CTR");
+		}
+
+		// A parse that found the bundle out of date would write it again
+		var compiled = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(bundlePath, compiled);
+
+		BaseControlParser parser = new FipControlParser();
+		parser.setCoefficientBundlePath(bundlePath);
+		var result = parse(parser, TestUtils.class, "FIPSTART.CTR");
+
+		assertThat(result.keySet(), equalTo(expected.keySet()));
+		assertThat(Files.getLastModifiedTime(bundlePath), is(compiled));
+	}
+
 	static InputStream addToEnd(InputStream is, String... lines) {
 		var appendix = new ByteArrayInputStream(String.join("\r\n", lines).getBytes(StandardCharsets.US_ASCII));
 		var result = new SequenceInputStream(is, appendix);
@@ -0,0 +1,20 @@
+package ca.bc.gov.nrs.vdyp.fip;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypJobServer;
+
+class FipStartJobRunnerTest {
+
+	@Test
+	void testIsRegistered() {
+		assertThat(VdypJobServer.findRunners(), hasItem(instanceOf(FipStartJobRunner.class)));
+		assertThat(new FipStartJobRunner().getId(), is(VdypApplicationIdentifier.FIP_START));
+	}
+}
@@ -2,6 +2,8 @@ package ca.bc.gov.nrs.vdyp.fip;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -9,8 +11,11 @@ import java.util.Map;
 
 import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
 import org.apache.commons.math3.analysis.MultivariateVectorFunction;
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresFactory;
+import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DiagonalMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 import org.apache.commons.math3.util.FastMath;
@@ -20,8 +25,12 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
 import ca.bc.gov.nrs.vdyp.application.ApplicationTestUtils;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
 import ca.bc.gov.nrs.vdyp.fip.test.FipTestUtils;
 import ca.bc.gov.nrs.vdyp.io.parse.coe.GenusDefinitionParser;
+import ca.bc.gov.nrs.vdyp.model.Coefficients;
 import ca.bc.gov.nrs.vdyp.model.LayerType;
 import ca.bc.gov.nrs.vdyp.model.VdypLayer;
 import ca.bc.gov.nrs.vdyp.model.VdypSpecies;
@@ -40,7 +49,7 @@ class RootFinderTest {
 
 			var layer = mockLayer1(control);
 
-			MultivariateVectorFunction func = (point) -> app.rootFinderFunction(point, layer, diameterBase);
+			MultivariateVectorFunction func = (point) -> rootFinderFunction(app, point, layer, diameterBase);
 
 			double[] y = func.value(x);
 			assertThat(
@@ -64,9 +73,9 @@ class RootFinderTest {
 
 			var layer = mockLayer1(control);
 
-			MultivariateVectorFunction func = (point) -> app.rootFinderFunction(point, layer, diameterBase);
+			MultivariateVectorFunction func = (point) -> rootFinderFunction(app, point, layer, diameterBase);
 
-			MultivariateMatrixFunction jacFunc = (point) -> app.estimateJacobian(point, func);
+			MultivariateMatrixFunction jacFunc = (point) -> estimateJacobian(point, func);
 
 			RealMatrix jacobian = new Array2DRowRealMatrix(jacFunc.value(x));
 
@@ -96,16 +105,207 @@ class RootFinderTest {
 
 			var layer = mockLayer1(control);
 
-			var point = app.findRoot(diameterBase, goal, x, layer, 2.0e-3f);
+			var point = app.findRoot(diameterBase, goal, x, layer);
 
 			assertThat(
-					point, vectorCloseTo(
+					point,
+					vectorCloseTo(
 							new double[] { 0.891877294, 11.4491625, 66.0574265, 12.3855982, 0.00443319743 }, 2.0E-03
 					)
 			);
 		}
 	}
 
+	@Test
+	void testSolverAsGeneralMethod() throws IOException {
+		var control = FipTestUtils.loadControlMap();
+		try (var app = new FipStart()) {
+			ApplicationTestUtils.setControlMap(app, control);
+
+			var diameterBase = new double[] { 31.7022133, 26.4500256, 33.9676628, 21.4272919, 34.4568748 };
+			var goal = new double[] { 1d, 7d, 74d, 9d, 30.2601795d };
+			var x = new double[] { 1d, 7d, 74d, 9d, 0d };
+
+			var layer = mockLayer1(control);
+			MultivariateVectorFunction func = (point) -> rootFinderFunction(app, point, layer, diameterBase);
+			MultivariateMatrixFunction jacFunc = (point) -> estimateJacobian(point, func);
+			var weights = new double[x.length];
+			Arrays.fill(weights, x.length);
+			var expected = new LevenbergMarquardtOptimizer().optimize(
+					LeastSquaresFactory.create(func, jacFunc, goal, x, new DiagonalMatrix(weights), null, 200, 1000)
+			);
+
+			var point = app.findRoot(diameterBase, goal, x, mockLayer1(control));
+
+			// Exactly, not merely closely
+			assertThat(point, is(expected.getPoint()));
+		}
+	}
+
+	@Test
+	void testSolverValueAndJacobian() throws IOException {
+		var control = FipTestUtils.loadControlMap();
+		try (var app = new FipStart()) {
+			ApplicationTestUtils.setControlMap(app, control);
+
+			var diameterBase = new double[] { 31.7022133, 26.4500256, 33.9676628, 21.4272919, 34.4568748 };
+			var layer = mockLayer1(control);
+			MultivariateVectorFunction func = (point) -> rootFinderFunction(app, point, layer, diameterBase);
+
+			var coeMap = Utils.<Map<Integer, Coefficients>>expectParsedControl(
+					control, ControlKey.TOTAL_STAND_WHOLE_STEM_VOL, Map.class
+			);
+			var species = layer.getSpecies().values().stream().toList();
+			var loreyHeights = new float[species.size()];
+			var coefficients = new Coefficients[species.size()];
+			for (int j = 0; j < species.size(); j++) {
+				loreyHeights[j] = species.get(j).getLoreyHeightByUtilization().getAll();
+				coefficients[j] = coeMap.get(species.get(j).getVolumeGroup());
+			}
+
+			var solver = new DiameterBaseAreaSolver();
+			solver.prepare(diameterBase, layer.getBaseAreaByUtilization().getAll(), loreyHeights, coefficients);
+
+			for (var x : new double[][] { { 1d, 7d, 74d, 9d, 0d }, { 0.9, 11.4, 66.1, 12.4, 0.0044 },
+					{ 0d, 50d, 25d, 0d, -3d } }) {
+				var y = solver.value(x);
+				assertThat(y, is(func.value(x)));
+				assertThat(solver.jacobian(x, y), is(estimateJacobian(x, func)));
+			}
+		}
+	}
+
+	@Test
+	void testSolverStatistics() {
+		var solver = new DiameterBaseAreaSolver();
+		assertThat(solver.statistics(), is(DiameterBaseAreaSolver.Statistics.NONE));
+
+		var coe = new Coefficients(new float[] { -10f, 1f, 1f, 0f, 0f, 0f, 0f, 0f, 0f }, 0);
+		solver.solve(
+				new double[] { 20d, 30d }, new double[] { 40d, 25d }, new double[] { 40d, 0d }, 30f,
+				new float[] { 20f, 25f }, new Coefficients[] { coe, coe }
+		);
+		var statistics = solver.statistics();
+		assertThat(statistics.solutions(), is(1));
+		assertThat(statistics.iterations(), greaterThan(0));
+		assertThat(statistics.evaluations(), greaterThan(0));
+
+		solver.resetStatistics();
+		assertThat(solver.statistics(), is(DiameterBaseAreaSolver.Statistics.NONE));
+	}
+
+	/**
+	 * The function of SNQSOL as the general method of VDYP7 evaluates it, setting the species of the layer as it goes.
+	 * Kept as the oracle that {@link DiameterBaseAreaSolver} is checked against.
+	 */
+	static double[] rootFinderFunction(FipStart app, double[] point, VdypLayer layer, double[] diameterBase) {
+
+		var percentL1 = new double[point.length];
+		double percentSum = 0;
+		if (point.length > 1) {
+			for (int i = 0; i < point.length - 1; i++) {
+				percentL1[i] = point[i];
+				percentSum += point[i];
+			}
+		}
+		percentL1[point.length - 1] = 100d - percentSum;
+
+		double volumeSum = 0d;
+		double treesPerHectareSum = 0d;
+
+		final var layerBa = layer.getBaseAreaByUtilization().getAll();
+
+		// Iterate over the fixed order list with an index
+		{
+			var it = layer.getSpecies().entrySet().iterator();
+			for (int j = 0; it.hasNext(); j++) {
+				var spec = it.next().getValue();
+
+				// These side effects are evil but that's how VDYP7 works.
+
+				final float quadMeanDiameter = (float) (7.5
+						+ (diameterBase[j] - 7.5) * FastMath.exp(point[point.length - 1] / 20d));
+				spec.getQuadraticMeanDiameterByUtilization().setAll(quadMeanDiameter);
+
+				final float baseArea = (float) (layerBa * percentL1[j] / 100d);
+				spec.getBaseAreaByUtilization().setAll(baseArea);
+
+				final float tph = BaseAreaTreeDensityDiameter.treesPerHectare(baseArea, quadMeanDiameter);
+				spec.getTreesPerHectareByUtilization().setAll(tph);
+				treesPerHectareSum += tph;
+
+				final float loreyHeight = spec.getLoreyHeightByUtilization().getAll();
+
+				final float meanVolume = app.estimateMeanVolume(spec.getVolumeGroup(), loreyHeight, quadMeanDiameter);
+				final float wholeStemVolume = tph * meanVolume;
+
+				spec.getWholeStemVolumeByUtilization().setAll(wholeStemVolume);
+				volumeSum += wholeStemVolume;
+			}
+		}
+
+		double dqFinal = BaseAreaTreeDensityDiameter
+				.quadMeanDiameter(layer.getBaseAreaByUtilization().getAll(), (float) treesPerHectareSum);
+
+		var y = new double[point.length];
+
+		if (layer.getSpecies().size() > 1) {
+			var it = layer.getSpecies().values().iterator();
+			for (int i = 0; it.hasNext(); i++) {
+				var spec = it.next();
+
+				y[i] = 100d * spec.getWholeStemVolumeByUtilization().getAll() / volumeSum;
+			}
+		}
+		y[y.length - 1] = dqFinal;
+		return y;
+	}
+
+	/**
+	 * Estimate the Jacobian Matrix of a function using forward difference, as the general method of VDYP7 does
+	 *
+	 * @param x
+	 * @param func
+	 * @return
+	 */
+	static double[][] estimateJacobian(double[] x, MultivariateVectorFunction func) {
+		return estimateJacobian(x, func.value(x), func);
+	}
+
+	/**
+	 * Estimate the Jacobian Matrix of a function using forward difference
+	 *
+	 * @param x
+	 * @param y
+	 * @param func
+	 * @return
+	 */
+	static double[][] estimateJacobian(double[] x, double[] y, MultivariateVectorFunction func) {
+		final double machineEpsilon = 2.22e-16;
+		final double functionEpsilon = 1.19e-07;
+
+		double epsilon = FastMath.sqrt(FastMath.max(functionEpsilon, machineEpsilon));
+
+		double[] x2 = Arrays.copyOf(x, x.length);
+
+		double[][] result = new double[x.length][x.length];
+
+		for (int j = 0; j < x.length; j++) {
+			double temp = x[j];
+			double h = epsilon * FastMath.abs(temp);
+			if (h == 0) {
+				h = epsilon;
+			}
+			x2[j] = temp + h;
+			double[] y2 = func.value(x2);
+			x2[j] = temp;
+			for (int i = 0; i < x.length; i++) {
+				result[i][j] = (y2[i] - y[i]) / h;
+			}
+		}
+		return result;
+	}
+
 	VdypLayer mockLayer1(Map<String, Object> control) {
 
 		final var layer = VdypLayer.build(builder -> {
@@ -84,7 +84,10 @@ class ITFipStart {
 		}
 
 		// Create a second control file pointing to the input and output
-		ioControlFile = inputDir.resolve("fip.ctr");
+		ioControlFile = writeIoControlFile(inputDir.resolve("fip.ctr"), outputDir);
+	}
+
+	private Path writeIoControlFile(Path ioControlFile, Path outputDir) throws IOException {
 		try (
 				var os = Files.newOutputStream(ioControlFile); //
 				var writer = new ControlFileWriter(os);
@@ -104,6 +107,7 @@ class ITFipStart {
 			writer.writeEntry(18, outputDir.resolve(UTILIZATION_OUTPUT_NAME).toString(), "VRI Utilization Output");
 
 		}
+		return ioControlFile;
 	}
 
 	@Test
@@ -279,6 +283,37 @@ class ITFipStart {
 
 	}
 
+	@Test
+	void controlFileMultithreaded() throws IOException, ResourceParseException, ProcessingException {
+		var parallelOutputDir = Files.createDirectory(outputDir.resolve("parallel"));
+		var parallelControlFile = writeIoControlFile(inputDir.resolve("fip-parallel.ctr"), parallelOutputDir);
+
+		try (VdypStartApplication<FipPolygon, FipLayer, FipSpecies, FipSite> app = new FipStart();) {
+
+			var resolver = new FileSystemFileResolver(configDir);
+
+			app.init(resolver, baseControlFile.toString(), ioControlFile.toString());
+
+			app.process();
+		}
+
+		try (VdypStartApplication<FipPolygon, FipLayer, FipSpecies, FipSite> app = new FipStart();) {
+
+			var resolver = new FileSystemFileResolver(configDir);
+
+			app.setThreads(4);
+			app.init(resolver, baseControlFile.toString(), parallelControlFile.toString());
+
+			app.process();
+		}
+
+		// Polygons must be written in input order, with exactly the results of the serial run
+		for (var name : List.of(POLYGON_OUTPUT_NAME, SPECIES_OUTPUT_NAME, UTILIZATION_OUTPUT_NAME)) {
+			assertFileExists(parallelOutputDir.resolve(name));
+			assertFileMatches(parallelOutputDir.resolve(name), outputDir.resolve(name), String::equals);
+		}
+	}
+
 	@Test
 	void utilizationFileLineMatcherSelfTest() {
 		assertTrue(
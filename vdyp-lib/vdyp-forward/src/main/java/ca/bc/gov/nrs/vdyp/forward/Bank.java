@@ -53,6 +53,8 @@ class Bank {
 	public final float[/* nSpecies + 1, including 0 */][/* all ucs */] closeUtilizationVolumes; // BANK1 VOLCUB
 	public final float[/* nSpecies + 1, including 0 */][/* all ucs */] cuVolumesMinusDecay; // BANK1 VOL_DB
 	public final float[/* nSpecies + 1, including 0 */][/* all ucs */] cuVolumesMinusDecayAndWastage; // BANK1 VOL_DW_B
+	// BANK1 VOL_DWBB
+	public final float[/* nSpecies + 1, including 0 */][/* all ucs */] cuVolumesMinusDecayWastageAndBreakage;
 	public final float[/* nSpecies + 1, including 0 */][/* uc -1 and 0 only */] loreyHeights; // BANK1 HLB
 	public final float[/* nSpecies + 1, including 0 */][/* all ucs */] quadMeanDiameters; // BANK1 DQB
 	public final float[/* nSpecies + 1, including 0 */][/* all ucs */] treesPerHectare; // BANK1 TPHB
@@ -93,6 +95,7 @@ class Bank {
 		closeUtilizationVolumes = new float[getNSpecies() + 1][nUtilizationClasses];
 		cuVolumesMinusDecay = new float[getNSpecies() + 1][nUtilizationClasses];
 		cuVolumesMinusDecayAndWastage = new float[getNSpecies() + 1][nUtilizationClasses];
+		cuVolumesMinusDecayWastageAndBreakage = new float[getNSpecies() + 1][nUtilizationClasses];
 		loreyHeights = new float[getNSpecies() + 1][2];
 		quadMeanDiameters = new float[getNSpecies() + 1][nUtilizationClasses];
 		treesPerHectare = new float[getNSpecies() + 1][nUtilizationClasses];
@@ -122,6 +125,7 @@ class Bank {
 		this.closeUtilizationVolumes = copy(s.closeUtilizationVolumes);
 		this.cuVolumesMinusDecay = copy(s.cuVolumesMinusDecay);
 		this.cuVolumesMinusDecayAndWastage = copy(s.cuVolumesMinusDecayAndWastage);
+		this.cuVolumesMinusDecayWastageAndBreakage = copy(s.cuVolumesMinusDecayWastageAndBreakage);
 		this.dominantHeights = copy(s.dominantHeights);
 		this.loreyHeights = copy(s.loreyHeights);
 		this.percentagesOfForestedLand = copy(s.percentagesOfForestedLand);
@@ -180,6 +184,8 @@ class Bank {
 			closeUtilizationVolumes[index][ucIndex] = su.getValue().getCloseUtilizationVolume();
 			cuVolumesMinusDecay[index][ucIndex] = su.getValue().getCuVolumeMinusDecay();
 			cuVolumesMinusDecayAndWastage[index][ucIndex] = su.getValue().getCuVolumeMinusDecayWastage();
+			cuVolumesMinusDecayWastageAndBreakage[index][ucIndex] = su.getValue()
+					.getCuVolumeMinusDecayWastageBreakage();
 			if (ucIndex < 2 /* only uc 0 and 1 have a lorey height */) {
 				loreyHeights[index][ucIndex] = su.getValue().getLoreyHeight();
 			}
@@ -197,6 +203,7 @@ class Bank {
 			closeUtilizationVolumes[index][ucIndex] = Float.NaN;
 			cuVolumesMinusDecay[index][ucIndex] = Float.NaN;
 			cuVolumesMinusDecayAndWastage[index][ucIndex] = Float.NaN;
+			cuVolumesMinusDecayWastageAndBreakage[index][ucIndex] = Float.NaN;
 			if (ucIndex < 2 /* only uc 0 and 1 have a lorey height */) {
 				loreyHeights[index][ucIndex] = Float.NaN;
 			}
@@ -0,0 +1,135 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+import ca.bc.gov.nrs.vdyp.model.LayerType;
+import ca.bc.gov.nrs.vdyp.model.SmallUtilizationClassVariable;
+import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
+import ca.bc.gov.nrs.vdyp.model.VolumeVariable;
+
+/**
+ * The compatibility variables of a polygon (LCV1 and LCVS): for each species, a volume variable for each utilization
+ * class, volume variable and layer, basal area and quadratic mean diameter variables for each utilization class and
+ * layer, and the small component variables of the primary layer.
+ * <p>
+ * The values are held in flat float arrays, indexed by species (1 to nSpecies, like the banks), then utilization class,
+ * volume variable and layer. The arrays are kept by the {@link ForwardProcessingState} and reused for each polygon it
+ * processes; they grow only when a polygon has more species than any before it.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+class CompatibilityVariables {
+
+	// The utilization classes are U75TO125 to OVER225, whose indices are 1 to 4
+	private static final int N_UTILIZATION_CLASSES = UtilizationClass.ALL_BUT_SMALL_ALL.size();
+	private static final int N_VOLUME_VARIABLES = VolumeVariable.values().length;
+	// The layers are PRIMARY and VETERAN
+	private static final int N_LAYERS = LayerType.ALL_USED.size();
+	private static final int N_SMALL_VARIABLES = SmallUtilizationClassVariable.values().length;
+
+	private static final int VOLUMES_PER_SPECIES = N_UTILIZATION_CLASSES * N_VOLUME_VARIABLES * N_LAYERS;
+	private static final int AREAS_PER_SPECIES = N_UTILIZATION_CLASSES * N_LAYERS;
+
+	private int nSpecies = 0;
+
+	private float[] volumes = new float[0];
+	private float[] basalAreas = new float[0];
+	private float[] quadMeanDiameters = new float[0];
+	private float[] small = new float[0];
+
+	/**
+	 * Prepare for a polygon with the given number of species, setting all variables to 0.
+	 */
+	void reset(int nSpecies) {
+		this.nSpecies = nSpecies;
+
+		// Slot 0 is unused, as it is in the banks
+		int slots = nSpecies + 1;
+		if (slots * VOLUMES_PER_SPECIES > volumes.length) {
+			volumes = new float[slots * VOLUMES_PER_SPECIES];
+			basalAreas = new float[slots * AREAS_PER_SPECIES];
+			quadMeanDiameters = new float[slots * AREAS_PER_SPECIES];
+			small = new float[slots * N_SMALL_VARIABLES];
+		} else {
+			Arrays.fill(volumes, 0, slots * VOLUMES_PER_SPECIES, 0f);
+			Arrays.fill(basalAreas, 0, slots * AREAS_PER_SPECIES, 0f);
+			Arrays.fill(quadMeanDiameters, 0, slots * AREAS_PER_SPECIES, 0f);
+			Arrays.fill(small, 0, slots * N_SMALL_VARIABLES, 0f);
+		}
+	}
+
+	float getVolume(int speciesIndex, UtilizationClass uc, VolumeVariable volumeVariable, LayerType layerType) {
+		return volumes[volumeIndex(speciesIndex, uc, volumeVariable, layerType)];
+	}
+
+	void setVolume(
+			int speciesIndex, UtilizationClass uc, VolumeVariable volumeVariable, LayerType layerType, float value
+	) {
+		volumes[volumeIndex(speciesIndex, uc, volumeVariable, layerType)] = value;
+	}
+
+	float getBasalArea(int speciesIndex, UtilizationClass uc, LayerType layerType) {
+		return basalAreas[areaIndex(speciesIndex, uc, layerType)];
+	}
+
+	void setBasalArea(int speciesIndex, UtilizationClass uc, LayerType layerType, float value) {
+		basalAreas[areaIndex(speciesIndex, uc, layerType)] = value;
+	}
+
+	float getQuadMeanDiameter(int speciesIndex, UtilizationClass uc, LayerType layerType) {
+		return quadMeanDiameters[areaIndex(speciesIndex, uc, layerType)];
+	}
+
+	void setQuadMeanDiameter(int speciesIndex, UtilizationClass uc, LayerType layerType, float value) {
+		quadMeanDiameters[areaIndex(speciesIndex, uc, layerType)] = value;
+	}
+
+	float getSmall(int speciesIndex, SmallUtilizationClassVariable variable) {
+		return small[speciesIndex(speciesIndex) * N_SMALL_VARIABLES + variable.ordinal()];
+	}
+
+	void setSmall(int speciesIndex, SmallUtilizationClassVariable variable, float value) {
+		small[speciesIndex(speciesIndex) * N_SMALL_VARIABLES + variable.ordinal()] = value;
+	}
+
+	private int volumeIndex(int speciesIndex, UtilizationClass uc, VolumeVariable volumeVariable, LayerType layerType) {
+		return ( (speciesIndex(speciesIndex) * N_UTILIZATION_CLASSES + ucIndex(uc)) * N_VOLUME_VARIABLES
+				+ volumeVariable.ordinal()) * N_LAYERS + layerIndex(layerType);
+	}
+
+	private int areaIndex(int speciesIndex, UtilizationClass uc, LayerType layerType) {
+		return (speciesIndex(speciesIndex) * N_UTILIZATION_CLASSES + ucIndex(uc)) * N_LAYERS + layerIndex(layerType);
+	}
+
+	private int speciesIndex(int speciesIndex) {
+		if (speciesIndex < 1 || speciesIndex > nSpecies) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("Species index {0} is not between 1 and {1}", speciesIndex, nSpecies)
+			);
+		}
+		return speciesIndex;
+	}
+
+	private static int ucIndex(UtilizationClass uc) {
+		if (uc.index < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("There are no compatibility variables for utilization class {0}", uc)
+			);
+		}
+		return uc.index - 1;
+	}
+
+	private static int layerIndex(LayerType layerType) {
+		switch (layerType) {
+		case PRIMARY:
+			return 0;
+		case VETERAN:
+			return 1;
+		default:
+			throw new IllegalArgumentException(
+					MessageFormat.format("There are no compatibility variables for layer {0}", layerType)
+			);
+		}
+	}
+}
@@ -100,7 +100,11 @@ public class ForwardControlParser extends BaseControlParser {
 
 	@Override
 	protected List<ControlKey> outputFileParsers() {
-		return Collections.emptyList();
+		return List.of(
+				ControlKey.VRI_OUTPUT_VDYP_POLYGON, //
+				ControlKey.VRI_OUTPUT_VDYP_LAYER_BY_SPECIES, //
+				ControlKey.VRI_OUTPUT_VDYP_LAYER_BY_SP0_BY_UTIL
+		);
 	}
 
 	@Override
@@ -284,9 +288,20 @@ public class ForwardControlParser extends BaseControlParser {
 	}
 
 	@Override
-	protected void applyAllModifiers(Map<String, Object> map, FileResolver fileResolver)
+	protected void applyInputModifiers(Map<String, Object> map, FileResolver fileResolver)
 			throws ResourceParseException, IOException {
 
+		defaultGrowToInput(map);
+
+		for (ControlKey key : orderedControlKeys) {
+			ControlMapValueReplacer<?, ?> r = vdypForwardInputParsers.get(key);
+			if (r != null) {
+				r.modify(map, fileResolver);
+			}
+		}
+	}
+
+	private static void defaultGrowToInput(Map<String, Object> map) {
 		// FORWARD_INPUT_GROWTO is optional; if missing, the polygon list is read from the
 		// polygon file itself.
 		Optional<String> source = Utils.optSafe(map.get(ControlKey.FORWARD_INPUT_GROWTO.name()));
@@ -294,6 +309,13 @@ public class ForwardControlParser extends BaseControlParser {
 			String polyFileName = (String) map.get(ControlKey.FORWARD_INPUT_VDYP_POLY.name());
 			map.put(ControlKey.FORWARD_INPUT_GROWTO.name(), polyFileName);
 		}
+	}
+
+	@Override
+	protected void applyAllModifiers(Map<String, Object> map, FileResolver fileResolver)
+			throws ResourceParseException, IOException {
+
+		defaultGrowToInput(map);
 
 		for (ControlKey key : orderedControlKeys) {
 
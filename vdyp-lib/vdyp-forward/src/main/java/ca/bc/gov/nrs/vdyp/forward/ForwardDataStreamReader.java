@@ -1,6 +1,8 @@
 package ca.bc.gov.nrs.vdyp.forward;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -21,21 +23,53 @@ import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonLayer;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypSpeciesUtilization;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.SeekableStreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
 import ca.bc.gov.nrs.vdyp.model.LayerType;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
 
+/**
+ * Reads polygons, with their layers, species and utilizations, from the Forward input files.
+ * <p>
+ * Polygons are found by reading the input files sequentially, unless a {@link ForwardInputIndex} of them is given, in
+ * which case each polygon is read directly from the position the index gives for it. When reading sequentially, the
+ * species and utilizations of polygons other than the one requested are skipped without being parsed.
+ */
 public class ForwardDataStreamReader {
 
 	private static final Logger logger = LoggerFactory.getLogger(ForwardDataStreamReader.class);
 
+	private final Map<String, Object> controlMap;
+
 	private final StreamingParser<VdypPolygon> polygonStream;
 	private final StreamingParser<Collection<VdypLayerSpecies>> layerSpeciesStream;
 	private final StreamingParser<Collection<VdypSpeciesUtilization>> speciesUtilizationStream;
 
-	@SuppressWarnings("unchecked")
+	private final Optional<Path> indexFile;
+
+	/** The index of the input files; null until it is needed */
+	private Optional<ForwardInputIndex> index = null;
+
 	public ForwardDataStreamReader(Map<String, Object> controlMap) throws IOException {
+		this(controlMap, Optional.empty());
+	}
+
+	/**
+	 * Create a reader that uses an index of the input files, if they can be read other than sequentially.
+	 *
+	 * @param controlMap the control map giving the input files
+	 * @param indexFile  the index of the input files. If the file does not exist, or the index in it does not describe
+	 *                   the input files as they are now, the index is built and written to it when the first polygon is
+	 *                   read.
+	 * @throws IOException
+	 */
+	@SuppressWarnings("unchecked")
+	public ForwardDataStreamReader(Map<String, Object> controlMap, Optional<Path> indexFile) throws IOException {
+
+		this.controlMap = controlMap;
+		this.indexFile = indexFile;
 
 		var polygonStreamFactory = controlMap.get(ControlKey.FORWARD_INPUT_VDYP_POLY.name());
 		polygonStream = ((StreamingParserFactory<VdypPolygon>) polygonStreamFactory).get();
@@ -50,112 +84,228 @@ public class ForwardDataStreamReader {
 
 	public VdypPolygon readNextPolygon(VdypPolygonDescription polygonDescription) throws ProcessingException {
 
-		// Advance all the streams until the definition for the polygon is found.
-
 		logger.debug("Looking for polygon {}", polygonDescription);
 
-		Optional<VdypPolygon> thePolygon = Optional.empty();
-
 		try {
-			while (thePolygon.isEmpty() && polygonStream.hasNext()) {
-				var polygon = polygonStream.next();
+			Optional<ForwardInputIndex.Entry> entry = Optional.empty();
+			if (getIndex().isPresent()) {
+				var from = ((SeekableStreamingParser<?>) polygonStream).position();
+				entry = index.get().find(polygonDescription, from);
+			}
+			if (entry.isPresent()) {
+				seek(entry.get().polygon(), entry.get().species(), entry.get().utilizations());
+
+				var polygon = readPolygon();
+				if (polygonDescription.equals(polygon.getDescription())) {
+					adjustUtilizations(polygon);
+					return polygon;
+				}
+
+				logger.warn(
+						"Polygon index {} gives the position of {} as that of {}; it is out of date and will not be used",
+						indexFile.get(), polygonDescription, polygon.getDescription()
+				);
+				index = Optional.empty();
+				seek(StreamPosition.START, StreamPosition.START, StreamPosition.START);
+			}
 
-				logger.debug("Reading polygon {}", polygon);
+			// Advance all the streams until the definition for the polygon is found. The layers of the polygons passed
+			// over are skipped without being read.
 
-				var utilizationCollection = speciesUtilizationStream.next();
-				var utilizationsBySpeciesMap = new HashMap<UtilizationBySpeciesKey, Map<UtilizationClass, VdypSpeciesUtilization>>();
-				for (var utilization : utilizationCollection) {
-					logger.trace("Saw utilization {}", utilization);
+			while (polygonStream.hasNext()) {
+				var polygon = polygonStream.next();
 
-					var key = new UtilizationBySpeciesKey(utilization.getLayerType(), utilization.getGenusIndex());
-					utilizationsBySpeciesMap.putIfAbsent(key, new EnumMap<>(UtilizationClass.class));
-					utilizationsBySpeciesMap.get(key).put(utilization.getUcIndex(), utilization);
+				if (polygonDescription.equals(polygon.getDescription())) {
+					readLayers(polygon);
+					adjustUtilizations(polygon);
+					return polygon;
 				}
 
-				var speciesCollection = layerSpeciesStream.next();
-				var primarySpecies = new HashMap<Integer, VdypLayerSpecies>();
-				var veteranSpecies = new HashMap<Integer, VdypLayerSpecies>();
-				for (var species : speciesCollection) {
-					logger.trace("Saw species {}", species);
+				logger.debug("Skipping polygon {}", polygon);
 
-					var key = new UtilizationBySpeciesKey(species.getLayerType(), species.getGenusIndex());
-					var speciesUtilizations = utilizationsBySpeciesMap.get(key);
+				speciesUtilizationStream.skipNext();
+				layerSpeciesStream.skipNext();
+			}
+		} catch (ResourceParseException | IOException e) {
+			throw new ProcessingException(e);
+		}
 
-					if (speciesUtilizations != null) {
-						species.setUtilizations(Optional.of(speciesUtilizations));
+		throw new ProcessingException(MessageFormat.format("Unable to find the definition of {0}", polygonDescription));
+	}
 
-						for (VdypSpeciesUtilization u : speciesUtilizations.values()) {
-							u.setParent(species);
-						}
-					} else {
-						species.setUtilizations(Optional.empty());
-					}
+	/**
+	 * Read the polygon at the current position of the input files, whatever its description.
+	 *
+	 * @return the polygon, with its layers, species and utilizations
+	 * @throws ProcessingException if the input files hold no further polygons, or the polygon could not be read
+	 */
+	public VdypPolygon readNextPolygon() throws ProcessingException {
 
-					if (LayerType.PRIMARY.equals(species.getLayerType())) {
-						primarySpecies.put(species.getGenusIndex(), species);
-					} else if (LayerType.VETERAN.equals(species.getLayerType())) {
-						veteranSpecies.put(species.getGenusIndex(), species);
-					} else {
-						throw new IllegalStateException(
-								MessageFormat.format(
-										"Unrecognized layer type {} for species {} of polygon {}",
-										species.getLayerType(), species.getGenusIndex(), polygon.getDescription()
-								)
-						);
-					}
-				}
+		try {
+			if (!polygonStream.hasNext()) {
+				throw new ProcessingException("There are no further polygons in the input");
+			}
 
-				VdypPolygonLayer primaryLayer = null;
-				if (primarySpecies.size() > 0) {
+			var polygon = readPolygon();
+			adjustUtilizations(polygon);
+			return polygon;
+		} catch (ResourceParseException | IOException e) {
+			throw new ProcessingException(e);
+		}
+	}
 
-					var key = new UtilizationBySpeciesKey(LayerType.PRIMARY, 0);
-					Map<UtilizationClass, VdypSpeciesUtilization> defaultSpeciesUtilization = utilizationsBySpeciesMap
-							.get(key);
+	/**
+	 * Read the next polygon, with its layers, from the current position of each of the input files.
+	 */
+	private VdypPolygon readPolygon() throws IOException, ResourceParseException {
 
-					primaryLayer = new VdypPolygonLayer(
-							LayerType.PRIMARY, polygon, primarySpecies, Optional.ofNullable(defaultSpeciesUtilization)
-					);
+		var polygon = polygonStream.next();
+		readLayers(polygon);
+		return polygon;
+	}
 
-					for (VdypLayerSpecies v : primarySpecies.values()) {
-						v.setParent(primaryLayer);
-					}
-				}
+	/**
+	 * Read the layers of a polygon from the current position of the species and utilization files.
+	 */
+	private void readLayers(VdypPolygon polygon) throws IOException, ResourceParseException {
 
-				VdypPolygonLayer veteranLayer = null;
-				if (veteranSpecies.size() > 0) {
+		logger.debug("Reading polygon {}", polygon);
 
-					var key = new UtilizationBySpeciesKey(LayerType.VETERAN, 0);
-					Map<UtilizationClass, VdypSpeciesUtilization> defaultSpeciesUtilization = utilizationsBySpeciesMap
-							.get(key);
+		var utilizationCollection = speciesUtilizationStream.next();
+		var utilizationsBySpeciesMap = new HashMap<UtilizationBySpeciesKey, Map<UtilizationClass, VdypSpeciesUtilization>>();
+		for (var utilization : utilizationCollection) {
+			logger.trace("Saw utilization {}", utilization);
 
-					veteranLayer = new VdypPolygonLayer(
-							LayerType.VETERAN, polygon, veteranSpecies, Optional.ofNullable(defaultSpeciesUtilization)
-					);
+			var key = new UtilizationBySpeciesKey(utilization.getLayerType(), utilization.getGenusIndex());
+			utilizationsBySpeciesMap.putIfAbsent(key, new EnumMap<>(UtilizationClass.class));
+			utilizationsBySpeciesMap.get(key).put(utilization.getUcIndex(), utilization);
+		}
 
-					for (VdypLayerSpecies v : veteranSpecies.values()) {
-						v.setParent(veteranLayer);
-					}
-				}
+		var speciesCollection = layerSpeciesStream.next();
+		var primarySpecies = new HashMap<Integer, VdypLayerSpecies>();
+		var veteranSpecies = new HashMap<Integer, VdypLayerSpecies>();
+		for (var species : speciesCollection) {
+			logger.trace("Saw species {}", species);
 
-				polygon.setLayers(primaryLayer, veteranLayer);
+			var key = new UtilizationBySpeciesKey(species.getLayerType(), species.getGenusIndex());
+			var speciesUtilizations = utilizationsBySpeciesMap.get(key);
 
-				if (polygonDescription.equals(polygon.getDescription())) {
-					thePolygon = Optional.of(polygon);
+			if (speciesUtilizations != null) {
+				species.setUtilizations(Optional.of(speciesUtilizations));
 
-					adjustUtilizations(polygon);
+				for (VdypSpeciesUtilization u : speciesUtilizations.values()) {
+					u.setParent(species);
 				}
+			} else {
+				species.setUtilizations(Optional.empty());
+			}
+
+			if (LayerType.PRIMARY.equals(species.getLayerType())) {
+				primarySpecies.put(species.getGenusIndex(), species);
+			} else if (LayerType.VETERAN.equals(species.getLayerType())) {
+				veteranSpecies.put(species.getGenusIndex(), species);
+			} else {
+				throw new IllegalStateException(
+						MessageFormat.format(
+								"Unrecognized layer type {} for species {} of polygon {}", species.getLayerType(),
+								species.getGenusIndex(), polygon.getDescription()
+						)
+				);
 			}
-		} catch (ResourceParseException | IOException e) {
-			throw new ProcessingException(e);
 		}
 
-		if (thePolygon.isEmpty()) {
-			throw new ProcessingException(
-					MessageFormat.format("Unable to find the definition of {0}", polygonDescription)
+		VdypPolygonLayer primaryLayer = null;
+		if (primarySpecies.size() > 0) {
+
+			var key = new UtilizationBySpeciesKey(LayerType.PRIMARY, 0);
+			Map<UtilizationClass, VdypSpeciesUtilization> defaultSpeciesUtilization = utilizationsBySpeciesMap.get(key);
+
+			primaryLayer = new VdypPolygonLayer(
+					LayerType.PRIMARY, polygon, primarySpecies, Optional.ofNullable(defaultSpeciesUtilization)
 			);
+
+			for (VdypLayerSpecies v : primarySpecies.values()) {
+				v.setParent(primaryLayer);
+			}
 		}
 
-		return thePolygon.get();
+		VdypPolygonLayer veteranLayer = null;
+		if (veteranSpecies.size() > 0) {
+
+			var key = new UtilizationBySpeciesKey(LayerType.VETERAN, 0);
+			Map<UtilizationClass, VdypSpeciesUtilization> defaultSpeciesUtilization = utilizationsBySpeciesMap.get(key);
+
+			veteranLayer = new VdypPolygonLayer(
+					LayerType.VETERAN, polygon, veteranSpecies, Optional.ofNullable(defaultSpeciesUtilization)
+			);
+
+			for (VdypLayerSpecies v : veteranSpecies.values()) {
+				v.setParent(veteranLayer);
+			}
+		}
+
+		polygon.setLayers(primaryLayer, veteranLayer);
+	}
+
+	private Optional<ForwardInputIndex> getIndex() throws ProcessingException {
+		if (index == null) {
+			index = Optional.empty();
+			if (indexFile.isPresent()) {
+				if (isSeekable()) {
+					try {
+						index = Optional.of(loadIndex(indexFile.get()));
+					} catch (ProcessingException e) {
+						logger.warn(
+								MessageFormat.format(
+										"Unable to load polygon index {0}; the input files will be read sequentially",
+										indexFile.get()
+								), e
+						);
+					}
+				} else {
+					logger.warn(
+							"The input files can only be read sequentially, so polygon index {} will not be used",
+							indexFile.get()
+					);
+				}
+			}
+		}
+		return index;
+	}
+
+	private ForwardInputIndex loadIndex(Path file) throws ProcessingException {
+		try {
+			if (Files.exists(file)) {
+				logger.info("Reading polygon index {}", file);
+				var result = ForwardInputIndex.read(file);
+				if (result.describes(
+						(SeekableStreamingParser<?>) polygonStream, (SeekableStreamingParser<?>) layerSpeciesStream,
+						(SeekableStreamingParser<?>) speciesUtilizationStream
+				)) {
+					return result;
+				}
+				logger.info("Polygon index {} does not describe the input files as they are now", file);
+			}
+
+			logger.info("Building polygon index {}", file);
+			var result = ForwardInputIndex.build(controlMap);
+			result.write(file);
+			return result;
+		} catch (IOException | ResourceParseException e) {
+			throw new ProcessingException(MessageFormat.format("Unable to load polygon index {0}", file), e);
+		}
+	}
+
+	private boolean isSeekable() {
+		return polygonStream instanceof SeekableStreamingParser<?> p && p.isSeekable()
+				&& layerSpeciesStream instanceof SeekableStreamingParser<?> s && s.isSeekable()
+				&& speciesUtilizationStream instanceof SeekableStreamingParser<?> u && u.isSeekable();
+	}
+
+	private void seek(StreamPosition polygon, StreamPosition species, StreamPosition utilizations) throws IOException {
+		((SeekableStreamingParser<?>) polygonStream).seek(polygon);
+		((SeekableStreamingParser<?>) layerSpeciesStream).seek(species);
+		((SeekableStreamingParser<?>) speciesUtilizationStream).seek(utilizations);
 	}
 
 	/**
@@ -166,7 +316,7 @@ public class ForwardDataStreamReader {
 	 *
 	 * @param polygon
 	 */
-	private void adjustUtilizations(VdypPolygon polygon) throws ProcessingException {
+	static void adjustUtilizations(VdypPolygon polygon) throws ProcessingException {
 
 		float percentForestedLand = polygon.getPercentForestLand();
 		assert !Float.isNaN(percentForestedLand);
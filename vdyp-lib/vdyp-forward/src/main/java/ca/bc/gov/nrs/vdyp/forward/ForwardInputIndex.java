@@ -0,0 +1,305 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypPolygonDescriptionParser;
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseLineException;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.SeekableStreamingParser;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParser;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
+
+/**
+ * An index of the Forward input files (FORWARD_INPUT_VDYP_POLY, FORWARD_INPUT_VDYP_LAYER_BY_SPECIES and
+ * FORWARD_INPUT_VDYP_LAYER_BY_SP0_BY_UTIL) giving, for each polygon, the position of the polygon's records in each of
+ * them. With it, {@link ForwardDataStreamReader} reads a requested polygon directly rather than reading every polygon
+ * that precedes it. Like the reader, the index identifies polygons by name, without the year.
+ * <p>
+ * The index is kept in a side file, one polygon per line, which is built with {@link #build(Map)} and
+ * {@link #write(Path)}, or from the command line with {@link #main(String...)}. The index records the size and
+ * modification time of each of the input files when it was built, so that an index that no longer describes them can be
+ * recognized with {@link #describes(SeekableStreamingParser...)} and built again.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class ForwardInputIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(ForwardInputIndex.class);
+
+	private static final String HEADER = "# Polygon, species and utilization file offsets and line numbers, then polygon description";
+
+	private static final String INPUT_FILES_PREFIX = "FILES ";
+
+	/**
+	 * The positions of a polygon's records in each of the input files.
+	 */
+	public record Entry(
+			VdypPolygonDescription description, StreamPosition polygon, StreamPosition species,
+			StreamPosition utilizations
+	) {
+	}
+
+	/**
+	 * The state of an input file when the index was built.
+	 */
+	public record InputFile(long size, long lastModified) {
+	}
+
+	private final List<InputFile> inputFiles;
+	private final List<Entry> entries;
+	private final Map<String, List<Entry>> entriesByName = new HashMap<>();
+
+	private ForwardInputIndex(List<InputFile> inputFiles, List<Entry> entries) {
+		this.inputFiles = inputFiles;
+		this.entries = entries;
+		for (var entry : entries) {
+			entriesByName.computeIfAbsent(entry.description().getName(), k -> new ArrayList<>()).add(entry);
+		}
+	}
+
+	/**
+	 * Find a polygon. A reader looking for it sequentially from <code>from</code> would find the first polygon with its
+	 * name at or after that position, so that is the one returned; if there is none, the first polygon with its name is
+	 * returned instead.
+	 *
+	 * @param polygonDescription the polygon
+	 * @param from               the current position in the polygon file
+	 * @return the positions of the polygon's records, if there is a polygon with the same name.
+	 */
+	public Optional<Entry> find(VdypPolygonDescription polygonDescription, StreamPosition from) {
+		var candidates = entriesByName.get(polygonDescription.getName());
+		if (candidates == null) {
+			return Optional.empty();
+		}
+		for (var candidate : candidates) {
+			if (candidate.polygon().offset() >= from.offset()) {
+				return Optional.of(candidate);
+			}
+		}
+		return Optional.of(candidates.get(0));
+	}
+
+	/**
+	 * @return the number of polygons in the index
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Check that the index describes the input files as they are now: that each of them has the size and modification
+	 * time it had when the index was built.
+	 *
+	 * @param streams the streams of the polygon, species and utilization files, in that order
+	 * @return true if the index describes the files, false if it does not or if they are not local files
+	 * @throws IOException if the size or modification time of a file can not be read
+	 */
+	public boolean describes(SeekableStreamingParser<?>... streams) throws IOException {
+		return inputFiles(streams).map(inputFiles::equals).orElse(false);
+	}
+
+	/**
+	 * @return the current state of each of the files read by <code>streams</code>, or empty if any of them is not a
+	 *         local file
+	 */
+	private static Optional<List<InputFile>> inputFiles(SeekableStreamingParser<?>... streams) throws IOException {
+		List<InputFile> result = new ArrayList<>(streams.length);
+		for (var stream : streams) {
+			var path = stream.localPath();
+			if (path.isEmpty()) {
+				return Optional.empty();
+			}
+			var attributes = Files.readAttributes(path.get(), BasicFileAttributes.class);
+			result.add(new InputFile(attributes.size(), attributes.lastModifiedTime().toMillis()));
+		}
+		return Optional.of(result);
+	}
+
+	/**
+	 * Build an index of the input files given in a control map, by reading each of them once.
+	 *
+	 * @param controlMap a control map giving the input files
+	 * @throws ProcessingException if an input file can not be read, or can only be read sequentially
+	 */
+	public static ForwardInputIndex build(Map<String, Object> controlMap) throws ProcessingException {
+
+		List<Entry> entries = new ArrayList<>();
+		List<InputFile> inputFiles;
+
+		try (
+				SeekableStreamingParser<VdypPolygon> polygonStream = open(
+						controlMap, ControlKey.FORWARD_INPUT_VDYP_POLY
+				); var speciesStream = open(controlMap, ControlKey.FORWARD_INPUT_VDYP_LAYER_BY_SPECIES);
+				var utilizationStream = open(controlMap, ControlKey.FORWARD_INPUT_VDYP_LAYER_BY_SP0_BY_UTIL)
+		) {
+			// Taken before reading, so that a file changed while it is read makes the index out of date
+			inputFiles = inputFiles(polygonStream, speciesStream, utilizationStream).orElse(List.of());
+
+			while (polygonStream.hasNext()) {
+				var polygonPosition = polygonStream.position();
+				var speciesPosition = speciesStream.position();
+				var utilizationPosition = utilizationStream.position();
+
+				var polygon = polygonStream.next();
+				speciesStream.skipNext();
+				utilizationStream.skipNext();
+
+				entries.add(new Entry(polygon.getDescription(), polygonPosition, speciesPosition, utilizationPosition));
+			}
+		} catch (IOException | ResourceParseException e) {
+			throw new ProcessingException(e);
+		}
+
+		logger.info("Indexed {} polygons", entries.size());
+
+		return new ForwardInputIndex(inputFiles, entries);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> SeekableStreamingParser<T> open(Map<String, Object> controlMap, ControlKey key)
+			throws IOException, ProcessingException {
+		var factory = (StreamingParserFactory<T>) controlMap.get(key.name());
+		StreamingParser<T> stream = factory.get();
+		// Positions are only useful, and only reported by every parser, if the file can be sought
+		if (stream instanceof SeekableStreamingParser<T> seekable && seekable.isSeekable()) {
+			return seekable;
+		}
+		stream.close();
+		throw new ProcessingException(MessageFormat.format("{0} can only be read sequentially", key));
+	}
+
+	/**
+	 * Read an index from a file written by {@link #write(Path)}.
+	 *
+	 * @throws IOException            if the file can not be read
+	 * @throws ResourceParseException if the file is not an index
+	 */
+	public static ForwardInputIndex read(Path file) throws IOException, ResourceParseException {
+
+		List<InputFile> inputFiles = List.of();
+		List<Entry> entries = new ArrayList<>();
+
+		int lineNumber = 0;
+		for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			lineNumber++;
+			if (line.isBlank() || line.startsWith("#")) {
+				continue;
+			}
+			if (line.startsWith(INPUT_FILES_PREFIX)) {
+				inputFiles = parseInputFiles(line, lineNumber);
+				continue;
+			}
+
+			var fields = line.split(" ", 7);
+			if (fields.length != 7) {
+				throw new ResourceParseLineException(
+						lineNumber, MessageFormat.format("\"{0}\" is not a polygon index entry", line)
+				);
+			}
+			try {
+				var positions = Arrays.stream(fields, 0, 6).mapToLong(Long::parseLong).toArray();
+				entries.add(
+						new Entry(
+								VdypPolygonDescriptionParser.parse(fields[6]),
+								new StreamPosition(positions[0], Math.toIntExact(positions[1])),
+								new StreamPosition(positions[2], Math.toIntExact(positions[3])),
+								new StreamPosition(positions[4], Math.toIntExact(positions[5]))
+						)
+				);
+			} catch (NumberFormatException | ArithmeticException | ResourceParseException e) {
+				throw new ResourceParseLineException(
+						lineNumber, MessageFormat.format("\"{0}\" is not a polygon index entry", line), e
+				);
+			}
+		}
+
+		return new ForwardInputIndex(inputFiles, entries);
+	}
+
+	private static List<InputFile> parseInputFiles(String line, int lineNumber) throws ResourceParseLineException {
+		try {
+			var values = Arrays.stream(line.substring(INPUT_FILES_PREFIX.length()).strip().split(" "))
+					.mapToLong(Long::parseLong).toArray();
+			if (values.length % 2 != 0) {
+				throw new NumberFormatException();
+			}
+			List<InputFile> result = new ArrayList<>(values.length / 2);
+			for (int i = 0; i < values.length; i += 2) {
+				result.add(new InputFile(values[i], values[i + 1]));
+			}
+			return result;
+		} catch (NumberFormatException e) {
+			throw new ResourceParseLineException(
+					lineNumber, MessageFormat.format("\"{0}\" is not a list of input file sizes and times", line), e
+			);
+		}
+	}
+
+	/**
+	 * Write the index to a file.
+	 */
+	public void write(Path file) throws IOException {
+		try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(HEADER);
+			writer.newLine();
+			writer.write(INPUT_FILES_PREFIX);
+			for (var inputFile : inputFiles) {
+				writer.write(String.format(" %d %d", inputFile.size(), inputFile.lastModified()));
+			}
+			writer.newLine();
+			for (var entry : entries) {
+				writer.write(
+						String.format(
+								"%d %d %d %d %d %d %s", entry.polygon().offset(), entry.polygon().lineNumber(),
+								entry.species().offset(), entry.species().lineNumber(), entry.utilizations().offset(),
+								entry.utilizations().lineNumber(), entry.description().getDescription()
+						)
+				);
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Build the index of the input files given by a set of control files, and write it to a file.
+	 *
+	 * @param args the index file, followed by the names of the control files
+	 */
+	@SuppressWarnings("java:S106")
+	public static void main(final String... args) {
+		if (args.length < 2) {
+			System.err.println("Usage: ForwardInputIndex <index file> <control file>...");
+			System.exit(VdypForwardApplication.CONFIG_LOAD_ERROR);
+		}
+
+		try {
+			var controlMap = ForwardProcessor
+					.loadControlMap(new FileSystemFileResolver(), Arrays.asList(args).subList(1, args.length));
+
+			build(controlMap).write(Path.of(args[0]));
+		} catch (Exception ex) {
+			logger.error("Error while indexing", ex);
+			System.exit(VdypForwardApplication.PROCESSING_ERROR);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_1;
+import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_5;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypJobRunner;
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+
+/**
+ * Runs VDYP Forward as a job of a {@link ca.bc.gov.nrs.vdyp.application.VdypJobServer}, with the passes and system
+ * properties of {@link VdypForwardApplication}, other than the polygon index file, which is specific to a run. The site
+ * curve conversions are cached across all the jobs the runner runs.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class ForwardJobRunner implements VdypJobRunner {
+
+	private static final Set<ForwardPass> VDYP_PASS_SET = EnumSet.range(PASS_1, PASS_5);
+
+	private final SiteToolCache siteToolCache;
+
+	public ForwardJobRunner() {
+		this(
+				new SiteToolCache(
+						Integer.getInteger(VdypForwardApplication.SITE_TOOL_CACHE_SIZE_PROPERTY, 0),
+						Double.parseDouble(
+								System.getProperty(VdypForwardApplication.SITE_TOOL_CACHE_QUANTUM_PROPERTY, "0")
+						)
+				)
+		);
+	}
+
+	public ForwardJobRunner(SiteToolCache siteToolCache) {
+		this.siteToolCache = siteToolCache;
+	}
+
+	@Override
+	public VdypApplicationIdentifier getId() {
+		return VdypApplicationIdentifier.VDYP_FORWARD;
+	}
+
+	@Override
+	public void run(FileSystemFileResolver resolver, List<String> controlFileNames, CoefficientCache coefficientCache)
+			throws IOException, ResourceParseException, ProcessingException {
+		var processor = new ForwardProcessor(
+				Integer.getInteger(VdypForwardApplication.N_THREADS_PROPERTY, 1), Optional.empty(), siteToolCache,
+				VdypForwardApplication.siteCurveSelection()
+		);
+
+		processor.run(resolver, controlFileNames, VDYP_PASS_SET, Optional.of(coefficientCache));
+	}
+}
@@ -0,0 +1,158 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static ca.bc.gov.nrs.vdyp.io.write.VriAdjustInputWriter.EMPTY_FLOAT;
+import static ca.bc.gov.nrs.vdyp.io.write.VriAdjustInputWriter.EMPTY_INT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import ca.bc.gov.nrs.vdyp.forward.model.FipMode;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypEntity;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.io.write.FixedWidthWriter;
+import ca.bc.gov.nrs.vdyp.io.write.VriAdjustInputWriter;
+import ca.bc.gov.nrs.vdyp.model.Sp64Distribution;
+import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
+
+/**
+ * Formats the layers of a processed polygon, as held in its banks, as the records of the Forward output files. Values
+ * that are missing are written as they are in the input files, as -9.
+ * <p>
+ * A formatter reuses its buffers from one polygon to the next, and so must not be shared between threads.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+class ForwardOutputFormatter {
+
+	private static final Sp64Distribution NO_DISTRIBUTION = new Sp64Distribution(0, "", 0f);
+
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+	private final FixedWidthWriter writer = new FixedWidthWriter(buffer);
+
+	/**
+	 * Format a polygon.
+	 *
+	 * @param polygon the polygon, as read
+	 * @param layers  the banks holding the processed state of each of its layers, primary layer first
+	 * @return the records of the polygon
+	 * @throws IOException
+	 */
+	ForwardOutputRecords format(VdypPolygon polygon, List<Bank> layers) throws IOException {
+
+		String description = polygon.getDescription().getDescription();
+
+		writer.begin(VriAdjustInputWriter.POLY_RECORD) //
+				.string(description) //
+				.string(polygon.getBiogeoclimaticZone().getAlias()) //
+				.string(polygon.getForestInventoryZone()) //
+				.integer((int) polygon.getPercentForestLand()) //
+				.integer(polygon.getInventoryTypeGroup().orElse(EMPTY_INT)) //
+				.integer(polygon.getBasalAreaGroup().orElse(EMPTY_INT)) //
+				// A mode of 0 is read as no mode
+				.integer(polygon.getFipMode().map(FipMode::getCode).orElse(0)) //
+				.end();
+		String polygonRecord = take();
+
+		List<String> speciesRecords = new ArrayList<>();
+		List<String> utilizationRecords = new ArrayList<>();
+		for (Bank bank : layers) {
+			utilizationRecords.addAll(formatUtilizations(description, bank, 0));
+			for (int i : bank.getIndices()) {
+				speciesRecords.add(formatSpecies(description, bank, i));
+				utilizationRecords.addAll(formatUtilizations(description, bank, i));
+			}
+		}
+		speciesRecords.add(formatEndRecord(description));
+		utilizationRecords.add(formatEndRecord(description));
+
+		return new ForwardOutputRecords(polygonRecord, speciesRecords, utilizationRecords);
+	}
+
+	private String formatSpecies(String description, Bank bank, int i) throws IOException {
+
+		var distributions = bank.sp64Distributions[i].getSp64DistributionList();
+		var species = bank.getLayer().getGenera().get(bank.speciesIndices[i]);
+
+		writer.begin(VriAdjustInputWriter.SPEC_RECORD) //
+				.string(description) //
+				.string(bank.getLayer().getLayerType().getAlias()) //
+				.integer(bank.speciesIndices[i]) //
+				.string(bank.speciesNames[i]);
+
+		for (int d = 0; d < 4; d++) {
+			var distribution = d < distributions.size() ? distributions.get(d) : NO_DISTRIBUTION;
+			writer.string(distribution.getGenusAlias()).floating(distribution.getPercentage());
+		}
+
+		writer.floating(orEmpty(bank.siteIndices[i])) //
+				.floating(orEmpty(bank.dominantHeights[i])) //
+				.floating(orEmpty(bank.ageTotals[i])) //
+				.floating(orEmpty(bank.yearsAtBreastHeight[i])) //
+				.floating(orEmpty(bank.yearsToBreastHeight[i])) //
+				.integer(species.getIsPrimary().orElse(false) ? 1 : 0) //
+				.integer(orEmpty(bank.siteCurveNumbers[i])) //
+				.end();
+
+		return take();
+	}
+
+	/**
+	 * Format the utilizations of the species in slot <code>i</code> of a bank, or those of the layer if <code>i</code>
+	 * is 0.
+	 */
+	private List<String> formatUtilizations(String description, Bank bank, int i) throws IOException {
+
+		List<String> records = new ArrayList<>(UtilizationClass.values().length);
+		for (var uc : UtilizationClass.values()) {
+			int ucIndex = uc.ordinal();
+
+			float loreyHeight = ucIndex < bank.loreyHeights[i].length ? bank.loreyHeights[i][ucIndex] : EMPTY_FLOAT;
+
+			writer.begin(VriAdjustInputWriter.UTIL_RECORD) //
+					.string(description) //
+					.string(bank.getLayer().getLayerType().getAlias()) //
+					.integer(i == 0 ? 0 : bank.speciesIndices[i]) //
+					.string(i == 0 ? "  " : bank.speciesNames[i]) //
+					.integer(uc.index) //
+					.floating(orEmpty(bank.basalAreas[i][ucIndex])) //
+					.floating(orEmpty(bank.treesPerHectare[i][ucIndex])) //
+					.floating(orEmpty(loreyHeight)) //
+					.floating(orEmpty(bank.wholeStemVolumes[i][ucIndex])) //
+					.floating(orEmpty(bank.closeUtilizationVolumes[i][ucIndex])) //
+					.floating(orEmpty(bank.cuVolumesMinusDecay[i][ucIndex])) //
+					.floating(orEmpty(bank.cuVolumesMinusDecayAndWastage[i][ucIndex])) //
+					.floating(orEmpty(bank.cuVolumesMinusDecayWastageAndBreakage[i][ucIndex])) //
+					.floating(orEmpty(bank.quadMeanDiameters[i][ucIndex])) //
+					.end();
+
+			records.add(take());
+		}
+		return records;
+	}
+
+	private String formatEndRecord(String description) throws IOException {
+		writer.begin(VriAdjustInputWriter.END_RECORD).string(description).end();
+		return take();
+	}
+
+	/**
+	 * @return the record just written, without the line separator that ends it
+	 */
+	private String take() throws IOException {
+		writer.flush();
+		String text = buffer.toString(Charset.defaultCharset());
+		buffer.reset();
+		return text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+	}
+
+	private static float orEmpty(float value) {
+		return Float.isNaN(value) ? EMPTY_FLOAT : value;
+	}
+
+	private static int orEmpty(int value) {
+		return value == VdypEntity.MISSING_INTEGER_VALUE ? EMPTY_INT : value;
+	}
+}
@@ -0,0 +1,15 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.util.List;
+
+/**
+ * The records of a processed polygon in the Forward output files, which have the layout of the Forward input files.
+ *
+ * @param polygon      the polygon record
+ * @param species      the layer by species records of the polygon, ending with the record that ends them
+ * @param utilizations the layer by species by utilization records of the polygon, ending with the record that ends them
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public record ForwardOutputRecords(String polygon, List<String> species, List<String> utilizations) {
+}
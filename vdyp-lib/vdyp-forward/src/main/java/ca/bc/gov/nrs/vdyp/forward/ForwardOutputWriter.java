@@ -0,0 +1,109 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.io.FileResolver;
+
+/**
+ * Writes the records of processed polygons to the Forward output files: the polygon file (control file entry 15), the
+ * layer by species file (16) and the layer by species by utilization file (18).
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class ForwardOutputWriter implements Closeable {
+
+	private static final List<ControlKey> OUTPUT_FILE_KEYS = List.of(
+			ControlKey.VRI_OUTPUT_VDYP_POLYGON, ControlKey.VRI_OUTPUT_VDYP_LAYER_BY_SPECIES,
+			ControlKey.VRI_OUTPUT_VDYP_LAYER_BY_SP0_BY_UTIL
+	);
+
+	private final OutputStream polygonFile;
+	private final OutputStream speciesFile;
+	private final OutputStream utilizationFile;
+
+	private final Charset charset = Charset.defaultCharset();
+
+	/**
+	 * Create a writer using the given OutputStreams. Output to the streams is buffered, and the streams will be flushed
+	 * and closed when the writer is closed.
+	 *
+	 * @param polygonFile
+	 * @param speciesFile
+	 * @param utilizationFile
+	 */
+	public ForwardOutputWriter(OutputStream polygonFile, OutputStream speciesFile, OutputStream utilizationFile) {
+		this.polygonFile = new BufferedOutputStream(polygonFile);
+		this.speciesFile = new BufferedOutputStream(speciesFile);
+		this.utilizationFile = new BufferedOutputStream(utilizationFile);
+	}
+
+	/**
+	 * Create a writer for the output files named by the given control map.
+	 *
+	 * @param controlMap
+	 * @param resolver   resolves the names of the output files
+	 * @throws IOException
+	 */
+	public ForwardOutputWriter(Map<String, Object> controlMap, FileResolver resolver) throws IOException {
+		this(
+				getOutputStream(controlMap, resolver, ControlKey.VRI_OUTPUT_VDYP_POLYGON),
+				getOutputStream(controlMap, resolver, ControlKey.VRI_OUTPUT_VDYP_LAYER_BY_SPECIES),
+				getOutputStream(controlMap, resolver, ControlKey.VRI_OUTPUT_VDYP_LAYER_BY_SP0_BY_UTIL)
+		);
+	}
+
+	/**
+	 * @return whether the control map names all of the output files
+	 */
+	public static boolean isConfigured(Map<String, Object> controlMap) {
+		return OUTPUT_FILE_KEYS.stream().allMatch(key -> controlMap.get(key.name()) instanceof String);
+	}
+
+	private static OutputStream getOutputStream(Map<String, Object> controlMap, FileResolver resolver, ControlKey key)
+			throws IOException {
+		String fileName = Utils.expectParsedControl(controlMap, key, String.class);
+		return resolver.resolveForOutput(fileName);
+	}
+
+	/**
+	 * Write the records of a polygon.
+	 *
+	 * @param records
+	 * @throws IOException
+	 */
+	public void write(ForwardOutputRecords records) throws IOException {
+		writeRecord(polygonFile, records.polygon());
+		for (var speciesRecord : records.species()) {
+			writeRecord(speciesFile, speciesRecord);
+		}
+		for (var utilizationRecord : records.utilizations()) {
+			writeRecord(utilizationFile, utilizationRecord);
+		}
+	}
+
+	private void writeRecord(OutputStream file, String text) throws IOException {
+		file.write(text.getBytes(charset));
+		file.write('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			polygonFile.close();
+		} finally {
+			try {
+				speciesFile.close();
+			} finally {
+				utilizationFile.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.application.VdypPolygonSink;
+import ca.bc.gov.nrs.vdyp.application.VdypStartApplication;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+
+/**
+ * Runs the forward algorithm on the polygons produced by VRISTART or FIPSTART as they are produced, without the
+ * intermediate VRI adjust input files being written and read back.
+ * <p>
+ * The start application runs on a thread of its own, and each polygon it produces is converted by a
+ * {@link VdypStartPolygonConverter} and passed through a bounded queue to the forward engine (or engines, if more than
+ * one thread is used, as in {@link ParallelForwardProcessor}). The bound keeps the start application from running
+ * further ahead of Forward than the queue's capacity; it waits until there is room.
+ * <p>
+ * A failure of either side stops both, and is thrown from {@link #process}.
+ * <p>
+ * {@link VdypForwardApplication} runs a pipeline when {@link VdypForwardApplication#PIPELINE_START_PROPERTY} is set.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class ForwardPipeline {
+
+	private static final Logger logger = LoggerFactory.getLogger(ForwardPipeline.class);
+
+	/** The number of polygons that may be produced but not yet taken for processing, by default */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/** How long to wait for the producer to stop when processing stops before it has finished, in milliseconds */
+	static final long PRODUCER_STOP_TIMEOUT = 10_000;
+
+	/**
+	 * Produces polygons, passing each to a sink as it is produced. Called on a thread of its own.
+	 */
+	@FunctionalInterface
+	public interface PolygonProducer {
+		void produce(VdypPolygonSink sink) throws ProcessingException;
+	}
+
+	/**
+	 * Receives processed polygons, in the order in which they were produced, with their output records if they are
+	 * formatted. Called on the thread that invoked {@link ForwardPipeline#process}.
+	 */
+	@FunctionalInterface
+	public interface PolygonHandler {
+		void handle(VdypPolygon polygon, Optional<ForwardOutputRecords> output) throws ProcessingException;
+	}
+
+	private record Message(VdypPolygon polygon, Throwable failure) {
+		static final Message END = new Message(null, null);
+	}
+
+	private final Map<String, Object> controlMap;
+	private final int nThreads;
+	private final int capacity;
+	private final SiteToolCache siteToolCache;
+	private final SiteCurveSelection siteCurveSelection;
+
+	private boolean formatOutput = true;
+
+	/**
+	 * Create a pipeline that processes polygons on the calling thread.
+	 *
+	 * @param controlMap the Forward control map; it must not be modified while processing is taking place.
+	 */
+	public ForwardPipeline(Map<String, Object> controlMap) {
+		this(controlMap, 1);
+	}
+
+	/**
+	 * Create a pipeline.
+	 *
+	 * @param controlMap the Forward control map; it must not be modified while processing is taking place.
+	 * @param nThreads   the number of threads on which polygons are processed. Must be at least 1.
+	 */
+	public ForwardPipeline(Map<String, Object> controlMap, int nThreads) {
+		this(controlMap, nThreads, DEFAULT_CAPACITY, SiteToolCache.disabled(), SiteCurveSelection.defaults());
+	}
+
+	/**
+	 * Create a pipeline.
+	 *
+	 * @param controlMap         the Forward control map; it must not be modified while processing is taking place.
+	 * @param nThreads           the number of threads on which polygons are processed. Must be at least 1.
+	 * @param capacity           the number of polygons that may be produced but not yet taken for processing. Must be
+	 *                           at least 1.
+	 * @param siteToolCache      the cache of site curve conversions, shared by all the engines
+	 * @param siteCurveSelection the site curves of the run
+	 */
+	public ForwardPipeline(
+			Map<String, Object> controlMap, int nThreads, int capacity, SiteToolCache siteToolCache,
+			SiteCurveSelection siteCurveSelection
+	) {
+		if (nThreads < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The number of threads must be at least one; it is {0}", nThreads)
+			);
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The capacity must be at least one; it is {0}", capacity)
+			);
+		}
+
+		this.controlMap = controlMap;
+		this.nThreads = nThreads;
+		this.capacity = capacity;
+		this.siteToolCache = siteToolCache;
+		this.siteCurveSelection = siteCurveSelection;
+	}
+
+	/**
+	 * Set whether the output records of each polygon processed are formatted. There is no point in formatting them
+	 * unless they are to be written.
+	 *
+	 * @param formatOutput whether to format the records. By default they are formatted.
+	 */
+	public void setFormatOutput(boolean formatOutput) {
+		this.formatOutput = formatOutput;
+	}
+
+	/**
+	 * Process each polygon produced by a start application, up to <code>maxPoly</code> polygons if that is greater than
+	 * zero. The application must have been initialized; whether it also writes the VRI adjust input files is as it was
+	 * initialized.
+	 *
+	 * @param application the start application
+	 * @param maxPoly     if greater than 0, the maximum number of polygons to process
+	 * @param handler     receives each processed polygon and its output records, in the order produced
+	 * @return the number of polygons processed
+	 * @throws ProcessingException if the application, the conversion of a polygon, or its processing failed
+	 */
+	public int process(VdypStartApplication<?, ?, ?, ?> application, int maxPoly, PolygonHandler handler)
+			throws ProcessingException {
+		return process(sink -> {
+			application.setPolygonSink(sink);
+			try {
+				application.process();
+			} finally {
+				application.setPolygonSink(null);
+			}
+		}, maxPoly, handler);
+	}
+
+	/**
+	 * Process each polygon produced by <code>producer</code>, up to <code>maxPoly</code> polygons if that is greater
+	 * than zero.
+	 *
+	 * @param producer produces the polygons to be processed
+	 * @param maxPoly  if greater than 0, the maximum number of polygons to process
+	 * @param handler  receives each processed polygon and its output records, in the order produced
+	 * @return the number of polygons processed
+	 * @throws ProcessingException the first failure encountered, whether in producing, converting or processing a
+	 *                             polygon. If one occurs, no polygon following the one that failed is passed to
+	 *                             <code>handler</code>.
+	 */
+	public int process(PolygonProducer producer, int maxPoly, PolygonHandler handler) throws ProcessingException {
+
+		var converter = new VdypStartPolygonConverter(controlMap);
+		var queue = new ArrayBlockingQueue<Message>(capacity);
+		var stopped = new AtomicBoolean();
+
+		VdypPolygonSink sink = polygon -> {
+			if (stopped.get()) {
+				throw new ProcessingException("Forward processing has stopped");
+			}
+			try {
+				queue.put(new Message(converter.convert(polygon), null));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProcessingException("Interrupted while waiting for Forward to take a polygon", e);
+			}
+		};
+
+		var producerThread = new Thread(() -> produce(producer, sink, queue, stopped), "vdyp-forward-producer");
+		producerThread.setDaemon(true);
+		producerThread.start();
+
+		try {
+			ParallelForwardProcessor.PolygonSource source = () -> take(queue);
+
+			int nPolygonsProcessed;
+			if (nThreads > 1) {
+				var processor = new ParallelForwardProcessor(controlMap, nThreads, siteToolCache, siteCurveSelection);
+				processor.setFormatOutput(formatOutput);
+				nPolygonsProcessed = processor.process(source, maxPoly, handler::handle);
+			} else {
+				nPolygonsProcessed = processPolygons(source, maxPoly, handler);
+			}
+
+			logger.info("{} polygons processed", nPolygonsProcessed);
+			return nPolygonsProcessed;
+		} finally {
+			// The producer has finished unless processing stopped early, in which case it is stopped too.
+			stopped.set(true);
+			producerThread.interrupt();
+			awaitProducer(producerThread);
+		}
+	}
+
+	private static void awaitProducer(Thread producerThread) {
+		try {
+			producerThread.join(PRODUCER_STOP_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		if (producerThread.isAlive()) {
+			logger.warn(
+					"The producer of polygons did not stop within {} ms of processing stopping; abandoning it",
+					PRODUCER_STOP_TIMEOUT
+			);
+		}
+	}
+
+	private int processPolygons(ParallelForwardProcessor.PolygonSource source, int maxPoly, PolygonHandler handler)
+			throws ProcessingException {
+
+		var fpe = new ForwardProcessingEngine(
+				controlMap, new CoefficientContext(controlMap), siteToolCache, siteCurveSelection
+		);
+
+		int nPolygonsProcessed = 0;
+		Optional<VdypPolygon> polygon;
+		while ( (polygon = source.next()).isPresent()) {
+
+			fpe.processPolygon(polygon.get());
+			handler.handle(polygon.get(), formatOutput ? Optional.of(fpe.getOutputRecords()) : Optional.empty());
+
+			nPolygonsProcessed += 1;
+
+			if (maxPoly > 0 && nPolygonsProcessed == maxPoly) {
+				logger.info(
+						"Prematurely terminating polygon processing since MAX_POLY ({}) polygons have been processed",
+						maxPoly
+				);
+				break;
+			}
+		}
+		return nPolygonsProcessed;
+	}
+
+	private static void produce(
+			PolygonProducer producer, VdypPolygonSink sink, BlockingQueue<Message> queue, AtomicBoolean stopped
+	) {
+		Message last;
+		try {
+			producer.produce(sink);
+			last = Message.END;
+		} catch (Throwable e) {
+			// Errors included, as processing would otherwise wait forever for the next polygon.
+			last = new Message(null, e);
+		}
+
+		if (!stopped.get()) {
+			try {
+				queue.put(last);
+			} catch (InterruptedException e) {
+				// Processing has been abandoned.
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static Optional<VdypPolygon> take(BlockingQueue<Message> queue) throws ProcessingException {
+		Message message;
+		try {
+			message = queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProcessingException("Interrupted while waiting for a polygon to be produced", e);
+		}
+
+		if (message.failure() instanceof ProcessingException pe) {
+			throw pe;
+		} else if (message.failure() instanceof RuntimeException re) {
+			throw re;
+		} else if (message.failure() instanceof Error error) {
+			throw error;
+		} else if (message.failure() != null) {
+			throw new ProcessingException(message.failure());
+		}
+		return Optional.ofNullable(message.polygon());
+	}
+}
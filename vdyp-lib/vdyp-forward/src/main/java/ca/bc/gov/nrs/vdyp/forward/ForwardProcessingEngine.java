@@ -6,10 +6,11 @@ import static ca.bc.gov.nrs.vdyp.math.FloatMath.log;
 import static ca.bc.gov.nrs.vdyp.math.FloatMath.pow;
 import static java.lang.Math.max;
 
+import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -20,13 +21,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
 import ca.bc.gov.nrs.vdyp.common.EstimationMethods;
 import ca.bc.gov.nrs.vdyp.common.ReconcilationMethods;
 import ca.bc.gov.nrs.vdyp.common.Utils;
-import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
-import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
-import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
-import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.SpeciesErrorException;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypEntity;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypGrowthDetails;
@@ -38,15 +36,15 @@ import ca.bc.gov.nrs.vdyp.model.CommonData;
 import ca.bc.gov.nrs.vdyp.model.Sp64Distribution;
 import ca.bc.gov.nrs.vdyp.model.LayerType;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap2;
-import ca.bc.gov.nrs.vdyp.model.MatrixMap2Impl;
-import ca.bc.gov.nrs.vdyp.model.MatrixMap3;
-import ca.bc.gov.nrs.vdyp.model.MatrixMap3Impl;
 import ca.bc.gov.nrs.vdyp.model.Region;
 import ca.bc.gov.nrs.vdyp.model.SmallUtilizationClassVariable;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
 import ca.bc.gov.nrs.vdyp.model.UtilizationVector;
 import ca.bc.gov.nrs.vdyp.model.VolumeVariable;
 import ca.bc.gov.nrs.vdyp.si32.site.SiteTool;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+import ca.bc.gov.nrs.vdyp.sindex.Sindxdll;
 
 public class ForwardProcessingEngine {
 
@@ -62,11 +60,58 @@ public class ForwardProcessingEngine {
 
 	/* pp */ final ForwardProcessingState fps;
 
+	private final ForwardOutputFormatter outputFormatter = new ForwardOutputFormatter();
+
 	public ForwardProcessingEngine(Map<String, Object> controlMap) {
 
 		this.fps = new ForwardProcessingState(controlMap);
 	}
 
+	/**
+	 * Create an engine whose coefficients come from <code>context</code>, which must have been built from
+	 * <code>controlMap</code>. The context is not modified and so may be shared between engines.
+	 *
+	 * @param controlMap the control map
+	 * @param context    the coefficients of <code>controlMap</code>
+	 */
+	public ForwardProcessingEngine(Map<String, Object> controlMap, CoefficientContext context) {
+
+		this.fps = new ForwardProcessingState(controlMap, context);
+	}
+
+	/**
+	 * Create an engine as {@link #ForwardProcessingEngine(Map, CoefficientContext)}, whose site curve conversions are
+	 * made through <code>siteToolCache</code>. The cache is thread safe and so may be shared between engines.
+	 *
+	 * @param controlMap    the control map
+	 * @param context       the coefficients of <code>controlMap</code>
+	 * @param siteToolCache the cache of site curve conversions
+	 */
+	public ForwardProcessingEngine(
+			Map<String, Object> controlMap, CoefficientContext context, SiteToolCache siteToolCache
+	) {
+
+		this.fps = new ForwardProcessingState(controlMap, context, siteToolCache);
+	}
+
+	/**
+	 * Create an engine as {@link #ForwardProcessingEngine(Map, CoefficientContext, SiteToolCache)}, which takes the
+	 * site curves of species for which the control map gives none from <code>siteCurveSelection</code> rather than from
+	 * {@link SiteTool#getSICurve(String, boolean)}. Engines with different selections may run at the same time.
+	 *
+	 * @param controlMap         the control map
+	 * @param context            the coefficients of <code>controlMap</code>
+	 * @param siteToolCache      the cache of site curve conversions
+	 * @param siteCurveSelection the site curves of the run
+	 */
+	public ForwardProcessingEngine(
+			Map<String, Object> controlMap, CoefficientContext context, SiteToolCache siteToolCache,
+			SiteCurveSelection siteCurveSelection
+	) {
+
+		this.fps = new ForwardProcessingState(controlMap, context, siteToolCache, siteCurveSelection);
+	}
+
 	public enum ExecutionStep {
 		// Must be first
 		NONE, //
@@ -117,6 +162,36 @@ public class ForwardProcessingEngine {
 		executeForwardAlgorithm(lastStep);
 	}
 
+	/**
+	 * Get the records of the polygon last processed, as they are written to the Forward output files. The primary layer
+	 * is as processed; the veteran layer, which is not processed, as read.
+	 *
+	 * @return the records of the polygon
+	 * @throws IllegalStateException if the processing of the polygon last given to {@link #processPolygon} did not
+	 *                               complete
+	 * @throws ProcessingException   if the records could not be formatted
+	 */
+	public ForwardOutputRecords getOutputRecords() throws ProcessingException {
+
+		PolygonProcessingState pps = fps.getPolygonProcessingState();
+		Bank primaryBank = fps.getBank(2, LayerType.PRIMARY);
+		if (pps == null || primaryBank == null || primaryBank.getLayer() != pps.getLayer()) {
+			throw new IllegalStateException("The processing of the last polygon given did not complete");
+		}
+
+		VdypPolygon polygon = pps.getPolygon();
+		List<Bank> layers = new ArrayList<>(2);
+		layers.add(primaryBank);
+		polygon.getVeteranLayer()
+				.ifPresent(layer -> layers.add(new Bank(layer, polygon.getBiogeoclimaticZone(), s -> true)));
+
+		try {
+			return outputFormatter.format(polygon, layers);
+		} catch (IOException e) {
+			throw new ProcessingException(e);
+		}
+	}
+
 	private void executeForwardAlgorithm(ExecutionStep lastStep) throws ProcessingException {
 
 		PolygonProcessingState pps = fps.getPolygonProcessingState();
@@ -169,7 +244,6 @@ public class ForwardProcessingEngine {
 	private static final float V_BASE_MIN = 0.1f;
 	private static final float B_BASE_MIN = 0.01f;
 
-	@SuppressWarnings("unchecked")
 	static void setCompatibilityVariables(PolygonProcessingState pps) throws ProcessingException {
 		Coefficients aAdjust = new Coefficients(new float[] { 0.0f, 0.0f, 0.0f, 0.0f }, 1);
 
@@ -184,11 +258,6 @@ public class ForwardProcessingEngine {
 		// INL1VGRP is built, rather than when LCOM1 VGRPL is built in the
 		// original code.)
 
-		var cvVolume = new MatrixMap3[pps.getNSpecies() + 1];
-		var cvBasalArea = new MatrixMap2[pps.getNSpecies() + 1];
-		var cvQuadraticMeanDiameter = new MatrixMap2[pps.getNSpecies() + 1];
-		var cvSmall = new HashMap[pps.getNSpecies() + 1];
-
 		for (int s = 1; s <= pps.getNSpecies(); s++) {
 
 			String genusName = pps.wallet.speciesNames[s];
@@ -203,16 +272,6 @@ public class ForwardProcessingEngine {
 			UtilizationVector quadMeanDiameters = Utils.utilizationVector();
 			UtilizationVector treesPerHectare = Utils.utilizationVector();
 
-			cvVolume[s] = new MatrixMap3Impl<UtilizationClass, VolumeVariable, LayerType, Float>(
-					UtilizationClass.ALL_BUT_SMALL_ALL, VolumeVariable.ALL, LayerType.ALL_USED, (k1, k2, k3) -> 0f
-			);
-			cvBasalArea[s] = new MatrixMap2Impl<UtilizationClass, LayerType, Float>(
-					UtilizationClass.ALL_BUT_SMALL_ALL, LayerType.ALL_USED, (k1, k2) -> 0f
-			);
-			cvQuadraticMeanDiameter[s] = new MatrixMap2Impl<UtilizationClass, LayerType, Float>(
-					UtilizationClass.ALL_BUT_SMALL_ALL, LayerType.ALL_USED, (k1, k2) -> 0f
-			);
-
 			for (UtilizationClass uc : UtilizationClass.ALL_BUT_SMALL) {
 
 				basalAreas.setCoe(uc.index, pps.wallet.basalAreas[s][uc.ordinal()]);
@@ -252,8 +311,9 @@ public class ForwardProcessingEngine {
 					adjustment = calculateCompatibilityVariable(actualVolume, baseVolume, staticVolume);
 				}
 
-				cvVolume[s]
-						.put(uc, VolumeVariable.CLOSE_UTIL_VOL_LESS_DECAY_LESS_WASTAGE, LayerType.PRIMARY, adjustment);
+				pps.setCVVolume(
+						s, uc, VolumeVariable.CLOSE_UTIL_VOL_LESS_DECAY_LESS_WASTAGE, LayerType.PRIMARY, adjustment
+				);
 
 				// Volume less decay
 				adjustment = 0.0f;
@@ -275,7 +335,7 @@ public class ForwardProcessingEngine {
 					adjustment = calculateCompatibilityVariable(actualVolume, baseVolume, staticVolume);
 				}
 
-				cvVolume[s].put(uc, VolumeVariable.CLOSE_UTIL_VOL_LESS_DECAY, LayerType.PRIMARY, adjustment);
+				pps.setCVVolume(s, uc, VolumeVariable.CLOSE_UTIL_VOL_LESS_DECAY, LayerType.PRIMARY, adjustment);
 
 				// Volume
 				adjustment = 0.0f;
@@ -295,7 +355,7 @@ public class ForwardProcessingEngine {
 					adjustment = calculateCompatibilityVariable(actualVolume, baseVolume, staticVolume);
 				}
 
-				cvVolume[s].put(uc, VolumeVariable.CLOSE_UTIL_VOL, LayerType.PRIMARY, adjustment);
+				pps.setCVVolume(s, uc, VolumeVariable.CLOSE_UTIL_VOL, LayerType.PRIMARY, adjustment);
 			}
 
 			int primarySpeciesVolumeGroup = pps.volumeEquationGroups[s];
@@ -322,7 +382,7 @@ public class ForwardProcessingEngine {
 					);
 				}
 
-				cvVolume[s].put(uc, VolumeVariable.WHOLE_STEM_VOL, LayerType.PRIMARY, adjustment);
+				pps.setCVVolume(s, uc, VolumeVariable.WHOLE_STEM_VOL, LayerType.PRIMARY, adjustment);
 			}
 
 			EstimationMethods.estimateQuadMeanDiameterByUtilization(
@@ -347,7 +407,7 @@ public class ForwardProcessingEngine {
 
 			for (UtilizationClass uc : UtilizationClass.UTIL_CLASSES) {
 				float baCvValue = pps.wallet.basalAreas[s][uc.ordinal()] - basalAreas.getCoe(uc.index);
-				cvBasalArea[s].put(uc, LayerType.PRIMARY, baCvValue);
+				pps.setCVBasalArea(s, uc, LayerType.PRIMARY, baCvValue);
 
 				float originalQmd = pps.wallet.quadMeanDiameters[s][uc.ordinal()];
 				float adjustedQmd = quadMeanDiameters.getCoe(uc.index);
@@ -361,15 +421,15 @@ public class ForwardProcessingEngine {
 					qmdCvValue = 0.0f;
 				}
 
-				cvQuadraticMeanDiameter[s].put(uc, LayerType.PRIMARY, qmdCvValue);
+				pps.setCVQuadraticMeanDiameter(s, uc, LayerType.PRIMARY, qmdCvValue);
 			}
 
 			// Small components
 
-			cvSmall[s] = estimateSmallComponents(pps, s, growthDetails);
+			estimateSmallComponents(pps, s, growthDetails);
 		}
 
-		pps.setCompatibilityVariableDetails(cvVolume, cvBasalArea, cvQuadraticMeanDiameter, cvSmall);
+		pps.setCompatibilityVariablesComplete();
 	}
 
 	/**
@@ -379,7 +439,7 @@ public class ForwardProcessingEngine {
 	 *
 	 * @throws ProcessingException
 	 */
-	private static HashMap<SmallUtilizationClassVariable, Float>
+	private static void
 			estimateSmallComponents(PolygonProcessingState pps, int speciesIndex, VdypGrowthDetails growthDetails)
 					throws ProcessingException {
 
@@ -416,27 +476,27 @@ public class ForwardProcessingEngine {
 		// EMP086
 		float cvMeanVolume_Small = meanVolumeSmall(pps, speciesName, cvQuadMeanDiameter_Small, cvLoreyHeight_Small); // VMEANSMs
 
-		var cvSmall = new HashMap<SmallUtilizationClassVariable, Float>();
-
 		float spInputBasalArea_Small = pps.wallet.basalAreas[speciesIndex][UTILIZATION_SMALL_INDEX];
-		cvSmall.put(SmallUtilizationClassVariable.BASAL_AREA, spInputBasalArea_Small - cvBasalArea_Small);
+		pps.setCVSmall(
+				speciesIndex, SmallUtilizationClassVariable.BASAL_AREA, spInputBasalArea_Small - cvBasalArea_Small
+		);
 
 		if (growthDetails.allowCalculation(spInputBasalArea_Small, B_BASE_MIN, (l, r) -> l > r)) {
 			float spInputQuadMeanDiameter_Small = pps.wallet.quadMeanDiameters[speciesIndex][UTILIZATION_SMALL_INDEX];
-			cvSmall.put(
-					SmallUtilizationClassVariable.QUAD_MEAN_DIAMETER,
+			pps.setCVSmall(
+					speciesIndex, SmallUtilizationClassVariable.QUAD_MEAN_DIAMETER,
 					spInputQuadMeanDiameter_Small - cvQuadMeanDiameter_Small
 			);
 		} else {
-			cvSmall.put(SmallUtilizationClassVariable.QUAD_MEAN_DIAMETER, 0.0f);
+			pps.setCVSmall(speciesIndex, SmallUtilizationClassVariable.QUAD_MEAN_DIAMETER, 0.0f);
 		}
 
 		float spInputLoreyHeight_Small = pps.wallet.loreyHeights[speciesIndex][UTILIZATION_SMALL_INDEX];
 		if (spInputLoreyHeight_Small > 1.3f && cvLoreyHeight_Small > 1.3f && spInputBasalArea_Small > 0.0f) {
 			float cvLoreyHeight = FloatMath.log( (spInputLoreyHeight_Small - 1.3f) / (cvLoreyHeight_Small - 1.3f));
-			cvSmall.put(SmallUtilizationClassVariable.LOREY_HEIGHT, cvLoreyHeight);
+			pps.setCVSmall(speciesIndex, SmallUtilizationClassVariable.LOREY_HEIGHT, cvLoreyHeight);
 		} else {
-			cvSmall.put(SmallUtilizationClassVariable.LOREY_HEIGHT, 0.0f);
+			pps.setCVSmall(speciesIndex, SmallUtilizationClassVariable.LOREY_HEIGHT, 0.0f);
 		}
 
 		float spInputWholeStemVolume_Small = pps.wallet.wholeStemVolumes[speciesIndex][UTILIZATION_SMALL_INDEX];
@@ -447,13 +507,11 @@ public class ForwardProcessingEngine {
 
 			var cvWholeStemVolume = FloatMath
 					.log(spInputWholeStemVolume_Small / spInputTreePerHectare_Small / cvMeanVolume_Small);
-			cvSmall.put(SmallUtilizationClassVariable.WHOLE_STEM_VOLUME, cvWholeStemVolume);
+			pps.setCVSmall(speciesIndex, SmallUtilizationClassVariable.WHOLE_STEM_VOLUME, cvWholeStemVolume);
 
 		} else {
-			cvSmall.put(SmallUtilizationClassVariable.WHOLE_STEM_VOLUME, 0.0f);
+			pps.setCVSmall(speciesIndex, SmallUtilizationClassVariable.WHOLE_STEM_VOLUME, 0.0f);
 		}
-
-		return cvSmall;
 	}
 
 	// EMP080
@@ -729,16 +787,15 @@ public class ForwardProcessingEngine {
 			activeIndex = Optional.of(primarySpeciesIndex);
 		}
 
-		SiteIndexEquation siteCurve1 = SiteIndexEquation.getByIndex(state.getSiteCurveNumber(activeIndex.get()));
-		SiteIndexEquation siteCurve2 = SiteIndexEquation.getByIndex(state.getSiteCurveNumber(0));
+		SiteIndexEquation siteCurve1 = state.getSiteCurve(activeIndex.get()).equation();
+		SiteIndexEquation siteCurve2 = state.getSiteCurve(0).equation();
 
-		try {
-			double newSI = SiteTool.convertSiteIndexBetweenCurves(siteCurve1, activeIndex.get(), siteCurve2);
-			if (newSI > 1.3) {
-				primarySpeciesSiteIndex = (float) newSI;
-			}
-		} catch (CommonCalculatorException e) {
-			// do nothing. primarySpeciesSiteIndex will not be modified.
+		double[] newSI = new double[1];
+		int status = state.getSiteToolCache()
+				.convertSiteIndexBetweenCurves(siteCurve1, activeIndex.get(), siteCurve2, newSI, 0);
+		// On error, do nothing. primarySpeciesSiteIndex will not be modified.
+		if (status == 0 && newSI[0] > 1.3) {
+			primarySpeciesSiteIndex = (float) newSI[0];
 		}
 
 		state.setPrimarySpeciesDetails(
@@ -777,6 +834,7 @@ public class ForwardProcessingEngine {
 			}
 		}
 
+		double[] yearsToBreastHeight = new double[1];
 		for (int i : state.getIndices()) {
 			if (!Float.isNaN(state.wallet.yearsToBreastHeight[i])) {
 				// was supplied
@@ -794,12 +852,16 @@ public class ForwardProcessingEngine {
 
 			float siteIndex = !Float.isNaN(state.wallet.siteIndices[i]) ? state.wallet.siteIndices[i]
 					: defaultSiteIndex;
-			try {
-				SiteIndexEquation curve = SiteIndexEquation.getByIndex(state.getSiteCurveNumber(i));
-				double yearsToBreastHeight = SiteTool.yearsToBreastHeight(curve, siteIndex);
-				state.wallet.yearsToBreastHeight[i] = (float) yearsToBreastHeight;
-			} catch (CommonCalculatorException e) {
-				logger.warn(MessageFormat.format("Unable to determine yearsToBreastHeight of species {0}", i), e);
+			int status = state.getSiteToolCache().yearsToBreastHeight(
+					state.getSiteCurveSelection(), state.getSiteCurve(i), siteIndex, yearsToBreastHeight, 0
+			);
+			if (status == 0) {
+				state.wallet.yearsToBreastHeight[i] = (float) yearsToBreastHeight[0];
+			} else {
+				logger.warn(
+						MessageFormat
+								.format("Unable to determine yearsToBreastHeight of species {0} (error {1})", i, status)
+				);
 			}
 		}
 	}
@@ -819,8 +881,9 @@ public class ForwardProcessingEngine {
 	static void estimateMissingSiteIndices(PolygonProcessingState state) throws ProcessingException {
 
 		int primarySpeciesIndex = state.getPrimarySpeciesIndex();
-		SiteIndexEquation primarySiteCurve = SiteIndexEquation
-				.getByIndex(state.getSiteCurveNumber(primarySpeciesIndex));
+		SiteIndexEquation primarySiteCurve = state.getSiteCurve(primarySpeciesIndex).equation();
+
+		double[] mappedSiteIndex = new double[1];
 
 		// (1)
 
@@ -838,28 +901,29 @@ public class ForwardProcessingEngine {
 				float siteIndexI = state.wallet.siteIndices[i];
 
 				if (!Float.isNaN(siteIndexI)) {
-					SiteIndexEquation siteCurveI = SiteIndexEquation.getByIndex(state.getSiteCurveNumber(i));
+					SiteIndexEquation siteCurveI = state.getSiteCurve(i).equation();
 
-					try {
-						double mappedSiteIndex = SiteTool
-								.convertSiteIndexBetweenCurves(siteCurveI, siteIndexI, primarySiteCurve);
-						if (mappedSiteIndex > 1.3) {
-							otherSiteIndicesSum += mappedSiteIndex;
+					int status = state.getSiteToolCache().convertSiteIndexBetweenCurves(
+							siteCurveI, siteIndexI, primarySiteCurve, mappedSiteIndex, 0
+					);
+					if (status == 0) {
+						if (mappedSiteIndex[0] > 1.3) {
+							otherSiteIndicesSum += mappedSiteIndex[0];
 							nOtherSiteIndices += 1;
 						}
-					} catch (NoAnswerException e) {
+					} else if (status == Sindxdll.SI_ERR_NO_ANS) {
 						logger.warn(
 								MessageFormat.format(
 										"there is no conversion from curves {0} to {1}. Skipping species {3}",
 										siteCurveI, primarySiteCurve, i
 								)
 						);
-					} catch (CurveErrorException | SpeciesErrorException e) {
+					} else {
 						throw new ProcessingException(
 								MessageFormat.format(
 										"convertSiteIndexBetweenCurves on {0}, {1} and {2} failed", siteCurveI,
 										siteIndexI, primarySiteCurve
-								), e
+								), status
 						);
 					}
 				}
@@ -883,25 +947,26 @@ public class ForwardProcessingEngine {
 
 				float siteIndexI = state.wallet.siteIndices[i];
 				if (Float.isNaN(siteIndexI)) {
-					SiteIndexEquation siteCurveI = SiteIndexEquation.getByIndex(state.getSiteCurveNumber(i));
+					SiteIndexEquation siteCurveI = state.getSiteCurve(i).equation();
 
-					try {
-						double mappedSiteIndex = SiteTool
-								.convertSiteIndexBetweenCurves(primarySiteCurve, primarySpeciesSiteIndex, siteCurveI);
-						state.wallet.siteIndices[i] = (float) mappedSiteIndex;
-					} catch (NoAnswerException e) {
+					int status = state.getSiteToolCache().convertSiteIndexBetweenCurves(
+							primarySiteCurve, primarySpeciesSiteIndex, siteCurveI, mappedSiteIndex, 0
+					);
+					if (status == 0) {
+						state.wallet.siteIndices[i] = (float) mappedSiteIndex[0];
+					} else if (status == Sindxdll.SI_ERR_NO_ANS) {
 						logger.warn(
 								MessageFormat.format(
 										"there is no conversion between curves {0} and {1}. Skipping species {2}",
 										primarySiteCurve, siteCurveI, i
 								)
 						);
-					} catch (CurveErrorException | SpeciesErrorException e) {
+					} else {
 						throw new ProcessingException(
 								MessageFormat.format(
 										"convertSiteIndexBetweenCurves on {0}, {1} and {2} failed. Skipping species {3}",
 										primarySiteCurve, primarySpeciesSiteIndex, siteCurveI, i
-								), e
+								), status
 						);
 					}
 				}
@@ -963,7 +1028,7 @@ public class ForwardProcessingEngine {
 					if (!siteCurveMap.isEmpty()) {
 						scIndex = Utils.optSafe(siteCurveMap.get(sp0Dist.get().getGenusAlias(), becZone.getRegion()));
 					} else {
-						SiteIndexEquation siCurve = SiteTool
+						SiteIndexEquation siCurve = pps.getSiteCurveSelection()
 								.getSICurve(bank.speciesNames[i], becZone.getRegion().equals(Region.COASTAL));
 						scIndex = siCurve == SiteIndexEquation.SI_NO_EQUATION ? Optional.empty() : Optional.of(siCurve);
 					}
@@ -975,7 +1040,7 @@ public class ForwardProcessingEngine {
 					if (!siteCurveMap.isEmpty()) {
 						scIndex = Utils.optSafe(siteCurveMap.get(sp0, becZone.getRegion()));
 					} else {
-						SiteIndexEquation siCurve = SiteTool
+						SiteIndexEquation siCurve = pps.getSiteCurveSelection()
 								.getSICurve(sp0, becZone.getRegion().equals(Region.COASTAL));
 						scIndex = siCurve == SiteIndexEquation.SI_NO_EQUATION ? Optional.empty() : Optional.of(siCurve);
 					}
@@ -4,13 +4,13 @@ import java.text.MessageFormat;
 import java.util.Map;
 import java.util.Optional;
 
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
 import ca.bc.gov.nrs.vdyp.common.ControlKey;
 import ca.bc.gov.nrs.vdyp.common.GenusDefinitionMap;
 import ca.bc.gov.nrs.vdyp.common.Utils;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypGrowthDetails;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
-import ca.bc.gov.nrs.vdyp.io.parse.coe.ModifierParser;
 import ca.bc.gov.nrs.vdyp.model.BecLookup;
 import ca.bc.gov.nrs.vdyp.model.Coefficients;
 import ca.bc.gov.nrs.vdyp.model.CompVarAdjustments;
@@ -19,6 +19,8 @@ import ca.bc.gov.nrs.vdyp.model.MatrixMap2;
 import ca.bc.gov.nrs.vdyp.model.MatrixMap3;
 import ca.bc.gov.nrs.vdyp.model.Region;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
 
 class ForwardProcessingState {
 
@@ -36,7 +38,10 @@ class ForwardProcessingState {
 	/** The control map defining the context of the execution */
 	private final Map<String, Object> controlMap;
 
-	// Cached values from the controlMap
+	/** The coefficients of the execution, shared by all engines using the same control map */
+	private final CoefficientContext context;
+
+	// Cached values from the coefficient context
 
 	final GenusDefinitionMap genusDefinitionMap;
 	final VdypGrowthDetails vdypGrowthDetails;
@@ -61,58 +66,63 @@ class ForwardProcessingState {
 	/** The active state */
 	private PolygonProcessingState pps;
 
+	/** The compatibility variables of the active state, reused for each polygon */
+	private final CompatibilityVariables compatibilityVariables = new CompatibilityVariables();
+
+	/** The cache through which site curve conversions are made; possibly shared with other states */
+	private final SiteToolCache siteToolCache;
+
+	/** The site curves of species for which the control map gives none */
+	private final SiteCurveSelection siteCurveSelection;
+
 	// VDEBUG - NDEBUG
 	// TODO
 
 	public ForwardProcessingState(Map<String, Object> controlMap) {
+		this(controlMap, new CoefficientContext(controlMap));
+	}
+
+	public ForwardProcessingState(Map<String, Object> controlMap, CoefficientContext context) {
+		this(controlMap, context, SiteToolCache.disabled());
+	}
+
+	public ForwardProcessingState(
+			Map<String, Object> controlMap, CoefficientContext context, SiteToolCache siteToolCache
+	) {
+		this(controlMap, context, siteToolCache, SiteCurveSelection.defaults());
+	}
+
+	public ForwardProcessingState(
+			Map<String, Object> controlMap, CoefficientContext context, SiteToolCache siteToolCache,
+			SiteCurveSelection siteCurveSelection
+	) {
 		this.controlMap = controlMap;
+		this.context = context;
+		this.siteToolCache = siteToolCache;
+		this.siteCurveSelection = siteCurveSelection;
 
 		banks = new Bank[MAX_RECORDS];
 
-		this.genusDefinitionMap = Utils
-				.<GenusDefinitionMap>expectParsedControl(controlMap, ControlKey.SP0_DEF, GenusDefinitionMap.class);
-		this.netDecayWasteCoeMap = Utils.<Map<String, Coefficients>>expectParsedControl(
-				controlMap, ControlKey.VOLUME_NET_DECAY_WASTE, Map.class
-		);
-		this.netDecayCoeMap = Utils.<MatrixMap2<Integer, Integer, Optional<Coefficients>>>expectParsedControl(
-				controlMap, ControlKey.VOLUME_NET_DECAY, MatrixMap2.class
-		);
-		this.wasteModifierMap = Utils.<MatrixMap2<String, Region, Float>>expectParsedControl(
-				controlMap, ControlKey.WASTE_MODIFIERS, MatrixMap2.class
-		);
-		this.decayModifierMap = Utils.<MatrixMap2<String, Region, Float>>expectParsedControl(
-				controlMap, ModifierParser.CONTROL_KEY_MOD301_DECAY, MatrixMap2.class
-		);
-		this.closeUtilizationCoeMap = Utils.<MatrixMap2<Integer, Integer, Optional<Coefficients>>>expectParsedControl(
-				controlMap, ControlKey.CLOSE_UTIL_VOLUME, MatrixMap2.class
-		);
+		this.genusDefinitionMap = context.getGenusDefinitionMap();
+		this.netDecayWasteCoeMap = context.getNetDecayWasteCoeMap();
+		this.netDecayCoeMap = context.getNetDecayCoeMap();
+		this.wasteModifierMap = context.getWasteModifierMap();
+		this.decayModifierMap = context.getDecayModifierMap();
+		this.closeUtilizationCoeMap = context.getCloseUtilizationCoeMap();
 		this.vdypGrowthDetails = Utils.expectParsedControl(controlMap, ControlKey.VTROL, VdypGrowthDetails.class);
-		this.totalStandWholeStepVolumeCoeMap = Utils.<Map<Integer, Coefficients>>expectParsedControl(
-				controlMap, ControlKey.TOTAL_STAND_WHOLE_STEM_VOL, Map.class
-		);
-		this.wholeStemUtilizationComponentMap = Utils
-				.<MatrixMap2<Integer, Integer, Optional<Coefficients>>>expectParsedControl(
-						controlMap, ControlKey.UTIL_COMP_WS_VOLUME, MatrixMap2.class
-				);
-		this.quadMeanDiameterUtilizationComponentMap = Utils
-				.<MatrixMap3<Integer, String, String, Coefficients>>expectParsedControl(
-						controlMap, ControlKey.UTIL_COMP_DQ, MatrixMap3.class
-				);
-		this.basalAreaDiameterUtilizationComponentMap = Utils
-				.<MatrixMap3<Integer, String, String, Coefficients>>expectParsedControl(
-						controlMap, ControlKey.UTIL_COMP_BA, MatrixMap3.class
-				);
-		this.smallComponentWholeStemVolumeCoefficients = Utils
-				.<Map<String, Coefficients>>expectParsedControl(controlMap, ControlKey.SMALL_COMP_WS_VOLUME, Map.class);
-		this.smallComponentLoreyHeightCoefficients = Utils
-				.<Map<String, Coefficients>>expectParsedControl(controlMap, ControlKey.SMALL_COMP_HL, Map.class);
-		this.smallComponentQuadMeanDiameterCoefficients = Utils
-				.<Map<String, Coefficients>>expectParsedControl(controlMap, ControlKey.SMALL_COMP_DQ, Map.class);
-		this.smallComponentBasalAreaCoefficients = Utils
-				.<Map<String, Coefficients>>expectParsedControl(controlMap, ControlKey.SMALL_COMP_BA, Map.class);
-		this.smallComponentProbabilityCoefficients = Utils.<Map<String, Coefficients>>expectParsedControl(
-				controlMap, ControlKey.SMALL_COMP_PROBABILITY, Map.class
-		);
+		this.totalStandWholeStepVolumeCoeMap = context.getTotalStandWholeStemVolumeCoeMap();
+		this.wholeStemUtilizationComponentMap = context.getWholeStemUtilizationComponentMap();
+		this.quadMeanDiameterUtilizationComponentMap = context.getQuadMeanDiameterUtilizationComponentMap();
+		this.basalAreaDiameterUtilizationComponentMap = context.getBasalAreaUtilizationComponentMap();
+		this.smallComponentWholeStemVolumeCoefficients = context.getSmallComponentWholeStemVolumeCoefficients();
+		this.smallComponentLoreyHeightCoefficients = context.getSmallComponentLoreyHeightCoefficients();
+		this.smallComponentQuadMeanDiameterCoefficients = context.getSmallComponentQuadMeanDiameterCoefficients();
+		this.smallComponentBasalAreaCoefficients = context.getSmallComponentBasalAreaCoefficients();
+		this.smallComponentProbabilityCoefficients = context.getSmallComponentProbabilityCoefficients();
+	}
+
+	public CoefficientContext getContext() {
+		return context;
 	}
 
 	public GenusDefinitionMap getGenusDefinitionMap() {
@@ -120,23 +130,23 @@ class ForwardProcessingState {
 	}
 
 	public BecLookup getBecLookup() {
-		return Utils.expectParsedControl(controlMap, ControlKey.BEC_DEF, BecLookup.class);
+		return context.getBecLookup();
 	}
 
 	public MatrixMap2<String, Region, SiteIndexEquation> getSiteCurveMap() {
-		return Utils.expectParsedControl(controlMap, ControlKey.SITE_CURVE_NUMBERS, MatrixMap2.class);
+		return context.getSiteCurveMap();
 	}
 
 	public MatrixMap2<String, Region, Coefficients> getHl1Coefficients() {
-		return Utils.expectParsedControl(controlMap, ControlKey.HL_PRIMARY_SP_EQN_P1, MatrixMap2.class);
+		return context.getHlPrimarySpeciesEqnP1Coefficients();
 	}
 
 	public CompVarAdjustments getCompVarAdjustments() {
-		return Utils.expectParsedControl(controlMap, ControlKey.PARAM_ADJUSTMENTS, CompVarAdjustments.class);
+		return context.getCompVarAdjustments();
 	}
 
 	public VdypGrowthDetails getVdypGrowthDetails() {
-		return Utils.expectParsedControl(controlMap, ControlKey.VTROL, VdypGrowthDetails.class);
+		return vdypGrowthDetails;
 	}
 
 	private static final float MIN_BASAL_AREA = 0.001f;
@@ -149,7 +159,19 @@ class ForwardProcessingState {
 				s -> s.getUtilizations().isPresent()
 						? s.getUtilizations().get().get(UtilizationClass.ALL).getBasalArea() >= MIN_BASAL_AREA : true
 		);
-		pps = new PolygonProcessingState(this, polygon, banks[0], controlMap);
+		pps = new PolygonProcessingState(this, polygon, banks[0]);
+	}
+
+	CompatibilityVariables getCompatibilityVariables() {
+		return compatibilityVariables;
+	}
+
+	public SiteToolCache getSiteToolCache() {
+		return siteToolCache;
+	}
+
+	public SiteCurveSelection getSiteCurveSelection() {
+		return siteCurveSelection;
 	}
 
 	public PolygonProcessingState getPolygonProcessingState() {
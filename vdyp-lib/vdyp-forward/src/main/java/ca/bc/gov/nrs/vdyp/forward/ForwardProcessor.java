@@ -2,21 +2,29 @@ package ca.bc.gov.nrs.vdyp.forward;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.application.VdypStartApplication;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
 import ca.bc.gov.nrs.vdyp.common.ControlKey;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
 import ca.bc.gov.nrs.vdyp.io.FileResolver;
 import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.BaseControlParser;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
 
 /**
  *
@@ -51,6 +59,59 @@ public class ForwardProcessor {
 
 	private static final Logger logger = LoggerFactory.getLogger(ForwardProcessor.class);
 
+	/**
+	 * The number of threads on which polygons are processed. If one, polygons are processed on the calling thread;
+	 * otherwise, by a {@link ParallelForwardProcessor} with this many workers.
+	 */
+	private final int nThreads;
+
+	/**
+	 * The {@link ForwardInputIndex} of the input files, by which polygons are read directly rather than by reading the
+	 * input files sequentially. Built when processing starts if the file does not exist.
+	 */
+	private final Optional<Path> indexFile;
+
+	/**
+	 * The cache through which the site curve conversions of every polygon are made, whichever thread processes it.
+	 */
+	private final SiteToolCache siteToolCache;
+
+	/**
+	 * The site curves of species for which the control map gives none. Being specific to this processor, processors
+	 * with different curves may run in the same JVM.
+	 */
+	private final SiteCurveSelection siteCurveSelection;
+
+	public ForwardProcessor() {
+		this(1);
+	}
+
+	public ForwardProcessor(int nThreads) {
+		this(nThreads, Optional.empty());
+	}
+
+	public ForwardProcessor(int nThreads, Optional<Path> indexFile) {
+		this(nThreads, indexFile, SiteToolCache.disabled());
+	}
+
+	public ForwardProcessor(int nThreads, Optional<Path> indexFile, SiteToolCache siteToolCache) {
+		this(nThreads, indexFile, siteToolCache, SiteCurveSelection.defaults());
+	}
+
+	public ForwardProcessor(
+			int nThreads, Optional<Path> indexFile, SiteToolCache siteToolCache, SiteCurveSelection siteCurveSelection
+	) {
+		if (nThreads < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The number of threads must be at least one; it is {0}", nThreads)
+			);
+		}
+		this.nThreads = nThreads;
+		this.indexFile = indexFile;
+		this.siteToolCache = siteToolCache;
+		this.siteCurveSelection = siteCurveSelection;
+	}
+
 	/**
 	 * Initialize VdypForwardProcessor
 	 *
@@ -63,6 +124,24 @@ public class ForwardProcessor {
 	 */
 	void run(FileResolver resolver, List<String> controlFileNames, Set<ForwardPass> vdypPassSet)
 			throws IOException, ResourceParseException, ProcessingException {
+		run(resolver, controlFileNames, vdypPassSet, Optional.empty());
+	}
+
+	/**
+	 * Initialize VdypForwardProcessor, taking the configuration from a cache if it holds it
+	 *
+	 * @param resolver
+	 * @param controlFileNames
+	 * @param coefficientCache
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 * @throws ProcessingException
+	 */
+	void run(
+			FileResolver resolver, List<String> controlFileNames, Set<ForwardPass> vdypPassSet,
+			Optional<CoefficientCache> coefficientCache
+	) throws IOException, ResourceParseException, ProcessingException {
 
 		logger.info("VDYPPASS: {}", vdypPassSet);
 		logger.debug("VDYPPASS(1): Perform Initiation activities?");
@@ -72,49 +151,234 @@ public class ForwardProcessor {
 		logger.debug("VDYPPASS(5): Close data files");
 		logger.debug(" ");
 
-		// Load the control map
+		process(vdypPassSet, loadControlMap(resolver, controlFileNames, coefficientCache), Optional.of(resolver));
+	}
+
+	/**
+	 * Run the forward algorithm on the polygons of a start application as it produces them, by a
+	 * {@link ForwardPipeline}, rather than on the input files named by the control files. The start application is
+	 * initialized here and closed when processing is complete.
+	 *
+	 * @param resolver              resolves the control files of both applications, and the files they name
+	 * @param startApplication      the start application, not yet initialized
+	 * @param startControlFileNames the control files of the start application
+	 * @param writeStartOutput      whether the start application also writes the VRI adjust input files
+	 * @param controlFileNames      the control files of Forward
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 * @throws ProcessingException
+	 */
+	void runPipeline(
+			FileSystemFileResolver resolver, VdypStartApplication<?, ?, ?, ?> startApplication,
+			List<String> startControlFileNames, boolean writeStartOutput, List<String> controlFileNames
+	) throws IOException, ResourceParseException, ProcessingException {
+
+		try (startApplication) {
+			startApplication.setWriteOutputFiles(writeStartOutput);
+			startApplication.init(resolver, startControlFileNames.toArray(String[]::new));
+
+			process(startApplication, loadControlMap(resolver, controlFileNames), Optional.of(resolver));
+		}
+	}
+
+	/**
+	 * Load the control map from a sequence of control files.
+	 *
+	 * @param resolver
+	 * @param controlFileNames
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 */
+	static Map<String, Object> loadControlMap(FileResolver resolver, List<String> controlFileNames)
+			throws IOException, ResourceParseException {
+		return loadControlMap(resolver, controlFileNames, Optional.empty());
+	}
+
+	/**
+	 * Load the control map from a sequence of control files, taking the configuration from a cache if it holds it.
+	 *
+	 * @param resolver
+	 * @param controlFileNames
+	 * @param coefficientCache
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 */
+	public static Map<String, Object> loadControlMap(
+			FileResolver resolver, List<String> controlFileNames, Optional<CoefficientCache> coefficientCache
+	) throws IOException, ResourceParseException {
+
 		Map<String, Object> controlMap = new HashMap<>();
 
 		var parser = new ForwardControlParser();
+		parser.setCoefficientBundlePathFromSystemProperty();
+		coefficientCache.ifPresent(parser::setCoefficientCache);
 
 		for (var controlFileName : controlFileNames) {
 			logger.info("Resolving and parsing {}", controlFileName);
 
 			try (var is = resolver.resolveForInput(controlFileName)) {
-				Path controlFilePath = Path.of(resolver.toString(controlFileName)).getParent();
-				FileSystemFileResolver relativeResolver = new FileSystemFileResolver(controlFilePath);
-
-				parser.parse(is, relativeResolver, controlMap);
+				parser.parse(is, relativeResolver(resolver, controlFileName), controlMap);
 			}
 		}
 
-		process(vdypPassSet, controlMap);
+		return controlMap;
 	}
 
 	/**
-	 * Implements VDYP_SUB
+	 * Compile the configuration named by a control file into a coefficient bundle, which runs given the same control
+	 * file can take their configuration from. Each control file is parsed on its own, so a bundle is compiled from just
+	 * one.
+	 *
+	 * @param resolver        resolves the control file
+	 * @param controlFileName the control file
+	 * @param bundlePath      the location of the bundle
+	 *
+	 * @throws IOException
+	 * @throws ResourceParseException
+	 * @see BaseControlParser#COEFFICIENT_BUNDLE_PROPERTY
+	 */
+	public static void compileCoefficientBundle(FileResolver resolver, String controlFileName, Path bundlePath)
+			throws IOException, ResourceParseException {
+
+		logger.info("Compiling coefficient bundle {} from {}", bundlePath, controlFileName);
+
+		try (var is = resolver.resolveForInput(controlFileName)) {
+			new ForwardControlParser()
+					.compileCoefficientBundle(List.of(is), relativeResolver(resolver, controlFileName), bundlePath);
+		}
+	}
+
+	/**
+	 * The files named by a control file are relative to it. A local file's name, as given by the resolver's toString,
+	 * is a URI rather than a path.
+	 */
+	private static FileSystemFileResolver relativeResolver(FileResolver resolver, String controlFileName)
+			throws IOException {
+		var localPath = resolver.resolveLocalPath(controlFileName);
+		Path controlFilePath = (localPath.isPresent() ? localPath.get() : Path.of(resolver.toString(controlFileName)))
+				.getParent();
+		return new FileSystemFileResolver(controlFilePath);
+	}
+
+	/**
+	 * Implements VDYP_SUB, without writing the output files
 	 *
 	 * @throws ProcessingException
 	 */
-	@SuppressWarnings("unchecked")
 	public void process(Set<ForwardPass> vdypPassSet, Map<String, Object> controlMap) throws ProcessingException {
+		process(vdypPassSet, controlMap, Optional.empty());
+	}
+
+	/**
+	 * Implements VDYP_SUB. The processed polygons are written to the output files named by the control map if it names
+	 * them and <code>outputResolver</code> is given.
+	 *
+	 * @param vdypPassSet
+	 * @param controlMap
+	 * @param outputResolver resolves the names of the output files
+	 * @throws ProcessingException
+	 */
+	public void
+			process(Set<ForwardPass> vdypPassSet, Map<String, Object> controlMap, Optional<FileResolver> outputResolver)
+					throws ProcessingException {
 
 		logger.info("Beginning processing with given configuration");
 
 		int maxPoly = 0;
 		if (vdypPassSet.contains(ForwardPass.PASS_1)) {
-			Object maxPolyValue = controlMap.get(ControlKey.MAX_NUM_POLY.name());
-			if (maxPolyValue != null) {
-				maxPoly = (Integer) maxPolyValue;
-			}
+			maxPoly = getMaxPoly(controlMap);
 		}
 
 		logger.debug("MaxPoly: {}", maxPoly);
 
+		Optional<ForwardOutputWriter> outputWriter = Optional.empty();
 		if (vdypPassSet.contains(ForwardPass.PASS_2)) {
 			// input files are already opened
-			// TODO: open output files
+			outputWriter = openOutputWriter(controlMap, outputResolver);
+		}
+
+		try {
+			processPolygons(vdypPassSet, controlMap, maxPoly, outputWriter);
+		} finally {
+			closeOutputWriter(outputWriter);
 		}
+	}
+
+	/**
+	 * Process each polygon produced by a start application as it is produced, up to the maximum number of polygons
+	 * given by the control map. The processed polygons are written to the output files named by the control map if it
+	 * names them and <code>outputResolver</code> is given; the input files it names are not read.
+	 *
+	 * @param startApplication the start application, which must have been initialized
+	 * @param controlMap       the Forward control map
+	 * @param outputResolver   resolves the names of the output files
+	 * @return the number of polygons processed
+	 * @throws ProcessingException
+	 */
+	public int process(
+			VdypStartApplication<?, ?, ?, ?> startApplication, Map<String, Object> controlMap,
+			Optional<FileResolver> outputResolver
+	) throws ProcessingException {
+
+		logger.info("Beginning processing of the polygons of {}", startApplication.getId());
+
+		int maxPoly = getMaxPoly(controlMap);
+		logger.debug("MaxPoly: {}", maxPoly);
+
+		var outputWriter = openOutputWriter(controlMap, outputResolver);
+		try {
+			var pipeline = new ForwardPipeline(
+					controlMap, nThreads, ForwardPipeline.DEFAULT_CAPACITY, siteToolCache, siteCurveSelection
+			);
+			pipeline.setFormatOutput(outputWriter.isPresent());
+			int nPolygonsProcessed = pipeline
+					.process(startApplication, maxPoly, (polygon, output) -> write(outputWriter, output));
+
+			if (siteToolCache.isEnabled()) {
+				logger.info("Site curve conversion cache: {}", siteToolCache);
+			}
+			return nPolygonsProcessed;
+		} finally {
+			closeOutputWriter(outputWriter);
+		}
+	}
+
+	private static int getMaxPoly(Map<String, Object> controlMap) {
+		Object maxPolyValue = controlMap.get(ControlKey.MAX_NUM_POLY.name());
+		return maxPolyValue != null ? (Integer) maxPolyValue : 0;
+	}
+
+	private static Optional<ForwardOutputWriter>
+			openOutputWriter(Map<String, Object> controlMap, Optional<FileResolver> outputResolver)
+					throws ProcessingException {
+		if (outputResolver.isPresent() && ForwardOutputWriter.isConfigured(controlMap)) {
+			try {
+				return Optional.of(new ForwardOutputWriter(controlMap, outputResolver.get()));
+			} catch (IOException e) {
+				throw new ProcessingException(e);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static void closeOutputWriter(Optional<ForwardOutputWriter> outputWriter) throws ProcessingException {
+		if (outputWriter.isPresent()) {
+			try {
+				outputWriter.get().close();
+			} catch (IOException e) {
+				throw new ProcessingException(e);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void processPolygons(
+			Set<ForwardPass> vdypPassSet, Map<String, Object> controlMap, int maxPoly,
+			Optional<ForwardOutputWriter> outputWriter
+	) throws ProcessingException {
 
 		if (vdypPassSet.contains(ForwardPass.PASS_3)) {
 
@@ -123,31 +387,66 @@ public class ForwardProcessor {
 						.get(ControlKey.FORWARD_INPUT_GROWTO.name());
 				var polygonDescriptionStream = polygonDescriptionStreamFactory.get();
 
-				var fpe = new ForwardProcessingEngine(controlMap);
+				var forwardDataStreamReader = new ForwardDataStreamReader(controlMap, indexFile);
 
-				var forwardDataStreamReader = new ForwardDataStreamReader(controlMap);
+				if (nThreads > 1) {
+					var processor = new ParallelForwardProcessor(
+							controlMap, nThreads, siteToolCache, siteCurveSelection
+					);
+					processor.setFormatOutput(outputWriter.isPresent());
 
-				// Fetch the next polygon to process.
-				int nPolygonsProcessed = 0;
-				while (polygonDescriptionStream.hasNext()) {
+					int nPolygonsProcessed = processor.process(
+							polygonDescriptionStream, forwardDataStreamReader, maxPoly,
+							(polygon, output) -> write(outputWriter, output)
+					);
 
-					if (nPolygonsProcessed == maxPoly) {
-						logger.info(
-								"Prematurely terminating polygon processing since MAX_POLY ({}) polygons have been processed",
-								maxPoly
-						);
-					}
+					logger.info("{} polygons processed", nPolygonsProcessed);
+				} else {
+					var fpe = new ForwardProcessingEngine(
+							controlMap, new CoefficientContext(controlMap), siteToolCache, siteCurveSelection
+					);
+
+					// Fetch the next polygon to process.
+					int nPolygonsProcessed = 0;
+					while (polygonDescriptionStream.hasNext()) {
 
-					var polygon = forwardDataStreamReader.readNextPolygon(polygonDescriptionStream.next());
+						if (maxPoly > 0 && nPolygonsProcessed == maxPoly) {
+							logger.info(
+									"Prematurely terminating polygon processing since MAX_POLY ({}) polygons have been processed",
+									maxPoly
+							);
+							break;
+						}
 
-					fpe.processPolygon(polygon);
+						var polygon = forwardDataStreamReader.readNextPolygon(polygonDescriptionStream.next());
 
-					nPolygonsProcessed += 1;
+						fpe.processPolygon(polygon);
+						if (outputWriter.isPresent()) {
+							write(outputWriter, Optional.of(fpe.getOutputRecords()));
+						}
+
+						nPolygonsProcessed += 1;
+					}
 				}
 
 			} catch (ResourceParseException | IOException e) {
 				throw new ProcessingException(e);
 			}
+
+			if (siteToolCache.isEnabled()) {
+				logger.info("Site curve conversion cache: {}", siteToolCache);
+			}
+		}
+	}
+
+	private static void write(Optional<ForwardOutputWriter> outputWriter, Optional<ForwardOutputRecords> output)
+			throws ProcessingException {
+		if (outputWriter.isPresent() && output.isPresent()) {
+			try {
+				outputWriter.get().write(output.get());
+			} catch (IOException e) {
+				throw new ProcessingException(e);
+			}
 		}
 	}
 }
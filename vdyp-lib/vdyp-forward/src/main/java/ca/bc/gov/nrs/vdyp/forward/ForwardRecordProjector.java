@@ -0,0 +1,57 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.util.List;
+import java.util.Map;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+
+/**
+ * Projects polygons given as their Forward input records, returning the records Forward would write for them, so that a
+ * service can project a stream of polygons one at a time without writing them to files.
+ * <p>
+ * A projector has an engine of its own, and so must be used by one thread at a time. The control map, coefficient
+ * context and site tool cache may be shared by the projectors of several threads.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class ForwardRecordProjector {
+
+	private final ForwardRecordReader reader;
+	private final ForwardProcessingEngine engine;
+
+	/**
+	 * Create a projector.
+	 *
+	 * @param controlMap         the Forward control map
+	 * @param context            the coefficients, which must have been built from <code>controlMap</code>
+	 * @param siteToolCache      caches the site curve conversions
+	 * @param siteCurveSelection selects the site curves
+	 */
+	public ForwardRecordProjector(
+			Map<String, Object> controlMap, CoefficientContext context, SiteToolCache siteToolCache,
+			SiteCurveSelection siteCurveSelection
+	) {
+		this.reader = new ForwardRecordReader(controlMap);
+		this.engine = new ForwardProcessingEngine(controlMap, context, siteToolCache, siteCurveSelection);
+	}
+
+	/**
+	 * Project a polygon.
+	 *
+	 * @param polygonRecord      the polygon record
+	 * @param speciesRecords     the layer by species records of the polygon, ending with the record that ends them
+	 * @param utilizationRecords the layer by species by utilization records of the polygon, ending with the record that
+	 *                           ends them
+	 * @return the records of the projected polygon
+	 * @throws ProcessingException if the records could not be parsed, or the polygon could not be projected
+	 */
+	public ForwardOutputRecords
+			project(String polygonRecord, List<String> speciesRecords, List<String> utilizationRecords)
+					throws ProcessingException {
+		engine.processPolygon(reader.read(polygonRecord, speciesRecords, utilizationRecords));
+		return engine.getOutputRecords();
+	}
+}
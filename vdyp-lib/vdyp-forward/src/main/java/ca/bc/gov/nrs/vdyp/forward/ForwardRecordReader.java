@@ -0,0 +1,127 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypPolygonParser;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypSpeciesParser;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypUtilizationParser;
+import ca.bc.gov.nrs.vdyp.io.FileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.ControlMapValueReplacer;
+
+/**
+ * Reads polygons from their Forward input records when they are held in memory rather than in the Forward input files,
+ * as when they are received by a service. The records of each polygon are those that would appear for it in the
+ * polygon, layer by species and layer by species by utilization files, including the records that end its species and
+ * its utilizations.
+ * <p>
+ * The control map given is not modified, and so may be shared with other readers and with the engines that process the
+ * polygons read.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class ForwardRecordReader {
+
+	private static final String POLYGON_FILE_NAME = "polygon";
+	private static final String SPECIES_FILE_NAME = "species";
+	private static final String UTILIZATION_FILE_NAME = "utilization";
+
+	private final Map<String, Object> controlMap;
+
+	private final ControlMapValueReplacer<Object, String> polygonParser = new VdypPolygonParser();
+	private final ControlMapValueReplacer<Object, String> speciesParser = new VdypSpeciesParser();
+	private final ControlMapValueReplacer<Object, String> utilizationParser = new VdypUtilizationParser();
+
+	/**
+	 * Create a reader.
+	 *
+	 * @param controlMap the Forward control map, which gives the definitions against which the records are parsed
+	 */
+	public ForwardRecordReader(Map<String, Object> controlMap) {
+		this.controlMap = controlMap;
+	}
+
+	/**
+	 * Read a polygon from its records.
+	 *
+	 * @param polygonRecord      the polygon record
+	 * @param speciesRecords     the layer by species records of the polygon, ending with the record that ends them
+	 * @param utilizationRecords the layer by species by utilization records of the polygon, ending with the record that
+	 *                           ends them
+	 * @return the polygon, with its layers, species and utilizations
+	 * @throws ProcessingException if the records could not be parsed
+	 */
+	public VdypPolygon read(String polygonRecord, List<String> speciesRecords, List<String> utilizationRecords)
+			throws ProcessingException {
+
+		var resolver = new RecordFileResolver(
+				Map.of(
+						POLYGON_FILE_NAME, List.of(polygonRecord), //
+						SPECIES_FILE_NAME, speciesRecords, //
+						UTILIZATION_FILE_NAME, utilizationRecords
+				)
+		);
+
+		Map<String, Object> polygonControlMap = new HashMap<>(controlMap);
+		try {
+			polygonControlMap.put(
+					polygonParser.getControlKey().name(),
+					polygonParser.map(POLYGON_FILE_NAME, resolver, polygonControlMap)
+			);
+			polygonControlMap.put(
+					speciesParser.getControlKey().name(),
+					speciesParser.map(SPECIES_FILE_NAME, resolver, polygonControlMap)
+			);
+			polygonControlMap.put(
+					utilizationParser.getControlKey().name(),
+					utilizationParser.map(UTILIZATION_FILE_NAME, resolver, polygonControlMap)
+			);
+
+			return new ForwardDataStreamReader(polygonControlMap).readNextPolygon();
+		} catch (IOException | ResourceParseException e) {
+			throw new ProcessingException(e);
+		}
+	}
+
+	/**
+	 * Resolves each of the input "files" of a polygon to its records.
+	 */
+	private record RecordFileResolver(Map<String, List<String>> records) implements FileResolver {
+
+		@Override
+		public InputStream resolveForInput(String filename) throws IOException {
+			var fileRecords = records.get(filename);
+			if (fileRecords == null) {
+				throw new IOException(MessageFormat.format("{0} is not one of the records of the polygon", filename));
+			}
+			return new ByteArrayInputStream(
+					(String.join("\n", fileRecords) + "\n").getBytes(StandardCharsets.US_ASCII)
+			);
+		}
+
+		@Override
+		public OutputStream resolveForOutput(String filename) throws IOException {
+			throw new UnsupportedOperationException("The records of a polygon cannot be written");
+		}
+
+		@Override
+		public String toString(String filename) throws IOException {
+			return MessageFormat.format("{0} records", filename);
+		}
+
+		@Override
+		public FileResolver relative(String path) throws IOException {
+			return this;
+		}
+	}
+}
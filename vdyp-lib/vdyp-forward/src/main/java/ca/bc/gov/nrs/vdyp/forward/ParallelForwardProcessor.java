@@ -0,0 +1,341 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParser;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+
+/**
+ * Runs the forward algorithm on many polygons at once.
+ * <p>
+ * A single reader thread assembles complete polygons from the input streams (the streams are sequential and so cannot
+ * be shared) and feeds them through a bounded queue to a pool of workers. Each worker owns its own
+ * {@link ForwardProcessingEngine}, and hence its own {@link ForwardProcessingState}, so no processing state is shared
+ * between threads; only the (read-only) control map and the {@link CoefficientContext} built from it are. Processed
+ * polygons are handed to a reorder stage, running on the calling thread, that releases them to the given
+ * {@link PolygonHandler} in input order.
+ * <p>
+ * The number of polygons that have been read but not yet released is bounded so that a single slow polygon cannot cause
+ * the remainder of the input to be read into memory.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+class ParallelForwardProcessor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ParallelForwardProcessor.class);
+
+	/** The number of polygons per worker that may be read but not yet released by the reorder stage */
+	private static final int POLYGONS_IN_FLIGHT_PER_WORKER = 4;
+
+	/**
+	 * Receives processed polygons, in input order, with their output records if they are formatted. Called on the
+	 * thread that invoked {@link ParallelForwardProcessor#process}.
+	 */
+	@FunctionalInterface
+	public interface PolygonHandler {
+		void handle(VdypPolygon polygon, Optional<ForwardOutputRecords> output) throws ProcessingException;
+	}
+
+	/**
+	 * Supplies the polygons to be processed, complete with their layers. Called on the reader thread only.
+	 */
+	@FunctionalInterface
+	public interface PolygonSource {
+		/**
+		 * @return the next polygon, or empty if there are no more
+		 */
+		Optional<VdypPolygon> next() throws ProcessingException;
+	}
+
+	private final Map<String, Object> controlMap;
+	private final int nWorkers;
+	private final SiteToolCache siteToolCache;
+	private final SiteCurveSelection siteCurveSelection;
+
+	private boolean formatOutput = true;
+
+	/**
+	 * Create a parallel processor.
+	 *
+	 * @param controlMap the control map; it must not be modified while processing is taking place.
+	 * @param nWorkers   the number of worker threads, each of which will run its own engine. Must be at least 1.
+	 */
+	public ParallelForwardProcessor(Map<String, Object> controlMap, int nWorkers) {
+		this(controlMap, nWorkers, SiteToolCache.disabled());
+	}
+
+	/**
+	 * Create a parallel processor whose engines make their site curve conversions through a shared cache.
+	 *
+	 * @param controlMap    the control map; it must not be modified while processing is taking place.
+	 * @param nWorkers      the number of worker threads, each of which will run its own engine. Must be at least 1.
+	 * @param siteToolCache the cache of site curve conversions, shared by all the engines
+	 */
+	public ParallelForwardProcessor(Map<String, Object> controlMap, int nWorkers, SiteToolCache siteToolCache) {
+		this(controlMap, nWorkers, siteToolCache, SiteCurveSelection.defaults());
+	}
+
+	/**
+	 * Create a parallel processor whose engines make their site curve conversions through a shared cache, and take the
+	 * site curves of species for which the control map gives none from <code>siteCurveSelection</code>.
+	 *
+	 * @param controlMap         the control map; it must not be modified while processing is taking place.
+	 * @param nWorkers           the number of worker threads, each of which will run its own engine. Must be at least
+	 *                           1.
+	 * @param siteToolCache      the cache of site curve conversions, shared by all the engines
+	 * @param siteCurveSelection the site curves of the run
+	 */
+	public ParallelForwardProcessor(
+			Map<String, Object> controlMap, int nWorkers, SiteToolCache siteToolCache,
+			SiteCurveSelection siteCurveSelection
+	) {
+		if (nWorkers < 1) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The number of workers must be at least one; it is {0}", nWorkers)
+			);
+		}
+
+		this.controlMap = controlMap;
+		this.nWorkers = nWorkers;
+		this.siteToolCache = siteToolCache;
+		this.siteCurveSelection = siteCurveSelection;
+	}
+
+	/**
+	 * Set whether the workers format the output records of each polygon they process. There is no point in formatting
+	 * them unless they are to be written.
+	 *
+	 * @param formatOutput whether to format the records. By default they are formatted.
+	 */
+	public void setFormatOutput(boolean formatOutput) {
+		this.formatOutput = formatOutput;
+	}
+
+	/**
+	 * Process each polygon named by <code>polygonDescriptionStream</code>, up to <code>maxPoly</code> polygons if that
+	 * is greater than zero.
+	 *
+	 * @param polygonDescriptionStream the polygons to be processed
+	 * @param forwardDataStreamReader  the source of the polygon definitions
+	 * @param maxPoly                  if greater than 0, the maximum number of polygons to process
+	 * @param handler                  receives each processed polygon and its output records, in input order
+	 * @return the number of polygons processed
+	 * @throws ProcessingException the first (in input order) failure encountered by any stage. If one occurs, no
+	 *                             polygon following the one that failed is passed to <code>handler</code>.
+	 */
+	public int process(
+			StreamingParser<VdypPolygonDescription> polygonDescriptionStream,
+			ForwardDataStreamReader forwardDataStreamReader, int maxPoly, PolygonHandler handler
+	) throws ProcessingException {
+
+		return process(() -> {
+			try {
+				if (!polygonDescriptionStream.hasNext()) {
+					return Optional.empty();
+				}
+				return Optional.of(forwardDataStreamReader.readNextPolygon(polygonDescriptionStream.next()));
+			} catch (ResourceParseException | IOException e) {
+				throw new ProcessingException(e);
+			}
+		}, maxPoly, handler);
+	}
+
+	/**
+	 * Process each polygon supplied by <code>source</code>, up to <code>maxPoly</code> polygons if that is greater than
+	 * zero.
+	 *
+	 * @param source  the polygons to be processed
+	 * @param maxPoly if greater than 0, the maximum number of polygons to process
+	 * @param handler receives each processed polygon and its output records, in the order supplied
+	 * @return the number of polygons processed
+	 * @throws ProcessingException the first (in input order) failure encountered by any stage. If one occurs, no
+	 *                             polygon following the one that failed is passed to <code>handler</code>.
+	 */
+	public int process(PolygonSource source, int maxPoly, PolygonHandler handler) throws ProcessingException {
+
+		logger.info("Processing polygons with {} workers", nWorkers);
+
+		var inFlight = new Semaphore(nWorkers * POLYGONS_IN_FLIGHT_PER_WORKER);
+		var workQueue = new ArrayBlockingQueue<Task>(nWorkers * POLYGONS_IN_FLIGHT_PER_WORKER);
+		var resultQueue = new LinkedBlockingQueue<Result>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(nWorkers + 1, new WorkerThreadFactory());
+		try {
+			executor.execute(() -> readPolygons(source, maxPoly, inFlight, workQueue, resultQueue));
+
+			var context = new CoefficientContext(controlMap);
+			for (int i = 0; i < nWorkers; i++) {
+				var engine = new ForwardProcessingEngine(controlMap, context, siteToolCache, siteCurveSelection);
+				executor.execute(() -> processPolygons(engine, formatOutput, workQueue, resultQueue));
+			}
+
+			return releaseInOrder(resultQueue, inFlight, handler);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProcessingException("Interrupted while waiting for polygons to be processed", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * The reorder stage. Results arrive in completion order; they are held until all of their predecessors have been
+	 * released.
+	 */
+	private static int releaseInOrder(BlockingQueue<Result> resultQueue, Semaphore inFlight, PolygonHandler handler)
+			throws InterruptedException, ProcessingException {
+
+		var pending = new HashMap<Integer, Result>();
+		int nextSequenceNumber = 0;
+		int nPolygons = -1;
+
+		while (nPolygons == -1 || nextSequenceNumber < nPolygons) {
+			var result = resultQueue.take();
+
+			if (result instanceof EndOfInput end) {
+				nPolygons = end.nPolygons();
+			} else if (result instanceof Success success) {
+				pending.put(success.sequenceNumber(), success);
+			} else if (result instanceof Failure failure) {
+				pending.put(failure.sequenceNumber(), failure);
+			}
+
+			Result next;
+			while ( (next = pending.remove(nextSequenceNumber)) != null) {
+				if (next instanceof Failure failure) {
+					rethrow(failure.cause());
+				}
+
+				var success = (Success) next;
+				handler.handle(success.polygon(), success.output());
+
+				nextSequenceNumber += 1;
+				inFlight.release();
+			}
+		}
+
+		return nextSequenceNumber;
+	}
+
+	private static void readPolygons(
+			PolygonSource source, int maxPoly, Semaphore inFlight, BlockingQueue<Task> workQueue,
+			BlockingQueue<Result> resultQueue
+	) {
+		int nPolygonsRead = 0;
+		try {
+			Optional<VdypPolygon> polygon;
+			while ( (polygon = source.next()).isPresent()) {
+
+				inFlight.acquire();
+				workQueue.put(new Task(nPolygonsRead, polygon.get()));
+
+				nPolygonsRead += 1;
+
+				if (maxPoly > 0 && nPolygonsRead == maxPoly) {
+					logger.info(
+							"Prematurely terminating polygon processing since MAX_POLY ({}) polygons have been processed",
+							maxPoly
+					);
+					break;
+				}
+			}
+
+			workQueue.put(Task.END_OF_WORK);
+			resultQueue.add(new EndOfInput(nPolygonsRead));
+		} catch (InterruptedException e) {
+			// Processing has been abandoned.
+			Thread.currentThread().interrupt();
+		} catch (Throwable e) {
+			// Anything else, Errors included, must reach the reorder stage or it will wait forever.
+			resultQueue.add(new Failure(nPolygonsRead, e));
+		}
+	}
+
+	private static void processPolygons(
+			ForwardProcessingEngine engine, boolean formatOutput, BlockingQueue<Task> workQueue,
+			BlockingQueue<Result> resultQueue
+	) {
+		try {
+			Task task;
+			while ( (task = workQueue.take()) != Task.END_OF_WORK) {
+				try {
+					engine.processPolygon(task.polygon());
+					var output = formatOutput ? Optional.of(engine.getOutputRecords())
+							: Optional.<ForwardOutputRecords>empty();
+					resultQueue.add(new Success(task.sequenceNumber(), task.polygon(), output));
+				} catch (Throwable e) {
+					// Errors included, as the reorder stage would otherwise wait forever for this polygon.
+					resultQueue.add(new Failure(task.sequenceNumber(), e));
+				}
+			}
+
+			// Let the other workers see the end of the work, too.
+			workQueue.put(Task.END_OF_WORK);
+		} catch (InterruptedException e) {
+			// Processing has been abandoned.
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void rethrow(Throwable e) throws ProcessingException {
+		if (e instanceof ProcessingException pe) {
+			throw pe;
+		} else if (e instanceof RuntimeException re) {
+			throw re;
+		} else if (e instanceof Error error) {
+			throw error;
+		} else {
+			throw new ProcessingException(e);
+		}
+	}
+
+	private record Task(int sequenceNumber, VdypPolygon polygon) {
+		static final Task END_OF_WORK = new Task(-1, null);
+	}
+
+	private sealed interface Result permits Success, Failure, EndOfInput {
+	}
+
+	private record Success(int sequenceNumber, VdypPolygon polygon, Optional<ForwardOutputRecords> output)
+			implements Result {
+	}
+
+	private record Failure(int sequenceNumber, Throwable cause) implements Result {
+	}
+
+	private record EndOfInput(int nPolygons) implements Result {
+	}
+
+	private static class WorkerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			var thread = new Thread(r, "vdyp-forward-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -7,8 +7,9 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import ca.bc.gov.nrs.vdyp.common.ControlKey;
-import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurve;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypEntity;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypGrowthDetails;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
@@ -22,6 +23,8 @@ import ca.bc.gov.nrs.vdyp.model.Region;
 import ca.bc.gov.nrs.vdyp.model.SmallUtilizationClassVariable;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
 import ca.bc.gov.nrs.vdyp.model.VolumeVariable;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
 
 class PolygonProcessingState {
 
@@ -88,6 +91,7 @@ class PolygonProcessingState {
 
 	// INXSC
 	private int[] siteCurveNumbers; // INXSCV
+	private SiteCurve[] siteCurves; // the curves of siteCurveNumbers, looked up when first needed
 
 	// Primary Species Details - encompasses L1COM6
 	private boolean arePrimarySpeciesDetailsSet = false;
@@ -102,10 +106,8 @@ class PolygonProcessingState {
 	// Compatibility Variables - LCV1 & LCVS
 	private boolean areCompatibilityVariablesSet = false;
 
-	private MatrixMap3<UtilizationClass, VolumeVariable, LayerType, Float>[] cvVolume;
-	private MatrixMap2<UtilizationClass, LayerType, Float>[] cvBasalArea;
-	private MatrixMap2<UtilizationClass, LayerType, Float>[] cvQuadraticMeanDiameter;
-	private Map<SmallUtilizationClassVariable, Float>[] cvPrimaryLayerSmall;
+	// Shared by all polygons processed by the containing ForwardProcessingState
+	private final CompatibilityVariables compatibilityVariables;
 
 	// FRBASP0 - FR
 	// TODO
@@ -113,24 +115,19 @@ class PolygonProcessingState {
 	// MNSP - MSPL1, MSPLV
 	// TODO
 
-	public PolygonProcessingState(
-			ForwardProcessingState fps, VdypPolygon polygon, Bank bank, Map<String, Object> controlMap
-	) {
+	public PolygonProcessingState(ForwardProcessingState fps, VdypPolygon polygon, Bank bank) {
 
 		this.fps = fps;
 		this.polygon = polygon;
 
 		this.wallet = bank.copy();
 
-		var volumeEquationGroupMatrix = Utils.<MatrixMap2<String, String, Integer>>expectParsedControl(
-				controlMap, ControlKey.VOLUME_EQN_GROUPS, MatrixMap2.class
-		);
-		var decayEquationGroupMatrix = Utils.<MatrixMap2<String, String, Integer>>expectParsedControl(
-				controlMap, ControlKey.DECAY_GROUPS, MatrixMap2.class
-		);
-		var breakageEquationGroupMatrix = Utils.<MatrixMap2<String, String, Integer>>expectParsedControl(
-				controlMap, ControlKey.BREAKAGE_GROUPS, MatrixMap2.class
-		);
+		this.compatibilityVariables = fps.getCompatibilityVariables();
+		this.compatibilityVariables.reset(this.wallet.getNSpecies());
+
+		var volumeEquationGroupMatrix = fps.getContext().getVolumeEquationGroups();
+		var decayEquationGroupMatrix = fps.getContext().getDecayEquationGroups();
+		var breakageEquationGroupMatrix = fps.getContext().getBreakageEquationGroups();
 
 		this.volumeEquationGroups = new int[this.wallet.getNSpecies() + 1];
 		this.decayEquationGroups = new int[this.wallet.getNSpecies() + 1];
@@ -177,6 +174,14 @@ class PolygonProcessingState {
 		return fps.vdypGrowthDetails;
 	}
 
+	public SiteToolCache getSiteToolCache() {
+		return fps.getSiteToolCache();
+	}
+
+	public SiteCurveSelection getSiteCurveSelection() {
+		return fps.getSiteCurveSelection();
+	}
+
 	public MatrixMap2<Integer, Integer, Optional<Coefficients>> getNetDecayCoeMap() {
 		return fps.netDecayCoeMap;
 	}
@@ -269,6 +274,21 @@ class PolygonProcessingState {
 		return siteCurveNumbers[n];
 	}
 
+	/**
+	 * @param n the species index, or 0 for the primary species
+	 * @return the site curve of the species, which is that of {@link #getSiteCurveNumber(int)}
+	 */
+	public SiteCurve getSiteCurve(int n) {
+		int siteCurveNumber = getSiteCurveNumber(n);
+		if (n == 0) {
+			return getSiteCurve(primarySpeciesIndex);
+		}
+		if (siteCurves[n] == null) {
+			siteCurves[n] = SiteCurves.of(SiteIndexEquation.getByIndex(siteCurveNumber));
+		}
+		return siteCurves[n];
+	}
+
 	public float getPrimarySpeciesDominantHeight() {
 		if (!arePrimarySpeciesDetailsSet) {
 			throw new IllegalStateException(UNSET_PRIMARY_SPECIES_DOMINANT_HEIGHT);
@@ -322,6 +342,7 @@ class PolygonProcessingState {
 		}
 
 		this.siteCurveNumbers = Arrays.copyOf(siteCurveNumbers, siteCurveNumbers.length);
+		this.siteCurves = new SiteCurve[siteCurveNumbers.length];
 
 		areSiteCurveNumbersSet = true;
 	}
@@ -357,31 +378,51 @@ class PolygonProcessingState {
 		this.arePrimarySpeciesDetailsSet = true;
 	}
 
-	public void setCompatibilityVariableDetails(
-			MatrixMap3<UtilizationClass, VolumeVariable, LayerType, Float>[] cvVolume,
-			MatrixMap2<UtilizationClass, LayerType, Float>[] cvBasalArea,
-			MatrixMap2<UtilizationClass, LayerType, Float>[] cvQuadraticMeanDiameter,
-			Map<SmallUtilizationClassVariable, Float>[] cvPrimaryLayerSmall
+	public void setCVVolume(
+			int speciesIndex, UtilizationClass uc, VolumeVariable volumeVariable, LayerType layerType, float value
 	) {
-		if (this.areCompatibilityVariablesSet) {
-			throw new IllegalStateException(COMPATIBILITY_VARIABLES_SET_CAN_BE_SET_ONCE_ONLY);
-		}
+		checkCompatibilityVariablesUnset();
+		compatibilityVariables.setVolume(speciesIndex, uc, volumeVariable, layerType, value);
+	}
+
+	public void setCVBasalArea(int speciesIndex, UtilizationClass uc, LayerType layerType, float value) {
+		checkCompatibilityVariablesUnset();
+		compatibilityVariables.setBasalArea(speciesIndex, uc, layerType, value);
+	}
 
-		this.cvVolume = cvVolume;
-		this.cvBasalArea = cvBasalArea;
-		this.cvQuadraticMeanDiameter = cvQuadraticMeanDiameter;
-		this.cvPrimaryLayerSmall = cvPrimaryLayerSmall;
+	public void setCVQuadraticMeanDiameter(int speciesIndex, UtilizationClass uc, LayerType layerType, float value) {
+		checkCompatibilityVariablesUnset();
+		compatibilityVariables.setQuadMeanDiameter(speciesIndex, uc, layerType, value);
+	}
+
+	public void setCVSmall(int speciesIndex, SmallUtilizationClassVariable variable, float value) {
+		checkCompatibilityVariablesUnset();
+		compatibilityVariables.setSmall(speciesIndex, variable, value);
+	}
+
+	/**
+	 * Mark the compatibility variables, given with the setCV methods, as complete. Until then they cannot be read, and
+	 * after it they cannot be changed.
+	 */
+	public void setCompatibilityVariablesComplete() {
+		checkCompatibilityVariablesUnset();
 
 		this.areCompatibilityVariablesSet = true;
 	}
 
+	private void checkCompatibilityVariablesUnset() {
+		if (this.areCompatibilityVariablesSet) {
+			throw new IllegalStateException(COMPATIBILITY_VARIABLES_SET_CAN_BE_SET_ONCE_ONLY);
+		}
+	}
+
 	public float
 			getCVVolume(int speciesIndex, UtilizationClass uc, VolumeVariable volumeVariable, LayerType layerType) {
 		if (!this.areCompatibilityVariablesSet) {
 			throw new IllegalStateException(UNSET_CV_VOLUMES);
 		}
 
-		return cvVolume[speciesIndex].get(uc, volumeVariable, layerType);
+		return compatibilityVariables.getVolume(speciesIndex, uc, volumeVariable, layerType);
 	}
 
 	public float getCVBasalArea(int speciesIndex, UtilizationClass uc, LayerType layerType) {
@@ -389,7 +430,7 @@ class PolygonProcessingState {
 			throw new IllegalStateException(UNSET_CV_BASAL_AREAS);
 		}
 
-		return cvBasalArea[speciesIndex].get(uc, layerType);
+		return compatibilityVariables.getBasalArea(speciesIndex, uc, layerType);
 	}
 
 	public float getCVQuadraticMeanDiameter(int speciesIndex, UtilizationClass uc, LayerType layerType) {
@@ -397,7 +438,7 @@ class PolygonProcessingState {
 			throw new IllegalStateException(UNSET_CV_BASAL_AREAS);
 		}
 
-		return cvQuadraticMeanDiameter[speciesIndex].get(uc, layerType);
+		return compatibilityVariables.getQuadMeanDiameter(speciesIndex, uc, layerType);
 	}
 
 	public float getCVSmall(int speciesIndex, SmallUtilizationClassVariable variable) {
@@ -405,6 +446,6 @@ class PolygonProcessingState {
 			throw new IllegalStateException(UNSET_CV_BASAL_AREAS);
 		}
 
-		return cvPrimaryLayerSmall[speciesIndex].get(variable);
+		return compatibilityVariables.getSmall(speciesIndex, variable);
 	}
-}
\ No newline at end of file
+}
@@ -9,10 +9,13 @@ import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_5;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.LogManager;
 
@@ -21,7 +24,13 @@ import org.slf4j.LoggerFactory;
 
 import ca.bc.gov.nrs.vdyp.application.VdypApplication;
 import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypJobServer;
+import ca.bc.gov.nrs.vdyp.application.VdypStartApplication;
+import ca.bc.gov.nrs.vdyp.application.VdypStartJobRunner;
 import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.control.BaseControlParser;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
 
 public class VdypForwardApplication extends VdypApplication {
 
@@ -42,6 +51,55 @@ public class VdypForwardApplication extends VdypApplication {
 
 	public static final String DEFAULT_VDYP_CONTROL_FILE_NAME = "vdyp.ctr";
 
+	/**
+	 * System property giving the number of threads on which polygons are processed. If absent, polygons are processed
+	 * one at a time.
+	 */
+	public static final String N_THREADS_PROPERTY = "vdyp.forward.threads";
+
+	/**
+	 * System property giving the polygon index file of the input files, which is built if it does not exist. If absent,
+	 * polygons are found by reading the input files sequentially.
+	 */
+	public static final String INDEX_FILE_PROPERTY = "vdyp.forward.index";
+
+	/**
+	 * System property giving the number of site curve conversions held in a cache shared by all threads. If absent or
+	 * 0, conversions are not cached.
+	 */
+	public static final String SITE_TOOL_CACHE_SIZE_PROPERTY = "vdyp.forward.siteToolCache.size";
+
+	/**
+	 * System property giving the precision to which the inputs of cached site curve conversions are rounded. If absent
+	 * or 0, conversions are cached only for identical inputs and their results are unchanged.
+	 */
+	public static final String SITE_TOOL_CACHE_QUANTUM_PROPERTY = "vdyp.forward.siteToolCache.quantum";
+
+	/**
+	 * System property which, if "true", has the run look the heights and years to breast height given by site curves up
+	 * in tables rather than evaluate the curves directly. See {@link SiteCurveSelection#withTabulatedSiteCurves}.
+	 */
+	public static final String TABULATED_SITE_CURVES_PROPERTY = "vdyp.forward.tabulatedSiteCurves";
+
+	/**
+	 * System property giving the start application, such as <code>VRI_START</code>, whose polygons are processed as it
+	 * produces them, by a {@link ForwardPipeline}, rather than being read from the input files named by the control
+	 * files. The application must be on the class path. If absent, the input files are read.
+	 */
+	public static final String PIPELINE_START_PROPERTY = "vdyp.forward.pipeline.start";
+
+	/**
+	 * System property giving the control files of the start application named by {@link #PIPELINE_START_PROPERTY},
+	 * separated by commas.
+	 */
+	public static final String PIPELINE_START_CONTROL_FILES_PROPERTY = "vdyp.forward.pipeline.startControlFiles";
+
+	/**
+	 * System property which, if "true", has the start application named by {@link #PIPELINE_START_PROPERTY} write the
+	 * VRI adjust input files as well. By default they are not written.
+	 */
+	public static final String PIPELINE_WRITE_START_OUTPUT_PROPERTY = "vdyp.forward.pipeline.writeStartOutput";
+
 	private static Set<ForwardPass> vdypPassSet = new HashSet<>(Arrays.asList(PASS_1, PASS_2, PASS_3, PASS_4, PASS_5));
 
 	@SuppressWarnings("java:S106")
@@ -51,6 +109,23 @@ public class VdypForwardApplication extends VdypApplication {
 
 		app.logVersionInformation();
 
+		if (args.length > 0 && args[0].equals(BaseControlParser.COMPILE_COEFFICIENTS_OPTION)) {
+			try {
+				if (args.length != 3) {
+					throw new IllegalArgumentException(
+							MessageFormat.format(
+									"Usage: {0} <bundle> <control file>", BaseControlParser.COMPILE_COEFFICIENTS_OPTION
+							)
+					);
+				}
+				ForwardProcessor.compileCoefficientBundle(new FileSystemFileResolver(), args[2], Path.of(args[1]));
+			} catch (Exception ex) {
+				logger.error("Error while compiling coefficient bundle", ex);
+				System.exit(CONFIG_LOAD_ERROR);
+			}
+			return;
+		}
+
 		List<String> controlFileNames = null;
 
 		try {
@@ -78,9 +153,25 @@ public class VdypForwardApplication extends VdypApplication {
 		}
 
 		try {
-			ForwardProcessor processor = new ForwardProcessor();
+			ForwardProcessor processor = new ForwardProcessor(
+					Integer.getInteger(N_THREADS_PROPERTY, 1),
+					Optional.ofNullable(System.getProperty(INDEX_FILE_PROPERTY)).map(Path::of),
+					new SiteToolCache(
+							Integer.getInteger(SITE_TOOL_CACHE_SIZE_PROPERTY, 0),
+							Double.parseDouble(System.getProperty(SITE_TOOL_CACHE_QUANTUM_PROPERTY, "0"))
+					), siteCurveSelection()
+			);
 
-			processor.run(new FileSystemFileResolver(), controlFileNames, vdypPassSet);
+			var pipelineStart = System.getProperty(PIPELINE_START_PROPERTY);
+			if (pipelineStart != null) {
+				processor.runPipeline(
+						new FileSystemFileResolver(), startApplication(pipelineStart),
+						Arrays.asList(System.getProperty(PIPELINE_START_CONTROL_FILES_PROPERTY, "").split(",")),
+						Boolean.getBoolean(PIPELINE_WRITE_START_OUTPUT_PROPERTY), controlFileNames
+				);
+			} else {
+				processor.run(new FileSystemFileResolver(), controlFileNames, vdypPassSet);
+			}
 
 		} catch (Exception ex) {
 			logger.error("Error during processing", ex);
@@ -88,6 +179,32 @@ public class VdypForwardApplication extends VdypApplication {
 		}
 	}
 
+	/**
+	 * Create a new instance of a start application found on the class path.
+	 *
+	 * @param name the name of the application's {@link VdypApplicationIdentifier}
+	 * @throws IllegalArgumentException if no start application of that name is on the class path
+	 */
+	static VdypStartApplication<?, ?, ?, ?> startApplication(String name) {
+		var id = VdypApplicationIdentifier.valueOf(name);
+		return VdypJobServer.findRunners().stream() //
+				.filter(runner -> runner.getId() == id && runner instanceof VdypStartJobRunner)
+				.map(runner -> ((VdypStartJobRunner) runner).newApplication()) //
+				.findFirst().orElseThrow(
+						() -> new IllegalArgumentException(
+								MessageFormat.format("Start application {0} is not on the class path", name)
+						)
+				);
+	}
+
+	/**
+	 * @return the site curve selection of a run, as given by the system properties
+	 */
+	static SiteCurveSelection siteCurveSelection() {
+		return SiteCurveSelection.defaults()
+				.withTabulatedSiteCurves(Boolean.getBoolean(TABULATED_SITE_CURVES_PROPERTY));
+	}
+
 	private void logVersionInformation() {
 		logger.info("{} {}", RESOURCE_SHORT_VERSION, RESOURCE_VERSION_DATE);
 		logger.info("{} Ver:{} {}", RESOURCE_BINARY_NAME, RESOURCE_SHORT_VERSION, RESOURCE_VERSION_DATE);
@@ -0,0 +1,279 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.common.GenusDefinitionMap;
+import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
+import ca.bc.gov.nrs.vdyp.common_calculators.ForestInventoryZone;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexForestInventoryZone;
+import ca.bc.gov.nrs.vdyp.forward.model.FipMode;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypEntity;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypLayerSpecies;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonLayer;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypSpeciesUtilization;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypPolygonDescriptionParser;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.model.BecDefinition;
+import ca.bc.gov.nrs.vdyp.model.LayerType;
+import ca.bc.gov.nrs.vdyp.model.PolygonMode;
+import ca.bc.gov.nrs.vdyp.model.Sp64Distribution;
+import ca.bc.gov.nrs.vdyp.model.Sp64DistributionSet;
+import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
+import ca.bc.gov.nrs.vdyp.model.VdypLayer;
+import ca.bc.gov.nrs.vdyp.model.VdypSpecies;
+import ca.bc.gov.nrs.vdyp.model.VdypUtilizationHolder;
+
+/**
+ * Converts the polygons produced by VRISTART and FIPSTART directly into Forward polygons, ready to be processed,
+ * without their being written to the VRI adjust input files and read back.
+ * <p>
+ * The polygon converted is the one {@link ForwardDataStreamReader} would read from the files written by
+ * <code>VriAdjustInputWriter</code>: values the writer leaves out are missing, the percentage of forested land is
+ * truncated to a whole number, only the site species of a layer has site values, the sp64 distributions of genera
+ * unknown to the control map are dropped, and the utilizations are scaled and adjusted as when they are read. The
+ * values themselves are not rounded to the precision of the files, however, so the results of processing may differ
+ * from those of processing the files in the last digits.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class VdypStartPolygonConverter {
+
+	/** The value written by VriAdjustInputWriter for a value that is missing */
+	private static final float EMPTY_FLOAT = -9f;
+	private static final int EMPTY_INT = -9;
+
+	private final Map<String, Object> controlMap;
+	private final GenusDefinitionMap genusDefinitionMap;
+
+	/**
+	 * Create a converter.
+	 *
+	 * @param controlMap the Forward control map, from which BEC zones and genera are resolved
+	 */
+	public VdypStartPolygonConverter(Map<String, Object> controlMap) {
+		this.controlMap = controlMap;
+		this.genusDefinitionMap = Utils.expectParsedControl(controlMap, ControlKey.SP0_DEF, GenusDefinitionMap.class);
+	}
+
+	/**
+	 * Convert a polygon produced by VRISTART or FIPSTART.
+	 *
+	 * @param polygon the polygon, which must have a primary layer
+	 * @return the Forward polygon, with its layers, species and utilizations
+	 * @throws ProcessingException if the polygon is one that could not have been read from the files written for it
+	 */
+	public VdypPolygon convert(ca.bc.gov.nrs.vdyp.model.VdypPolygon polygon) throws ProcessingException {
+
+		var primary = polygon.getLayers().get(LayerType.PRIMARY);
+		if (primary == null) {
+			throw new ProcessingException(
+					MessageFormat.format("Polygon {0} has no primary layer", polygon.getPolygonIdentifier())
+			);
+		}
+
+		VdypPolygonDescription description;
+		BecDefinition bec;
+		try {
+			description = VdypPolygonDescriptionParser.parse(polygon.getPolygonIdentifier().toString().strip());
+			bec = Utils.getBec(polygon.getBiogeoclimaticZone().getAlias(), controlMap);
+		} catch (ResourceParseException | IllegalArgumentException e) {
+			throw new ProcessingException(
+					MessageFormat.format("Unable to convert polygon {0}", polygon.getPolygonIdentifier()), e
+			);
+		}
+
+		var fiz = polygon.getForestInventoryZone();
+		char fizId = fiz == null || fiz.isEmpty() ? ' ' : fiz.charAt(0);
+		if (ForestInventoryZone.toRegion(fizId) == SiteIndexForestInventoryZone.FIZ_UNKNOWN) {
+			throw new ProcessingException(
+					MessageFormat.format(
+							"Forest Inventory Zone {0} of polygon {1} is not a recognized FIZ (only ''A'' ... ''L'' are supported)",
+							fiz, polygon.getPolygonIdentifier()
+					)
+			);
+		}
+
+		// The inventory type group and the basal area group are written as -9 when missing, which is read as -9
+		// rather than as missing.
+		var result = new VdypPolygon(
+				description, bec, fizId, polygon.getPercentAvailable().intValue(),
+				Optional.of(primary.getInventoryTypeGroup().orElse(EMPTY_INT)),
+				Optional.of(primary.getEmpiricalRelationshipParameterIndex().orElse(EMPTY_INT)),
+				FipMode.getByCode(polygon.getMode().orElse(PolygonMode.START).getCode())
+		);
+
+		VdypPolygonLayer primaryLayer = null;
+		VdypPolygonLayer veteranLayer = null;
+		for (var layer : polygon.getLayers().values()) {
+			var converted = convertLayer(description, result, layer);
+			if (converted.isPresent()) {
+				if (layer.getLayerType() == LayerType.PRIMARY) {
+					primaryLayer = converted.get();
+				} else {
+					veteranLayer = converted.get();
+				}
+			}
+		}
+		result.setLayers(primaryLayer, veteranLayer);
+
+		ForwardDataStreamReader.adjustUtilizations(result);
+
+		return result;
+	}
+
+	/**
+	 * Convert a layer, which, like one read from the files, is present only if it has species.
+	 */
+	private Optional<VdypPolygonLayer>
+			convertLayer(VdypPolygonDescription description, VdypPolygon polygon, VdypLayer layer)
+					throws ProcessingException {
+
+		var genera = new HashMap<Integer, VdypLayerSpecies>();
+		for (var species : layer.getSpecies().values()) {
+			var converted = convertSpecies(description, layer, species);
+			converted.setUtilizations(
+					Optional.of(
+							convertUtilizations(
+									description, layer, species, species.getGenusIndex(),
+									Optional.of(species.getGenus())
+							)
+					)
+			);
+			for (var u : converted.getUtilizations().get().values()) {
+				u.setParent(converted);
+			}
+			genera.put(species.getGenusIndex(), converted);
+		}
+
+		if (genera.isEmpty()) {
+			return Optional.empty();
+		}
+
+		var result = new VdypPolygonLayer(
+				layer.getLayerType(), polygon, genera,
+				Optional.of(convertUtilizations(description, layer, layer, 0, Optional.empty()))
+		);
+		for (var species : genera.values()) {
+			species.setParent(result);
+		}
+		return Optional.of(result);
+	}
+
+	private VdypLayerSpecies convertSpecies(VdypPolygonDescription description, VdypLayer layer, VdypSpecies species)
+			throws ProcessingException {
+
+		List<Sp64Distribution> distributions = new ArrayList<>();
+		var sp64List = species.getSp64DistributionSet().getSp64DistributionList();
+		for (int i = 0; i < Math.min(4, sp64List.size()); i++) {
+			var sp64 = sp64List.get(i);
+			if (genusDefinitionMap.contains(sp64.getGenusAlias())) {
+				distributions.add(new Sp64Distribution(i + 1, sp64.getGenusAlias(), sp64.getPercentage()));
+			}
+		}
+
+		boolean isSiteSpecies = layer.getSiteGenus().map(species.getGenus()::equals).orElse(false);
+
+		return new VdypLayerSpecies(
+				description, layer.getLayerType(), species.getGenusIndex(), species.getGenus(),
+				new Sp64DistributionSet(4, distributions), //
+				siteValue(layer.getSiteIndex(), isSiteSpecies, "site index", description), //
+				siteValue(layer.getHeight(), isSiteSpecies, "dominant height", description), //
+				siteValue(layer.getAgeTotal(), isSiteSpecies, "total age", description), //
+				siteValue(layer.getBreastHeightAge(), isSiteSpecies, "age at breast height", description), //
+				siteValue(layer.getYearsToBreastHeight(), isSiteSpecies, "years to breast height", description), //
+				Optional.of(isSiteSpecies), //
+				layer.getSiteCurveNumber().filter(x -> isSiteSpecies).filter(x -> x != EMPTY_INT)
+						.orElse(VdypEntity.MISSING_INTEGER_VALUE)
+		);
+	}
+
+	private Map<UtilizationClass, VdypSpeciesUtilization> convertUtilizations(
+			VdypPolygonDescription description, VdypLayer layer, VdypUtilizationHolder holder, int genusIndex,
+			Optional<String> genus
+	) throws ProcessingException {
+
+		var result = new EnumMap<UtilizationClass, VdypSpeciesUtilization>(UtilizationClass.class);
+		for (var uc : UtilizationClass.values()) {
+			float basalArea = holder.getBaseAreaByUtilization().getCoe(uc.index);
+			float treesPerHectare = holder.getTreesPerHectareByUtilization().getCoe(uc.index);
+
+			float loreyHeight = VdypEntity.MISSING_FLOAT_VALUE;
+			if (uc.index < 1 && holder.getLoreyHeightByUtilization().getCoe(uc.index) > 0f) {
+				loreyHeight = holder.getLoreyHeightByUtilization().getCoe(uc.index);
+			}
+
+			float quadMeanDiameter;
+			if (basalArea > 0) {
+				quadMeanDiameter = BaseAreaTreeDensityDiameter.quadMeanDiameter(basalArea, treesPerHectare);
+			} else {
+				quadMeanDiameter = layer.getLayerType() == LayerType.PRIMARY ? VdypEntity.MISSING_FLOAT_VALUE : 0f;
+			}
+
+			result.put(
+					uc,
+					new VdypSpeciesUtilization(
+							description, layer.getLayerType(), genusIndex, genus, uc,
+							value(basalArea, "basal area", description),
+							value(treesPerHectare, "trees per hectare", description), loreyHeight,
+							value(
+									holder.getWholeStemVolumeByUtilization().getCoe(uc.index), "whole stem volume",
+									description
+							),
+							value(
+									holder.getCloseUtilizationVolumeByUtilization().getCoe(uc.index),
+									"close utilization volume", description
+							),
+							value(
+									holder.getCloseUtilizationVolumeNetOfDecayByUtilization().getCoe(uc.index),
+									"close utilization volume net of decay", description
+							),
+							value(
+									holder.getCloseUtilizationVolumeNetOfDecayAndWasteByUtilization().getCoe(uc.index),
+									"close utilization volume net of decay and waste", description
+							),
+							value(
+									holder.getCloseUtilizationVolumeNetOfDecayWasteAndBreakageByUtilization()
+											.getCoe(uc.index),
+									"close utilization volume net of decay, waste and breakage", description
+							), //
+							quadMeanDiameter
+					)
+			);
+		}
+		return result;
+	}
+
+	private static float
+			siteValue(Optional<Float> value, boolean isSiteSpecies, String name, VdypPolygonDescription description)
+					throws ProcessingException {
+		return value(value.filter(x -> isSiteSpecies).orElse(EMPTY_FLOAT), name, description);
+	}
+
+	/**
+	 * A value as it would be read from the files: missing if it is the value written for missing values, and otherwise
+	 * non-negative.
+	 */
+	private static float value(float value, String name, VdypPolygonDescription description)
+			throws ProcessingException {
+		if (value == EMPTY_FLOAT || Float.isNaN(value)) {
+			return VdypEntity.MISSING_FLOAT_VALUE;
+		}
+		if (value < 0f) {
+			throw new ProcessingException(
+					MessageFormat.format("The {0} of polygon {1} is negative: {2}", name, description, value)
+			);
+		}
+		return value;
+	}
+}
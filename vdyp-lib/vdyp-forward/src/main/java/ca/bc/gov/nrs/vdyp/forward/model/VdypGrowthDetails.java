@@ -1,5 +1,6 @@
 package ca.bc.gov.nrs.vdyp.forward.model;
 
+import java.util.Arrays;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 
@@ -124,4 +125,10 @@ public class VdypGrowthDetails {
 
 		return controlVariables[index];
 	}
+
+	@Override
+	public String toString() {
+		return "VdypGrowthDetails [firstYear=" + firstYear + ", currentYear=" + currentYear + ", lastYear=" + lastYear
+				+ ", yearCounter=" + yearCounter + ", controlVariables=" + Arrays.toString(controlVariables) + "]";
+	}
 }
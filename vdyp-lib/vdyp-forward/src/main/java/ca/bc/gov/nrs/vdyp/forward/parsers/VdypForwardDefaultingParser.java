@@ -1,10 +1,13 @@
 package ca.bc.gov.nrs.vdyp.forward.parsers;
 
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang3.StringUtils;
 
 import ca.bc.gov.nrs.vdyp.forward.model.VdypEntity;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder.RecordStream;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
 
 public interface VdypForwardDefaultingParser extends ValueParser<Float> {
@@ -26,6 +29,38 @@ public interface VdypForwardDefaultingParser extends ValueParser<Float> {
 			INTEGER, 0, true, Integer.MAX_VALUE, true, -9, VdypEntity.MISSING_INTEGER_VALUE, "non-negative integer"
 	);
 
+	/**
+	 * Recognizes the layer type of the record that ends the species, or the utilizations, of a polygon: a blank layer
+	 * type, or one of "Z".
+	 */
+	public static final Predicate<String> IS_END_OF_RECORD = x -> x == null || x.trim().length() == 0
+			|| x.trim().equals("Z");
+
+	/**
+	 * @return whether a line of the polygon file ends the polygons, by having a blank polygon description.
+	 */
+	public static boolean isEndOfPolygons(String line) {
+		return line.substring(0, Math.min(25, line.length())).trim().length() == 0;
+	}
+
+	/**
+	 * Decode a field of a record as {@link #FLOAT_WITH_DEFAULT} would parse its text. The text is only materialized if
+	 * the field is absent, blank or out of range.
+	 */
+	public static float floatWithDefault(RecordStream.Record entry, int field) throws ValueParseException {
+		if (!entry.isBlank(field)) {
+			float value = entry.getFloat(field);
+			if (value == -9.0f) {
+				return VdypEntity.MISSING_FLOAT_VALUE;
+			}
+			// Float.compare, unlike >=, places -0.0 below the minimum as FLOAT_WITH_DEFAULT does.
+			if (Float.compare(value, 0.0f) >= 0 && value <= Float.MAX_VALUE) {
+				return value;
+			}
+		}
+		return FLOAT_WITH_DEFAULT.parse(entry.getString(field));
+	}
+
 	/**
 	 * Validate that a parsed value is greater than 0 and less than (or, if includeMax is true, equal to) max.
 	 * Additionally, if the value is -9.0, it is considered "not present" and Float.NaN is returns.
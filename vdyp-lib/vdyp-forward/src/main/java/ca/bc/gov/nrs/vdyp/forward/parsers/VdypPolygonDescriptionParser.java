@@ -55,7 +55,7 @@ public class VdypPolygonDescriptionParser implements ControlMapValueReplacer<Obj
 			var lineParser = new LineParser() {
 				@Override
 				public boolean isStopLine(String line) {
-					return line.substring(0, Math.min(25, line.length())).trim().length() == 0;
+					return VdypForwardDefaultingParser.isEndOfPolygons(line);
 				}
 			}.strippedString(25, DESCRIPTION);
 
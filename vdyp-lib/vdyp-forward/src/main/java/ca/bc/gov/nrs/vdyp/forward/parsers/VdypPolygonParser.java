@@ -15,11 +15,13 @@ import ca.bc.gov.nrs.vdyp.forward.model.FipMode;
 import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
 import ca.bc.gov.nrs.vdyp.io.FileResolver;
 import ca.bc.gov.nrs.vdyp.io.parse.common.LineParser;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder.RecordStream;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.control.ControlMapValueReplacer;
-import ca.bc.gov.nrs.vdyp.io.parse.streaming.AbstractStreamingParser;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.AbstractRecordStreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ControlledValueParser;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
 import ca.bc.gov.nrs.vdyp.model.BecDefinition;
 
@@ -50,7 +52,7 @@ public class VdypPolygonParser implements ControlMapValueReplacer<Object, String
 			var lineParser = new LineParser() {
 				@Override
 				public boolean isStopLine(String line) {
-					return line.substring(0, Math.min(25, line.length())).trim().length() == 0;
+					return VdypForwardDefaultingParser.isEndOfPolygons(line);
 				}
 			}.strippedString(25, DESCRIPTION).space(1).value(4, BIOGEOCLIMATIC_ZONE, ControlledValueParser.BEC).space(1)
 					.value(1, FOREST_INVENTORY_ZONE, ValueParser.CHARACTER) // TODO: add ValueParser.FIZ
@@ -59,19 +61,27 @@ public class VdypPolygonParser implements ControlMapValueReplacer<Object, String
 					.value(3, BASAL_AREA_GROUP, ValueParser.optional(ValueParser.INTEGER))
 					.value(3, FIP_MODE, ValueParser.optional(ValueParser.INTEGER));
 
-			var is = fileResolver.resolveForInput(fileName);
+			var decoder = lineParser.decoder();
+			int descriptionField = decoder.field(DESCRIPTION);
+			int becField = decoder.field(BIOGEOCLIMATIC_ZONE);
+			int fizField = decoder.field(FOREST_INVENTORY_ZONE);
+			int percentForestLandField = decoder.field(PERCENT_FOREST_LAND);
+			int inventoryTypeGroupField = decoder.field(INVENTORY_TYPE_GROUP);
+			int basalAreaGroupField = decoder.field(BASAL_AREA_GROUP);
+			int fipModeField = decoder.field(FIP_MODE);
 
-			return new AbstractStreamingParser<VdypPolygon>(is, lineParser, control) {
+			return new AbstractRecordStreamingParser<VdypPolygon>(fileResolver, fileName, decoder, control) {
 
 				@Override
-				protected VdypPolygon convert(Map<String, Object> entry) throws ResourceParseException {
-					var descriptionText = (String) entry.get(DESCRIPTION);
-					var becAlias = (String) entry.get(BIOGEOCLIMATIC_ZONE);
-					var fizId = (Character) entry.get(FOREST_INVENTORY_ZONE);
-					var percentForestLand = (Float) entry.get(PERCENT_FOREST_LAND);
-					var inventoryTypeGroup = Utils.<Integer>optSafe(entry.get(INVENTORY_TYPE_GROUP));
-					var basalAreaGroup = Utils.<Integer>optSafe(entry.get(BASAL_AREA_GROUP));
-					var fipMode = Utils.<Integer>optSafe(entry.get(FIP_MODE));
+				protected VdypPolygon convert(RecordStream.Record entry)
+						throws ValueParseException, ResourceParseException {
+					var descriptionText = (String) entry.getValue(descriptionField);
+					var becAlias = (String) entry.getValue(becField);
+					var fizId = (Character) entry.getValue(fizField);
+					var percentForestLand = entry.getFloat(percentForestLandField);
+					var inventoryTypeGroup = Utils.<Integer>optSafe(entry.getValue(inventoryTypeGroupField));
+					var basalAreaGroup = Utils.<Integer>optSafe(entry.getValue(basalAreaGroupField));
+					var fipMode = Utils.<Integer>optSafe(entry.getValue(fipModeField));
 
 					BecDefinition bec;
 					try {
@@ -1,5 +1,8 @@
 package ca.bc.gov.nrs.vdyp.forward.parsers;
 
+import static ca.bc.gov.nrs.vdyp.forward.parsers.VdypForwardDefaultingParser.IS_END_OF_RECORD;
+import static ca.bc.gov.nrs.vdyp.forward.parsers.VdypForwardDefaultingParser.floatWithDefault;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -16,12 +19,14 @@ import ca.bc.gov.nrs.vdyp.forward.model.VdypLayerSpecies;
 import ca.bc.gov.nrs.vdyp.io.EndOfRecord;
 import ca.bc.gov.nrs.vdyp.io.FileResolver;
 import ca.bc.gov.nrs.vdyp.io.parse.common.LineParser;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder.RecordStream;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.control.ControlMapValueReplacer;
-import ca.bc.gov.nrs.vdyp.io.parse.streaming.AbstractStreamingParser;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.AbstractRecordStreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.GroupingStreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ControlledValueParser;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
 import ca.bc.gov.nrs.vdyp.model.LayerType;
 import ca.bc.gov.nrs.vdyp.model.Sp64Distribution;
@@ -66,10 +71,7 @@ public class VdypSpeciesParser implements ControlMapValueReplacer<Object, String
 							1, LAYER_TYPE,
 							ValueParser.valueOrMarker(
 									ValueParser.LAYER,
-									ValueParser.optionalSingleton(
-											x -> x == null || x.trim().length() == 0 || x.trim().equals("Z"),
-											EndOfRecord.END_OF_RECORD
-									)
+									ValueParser.optionalSingleton(IS_END_OF_RECORD, EndOfRecord.END_OF_RECORD)
 							)
 					).space(1).value(2, GENUS_INDEX, ValueParser.INTEGER).space(1)
 					.value(2, GENUS, ControlledValueParser.optional(ControlledValueParser.GENUS)).space(1)
@@ -89,77 +91,113 @@ public class VdypSpeciesParser implements ControlMapValueReplacer<Object, String
 					.value(2, IS_PRIMARY_SPECIES, ControlledValueParser.optional(ValueParser.LOGICAL_0_1))
 					.value(3, SITE_CURVE_NUMBER, VdypForwardDefaultingParser.INTEGER_WITH_DEFAULT);
 
-			var is = fileResolver.resolveForInput(fileName);
+			var decoder = lineParser.decoder();
+			int descriptionField = decoder.field(DESCRIPTION);
+			int layerTypeField = decoder.field(LAYER_TYPE);
+			int genusIndexField = decoder.field(GENUS_INDEX);
+			int genusField = decoder.field(GENUS);
+			int species0Field = decoder.field(SPECIES_0);
+			int percentSpecies0Field = decoder.field(PERCENT_SPECIES_0);
+			int species1Field = decoder.field(SPECIES_1);
+			int percentSpecies1Field = decoder.field(PERCENT_SPECIES_1);
+			int species2Field = decoder.field(SPECIES_2);
+			int percentSpecies2Field = decoder.field(PERCENT_SPECIES_2);
+			int species3Field = decoder.field(SPECIES_3);
+			int percentSpecies3Field = decoder.field(PERCENT_SPECIES_3);
+			int siteIndexField = decoder.field(SITE_INDEX);
+			int dominantHeightField = decoder.field(DOMINANT_HEIGHT);
+			int totalAgeField = decoder.field(TOTAL_AGE);
+			int ageAtBreastHeightField = decoder.field(AGE_AT_BREAST_HEIGHT);
+			int yearsToBreastHeightField = decoder.field(YEARS_TO_BREAST_HEIGHT);
+			int isPrimarySpeciesField = decoder.field(IS_PRIMARY_SPECIES);
+			int siteCurveNumberField = decoder.field(SITE_CURVE_NUMBER);
 
 			var genusDefinitionMap = (GenusDefinitionMap) control.get(ControlKey.SP0_DEF.name());
 
-			var delegateStream = new AbstractStreamingParser<ValueOrMarker<Optional<VdypLayerSpecies>, EndOfRecord>>(
-					is, lineParser, control
+			var delegateStream = new AbstractRecordStreamingParser<ValueOrMarker<Optional<VdypLayerSpecies>, EndOfRecord>>(
+					fileResolver, fileName, decoder, control
 			) {
+				@Override
+				public boolean recognizesGroupEnds() {
+					return true;
+				}
+
+				@Override
+				protected boolean endsGroup(RecordStream.Record entry) {
+					return !entry.isPresent(layerTypeField) || IS_END_OF_RECORD.test(entry.getString(layerTypeField));
+				}
+
 				@SuppressWarnings("unchecked")
 				@Override
-				protected ValueOrMarker<Optional<VdypLayerSpecies>, EndOfRecord> convert(Map<String, Object> entry)
-						throws ResourceParseException {
-
-					var polygonId = VdypPolygonDescriptionParser.parse((String) entry.get(DESCRIPTION));
-					var layerType = (ValueOrMarker<Optional<LayerType>, EndOfRecord>) entry.get(LAYER_TYPE);
-					if (layerType == null) {
-						var builder = new ValueOrMarker.Builder<Optional<LayerType>, EndOfRecord>();
-						layerType = builder.marker(EndOfRecord.END_OF_RECORD);
-					}
-					var genusIndex = (Integer) entry.get(GENUS_INDEX);
-					var optionalGenus = (Optional<String>) entry.get(GENUS);
-					var genusNameText0 = (Optional<String>) entry.get(SPECIES_0);
-					var percentGenus0 = (Optional<Float>) entry.get(PERCENT_SPECIES_0);
-					var genusNameText1 = (Optional<String>) entry.get(SPECIES_1);
-					var percentGenus1 = (Optional<Float>) entry.get(PERCENT_SPECIES_1);
-					var genusNameText2 = (Optional<String>) entry.get(SPECIES_2);
-					var percentGenus2 = (Optional<Float>) entry.get(PERCENT_SPECIES_2);
-					var genusNameText3 = (Optional<String>) entry.get(SPECIES_3);
-					var percentGenus3 = (Optional<Float>) entry.get(PERCENT_SPECIES_3);
-					var siteIndex = (Float) (entry.get(SITE_INDEX));
-					var dominantHeight = (Float) (entry.get(DOMINANT_HEIGHT));
-					var totalAge = (Float) (entry.get(TOTAL_AGE));
-					var ageAtBreastHeight = (Float) (entry.get(AGE_AT_BREAST_HEIGHT));
-					var yearsToBreastHeight = (Float) (entry.get(YEARS_TO_BREAST_HEIGHT));
-					var isPrimarySpecies = Utils.<Boolean>optSafe(entry.get(IS_PRIMARY_SPECIES));
-					var siteCurveNumber = Utils.<Integer>optSafe(entry.get(SITE_CURVE_NUMBER))
-							.orElse(VdypEntity.MISSING_INTEGER_VALUE);
+				protected ValueOrMarker<Optional<VdypLayerSpecies>, EndOfRecord> convert(RecordStream.Record entry)
+						throws ValueParseException, ResourceParseException {
 
 					var builder = new ValueOrMarker.Builder<Optional<VdypLayerSpecies>, EndOfRecord>();
-					return layerType.handle(l -> builder.value(l.map(lt -> {
 
-						List<Sp64Distribution> gdList = new ArrayList<>();
+					var polygonId = VdypPolygonDescriptionParser.parse((String) entry.getValue(descriptionField));
+					var layerType = (ValueOrMarker<Optional<LayerType>, EndOfRecord>) entry.getValue(layerTypeField);
+					if (layerType == null || layerType.isMarker()) {
+						return builder.marker(EndOfRecord.END_OF_RECORD);
+					}
+					var optionalLayerType = layerType.getValue().get();
+					if (optionalLayerType.isEmpty()) {
+						return builder.value(Optional.empty());
+					}
+
+					var genusIndex = entry.getInt(genusIndexField);
+					var optionalGenus = (Optional<String>) entry.getValue(genusField);
+					var genusNameText0 = (Optional<String>) entry.getValue(species0Field);
+					var percentGenus0 = (Optional<Float>) entry.getValue(percentSpecies0Field);
+					var genusNameText1 = (Optional<String>) entry.getValue(species1Field);
+					var percentGenus1 = (Optional<Float>) entry.getValue(percentSpecies1Field);
+					var genusNameText2 = (Optional<String>) entry.getValue(species2Field);
+					var percentGenus2 = (Optional<Float>) entry.getValue(percentSpecies2Field);
+					var genusNameText3 = (Optional<String>) entry.getValue(species3Field);
+					var percentGenus3 = (Optional<Float>) entry.getValue(percentSpecies3Field);
+					var siteIndex = floatWithDefault(entry, siteIndexField);
+					var dominantHeight = floatWithDefault(entry, dominantHeightField);
+					var totalAge = floatWithDefault(entry, totalAgeField);
+					var ageAtBreastHeight = floatWithDefault(entry, ageAtBreastHeightField);
+					var yearsToBreastHeight = floatWithDefault(entry, yearsToBreastHeightField);
+					var isPrimarySpecies = Utils.<Boolean>optSafe(entry.getValue(isPrimarySpeciesField));
+					var siteCurveNumber = Utils.<Integer>optSafe(entry.getValue(siteCurveNumberField))
+							.orElse(VdypEntity.MISSING_INTEGER_VALUE);
+
+					List<Sp64Distribution> gdList = new ArrayList<>();
 
-						Utils.ifBothPresent(
-								genusNameText0.filter(t -> genusDefinitionMap.contains(t)), percentGenus0,
-								(s, p) -> gdList.add(new Sp64Distribution(1, s, p))
-						);
+					Utils.ifBothPresent(
+							genusNameText0.filter(t -> genusDefinitionMap.contains(t)), percentGenus0,
+							(s, p) -> gdList.add(new Sp64Distribution(1, s, p))
+					);
 
-						Utils.ifBothPresent(
-								genusNameText1.filter(t -> genusDefinitionMap.contains(t)), percentGenus1,
-								(s, p) -> gdList.add(new Sp64Distribution(2, s, p))
-						);
+					Utils.ifBothPresent(
+							genusNameText1.filter(t -> genusDefinitionMap.contains(t)), percentGenus1,
+							(s, p) -> gdList.add(new Sp64Distribution(2, s, p))
+					);
 
-						Utils.ifBothPresent(
-								genusNameText2.filter(t -> genusDefinitionMap.contains(t)), percentGenus2,
-								(s, p) -> gdList.add(new Sp64Distribution(3, s, p))
-						);
+					Utils.ifBothPresent(
+							genusNameText2.filter(t -> genusDefinitionMap.contains(t)), percentGenus2,
+							(s, p) -> gdList.add(new Sp64Distribution(3, s, p))
+					);
 
-						Utils.ifBothPresent(
-								genusNameText3.filter(t -> genusDefinitionMap.contains(t)), percentGenus3,
-								(s, p) -> gdList.add(new Sp64Distribution(4, s, p))
-						);
+					Utils.ifBothPresent(
+							genusNameText3.filter(t -> genusDefinitionMap.contains(t)), percentGenus3,
+							(s, p) -> gdList.add(new Sp64Distribution(4, s, p))
+					);
 
-						Sp64DistributionSet speciesDistributionSet = new Sp64DistributionSet(4, gdList);
+					Sp64DistributionSet speciesDistributionSet = new Sp64DistributionSet(4, gdList);
 
-						var genus = optionalGenus.orElse(genusDefinitionMap.getByIndex(genusIndex).getAlias());
+					var genus = optionalGenus.orElse(genusDefinitionMap.getByIndex(genusIndex).getAlias());
 
-						return new VdypLayerSpecies(
-								polygonId, lt, genusIndex, genus, speciesDistributionSet, siteIndex, dominantHeight,
-								totalAge, ageAtBreastHeight, yearsToBreastHeight, isPrimarySpecies, siteCurveNumber
-						);
-					})), builder::marker);
+					return builder.value(
+							Optional.of(
+									new VdypLayerSpecies(
+											polygonId, optionalLayerType.get(), genusIndex, genus,
+											speciesDistributionSet, siteIndex, dominantHeight, totalAge,
+											ageAtBreastHeight, yearsToBreastHeight, isPrimarySpecies, siteCurveNumber
+									)
+							)
+					);
 				}
 			};
 
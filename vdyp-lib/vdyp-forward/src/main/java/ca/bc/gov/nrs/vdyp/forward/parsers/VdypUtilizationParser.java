@@ -1,5 +1,8 @@
 package ca.bc.gov.nrs.vdyp.forward.parsers;
 
+import static ca.bc.gov.nrs.vdyp.forward.parsers.VdypForwardDefaultingParser.IS_END_OF_RECORD;
+import static ca.bc.gov.nrs.vdyp.forward.parsers.VdypForwardDefaultingParser.floatWithDefault;
+
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
@@ -12,12 +15,14 @@ import ca.bc.gov.nrs.vdyp.forward.model.VdypSpeciesUtilization;
 import ca.bc.gov.nrs.vdyp.io.EndOfRecord;
 import ca.bc.gov.nrs.vdyp.io.FileResolver;
 import ca.bc.gov.nrs.vdyp.io.parse.common.LineParser;
+import ca.bc.gov.nrs.vdyp.io.parse.common.RecordDecoder.RecordStream;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.control.ControlMapValueReplacer;
-import ca.bc.gov.nrs.vdyp.io.parse.streaming.AbstractStreamingParser;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.AbstractRecordStreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.GroupingStreamingParser;
 import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ControlledValueParser;
+import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParseException;
 import ca.bc.gov.nrs.vdyp.io.parse.value.ValueParser;
 import ca.bc.gov.nrs.vdyp.model.LayerType;
 import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
@@ -54,10 +59,7 @@ public class VdypUtilizationParser implements ControlMapValueReplacer<Object, St
 							1, LAYER_TYPE,
 							ValueParser.valueOrMarker(
 									ValueParser.LAYER,
-									ValueParser.optionalSingleton(
-											x -> x == null || x.trim().length() == 0 || x.trim().equals("Z"),
-											EndOfRecord.END_OF_RECORD
-									)
+									ValueParser.optionalSingleton(IS_END_OF_RECORD, EndOfRecord.END_OF_RECORD)
 							)
 					).value(3, GENUS_INDEX, ValueParser.INTEGER).space(1)
 					.value(2, GENUS, ControlledValueParser.optional(ValueParser.GENUS))
@@ -72,45 +74,79 @@ public class VdypUtilizationParser implements ControlMapValueReplacer<Object, St
 					.value(9, CU_VOLUME_LESS_DECAY_WASTAGE_BREAKAGE, VdypForwardDefaultingParser.FLOAT_WITH_DEFAULT)
 					.value(6, QUADRATIC_MEAN_DIAMETER_BREAST_HEIGHT, VdypForwardDefaultingParser.FLOAT_WITH_DEFAULT);
 
-			var is = fileResolver.resolveForInput(fileName);
+			// The utilization file is the largest of the inputs, so its records are decoded in place rather than
+			// into a map per line.
+			var decoder = lineParser.decoder();
+			int descriptionField = decoder.field(DESCRIPTION);
+			int layerTypeField = decoder.field(LAYER_TYPE);
+			int genusIndexField = decoder.field(GENUS_INDEX);
+			int genusField = decoder.field(GENUS);
+			int utilizationClassField = decoder.field(UTILIZATION_CLASS_INDEX);
+			int basalAreaField = decoder.field(BASAL_AREA);
+			int liveTreesPerHectareField = decoder.field(LIVE_TREES_PER_HECTARE);
+			int loreyHeightField = decoder.field(LOREY_HEIGHT);
+			int wholeStemVolumeField = decoder.field(WHOLE_STEM_VOLUME);
+			int closeUtilVolumeField = decoder.field(CLOSE_UTIL_VOLUME);
+			int cuVolumeLessDecayField = decoder.field(CU_VOLUME_LESS_DECAY);
+			int cuVolumeLessDecayWastageField = decoder.field(CU_VOLUME_LESS_DECAY_WASTAGE);
+			int cuVolumeLessDecayWastageBreakageField = decoder.field(CU_VOLUME_LESS_DECAY_WASTAGE_BREAKAGE);
+			int quadraticMeanDBHField = decoder.field(QUADRATIC_MEAN_DIAMETER_BREAST_HEIGHT);
 
-			var delegateStream = new AbstractStreamingParser<ValueOrMarker<Optional<VdypSpeciesUtilization>, EndOfRecord>>(
-					is, lineParser, control
+			var delegateStream = new AbstractRecordStreamingParser<ValueOrMarker<Optional<VdypSpeciesUtilization>, EndOfRecord>>(
+					fileResolver, fileName, decoder, control
 			) {
+				@Override
+				public boolean recognizesGroupEnds() {
+					return true;
+				}
+
+				@Override
+				protected boolean endsGroup(RecordStream.Record entry) {
+					return !entry.isPresent(layerTypeField) || IS_END_OF_RECORD.test(entry.getString(layerTypeField));
+				}
+
 				@SuppressWarnings("unchecked")
 				@Override
 				protected ValueOrMarker<Optional<VdypSpeciesUtilization>, EndOfRecord>
-						convert(Map<String, Object> entry) throws ResourceParseException {
+						convert(RecordStream.Record entry) throws ValueParseException, ResourceParseException {
 
-					var polygonId = VdypPolygonDescriptionParser.parse((String) entry.get(DESCRIPTION));
-					var layerType = (ValueOrMarker<Optional<LayerType>, EndOfRecord>) entry.get(LAYER_TYPE);
-					if (layerType == null) {
-						var builder = new ValueOrMarker.Builder<Optional<LayerType>, EndOfRecord>();
-						layerType = builder.marker(EndOfRecord.END_OF_RECORD);
+					var builder = new ValueOrMarker.Builder<Optional<VdypSpeciesUtilization>, EndOfRecord>();
+
+					var polygonId = VdypPolygonDescriptionParser.parse((String) entry.getValue(descriptionField));
+					var layerType = (ValueOrMarker<Optional<LayerType>, EndOfRecord>) entry.getValue(layerTypeField);
+					if (layerType == null || layerType.isMarker()) {
+						return builder.marker(EndOfRecord.END_OF_RECORD);
+					}
+					var optionalLayerType = layerType.getValue().get();
+					if (optionalLayerType.isEmpty()) {
+						return builder.value(Optional.empty());
 					}
-					var genusIndex = (Integer) entry.get(GENUS_INDEX);
-					var genus = (Optional<String>) entry.get(GENUS);
-					var utilizationClass = (UtilizationClass) entry.get(UTILIZATION_CLASS_INDEX);
-					var basalArea = (Float) (entry.get(BASAL_AREA));
-					var liveTreesPerHectare = (Float) (entry.get(LIVE_TREES_PER_HECTARE));
-					var loreyHeight = (Float) (entry.get(LOREY_HEIGHT));
-					var wholeStemVolume = (Float) (entry.get(WHOLE_STEM_VOLUME));
-					var closeUtilVolume = (Float) (entry.get(CLOSE_UTIL_VOLUME));
-					var cuVolumeLessDecay = (Float) (entry.get(CU_VOLUME_LESS_DECAY));
-					var cuVolumeLessDecayWastage = (Float) (entry.get(CU_VOLUME_LESS_DECAY_WASTAGE));
-					var cuVolumeLessDecayWastageBreakage = (Float) (entry.get(CU_VOLUME_LESS_DECAY_WASTAGE_BREAKAGE));
-					var quadraticMeanDBH = (Float) (entry.get(QUADRATIC_MEAN_DIAMETER_BREAST_HEIGHT));
 
-					var builder = new ValueOrMarker.Builder<Optional<VdypSpeciesUtilization>, EndOfRecord>();
-					return layerType.handle(l -> {
-						return builder.value(l.map(lt -> {
-							return new VdypSpeciesUtilization(
-									polygonId, lt, genusIndex, genus, utilizationClass, basalArea, liveTreesPerHectare,
-									loreyHeight, wholeStemVolume, closeUtilVolume, cuVolumeLessDecay,
-									cuVolumeLessDecayWastage, cuVolumeLessDecayWastageBreakage, quadraticMeanDBH
-							);
-						}));
-					}, builder::marker);
+					var genusIndex = entry.getInt(genusIndexField);
+					var genus = (Optional<String>) entry.getValue(genusField);
+					var utilizationClass = (UtilizationClass) entry.getValue(utilizationClassField);
+					var basalArea = floatWithDefault(entry, basalAreaField);
+					var liveTreesPerHectare = floatWithDefault(entry, liveTreesPerHectareField);
+					var loreyHeight = floatWithDefault(entry, loreyHeightField);
+					var wholeStemVolume = floatWithDefault(entry, wholeStemVolumeField);
+					var closeUtilVolume = floatWithDefault(entry, closeUtilVolumeField);
+					var cuVolumeLessDecay = floatWithDefault(entry, cuVolumeLessDecayField);
+					var cuVolumeLessDecayWastage = floatWithDefault(entry, cuVolumeLessDecayWastageField);
+					var cuVolumeLessDecayWastageBreakage = floatWithDefault(
+							entry, cuVolumeLessDecayWastageBreakageField
+					);
+					var quadraticMeanDBH = floatWithDefault(entry, quadraticMeanDBHField);
+
+					return builder.value(
+							Optional.of(
+									new VdypSpeciesUtilization(
+											polygonId, optionalLayerType.get(), genusIndex, genus, utilizationClass,
+											basalArea, liveTreesPerHectare, loreyHeight, wholeStemVolume,
+											closeUtilVolume, cuVolumeLessDecay, cuVolumeLessDecayWastage,
+											cuVolumeLessDecayWastageBreakage, quadraticMeanDBH
+									)
+							)
+					);
 				}
 			};
 
@@ -0,0 +1,96 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.model.LayerType;
+import ca.bc.gov.nrs.vdyp.model.SmallUtilizationClassVariable;
+import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
+import ca.bc.gov.nrs.vdyp.model.VolumeVariable;
+
+class CompatibilityVariablesTest {
+
+	@Test
+	void testEachVariableIsDistinct() {
+		var unit = new CompatibilityVariables();
+		unit.reset(3);
+
+		float value = 1f;
+		for (int s = 1; s <= 3; s++) {
+			for (var uc : UtilizationClass.ALL_BUT_SMALL_ALL) {
+				for (var layer : LayerType.ALL_USED) {
+					for (var vv : VolumeVariable.ALL) {
+						unit.setVolume(s, uc, vv, layer, value++);
+					}
+					unit.setBasalArea(s, uc, layer, value++);
+					unit.setQuadMeanDiameter(s, uc, layer, value++);
+				}
+			}
+			for (var variable : SmallUtilizationClassVariable.values()) {
+				unit.setSmall(s, variable, value++);
+			}
+		}
+
+		value = 1f;
+		for (int s = 1; s <= 3; s++) {
+			for (var uc : UtilizationClass.ALL_BUT_SMALL_ALL) {
+				for (var layer : LayerType.ALL_USED) {
+					for (var vv : VolumeVariable.ALL) {
+						assertThat(unit.getVolume(s, uc, vv, layer), is(value++));
+					}
+					assertThat(unit.getBasalArea(s, uc, layer), is(value++));
+					assertThat(unit.getQuadMeanDiameter(s, uc, layer), is(value++));
+				}
+			}
+			for (var variable : SmallUtilizationClassVariable.values()) {
+				assertThat(unit.getSmall(s, variable), is(value++));
+			}
+		}
+	}
+
+	@Test
+	void testResetClearsAndGrows() {
+		var unit = new CompatibilityVariables();
+		unit.reset(2);
+		unit.setVolume(2, UtilizationClass.OVER225, VolumeVariable.CLOSE_UTIL_VOL, LayerType.PRIMARY, 1f);
+		unit.setSmall(2, SmallUtilizationClassVariable.LOREY_HEIGHT, 2f);
+
+		unit.reset(1);
+		assertThrows(
+				IllegalArgumentException.class, () -> unit.getSmall(2, SmallUtilizationClassVariable.LOREY_HEIGHT)
+		);
+
+		unit.reset(4);
+		assertThat(
+				unit.getVolume(2, UtilizationClass.OVER225, VolumeVariable.CLOSE_UTIL_VOL, LayerType.PRIMARY), is(0f)
+		);
+		assertThat(unit.getSmall(2, SmallUtilizationClassVariable.LOREY_HEIGHT), is(0f));
+		assertThat(unit.getBasalArea(4, UtilizationClass.U75TO125, LayerType.VETERAN), is(0f));
+	}
+
+	@Test
+	void testInvalidKeys() {
+		var unit = new CompatibilityVariables();
+		unit.reset(2);
+
+		assertThrows(
+				IllegalArgumentException.class, () -> unit.getBasalArea(0, UtilizationClass.OVER225, LayerType.PRIMARY)
+		);
+		assertThrows(
+				IllegalArgumentException.class, () -> unit.getBasalArea(3, UtilizationClass.OVER225, LayerType.PRIMARY)
+		);
+		assertThrows(
+				IllegalArgumentException.class, () -> unit.getBasalArea(1, UtilizationClass.ALL, LayerType.PRIMARY)
+		);
+		assertThrows(
+				IllegalArgumentException.class, () -> unit.getBasalArea(1, UtilizationClass.SMALL, LayerType.PRIMARY)
+		);
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> unit.getBasalArea(1, UtilizationClass.OVER225, LayerType.SECONDARY)
+		);
+	}
+}
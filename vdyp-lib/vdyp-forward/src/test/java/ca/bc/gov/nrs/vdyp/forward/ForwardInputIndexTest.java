@@ -0,0 +1,244 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypPolygonParser;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypSpeciesParser;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypUtilizationParser;
+import ca.bc.gov.nrs.vdyp.forward.test.VdypForwardTestUtils;
+import ca.bc.gov.nrs.vdyp.io.FileSystemFileResolver;
+import ca.bc.gov.nrs.vdyp.io.parse.common.StreamPosition;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.SeekableStreamingParser;
+import ca.bc.gov.nrs.vdyp.io.parse.streaming.StreamingParserFactory;
+import ca.bc.gov.nrs.vdyp.test.TestUtils;
+
+class ForwardInputIndexTest {
+
+	@TempDir
+	Path dir;
+
+	Map<String, Object> controlMap;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		controlMap = VdypForwardTestUtils.parse(new ForwardControlParser(), "VDYP.CTR");
+
+		// Read the input files from the file system, so that they can be sought
+		for (var fileName : List.of("vin_p1.dat", "vin_s1.dat", "vin_u1.dat")) {
+			try (var is = TestUtils.class.getResourceAsStream(fileName)) {
+				Files.copy(is, dir.resolve(fileName));
+			}
+		}
+		var resolver = new FileSystemFileResolver(dir);
+		controlMap.put(
+				ControlKey.FORWARD_INPUT_VDYP_POLY.name(),
+				new VdypPolygonParser().map("vin_p1.dat", resolver, controlMap)
+		);
+		controlMap.put(
+				ControlKey.FORWARD_INPUT_VDYP_LAYER_BY_SPECIES.name(),
+				new VdypSpeciesParser().map("vin_s1.dat", resolver, controlMap)
+		);
+		controlMap.put(
+				ControlKey.FORWARD_INPUT_VDYP_LAYER_BY_SP0_BY_UTIL.name(),
+				new VdypUtilizationParser().map("vin_u1.dat", resolver, controlMap)
+		);
+	}
+
+	@Test
+	void testBuildWriteAndRead() throws Exception {
+		var index = ForwardInputIndex.build(controlMap);
+		assertThat(index.size(), is(10));
+
+		var file = dir.resolve("vin.idx");
+		index.write(file);
+		var read = ForwardInputIndex.read(file);
+		assertThat(read.size(), is(10));
+
+		for (var description : growToDescriptions()) {
+			var entry = index.find(description, StreamPosition.START);
+			assertThat(entry.isPresent(), is(true));
+			assertThat(read.find(description, StreamPosition.START), is(entry));
+		}
+
+		var first = index.find(growToDescriptions().get(0), StreamPosition.START).get();
+		assertThat(first.polygon(), is(StreamPosition.START));
+		assertThat(first.species(), is(StreamPosition.START));
+		assertThat(first.utilizations(), is(StreamPosition.START));
+	}
+
+	@Test
+	void testReaderBuildsAndUsesIndex() throws Exception {
+		var descriptions = growToDescriptions();
+
+		var sequential = new ArrayList<VdypPolygon>();
+		var sequentialReader = new ForwardDataStreamReader(controlMap);
+		for (var description : descriptions) {
+			sequential.add(sequentialReader.readNextPolygon(description));
+		}
+
+		// Read the polygons in reverse order, which can not be done sequentially
+		var file = dir.resolve("vin.idx");
+		var indexedReader = new ForwardDataStreamReader(controlMap, Optional.of(file));
+		var indexed = new ArrayList<VdypPolygon>();
+		var reversed = new ArrayList<>(descriptions);
+		Collections.reverse(reversed);
+		for (var description : reversed) {
+			indexed.add(indexedReader.readNextPolygon(description));
+		}
+		Collections.reverse(indexed);
+
+		assertThat(Files.exists(file), is(true));
+		assertSamePolygons(indexed, sequential);
+
+		// A second reader uses the index that was written by the first
+		indexedReader = new ForwardDataStreamReader(controlMap, Optional.of(file));
+		indexed.clear();
+		for (var description : descriptions) {
+			indexed.add(indexedReader.readNextPolygon(description));
+		}
+		assertSamePolygons(indexed, sequential);
+	}
+
+	@Test
+	void testOutOfDateIndexIsNotUsed() throws Exception {
+		var descriptions = growToDescriptions();
+
+		// An index in which the first polygon is given the position of the second
+		var file = dir.resolve("vin.idx");
+		ForwardInputIndex.build(controlMap).write(file);
+		var lines = Files.readAllLines(file);
+		// After the header and the sizes and times of the input files
+		var first = lines.get(2);
+		var second = lines.get(3);
+		lines.set(2, second.substring(0, second.indexOf(" 01002")) + first.substring(first.indexOf(" 01002")));
+		Files.write(file, lines);
+
+		var reader = new ForwardDataStreamReader(controlMap, Optional.of(file));
+		var polygon = reader.readNextPolygon(descriptions.get(0));
+		assertThat(polygon.getDescription(), is(descriptions.get(0)));
+		assertThat(polygon.getPrimaryLayer(), notNullValue());
+	}
+
+	@Test
+	void testIndexOfChangedInputFilesIsRebuilt() throws Exception {
+		var descriptions = growToDescriptions();
+
+		var file = dir.resolve("vin.idx");
+		ForwardInputIndex.build(controlMap).write(file);
+		var built = Files.readAllLines(file);
+
+		// An index written before the species file was last changed
+		var speciesFile = dir.resolve("vin_s1.dat");
+		var modified = Files.getLastModifiedTime(speciesFile).to(TimeUnit.MILLISECONDS) + 10_000;
+		Files.setLastModifiedTime(speciesFile, FileTime.fromMillis(modified));
+
+		var reader = new ForwardDataStreamReader(controlMap, Optional.of(file));
+		var polygon = reader.readNextPolygon(descriptions.get(1));
+		assertThat(polygon.getDescription(), is(descriptions.get(1)));
+
+		var rebuilt = Files.readAllLines(file);
+		assertThat(rebuilt.get(1), not(built.get(1)));
+		assertThat(rebuilt.subList(2, rebuilt.size()), is(built.subList(2, built.size())));
+	}
+
+	@Test
+	void testIndexWithoutInputFilesDoesNotDescribeThem() throws Exception {
+		var file = dir.resolve("vin.idx");
+		ForwardInputIndex.build(controlMap).write(file);
+		var lines = Files.readAllLines(file);
+		lines.remove(1);
+		Files.write(file, lines);
+
+		var index = ForwardInputIndex.read(file);
+		assertThat(index.size(), is(10));
+		try (
+				var polygons = (SeekableStreamingParser<?>) factory(ControlKey.FORWARD_INPUT_VDYP_POLY).get();
+				var species = (SeekableStreamingParser<?>) factory(ControlKey.FORWARD_INPUT_VDYP_LAYER_BY_SPECIES)
+						.get();
+				var utilizations = (SeekableStreamingParser<?>) factory(
+						ControlKey.FORWARD_INPUT_VDYP_LAYER_BY_SP0_BY_UTIL
+				).get()
+		) {
+			assertThat(index.describes(polygons, species, utilizations), is(false));
+			assertThat(ForwardInputIndex.build(controlMap).describes(polygons, species, utilizations), is(true));
+		}
+	}
+
+	@Test
+	void testSequentialInputFilesAreNotIndexed() throws Exception {
+		// Input files that are not local files can only be read sequentially
+		var sequentialControlMap = VdypForwardTestUtils.parse(new ForwardControlParser(), "VDYP.CTR");
+		var descriptions = growToDescriptions();
+
+		Assertions.assertThrows(ProcessingException.class, () -> ForwardInputIndex.build(sequentialControlMap));
+
+		var file = dir.resolve("vin.idx");
+		var reader = new ForwardDataStreamReader(sequentialControlMap, Optional.of(file));
+		for (var description : descriptions) {
+			assertThat(reader.readNextPolygon(description).getDescription(), is(description));
+		}
+		assertThat(Files.exists(file), is(false));
+	}
+
+	private StreamingParserFactory<?> factory(ControlKey key) {
+		return (StreamingParserFactory<?>) controlMap.get(key.name());
+	}
+
+	private void assertSamePolygons(List<VdypPolygon> actual, List<VdypPolygon> expected) {
+		assertThat(actual.size(), is(expected.size()));
+		for (int i = 0; i < expected.size(); i++) {
+			var a = actual.get(i);
+			var e = expected.get(i);
+			assertThat(a.getDescription(), is(e.getDescription()));
+			assertThat(a.getPercentForestLand(), is(e.getPercentForestLand()));
+			assertThat(a.getPrimaryLayer().getGenera().keySet(), is(e.getPrimaryLayer().getGenera().keySet()));
+			for (var genus : e.getPrimaryLayer().getGenera().keySet()) {
+				var aSpecies = a.getPrimaryLayer().getGenera().get(genus);
+				var eSpecies = e.getPrimaryLayer().getGenera().get(genus);
+				assertThat(aSpecies.getSiteIndex(), is(eSpecies.getSiteIndex()));
+				assertThat(
+						aSpecies.getUtilizations().map(m -> m.keySet()),
+						is(eSpecies.getUtilizations().map(m -> m.keySet()))
+				);
+			}
+			assertThat(a.getVeteranLayer().isPresent(), is(e.getVeteranLayer().isPresent()));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<VdypPolygonDescription> growToDescriptions() throws Exception {
+		var result = new ArrayList<VdypPolygonDescription>();
+		try (
+				var stream = ((StreamingParserFactory<VdypPolygonDescription>) controlMap
+						.get(ControlKey.FORWARD_INPUT_GROWTO.name())).get()
+		) {
+			while (stream.hasNext()) {
+				result.add(stream.next());
+			}
+		}
+		assertThat(result.get(0).getName(), is("01002 S000001 00"));
+		return result;
+	}
+}
@@ -0,0 +1,184 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypPolygonSink;
+import ca.bc.gov.nrs.vdyp.application.VdypStartApplication;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+
+class ForwardPipelineTest extends AbstractForwardProcessingEngineTest {
+
+	private static final String[] POLYGON_IDENTIFIERS = { "082E004    615       1988", "082E004    616       1988",
+			"082E004    617       1988" };
+
+	private static void produceAll(VdypPolygonSink sink) throws ProcessingException {
+		for (var polygonIdentifier : POLYGON_IDENTIFIERS) {
+			sink.accept(VdypStartPolygonConverterTest.startPolygon(polygonIdentifier));
+		}
+	}
+
+	@Test
+	void testPolygonsAreProcessedInOrder() throws ProcessingException {
+		var unit = new ForwardPipeline(controlMap);
+
+		List<String> actual = new ArrayList<>();
+		int nPolygonsProcessed = unit.process(
+				ForwardPipelineTest::produceAll, 0, (polygon, output) -> actual.add(polygon.getDescription().getName())
+		);
+
+		assertThat(nPolygonsProcessed, equalTo(3));
+		assertThat(actual, contains("082E004    615", "082E004    616", "082E004    617"));
+	}
+
+	@Test
+	void testPolygonsAreProcessedInOrderInParallel() throws ProcessingException {
+		var unit = new ForwardPipeline(controlMap, 2);
+
+		List<String> actual = new ArrayList<>();
+		int nPolygonsProcessed = unit.process(
+				ForwardPipelineTest::produceAll, 0, (polygon, output) -> actual.add(polygon.getDescription().getName())
+		);
+
+		assertThat(nPolygonsProcessed, equalTo(3));
+		assertThat(actual, contains("082E004    615", "082E004    616", "082E004    617"));
+	}
+
+	@Test
+	void testMaxPolyStopsProducer() throws ProcessingException {
+		var unit = new ForwardPipeline(controlMap, 1, 1, SiteToolCache.disabled(), SiteCurveSelection.defaults());
+
+		List<String> actual = new ArrayList<>();
+		int nPolygonsProcessed = unit.process(sink -> {
+			// Would produce polygons forever if not stopped
+			while (true) {
+				sink.accept(VdypStartPolygonConverterTest.startPolygon(POLYGON_IDENTIFIERS[0]));
+			}
+		}, 2, (polygon, output) -> actual.add(polygon.getDescription().getName()));
+
+		assertThat(nPolygonsProcessed, equalTo(2));
+		assertThat(actual, hasSize(2));
+	}
+
+	@Test
+	void testProducerHasStoppedWhenProcessingReturns() throws ProcessingException {
+		var unit = new ForwardPipeline(controlMap, 1, 1, SiteToolCache.disabled(), SiteCurveSelection.defaults());
+
+		var producerStopped = new AtomicBoolean();
+		unit.process(sink -> {
+			try {
+				while (true) {
+					sink.accept(VdypStartPolygonConverterTest.startPolygon(POLYGON_IDENTIFIERS[0]));
+				}
+			} finally {
+				producerStopped.set(true);
+			}
+		}, 2, (polygon, output) -> {
+		});
+
+		assertThat(producerStopped.get(), is(true));
+	}
+
+	@Test
+	void testProducerError() {
+		var unit = new ForwardPipeline(controlMap);
+
+		List<String> actual = new ArrayList<>();
+		var e = assertThrows(AssertionError.class, () -> unit.process(sink -> {
+			sink.accept(VdypStartPolygonConverterTest.startPolygon(POLYGON_IDENTIFIERS[0]));
+			throw new AssertionError("test failure");
+		}, 0, (polygon, output) -> actual.add(polygon.getDescription().getName())));
+
+		assertThat(e.getMessage(), equalTo("test failure"));
+		assertThat(actual, hasSize(1));
+	}
+
+	@Test
+	void testProducerFailure() {
+		var unit = new ForwardPipeline(controlMap);
+
+		List<String> actual = new ArrayList<>();
+		var e = assertThrows(ProcessingException.class, () -> unit.process(sink -> {
+			sink.accept(VdypStartPolygonConverterTest.startPolygon(POLYGON_IDENTIFIERS[0]));
+			throw new ProcessingException("test failure");
+		}, 0, (polygon, output) -> actual.add(polygon.getDescription().getName())));
+
+		assertThat(e.getMessage(), equalTo("test failure"));
+		assertThat(actual, hasSize(1));
+	}
+
+	@Test
+	void testConversionFailure() {
+		var unit = new ForwardPipeline(controlMap);
+
+		var polygon = VdypStartPolygonConverterTest.startPolygon(POLYGON_IDENTIFIERS[0]);
+		polygon.setForestInventoryZone("Z");
+
+		assertThrows(ProcessingException.class, () -> unit.process(sink -> sink.accept(polygon), 0, (p, output) -> {
+		}));
+	}
+
+	@Test
+	void testHandlerFailure() {
+		var unit = new ForwardPipeline(controlMap);
+
+		List<String> actual = new ArrayList<>();
+		var e = assertThrows(
+				ProcessingException.class, () -> unit.process(ForwardPipelineTest::produceAll, 0, (p, output) -> {
+					actual.add(p.getDescription().getName());
+					throw new ProcessingException("test failure");
+				})
+		);
+
+		assertThat(e.getMessage(), equalTo("test failure"));
+		assertThat(actual, hasSize(1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testProcessorProcessesStartApplication() throws ProcessingException {
+		var mockControl = EasyMock.createControl();
+		VdypStartApplication<?, ?, ?, ?> startApplication = mockControl.createMock(VdypStartApplication.class);
+
+		Capture<VdypPolygonSink> sink = EasyMock.newCapture();
+		EasyMock.expect(startApplication.getId()).andStubReturn(VdypApplicationIdentifier.VRI_START);
+		startApplication.setPolygonSink(EasyMock.capture(sink));
+		startApplication.process();
+		EasyMock.expectLastCall().andAnswer(() -> {
+			produceAll(sink.getValue());
+			return null;
+		});
+		startApplication.setPolygonSink(null);
+		mockControl.replay();
+
+		int nPolygonsProcessed = new ForwardProcessor(2).process(startApplication, controlMap, Optional.empty());
+
+		assertThat(nPolygonsProcessed, equalTo(3));
+		mockControl.verify();
+	}
+
+	@Test
+	void testInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new ForwardPipeline(controlMap, 0));
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> new ForwardPipeline(controlMap, 1, 0, SiteToolCache.disabled(), SiteCurveSelection.defaults())
+		);
+	}
+}
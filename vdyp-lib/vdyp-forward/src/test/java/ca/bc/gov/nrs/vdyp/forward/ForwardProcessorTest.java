@@ -5,20 +5,39 @@ import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_2;
 import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_3;
 import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_4;
 import static ca.bc.gov.nrs.vdyp.forward.ForwardPass.PASS_5;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.ControlKey;
 import ca.bc.gov.nrs.vdyp.io.FileResolver;
 import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientBundle;
+import ca.bc.gov.nrs.vdyp.io.parse.control.CoefficientCache;
 import ca.bc.gov.nrs.vdyp.test.TestUtils;
 
 class ForwardProcessorTest {
@@ -33,8 +52,115 @@ class ForwardProcessorTest {
 
 		ForwardProcessor fp = new ForwardProcessor();
 
-		FileResolver fileResolver = TestUtils.fileResolver(TestUtils.class);
+		var fileResolver = new OutputCapturingFileResolver();
 
 		fp.run(fileResolver, List.of("VDYP.CTR"), vdypPassSet);
+
+		var polygons = fileResolver.getOutput("vp_grow2.dat");
+		assertThat(polygons, not(emptyString()));
+		assertThat(polygons, startsWith("01002 S000001 00     1970 CWH  A    99 37  1  1\n"));
+		assertThat(fileResolver.getOutput("vs_grow2.dat"), startsWith("01002 S000001 00     1970 P  3 B  B  100.0"));
+		assertThat(fileResolver.getOutput("vu_grow2.dat"), startsWith("01002 S000001 00     1970 P  0    -1"));
+	}
+
+	@Test
+	void testParallel() throws IOException, ResourceParseException, ProcessingException {
+
+		var serialResolver = new OutputCapturingFileResolver();
+		new ForwardProcessor().run(serialResolver, List.of("VDYP.CTR"), vdypPassSet);
+
+		var parallelResolver = new OutputCapturingFileResolver();
+		new ForwardProcessor(4).run(parallelResolver, List.of("VDYP.CTR"), vdypPassSet);
+
+		for (var fileName : List.of("vp_grow2.dat", "vs_grow2.dat", "vu_grow2.dat")) {
+			assertThat(fileName, parallelResolver.getOutput(fileName), is(serialResolver.getOutput(fileName)));
+		}
+	}
+
+	@Test
+	void testWithoutOutputResolver() throws IOException, ResourceParseException, ProcessingException {
+
+		FileResolver fileResolver = TestUtils.fileResolver(TestUtils.class);
+
+		// TestUtils.fileResolver fails if asked to open a file for output
+		new ForwardProcessor(2)
+				.process(vdypPassSet, ForwardProcessor.loadControlMap(fileResolver, List.of("VDYP.CTR")));
+	}
+
+	@Test
+	void testWithCoefficientCache() throws IOException, ResourceParseException, ProcessingException {
+
+		var cache = new CoefficientCache(1);
+
+		FileResolver fileResolver = new OutputCapturingFileResolver();
+
+		new ForwardProcessor().run(fileResolver, List.of("VDYP.CTR"), vdypPassSet, Optional.of(cache));
+		new ForwardProcessor().run(fileResolver, List.of("VDYP.CTR"), vdypPassSet, Optional.of(cache));
+
+		assertThat(cache.getMisses(), is(1L));
+		assertThat(cache.getHits(), is(1L));
+	}
+
+	@Test
+	void testCompileCoefficientBundle(@TempDir Path dir) throws IOException, ResourceParseException {
+
+		var bundlePath = dir.resolve("VDYP.bundle");
+		FileResolver fileResolver = TestUtils.fileResolver(TestUtils.class);
+
+		ForwardProcessor.compileCoefficientBundle(fileResolver, "VDYP.CTR", bundlePath);
+
+		var bundle = CoefficientBundle.read(bundlePath);
+		assertThat(bundle.isPresent(), is(true));
+
+		// The bundle holds the configuration, but not the input files
+		var controlMap = ForwardProcessor.loadControlMap(fileResolver, List.of("VDYP.CTR"));
+		assertThat(bundle.get().getEntries(), hasKey(ControlKey.BEC_DEF.name()));
+		assertThat(bundle.get().getEntries(), not(hasKey(ControlKey.FORWARD_INPUT_VDYP_POLY.name())));
+		assertThat(controlMap.keySet().containsAll(bundle.get().getEntries().keySet()), is(true));
+
+		// A parse that found the bundle out of date would write it again
+		var compiled = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(bundlePath, compiled);
+
+		var parser = new ForwardControlParser();
+		parser.setCoefficientBundlePath(bundlePath);
+		try (var is = fileResolver.resolveForInput("VDYP.CTR")) {
+			parser.parse(is, fileResolver, new HashMap<>());
+		}
+		assertThat(Files.getLastModifiedTime(bundlePath), is(compiled));
+	}
+
+	/**
+	 * Resolves the test resources for input, and captures the files opened for output.
+	 */
+	private static class OutputCapturingFileResolver implements FileResolver {
+
+		private final FileResolver delegate = TestUtils.fileResolver(TestUtils.class);
+		private final Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+		String getOutput(String filename) {
+			assertThat(outputs, hasKey(filename));
+			return outputs.get(filename).toString();
+		}
+
+		@Override
+		public InputStream resolveForInput(String filename) throws IOException {
+			return delegate.resolveForInput(filename);
+		}
+
+		@Override
+		public OutputStream resolveForOutput(String filename) throws IOException {
+			return outputs.computeIfAbsent(filename, name -> new ByteArrayOutputStream());
+		}
+
+		@Override
+		public String toString(String filename) throws IOException {
+			return delegate.toString(filename);
+		}
+
+		@Override
+		public FileResolver relative(String path) throws IOException {
+			return delegate.relative(path);
+		}
 	}
 }
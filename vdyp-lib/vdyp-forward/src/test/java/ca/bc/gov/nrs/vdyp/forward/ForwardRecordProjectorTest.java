@@ -0,0 +1,107 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+import ca.bc.gov.nrs.vdyp.test.TestUtils;
+
+class ForwardRecordProjectorTest {
+
+	// The polygon, layer and species, with the year, that begin every record of a polygon
+	private static final int DESCRIPTION_LENGTH = 25;
+
+	Map<String, Object> controlMap;
+	ForwardRecordProjector unit;
+
+	@BeforeEach
+	void setup() throws IOException, ResourceParseException {
+		controlMap = ForwardProcessor.loadControlMap(TestUtils.fileResolver(TestUtils.class), List.of("VDYP.CTR"));
+		unit = new ForwardRecordProjector(
+				controlMap, new CoefficientContext(controlMap), new SiteToolCache(0, 0), SiteCurveSelection.defaults()
+		);
+	}
+
+	static Map<String, List<String>> recordsByPolygon(String resourceName) throws IOException {
+		Map<String, List<String>> result = new LinkedHashMap<>();
+		try (
+				var reader = new BufferedReader(
+						new InputStreamReader(TestUtils.class.getResourceAsStream(resourceName), StandardCharsets.UTF_8)
+				)
+		) {
+			String line;
+			while ( (line = reader.readLine()) != null) {
+				if (!line.isBlank()) {
+					result.computeIfAbsent(line.substring(0, DESCRIPTION_LENGTH), k -> new ArrayList<>()).add(line);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Test
+	void testProjectSeveralPolygons() throws IOException, ProcessingException {
+		var polygons = recordsByPolygon("vin_p1.dat");
+		var species = recordsByPolygon("vin_s1.dat");
+		var utilizations = recordsByPolygon("vin_u1.dat");
+
+		List<ForwardOutputRecords> results = new ArrayList<>();
+		for (var polygon : polygons.entrySet()) {
+			var description = polygon.getKey();
+			results.add(
+					unit.project(polygon.getValue().get(0), species.get(description), utilizations.get(description))
+			);
+		}
+
+		assertThat(results, hasSize(polygons.size()));
+		var descriptions = List.copyOf(polygons.keySet());
+		for (int i = 0; i < results.size(); i++) {
+			// The polygon is projected to a later year, so only its identifier is the same
+			var identifier = descriptions.get(i).substring(0, DESCRIPTION_LENGTH - 4);
+			var result = results.get(i);
+			assertThat(result.polygon(), startsWith(identifier));
+			assertThat(result.species(), everyItem(startsWith(identifier)));
+			assertThat(result.utilizations(), everyItem(startsWith(identifier)));
+		}
+	}
+
+	@Test
+	void testProjectAfterFailure() throws IOException, ProcessingException {
+		var polygons = recordsByPolygon("vin_p1.dat");
+		var species = recordsByPolygon("vin_s1.dat");
+		var utilizations = recordsByPolygon("vin_u1.dat");
+		var description = polygons.keySet().iterator().next();
+		var polygonRecord = polygons.get(description).get(0);
+		var speciesRecords = species.get(description);
+		var utilizationRecords = utilizations.get(description);
+
+		var invalidRecord = polygonRecord.replace("CWH ", "XXX ");
+		assertThrows(ProcessingException.class, () -> unit.project(invalidRecord, speciesRecords, utilizationRecords));
+
+		var result = unit.project(polygonRecord, speciesRecords, utilizationRecords);
+		assertThat(
+				result.polygon().substring(0, DESCRIPTION_LENGTH - 4),
+				is(description.substring(0, DESCRIPTION_LENGTH - 4))
+		);
+	}
+}
@@ -0,0 +1,91 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.CoefficientContext;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.model.LayerType;
+import ca.bc.gov.nrs.vdyp.test.TestUtils;
+
+class ForwardRecordReaderTest {
+
+	private static final String POLYGON_RECORD = "01002 S000001 00     1970 CWH  A    99 37  1  1";
+
+	private static final List<String> SPECIES_RECORDS = List.of(
+			"01002 S000001 00     1970 P  3 B  B  100.0     0.0     0.0     0.0 -9.00 -9.00  -9.0  -9.0  -9.0 0 -9",
+			"01002 S000001 00     1970 P  5 D  D  100.0     0.0     0.0     0.0 35.00 35.30  55.0  54.0   1.0 1 13",
+			"01002 S000001 00     1970  "
+	);
+
+	private static final List<String> UTILIZATION_RECORDS = List.of(
+			"01002 S000001 00     1970 P  0    -1  0.00155     0.47  10.6",
+			"01002 S000001 00     1970 P  0     0 29.70541   292.86  33.7",
+			"01002 S000001 00     1970 P  0     1  0.01914     2.40  -9.0",
+			"01002 S000001 00     1970 P  0     2  0.06491     3.62  -9.0",
+			"01002 S000001 00     1970 P  0     3  0.48020    14.70  -9.0",
+			"01002 S000001 00     1970 P  0     4 29.14115   272.14  -9.0",
+			"01002 S000001 00     1970 P  3 B  -1  0.00000     0.00   8.0",
+			"01002 S000001 00     1970 P  3 B   0  0.40292     5.16  36.7",
+			"01002 S000001 00     1970 P  3 B   1  0.00502     0.76  -9.0",
+			"01002 S000001 00     1970 P  3 B   2  0.01363     0.93  -9.0",
+			"01002 S000001 00     1970 P  3 B   3  0.02284     0.88  -9.0",
+			"01002 S000001 00     1970 P  3 B   4  0.36143     2.60  -9.0",
+			"01002 S000001 00     1970 P  5 D  -1  0.00155     0.47  10.6",
+			"01002 S000001 00     1970 P  5 D   0 29.30249   287.70  33.7",
+			"01002 S000001 00     1970 P  5 D   1  0.01412     1.64  -9.0",
+			"01002 S000001 00     1970 P  5 D   2  0.05128     2.69  -9.0",
+			"01002 S000001 00     1970 P  5 D   3  0.45736    13.82  -9.0",
+			"01002 S000001 00     1970 P  5 D   4 28.77972   269.56  -9.0", "01002 S000001 00     1970  "
+	);
+
+	Map<String, Object> controlMap;
+
+	@BeforeEach
+	void setup() throws IOException, ResourceParseException {
+		controlMap = ForwardProcessor.loadControlMap(TestUtils.fileResolver(TestUtils.class), List.of("VDYP.CTR"));
+	}
+
+	@Test
+	void testRead() throws ProcessingException {
+		var unit = new ForwardRecordReader(controlMap);
+
+		var polygon = unit.read(POLYGON_RECORD, SPECIES_RECORDS, UTILIZATION_RECORDS);
+
+		assertThat(polygon.getDescription().toString(), is("01002 S000001 00(1970)"));
+		assertThat(polygon.getPrimaryLayer().getLayerType(), is(LayerType.PRIMARY));
+		assertThat(polygon.getPrimaryLayer().getGenera().size(), is(2));
+		assertThat(polygon.getVeteranLayer().isPresent(), is(false));
+	}
+
+	@Test
+	void testReadAndProcess() throws ProcessingException {
+		var unit = new ForwardRecordReader(controlMap);
+		var engine = new ForwardProcessingEngine(controlMap, new CoefficientContext(controlMap));
+
+		engine.processPolygon(unit.read(POLYGON_RECORD, SPECIES_RECORDS, UTILIZATION_RECORDS));
+		engine.processPolygon(unit.read(POLYGON_RECORD, SPECIES_RECORDS, UTILIZATION_RECORDS));
+	}
+
+	@Test
+	void testReadInvalid() {
+		var unit = new ForwardRecordReader(controlMap);
+		var species = List.<String>of();
+		var utilizations = List.<String>of();
+
+		assertThrows(ProcessingException.class, () -> unit.read("", species, utilizations));
+		assertThrows(
+				ProcessingException.class,
+				() -> unit.read(POLYGON_RECORD.replace("CWH ", "XXX "), SPECIES_RECORDS, UTILIZATION_RECORDS)
+		);
+	}
+}
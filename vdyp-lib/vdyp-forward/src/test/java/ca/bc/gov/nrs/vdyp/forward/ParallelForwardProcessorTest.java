@@ -0,0 +1,127 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.notPresent;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonDescription;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+
+class ParallelForwardProcessorTest extends AbstractForwardProcessingEngineTest {
+
+	@Test
+	void testPolygonsAreReleasedInInputOrder() throws IOException, ResourceParseException, ProcessingException {
+
+		List<VdypPolygonDescription> expected = new ArrayList<>();
+		var descriptions = polygonDescriptionStreamFactory.get();
+		while (descriptions.hasNext()) {
+			expected.add(descriptions.next());
+		}
+		assertThat(expected, not(hasSize(0)));
+
+		var processor = new ParallelForwardProcessor(controlMap, 4);
+
+		List<VdypPolygonDescription> actual = new ArrayList<>();
+		int nPolygonsProcessed = processor.process(
+				polygonDescriptionStream, forwardDataStreamReader, 0,
+				(polygon, output) -> actual.add(polygon.getDescription())
+		);
+
+		assertThat(nPolygonsProcessed, equalTo(expected.size()));
+		assertThat(actual, contains(expected.toArray()));
+	}
+
+	@Test
+	void testMaxPoly() throws ProcessingException {
+
+		var processor = new ParallelForwardProcessor(controlMap, 2);
+
+		List<VdypPolygonDescription> actual = new ArrayList<>();
+		int nPolygonsProcessed = processor.process(
+				polygonDescriptionStream, forwardDataStreamReader, 1,
+				(polygon, output) -> actual.add(polygon.getDescription())
+		);
+
+		assertThat(nPolygonsProcessed, equalTo(1));
+		assertThat(actual, hasSize(1));
+	}
+
+	@Test
+	void testHandlerFailureStopsProcessing() {
+
+		var processor = new ParallelForwardProcessor(controlMap, 2);
+
+		List<VdypPolygonDescription> actual = new ArrayList<>();
+		var e = assertThrows(
+				ProcessingException.class,
+				() -> processor.process(polygonDescriptionStream, forwardDataStreamReader, 0, (polygon, output) -> {
+					actual.add(polygon.getDescription());
+					throw new ProcessingException("test failure");
+				})
+		);
+
+		assertThat(e.getMessage(), equalTo("test failure"));
+		assertThat(actual, hasSize(1));
+	}
+
+	@Test
+	void testOutputIsReleasedWithItsPolygon() throws ProcessingException {
+
+		var processor = new ParallelForwardProcessor(controlMap, 2);
+
+		List<String> actual = new ArrayList<>();
+		processor.process(polygonDescriptionStream, forwardDataStreamReader, 0, (polygon, output) -> {
+			assertThat(output.get().polygon(), startsWith(polygon.getDescription().getDescription()));
+			actual.add(output.get().polygon());
+		});
+
+		assertThat(actual, not(hasSize(0)));
+	}
+
+	@Test
+	void testOutputIsNotFormattedUnlessWanted() throws ProcessingException {
+
+		var processor = new ParallelForwardProcessor(controlMap, 2);
+		processor.setFormatOutput(false);
+
+		List<VdypPolygonDescription> actual = new ArrayList<>();
+		processor.process(polygonDescriptionStream, forwardDataStreamReader, 0, (polygon, output) -> {
+			assertThat(output, notPresent());
+			actual.add(polygon.getDescription());
+		});
+
+		assertThat(actual, not(hasSize(0)));
+	}
+
+	@Test
+	void testErrorInReaderStopsProcessing() {
+
+		var processor = new ParallelForwardProcessor(controlMap, 2);
+
+		assertTimeoutPreemptively(
+				Duration.ofSeconds(30), () -> assertThrows(StackOverflowError.class, () -> processor.process(() -> {
+					throw new StackOverflowError();
+				}, 0, (polygon, output) -> {
+				}))
+		);
+	}
+
+	@Test
+	void testInvalidNumberOfWorkers() {
+		assertThrows(IllegalArgumentException.class, () -> new ParallelForwardProcessor(controlMap, 0));
+	}
+}
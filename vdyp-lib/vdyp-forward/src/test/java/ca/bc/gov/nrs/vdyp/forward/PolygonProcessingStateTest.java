@@ -92,6 +92,10 @@ class PolygonProcessingStateTest {
 		for (int i = 0; i < nSpecies + 1; i++) {
 			assertThat(pps.cuVolumesMinusDecayAndWastage[i].length, is(UtilizationClass.values().length));
 		}
+		assertThat(pps.cuVolumesMinusDecayWastageAndBreakage.length, is(nSpecies + 1));
+		for (int i = 0; i < nSpecies + 1; i++) {
+			assertThat(pps.cuVolumesMinusDecayWastageAndBreakage[i].length, is(UtilizationClass.values().length));
+		}
 
 		assertThat(pps.loreyHeights.length, is(nSpecies + 1));
 		for (int i = 0; i < nSpecies + 1; i++) {
@@ -219,6 +223,10 @@ class PolygonProcessingStateTest {
 			assertThat(pps.closeUtilizationVolumes[spIndex][uc.index + 1], is(u.getCloseUtilizationVolume()));
 			assertThat(pps.cuVolumesMinusDecay[spIndex][uc.index + 1], is(u.getCuVolumeMinusDecay()));
 			assertThat(pps.cuVolumesMinusDecayAndWastage[spIndex][uc.index + 1], is(u.getCuVolumeMinusDecayWastage()));
+			assertThat(
+					pps.cuVolumesMinusDecayWastageAndBreakage[spIndex][uc.index + 1],
+					is(u.getCuVolumeMinusDecayWastageBreakage())
+			);
 			if (uc.index <= 0) {
 				assertThat(pps.loreyHeights[spIndex][uc.index + 1], is(u.getLoreyHeight()));
 			}
@@ -9,6 +9,7 @@ import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.present;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.instanceOf;
@@ -21,12 +22,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import ca.bc.gov.nrs.vdyp.common.ControlKey;
 import ca.bc.gov.nrs.vdyp.common.GenusDefinitionMap;
@@ -537,6 +540,32 @@ class VdypForwardControlParserTest {
 		);
 	}
 
+	@Test
+	void testParseFromCoefficientBundle(@TempDir Path dir) throws Exception {
+		var bundlePath = dir.resolve("VDYP.bundle");
+		var expected = VdypForwardTestUtils.parse(new ForwardControlParser(), "VDYP.CTR");
+
+		var compilingParser = new ForwardControlParser();
+		compilingParser.setCoefficientBundlePath(bundlePath);
+		VdypForwardTestUtils.parse(compilingParser, "VDYP.CTR");
+
+		var parser = new ForwardControlParser();
+		parser.setCoefficientBundlePath(bundlePath);
+		var result = VdypForwardTestUtils.parse(parser, "VDYP.CTR");
+
+		assertThat(result.keySet(), equalTo(expected.keySet()));
+		assertThat(
+				result,
+				(Matcher) controlMapHasEntry(
+						ControlKey.VOLUME_EQN_GROUPS, allOf(isA(MatrixMap2.class), mmHasEntry(is(7), "AT", "CDF"))
+				)
+		);
+		assertThat(
+				result,
+				(Matcher) controlMapHasEntry(ControlKey.FORWARD_INPUT_GROWTO, instanceOf(StreamingParserFactory.class))
+		);
+	}
+
 	static InputStream addToEnd(InputStream is, String... lines) {
 		var appendix = new ByteArrayInputStream(String.join("\r\n", lines).getBytes(StandardCharsets.US_ASCII));
 		return new SequenceInputStream(is, appendix);
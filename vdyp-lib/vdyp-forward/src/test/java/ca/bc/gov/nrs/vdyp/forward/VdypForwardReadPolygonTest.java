@@ -133,6 +133,48 @@ class VdypForwardReadPolygonTest {
 		}
 	}
 
+	@Test
+	void testReadSomePolygons() throws Exception {
+
+		var parser = new ForwardControlParser();
+		Map<String, Object> controlMap = parse(parser, "VDYP.CTR");
+
+		var polygonDescriptionStream = ((StreamingParserFactory<VdypPolygonDescription>) controlMap
+				.get(ControlKey.FORWARD_INPUT_GROWTO.name())).get();
+		List<VdypPolygonDescription> polygonDescriptions = new ArrayList<>();
+		while (polygonDescriptionStream.hasNext()) {
+			polygonDescriptions.add(polygonDescriptionStream.next());
+		}
+
+		ForwardDataStreamReader allReader = new ForwardDataStreamReader(controlMap);
+		List<VdypPolygon> allPolygons = new ArrayList<>();
+		for (var polygonDescription : polygonDescriptions) {
+			allPolygons.add(allReader.readNextPolygon(polygonDescription));
+		}
+
+		// The polygons passed over are skipped, leaving the streams positioned at the polygons that are read
+		ForwardDataStreamReader someReader = new ForwardDataStreamReader(controlMap);
+		for (int i = 2; i < polygonDescriptions.size(); i += 3) {
+			var polygon = someReader.readNextPolygon(polygonDescriptions.get(i));
+			var expected = allPolygons.get(i);
+
+			assertThat(polygon.getDescription(), is(expected.getDescription()));
+			assertThat(polygon.getPercentForestLand(), is(expected.getPercentForestLand()));
+			assertThat(
+					polygon.getPrimaryLayer().getGenera().keySet(), is(expected.getPrimaryLayer().getGenera().keySet())
+			);
+			for (var genus : expected.getPrimaryLayer().getGenera().values()) {
+				var species = polygon.getPrimaryLayer().getGenera().get(genus.getGenusIndex());
+				assertThat(species.getPolygonId(), is(expected.getDescription()));
+				assertThat(species.getSiteIndex(), is(genus.getSiteIndex()));
+				assertThat(
+						species.getUtilizations().map(m -> m.keySet()), is(genus.getUtilizations().map(m -> m.keySet()))
+				);
+			}
+			assertThat(polygon.getVeteranLayer().isPresent(), is(expected.getVeteranLayer().isPresent()));
+		}
+	}
+
 	static InputStream addToEnd(InputStream is, String... lines) {
 		var appendix = new ByteArrayInputStream(String.join("\r\n", lines).getBytes(StandardCharsets.US_ASCII));
 		return new SequenceInputStream(is, appendix);
@@ -0,0 +1,215 @@
+package ca.bc.gov.nrs.vdyp.forward;
+
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.closeTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.ProcessingException;
+import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypLayerSpecies;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypPolygonLayer;
+import ca.bc.gov.nrs.vdyp.forward.model.VdypSpeciesUtilization;
+import ca.bc.gov.nrs.vdyp.forward.parsers.VdypPolygonDescriptionParser;
+import ca.bc.gov.nrs.vdyp.io.parse.common.ResourceParseException;
+import ca.bc.gov.nrs.vdyp.io.write.VriAdjustInputWriter;
+import ca.bc.gov.nrs.vdyp.model.LayerType;
+import ca.bc.gov.nrs.vdyp.model.PolygonMode;
+import ca.bc.gov.nrs.vdyp.model.UtilizationClass;
+import ca.bc.gov.nrs.vdyp.model.VdypLayer;
+import ca.bc.gov.nrs.vdyp.model.VdypPolygon;
+import ca.bc.gov.nrs.vdyp.model.VdypUtilizationHolder;
+
+class VdypStartPolygonConverterTest extends AbstractForwardProcessingEngineTest {
+
+	/**
+	 * A polygon as VRISTART might produce it
+	 */
+	static VdypPolygon startPolygon(String polygonIdentifier) {
+		VdypPolygon polygon = VdypPolygon.build(builder -> {
+			builder.polygonIdentifier(polygonIdentifier);
+			builder.percentAvailable(85.5f);
+			builder.biogeoclimaticZone(Utils.getBec("IDF", controlMap));
+			builder.forestInventoryZone("D");
+			builder.mode(PolygonMode.START);
+		});
+
+		var layer = VdypLayer.build(polygon, builder -> {
+			builder.layerType(LayerType.PRIMARY);
+
+			builder.addSpecies(specBuilder -> {
+				specBuilder.genus("PL", controlMap);
+				specBuilder.percentGenus(100);
+				specBuilder.volumeGroup(0);
+				specBuilder.decayGroup(0);
+				specBuilder.breakageGroup(0);
+				specBuilder.addSp64Distribution("PL", 100);
+
+				specBuilder.addSite(siteBuilder -> {
+					siteBuilder.height(15f);
+					siteBuilder.siteIndex(14.7f);
+					siteBuilder.ageTotal(60f);
+					siteBuilder.yearsToBreastHeight(8.5f);
+					siteBuilder.siteCurveNumber(0);
+				});
+			});
+		});
+
+		var species = layer.getSpecies().get("PL");
+
+		layer.setEmpericalRelationshipParameterIndex(Optional.of(119));
+		layer.setInventoryTypeGroup(Optional.of(28));
+
+		for (var holder : new VdypUtilizationHolder[] { layer, species }) {
+			holder.setBaseAreaByUtilization(
+					Utils.utilizationVector(0.02865f, 19.97867f, 6.79731f, 8.54690f, 3.63577f, 0.99869f)
+			);
+			holder.setTreesPerHectareByUtilization(
+					Utils.utilizationVector(9.29f, 1485.82f, 834.25f, 509.09f, 123.56f, 18.92f)
+			);
+			holder.setLoreyHeightByUtilization(Utils.heightVector(7.8377f, 13.0660f));
+			holder.setWholeStemVolumeByUtilization(
+					Utils.utilizationVector(0.1077f, 117.9938f, 33.3680f, 52.4308f, 25.2296f, 6.9654f)
+			);
+			holder.setCloseUtilizationVolumeByUtilization(
+					Utils.utilizationVector(0f, 67.7539f, 2.4174f, 36.8751f, 22.0156f, 6.4459f)
+			);
+			holder.setCloseUtilizationVolumeNetOfDecayByUtilization(
+					Utils.utilizationVector(0f, 67.0665f, 2.3990f, 36.5664f, 21.7930f, 6.3080f)
+			);
+			holder.setCloseUtilizationVolumeNetOfDecayAndWasteByUtilization(
+					Utils.utilizationVector(0f, 66.8413f, 2.3951f, 36.4803f, 21.7218f, 6.2442f)
+			);
+			holder.setCloseUtilizationVolumeNetOfDecayWasteAndBreakageByUtilization(
+					Utils.utilizationVector(0f, 65.4214f, 2.3464f, 35.7128f, 21.2592f, 6.1030f)
+			);
+			holder.setQuadraticMeanDiameterByUtilization(Utils.utilizationVector(4f, 4f, 4f, 4f, 4f, 4f));
+		}
+		species.getBaseAreaByUtilization().setCoe(UtilizationClass.OVER225.index, 0f);
+
+		return polygon;
+	}
+
+	@Test
+	void testAsWrittenAndRead() throws IOException, ResourceParseException, ProcessingException {
+		var polygon = startPolygon("082E004    615       1988");
+
+		var polygonFile = new ByteArrayOutputStream();
+		var speciesFile = new ByteArrayOutputStream();
+		var utilizationFile = new ByteArrayOutputStream();
+		try (var writer = new VriAdjustInputWriter(polygonFile, speciesFile, utilizationFile, controlMap)) {
+			writer.writePolygonWithSpeciesAndUtilization(polygon);
+		}
+		buildPolygonParserForStream("testPolygonFile", lines(polygonFile));
+		buildSpeciesParserForStream("testSpeciesFile", lines(speciesFile));
+		buildUtilizationParserForStream("testUtilizationFile", lines(utilizationFile));
+
+		var expected = new ForwardDataStreamReader(controlMap)
+				.readNextPolygon(VdypPolygonDescriptionParser.parse("082E004    615       1988"));
+
+		var unit = new VdypStartPolygonConverter(controlMap);
+		var result = unit.convert(polygon);
+
+		assertThat(result.getDescription(), is(expected.getDescription()));
+		assertThat(result.getBiogeoclimaticZone(), is(expected.getBiogeoclimaticZone()));
+		assertThat(result.getForestInventoryZone(), is(expected.getForestInventoryZone()));
+		assertThat(result.getPercentForestLand(), is(expected.getPercentForestLand()));
+		assertThat(result.getInventoryTypeGroup(), is(expected.getInventoryTypeGroup()));
+		assertThat(result.getBasalAreaGroup(), is(expected.getBasalAreaGroup()));
+		assertThat(result.getFipMode(), is(expected.getFipMode()));
+		assertThat(result.getVeteranLayer(), is(Optional.empty()));
+
+		assertLayer(result.getPrimaryLayer(), expected.getPrimaryLayer());
+	}
+
+	@Test
+	void testMissingPrimaryLayer() {
+		var polygon = VdypPolygon.build(builder -> {
+			builder.polygonIdentifier("082E004    615       1988");
+			builder.percentAvailable(90f);
+			builder.biogeoclimaticZone(Utils.getBec("IDF", controlMap));
+			builder.forestInventoryZone("D");
+		});
+
+		var unit = new VdypStartPolygonConverter(controlMap);
+		assertThrows(ProcessingException.class, () -> unit.convert(polygon));
+	}
+
+	@Test
+	void testUnknownForestInventoryZone() {
+		var polygon = startPolygon("082E004    615       1988");
+		polygon.setForestInventoryZone("Z");
+
+		var unit = new VdypStartPolygonConverter(controlMap);
+		assertThrows(ProcessingException.class, () -> unit.convert(polygon));
+	}
+
+	private static String[] lines(ByteArrayOutputStream file) {
+		return file.toString(StandardCharsets.UTF_8).split("\n");
+	}
+
+	private static void assertLayer(VdypPolygonLayer result, VdypPolygonLayer expected) {
+		assertThat(result.getLayerType(), is(expected.getLayerType()));
+		assertThat(result.getGenera().keySet(), is(expected.getGenera().keySet()));
+		assertUtilizations(result.getDefaultUtilizationMap().get(), expected.getDefaultUtilizationMap().get());
+
+		for (var entry : expected.getGenera().entrySet()) {
+			VdypLayerSpecies species = result.getGenera().get(entry.getKey());
+			VdypLayerSpecies expectedSpecies = entry.getValue();
+
+			assertThat(species.getParent(), is(result));
+			assertThat(species.getGenus(), is(expectedSpecies.getGenus()));
+			assertThat(species.getSpeciesDistributions(), is(expectedSpecies.getSpeciesDistributions()));
+			assertValue(species.getSiteIndex(), expectedSpecies.getSiteIndex());
+			assertValue(species.getDominantHeight(), expectedSpecies.getDominantHeight());
+			assertValue(species.getAgeTotal(), expectedSpecies.getAgeTotal());
+			assertValue(species.getAgeAtBreastHeight(), expectedSpecies.getAgeAtBreastHeight());
+			assertValue(species.getYearsToBreastHeight(), expectedSpecies.getYearsToBreastHeight());
+			assertThat(species.getIsPrimary(), is(expectedSpecies.getIsPrimary()));
+			assertThat(species.getSiteCurveNumber(), is(expectedSpecies.getSiteCurveNumber()));
+
+			assertUtilizations(species.getUtilizations().get(), expectedSpecies.getUtilizations().get());
+			for (var u : species.getUtilizations().get().values()) {
+				assertThat(u.getParent(), is(species));
+			}
+		}
+	}
+
+	private static void assertUtilizations(
+			Map<UtilizationClass, VdypSpeciesUtilization> result, Map<UtilizationClass, VdypSpeciesUtilization> expected
+	) {
+		assertThat(result.keySet(), is(expected.keySet()));
+		for (var uc : expected.keySet()) {
+			var u = result.get(uc);
+			var e = expected.get(uc);
+			assertThat(u.getGenusIndex(), is(e.getGenusIndex()));
+			assertThat(u.getGenus(), is(e.getGenus()));
+			assertValue(u.getBasalArea(), e.getBasalArea());
+			assertValue(u.getLiveTreesPerHectare(), e.getLiveTreesPerHectare());
+			assertValue(u.getLoreyHeight(), e.getLoreyHeight());
+			assertValue(u.getWholeStemVolume(), e.getWholeStemVolume());
+			assertValue(u.getCloseUtilizationVolume(), e.getCloseUtilizationVolume());
+			assertValue(u.getCuVolumeMinusDecay(), e.getCuVolumeMinusDecay());
+			assertValue(u.getCuVolumeMinusDecayWastage(), e.getCuVolumeMinusDecayWastage());
+			assertValue(u.getCuVolumeMinusDecayWastageBreakage(), e.getCuVolumeMinusDecayWastageBreakage());
+			assertValue(u.getQuadraticMeanDiameterAtBH(), e.getQuadraticMeanDiameterAtBH());
+		}
+	}
+
+	/** Equal to the value read from the files, which were written to a lower precision, or both missing */
+	private static void assertValue(float result, float expected) {
+		if (Float.isNaN(expected)) {
+			assertThat(Float.isNaN(result), is(true));
+		} else {
+			assertThat(result, closeTo(expected, 0.001f));
+		}
+	}
+}
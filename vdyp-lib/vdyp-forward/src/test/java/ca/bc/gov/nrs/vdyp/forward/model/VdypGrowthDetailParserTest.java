@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,15 @@ class VdypGrowthDetailParserTest {
 		}
 	}
 
+	@Test
+	void testTextualFormIsThatOfTheValues() throws Exception {
+		// The textual form is part of the fingerprint of coefficient bundles, so it must not vary from run to run
+		var parser = new VdypControlVariableParser();
+
+		assertThat(parser.parse("1 2 3 4 5 6").toString(), equalTo(parser.parse("1 2 3 4 5 6").toString()));
+		assertThat(parser.parse("1 2 3 4 5 6").toString(), not(equalTo(parser.parse("1 2 3 4 5 5").toString())));
+	}
+
 	@Test
 	void testValidInput() throws Exception {
 		var parser = new VdypControlVariableParser();
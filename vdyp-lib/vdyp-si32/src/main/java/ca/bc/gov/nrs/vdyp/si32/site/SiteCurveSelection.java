@@ -0,0 +1,182 @@
+package ca.bc.gov.nrs.vdyp.si32.site;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurveTables;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.si32.enumerations.SpeciesRegion;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.SP64Name;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.VdypMethods;
+
+/**
+ * The Site Index curve to use for each species in each region, for one run.
+ * <p>
+ * Unlike {@link SiteTool#setSICurve}, which changes the curves of every caller in the JVM, a selection is immutable:
+ * {@link #withSICurve} returns a new selection with the given curve and leaves the original unchanged. Selections may
+ * therefore be shared freely between threads, and concurrent runs can each use their own.
+ * <p>
+ * A species whose curve has not been selected uses the default curve from SINDEX, as {@link SiteTool#getSICurve} does.
+ * <p>
+ * A selection also chooses whether the heights and years to breast height given by the curves, through
+ * {@link SiteTool#ageAndSiteIndexToHeight} and {@link SiteTool#yearsToBreastHeight}, are looked up in
+ * {@link SiteCurveTables} or evaluated directly. The defaults evaluate them directly.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public final class SiteCurveSelection {
+
+	private static final int N_SPECIES = SP64Name.values().length;
+	private static final int N_REGIONS = SpeciesRegion.values().length;
+
+	private static final SiteCurveSelection DEFAULTS = new SiteCurveSelection(
+			new SiteIndexEquation[N_SPECIES][N_REGIONS], null
+	);
+
+	/**
+	 * The tables shared by every tabulated selection. They are built a curve at a time, the first time each is used,
+	 * and never change after that, so sharing them only saves building them again.
+	 */
+	private static final class SharedTables {
+		static final SiteCurveTables INSTANCE = new SiteCurveTables();
+	}
+
+	/**
+	 * The curves selected, by SP64Name ordinal and then SpeciesRegion ordinal; null where the default is used. Never
+	 * modified once the selection is constructed.
+	 */
+	private final SiteIndexEquation[][] selectedCurves;
+
+	/** The tables in which heights and years to breast height are looked up; null if they are evaluated directly */
+	private final SiteCurveTables siteCurveTables;
+
+	private SiteCurveSelection(SiteIndexEquation[][] selectedCurves, SiteCurveTables siteCurveTables) {
+		this.selectedCurves = selectedCurves;
+		this.siteCurveTables = siteCurveTables;
+	}
+
+	/**
+	 * @return the selection in which every species uses its default curve.
+	 */
+	public static SiteCurveSelection defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Returns a selection with the same curves as this one except that <code>sp64CodeName</code> uses
+	 * <code>siCurve</code> in the given region. As with {@link SiteTool#setSICurve}, a species that is not recognized
+	 * is ignored.
+	 *
+	 * @param sp64CodeName the short ("code") name of the species.
+	 * @param isCoastal    if <code>true</code>, the Coastal region is used and otherwise Interior is used.
+	 * @param siCurve      the site index curve to use for the species. <code>null</code> or SI_NO_EQUATION restores the
+	 *                     default.
+	 * @return as described
+	 */
+	public SiteCurveSelection withSICurve(String sp64CodeName, boolean isCoastal, SiteIndexEquation siCurve) {
+		var species = SP64Name.forText(sp64CodeName);
+		if (species == SP64Name.UNKNOWN) {
+			return this;
+		}
+
+		var copy = new SiteIndexEquation[N_SPECIES][];
+		for (int i = 0; i < N_SPECIES; i++) {
+			copy[i] = selectedCurves[i].clone();
+		}
+		copy[species.ordinal()][region(isCoastal).ordinal()] = siCurve == SiteIndexEquation.SI_NO_EQUATION ? null
+				: siCurve;
+
+		return new SiteCurveSelection(copy, siteCurveTables);
+	}
+
+	/**
+	 * Returns a selection with the same curves as this one that either looks heights and years to breast height up in
+	 * {@link SiteCurveTables}, with its default tolerance, or evaluates them directly.
+	 *
+	 * @param tabulated true to use the tables
+	 * @return as described
+	 */
+	public SiteCurveSelection withTabulatedSiteCurves(boolean tabulated) {
+		if (tabulated == isTabulatedSiteCurves()) {
+			return this;
+		}
+		return new SiteCurveSelection(selectedCurves, tabulated ? SharedTables.INSTANCE : null);
+	}
+
+	/**
+	 * @return true if heights and years to breast height are looked up in {@link SiteCurveTables}
+	 */
+	public boolean isTabulatedSiteCurves() {
+		return siteCurveTables != null;
+	}
+
+	/**
+	 * @return the tables in which heights and years to breast height are looked up, or null if they are evaluated
+	 *         directly
+	 */
+	SiteCurveTables getSiteCurveTables() {
+		return siteCurveTables;
+	}
+
+	/**
+	 * Maps a Species code name to its Site Index curve in this selection; as {@link SiteTool#getSICurve}.
+	 *
+	 * @param sp64CodeName the species short ("code") name.
+	 * @param isCoastal    <code>true</code> if coastal, <code>false</code> if interior.
+	 * @return the SiteIndexEquation for the species, or SiteIndexEquation.SI_NO_EQUATION if the species was not
+	 *         recognized.
+	 */
+	public SiteIndexEquation getSICurve(String sp64CodeName, boolean isCoastal) {
+		if (sp64CodeName == null) {
+			return SiteIndexEquation.SI_NO_EQUATION;
+		}
+
+		var region = region(isCoastal);
+		var species = SP64Name.forText(sp64CodeName);
+		var siCurve = species != SP64Name.UNKNOWN ? selectedCurves[species.ordinal()][region.ordinal()] : null;
+
+		// SINDEX may know the name even if it is not an SP64 species, as an SP0 for example
+		return siCurve != null ? siCurve : VdypMethods.getSindexDefaultSICurve(sp64CodeName, region);
+	}
+
+	/**
+	 * @return true if and only if no species has other than its default curve. Whether the curves are tabulated is not
+	 *         considered.
+	 */
+	public boolean isDefault() {
+		return Arrays.stream(selectedCurves).flatMap(Arrays::stream).allMatch(c -> c == null);
+	}
+
+	private static SpeciesRegion region(boolean isCoastal) {
+		return isCoastal ? SpeciesRegion.COAST : SpeciesRegion.INTERIOR;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof SiteCurveSelection that && Arrays.deepEquals(selectedCurves, that.selectedCurves)
+				&& Objects.equals(siteCurveTables, that.siteCurveTables);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.deepHashCode(selectedCurves) * 31 + Boolean.hashCode(isTabulatedSiteCurves());
+	}
+
+	@Override
+	public String toString() {
+		List<String> selections = new ArrayList<>();
+		for (var species : SP64Name.values()) {
+			for (var region : SpeciesRegion.values()) {
+				var siCurve = selectedCurves[species.ordinal()][region.ordinal()];
+				if (siCurve != null) {
+					selections.add(MessageFormat.format("{0} ({1}): {2}", species.getText(), region, siCurve));
+				}
+			}
+		}
+		var curves = selections.isEmpty() ? "default curves" : String.join(", ", selections);
+		return isTabulatedSiteCurves() ? curves + ", tabulated" : curves;
+	}
+}
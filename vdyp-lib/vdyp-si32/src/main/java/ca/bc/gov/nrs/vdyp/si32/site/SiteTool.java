@@ -5,6 +5,9 @@ import java.text.MessageFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurve;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurveTables;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
@@ -417,6 +420,25 @@ public class SiteTool {
 	public static double ageAndSiteIndexToHeight(
 			SiteIndexEquation curve, double age, SiteIndexAgeType ageType, double siteIndex, double years2BreastHeight
 	) throws CommonCalculatorException {
+		return ageAndSiteIndexToHeight(
+				SiteCurveSelection.defaults(), curve, age, ageType, siteIndex, years2BreastHeight
+		);
+	}
+
+	/**
+	 * As {@link #ageAndSiteIndexToHeight(SiteIndexEquation, double, SiteIndexAgeType, double, double)}, but looking the
+	 * height up in {@link SiteCurveTables} if <code>selection</code> is
+	 * {@link SiteCurveSelection#isTabulatedSiteCurves() tabulated}.
+	 */
+	public static double ageAndSiteIndexToHeight(
+			SiteCurveSelection selection, SiteIndexEquation curve, double age, SiteIndexAgeType ageType,
+			double siteIndex, double years2BreastHeight
+	) throws CommonCalculatorException {
+
+		var tables = selection.getSiteCurveTables();
+		if (tables != null) {
+			return tables.indexToHeight(curve, age, ageType, siteIndex, years2BreastHeight);
+		}
 
 		Reference<Double> tempRef_rtrn = new Reference<>();
 
@@ -437,14 +459,28 @@ public class SiteTool {
 	 */
 	public static double yearsToBreastHeight(SiteIndexEquation curve, double siteIndex)
 			throws CommonCalculatorException {
+		return yearsToBreastHeight(SiteCurveSelection.defaults(), curve, siteIndex);
+	}
+
+	/**
+	 * As {@link #yearsToBreastHeight(SiteIndexEquation, double)}, but looking the years up in {@link SiteCurveTables}
+	 * if <code>selection</code> is {@link SiteCurveSelection#isTabulatedSiteCurves() tabulated}.
+	 */
+	public static double yearsToBreastHeight(SiteCurveSelection selection, SiteIndexEquation curve, double siteIndex)
+			throws CommonCalculatorException {
 		double rtrn = 0.0;
 
-		Reference<Double> tempRef_rtrn = new Reference<>(rtrn);
+		var tables = selection.getSiteCurveTables();
+		if (tables != null) {
+			rtrn = tables.y2bh(curve, siteIndex);
+		} else {
+			Reference<Double> tempRef_rtrn = new Reference<>(rtrn);
 
-		// This call always returns 0; if an error occurs, an exception is thrown.
-		Sindxdll.Y2BH(curve, siteIndex, tempRef_rtrn);
+			// This call always returns 0; if an error occurs, an exception is thrown.
+			Sindxdll.Y2BH(curve, siteIndex, tempRef_rtrn);
 
-		rtrn = tempRef_rtrn.get();
+			rtrn = tempRef_rtrn.get();
+		}
 
 		// Round off to 1 decimal.
 		rtrn = Math.round(rtrn * 10.0) / 10.0;
@@ -452,6 +488,50 @@ public class SiteTool {
 		return rtrn;
 	}
 
+	/**
+	 * As {@link #yearsToBreastHeight(SiteCurveSelection, SiteIndexEquation, double)}, but by the status code API of
+	 * {@link Sindxdll}: the years are stored in <code>result[index]</code> and 0 is returned, or the error code is
+	 * stored and returned.
+	 *
+	 * @return 0 or an error code
+	 */
+	public static int yearsToBreastHeight(
+			SiteCurveSelection selection, SiteIndexEquation curve, double siteIndex, double[] result, int index
+	) {
+		return yearsToBreastHeight(selection, SiteCurves.of(curve), siteIndex, result, index);
+	}
+
+	/**
+	 * As {@link #yearsToBreastHeight(SiteCurveSelection, SiteIndexEquation, double, double[], int)}, for a curve
+	 * already obtained from {@link SiteCurves#of}.
+	 *
+	 * @return 0 or an error code
+	 */
+	public static int yearsToBreastHeight(
+			SiteCurveSelection selection, SiteCurve curve, double siteIndex, double[] result, int index
+	) {
+		var tables = selection.getSiteCurveTables();
+		if (tables != null) {
+			try {
+				result[index] = tables.y2bh(curve.equation(), siteIndex);
+			} catch (CommonCalculatorException e) {
+				int status = Sindxdll.errorCode(e);
+				result[index] = status;
+				return status;
+			}
+		} else {
+			int status = Sindxdll.Y2BH(curve, siteIndex, result, index);
+			if (status != 0) {
+				return status;
+			}
+		}
+
+		// Round off to 1 decimal.
+		result[index] = Math.round(result[index] * 10.0) / 10.0;
+
+		return 0;
+	}
+
 	/**
 	 * Returns the name of a particular curve.
 	 *
@@ -542,7 +622,37 @@ public class SiteTool {
 	}
 
 	/**
-	 * Sets the Site Index curve to use for a particular species.
+	 * As {@link #convertSiteIndexBetweenCurves(SiteIndexEquation, double, SiteIndexEquation)}, but by the status code
+	 * API of {@link Sindxdll}: the site index is stored in <code>result[index]</code> and 0 is returned, or the error
+	 * code is stored and returned.
+	 *
+	 * @return 0, SI_ERR_CURVE when either curve is not a recognized site curve, SI_ERR_SPEC when either species is not
+	 *         valid or SI_ERR_NO_ANS when there is no conversion defined
+	 */
+	public static int convertSiteIndexBetweenCurves(
+			SiteIndexEquation siteCurve1, double siteIndex1, SiteIndexEquation siteCurve2, double[] result, int index
+	) {
+		if (siteCurve1 == null) {
+			throw new IllegalArgumentException("convertSiteIndexBetweenCurves.siteCurve1");
+		}
+		if (siteCurve2 == null) {
+			throw new IllegalArgumentException("convertSiteIndexBetweenCurves.siteCurve2");
+		}
+
+		SiteIndexSpecies speciesIndex1 = VdypMethods.getSICurveSpeciesIndex(siteCurve1);
+		SiteIndexSpecies speciesIndex2 = VdypMethods.getSICurveSpeciesIndex(siteCurve2);
+
+		if (speciesIndex1 == SiteIndexSpecies.SI_NO_SPECIES || speciesIndex2 == SiteIndexSpecies.SI_NO_SPECIES) {
+			result[index] = Sindxdll.SI_ERR_CURVE;
+			return Sindxdll.SI_ERR_CURVE;
+		}
+
+		return Sindxdll.SIToSI(speciesIndex1, siteIndex1, speciesIndex2, result, index);
+	}
+
+	/**
+	 * Sets the Site Index curve to use for a particular species. The curve is shared by every caller in the JVM; a run
+	 * that needs its own curves should use a {@link SiteCurveSelection} instead.
 	 *
 	 * @param sp64CodeName the short ("code") name of the species.
 	 * @param coastalInd   if <code>true</code>, the Coastal region is used and otherwise Interior is used.
@@ -569,6 +679,21 @@ public class SiteTool {
 		return VdypMethods.getCurrentSICurve(sp64CodeName, isCoastal ? SpeciesRegion.COAST : SpeciesRegion.INTERIOR);
 	}
 
+	/**
+	 * Maps a Species code name to a specific SI Curve, as selected by <code>selection</code> rather than by
+	 * {@link #setSICurve}.
+	 *
+	 * @param selection    the curves of the run
+	 * @param sp64CodeName the species short ("code") name.
+	 * @param isCoastal    <code>true</code> if coastal, <code>false</code> if interior.
+	 * @return the SiteIndexEquation number for the species, or SiteIndexEquation.SI_NO_EQUATION if the species was not
+	 *         recognized.
+	 */
+	public static SiteIndexEquation getSICurve(SiteCurveSelection selection, String sp64CodeName, boolean isCoastal) {
+
+		return selection.getSICurve(sp64CodeName, isCoastal);
+	}
+
 	/**
 	 * Converts a SI Curve number to a Species code name, or "" if the SI Curve number is not recognized.
 	 *
@@ -0,0 +1,351 @@
+package ca.bc.gov.nrs.vdyp.si32.site;
+
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurve;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CurveErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.SpeciesErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType;
+import ca.bc.gov.nrs.vdyp.sindex.Sindxdll;
+
+/**
+ * A bounded, thread safe cache of the results of {@link SiteTool#yearsToBreastHeight},
+ * {@link SiteTool#convertSiteIndexBetweenCurves} and {@link SiteTool#heightAndAgeToSiteIndex}, for callers that make
+ * the same conversions many times.
+ * <p>
+ * Inputs are matched exactly, so the results are those of {@link SiteTool}, unless a quantum is given. In that case
+ * each of the real inputs is rounded to the nearest multiple of the quantum, and the result is that of {@link SiteTool}
+ * for the rounded inputs. The exceptions of {@link SiteTool} are cached as results are, and rethrown.
+ * <p>
+ * The methods taking a result array use the status code API of {@link SiteTool}, and share their entries with those
+ * that throw. They return the error code of a cached exception, and the others make the exception for a cached error
+ * code when they first need it.
+ * <p>
+ * The entries are divided between segments by their hash, each a least recently used map with its own lock, so that
+ * threads using different entries seldom wait for each other. A cache with no entries passes every call to
+ * {@link SiteTool} directly.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+public class SiteToolCache {
+
+	private static final int N_SEGMENTS = 16;
+
+	private enum Operation {
+		YEARS_TO_BREAST_HEIGHT, TABULATED_YEARS_TO_BREAST_HEIGHT, CONVERT_SITE_INDEX, HEIGHT_AND_AGE_TO_SITE_INDEX
+	}
+
+	private record Key(
+			Operation operation, SiteIndexEquation curve1, SiteIndexEquation curve2, long input1, long input2,
+			SiteIndexAgeType ageType, SiteIndexEstimationType estType
+	) {
+	}
+
+	/* The value, or on error its code, the status, and the exception if it has been made */
+	private record Outcome(double value, int status, CommonCalculatorException exception) {
+	}
+
+	@FunctionalInterface
+	private interface Computation {
+		double compute() throws CommonCalculatorException;
+	}
+
+	@FunctionalInterface
+	private interface StatusComputation {
+		int compute(double[] result, int index);
+	}
+
+	private final int maxEntries;
+	private final double quantum;
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * A cache that passes every call to {@link SiteTool} directly.
+	 */
+	public static SiteToolCache disabled() {
+		return new SiteToolCache(0, 0);
+	}
+
+	/**
+	 * @param maxEntries the largest number of results to hold, or 0 to hold none.
+	 * @param quantum    the precision to which real inputs are rounded, or 0 to match them exactly.
+	 */
+	public SiteToolCache(int maxEntries, double quantum) {
+		if (maxEntries < 0) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The number of entries must not be negative; it is {0}", maxEntries)
+			);
+		}
+		if (! (quantum >= 0 && quantum < Double.POSITIVE_INFINITY)) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("The quantum must be 0 or positive and finite; it is {0}", quantum)
+			);
+		}
+		this.maxEntries = maxEntries;
+		this.quantum = quantum;
+
+		int nSegments = Math.min(N_SEGMENTS, maxEntries);
+		this.segments = new Segment[nSegments];
+		for (int i = 0; i < nSegments; i++) {
+			// Share the entries between the segments, the first ones taking the remainder
+			segments[i] = new Segment(maxEntries / nSegments + (i < maxEntries % nSegments ? 1 : 0));
+		}
+	}
+
+	/**
+	 * As {@link SiteTool#yearsToBreastHeight}.
+	 */
+	public double yearsToBreastHeight(SiteIndexEquation curve, double siteIndex) throws CommonCalculatorException {
+		return yearsToBreastHeight(SiteCurveSelection.defaults(), curve, siteIndex);
+	}
+
+	/**
+	 * As {@link SiteTool#yearsToBreastHeight(SiteCurveSelection, SiteIndexEquation, double)}. Results looked up in
+	 * tables are held apart from those evaluated directly.
+	 */
+	public double yearsToBreastHeight(SiteCurveSelection selection, SiteIndexEquation curve, double siteIndex)
+			throws CommonCalculatorException {
+		long siteIndexKey = quantize(siteIndex);
+		var operation = selection.isTabulatedSiteCurves() ? Operation.TABULATED_YEARS_TO_BREAST_HEIGHT
+				: Operation.YEARS_TO_BREAST_HEIGHT;
+		return value(
+				new Key(operation, curve, null, siteIndexKey, 0, null, null),
+				() -> SiteTool.yearsToBreastHeight(selection, curve, unquantize(siteIndexKey, siteIndex))
+		);
+	}
+
+	/**
+	 * As {@link SiteTool#yearsToBreastHeight(SiteCurveSelection, SiteIndexEquation, double, double[], int)}.
+	 */
+	public int yearsToBreastHeight(
+			SiteCurveSelection selection, SiteIndexEquation curve, double siteIndex, double[] result, int index
+	) {
+		return yearsToBreastHeight(selection, SiteCurves.of(curve), siteIndex, result, index);
+	}
+
+	/**
+	 * As {@link SiteTool#yearsToBreastHeight(SiteCurveSelection, SiteCurve, double, double[], int)}.
+	 */
+	public int yearsToBreastHeight(
+			SiteCurveSelection selection, SiteCurve curve, double siteIndex, double[] result, int index
+	) {
+		long siteIndexKey = quantize(siteIndex);
+		var operation = selection.isTabulatedSiteCurves() ? Operation.TABULATED_YEARS_TO_BREAST_HEIGHT
+				: Operation.YEARS_TO_BREAST_HEIGHT;
+		return status(
+				new Key(operation, curve.equation(), null, siteIndexKey, 0, null, null),
+				(r, i) -> SiteTool.yearsToBreastHeight(selection, curve, unquantize(siteIndexKey, siteIndex), r, i),
+				result, index
+		);
+	}
+
+	/**
+	 * As {@link SiteTool#convertSiteIndexBetweenCurves(SiteIndexEquation, double, SiteIndexEquation)}.
+	 */
+	public double
+			convertSiteIndexBetweenCurves(SiteIndexEquation siteCurve1, double siteIndex1, SiteIndexEquation siteCurve2)
+					throws CurveErrorException, SpeciesErrorException, NoAnswerException {
+		long siteIndexKey = quantize(siteIndex1);
+		try {
+			return value(
+					new Key(Operation.CONVERT_SITE_INDEX, siteCurve1, siteCurve2, siteIndexKey, 0, null, null),
+					() -> SiteTool
+							.convertSiteIndexBetweenCurves(siteCurve1, unquantize(siteIndexKey, siteIndex1), siteCurve2)
+			);
+		} catch (CurveErrorException | SpeciesErrorException | NoAnswerException e) {
+			throw e;
+		} catch (CommonCalculatorException e) {
+			// convertSiteIndexBetweenCurves throws nothing else
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * As {@link SiteTool#convertSiteIndexBetweenCurves(SiteIndexEquation, double, SiteIndexEquation, double[], int)}.
+	 */
+	public int convertSiteIndexBetweenCurves(
+			SiteIndexEquation siteCurve1, double siteIndex1, SiteIndexEquation siteCurve2, double[] result, int index
+	) {
+		long siteIndexKey = quantize(siteIndex1);
+		return status(
+				new Key(Operation.CONVERT_SITE_INDEX, siteCurve1, siteCurve2, siteIndexKey, 0, null, null),
+				(r, i) -> SiteTool.convertSiteIndexBetweenCurves(
+						siteCurve1, unquantize(siteIndexKey, siteIndex1), siteCurve2, r, i
+				), result, index
+		);
+	}
+
+	/**
+	 * As {@link SiteTool#heightAndAgeToSiteIndex}.
+	 */
+	public double heightAndAgeToSiteIndex(
+			SiteIndexEquation curve, double age, SiteIndexAgeType ageType, double height,
+			SiteIndexEstimationType estType
+	) throws CommonCalculatorException {
+		long ageKey = quantize(age);
+		long heightKey = quantize(height);
+		return value(
+				new Key(Operation.HEIGHT_AND_AGE_TO_SITE_INDEX, curve, null, ageKey, heightKey, ageType, estType),
+				() -> SiteTool.heightAndAgeToSiteIndex(
+						curve, unquantize(ageKey, age), ageType, unquantize(heightKey, height), estType
+				)
+		);
+	}
+
+	/**
+	 * @return the number of calls answered from the cache
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of calls passed to {@link SiteTool}
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of results discarded to make room for others
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the number of results held
+	 */
+	public int size() {
+		int size = 0;
+		for (var segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public boolean isEnabled() {
+		return maxEntries > 0;
+	}
+
+	@Override
+	public String toString() {
+		return MessageFormat.format(
+				"{0} hits, {1} misses, {2} evictions, {3} of {4} entries", getHits(), getMisses(), getEvictions(),
+				size(), maxEntries
+		);
+	}
+
+	private long quantize(double x) {
+		return quantum > 0 ? Math.round(x / quantum) : Double.doubleToLongBits(x);
+	}
+
+	private double unquantize(long key, double x) {
+		return quantum > 0 ? key * quantum : x;
+	}
+
+	private double value(Key key, Computation computation) throws CommonCalculatorException {
+		Outcome outcome = outcome(key, () -> compute(computation));
+
+		if (outcome.status() != 0 && outcome.exception() == null) {
+			// Cached by the status code API, which does not make the exception
+			outcome = compute(computation);
+			put(key, outcome);
+		}
+		if (outcome.exception() != null) {
+			throw outcome.exception();
+		}
+		return outcome.value();
+	}
+
+	private int status(Key key, StatusComputation computation, double[] result, int index) {
+		Outcome outcome = outcome(key, () -> {
+			int status = computation.compute(result, index);
+			return new Outcome(result[index], status, null);
+		});
+
+		result[index] = outcome.value();
+		return outcome.status();
+	}
+
+	private Outcome outcome(Key key, Supplier<Outcome> computation) {
+		Outcome outcome;
+		if (isEnabled()) {
+			var segment = segment(key);
+			synchronized (segment) {
+				outcome = segment.get(key);
+			}
+			if (outcome != null) {
+				hits.increment();
+			} else {
+				misses.increment();
+				// Computed outside the lock; if another thread computes the same result meanwhile, either may be kept
+				outcome = computation.get();
+				synchronized (segment) {
+					segment.put(key, outcome);
+				}
+			}
+		} else {
+			misses.increment();
+			outcome = computation.get();
+		}
+		return outcome;
+	}
+
+	private void put(Key key, Outcome outcome) {
+		if (isEnabled()) {
+			var segment = segment(key);
+			synchronized (segment) {
+				segment.put(key, outcome);
+			}
+		}
+	}
+
+	private Segment segment(Key key) {
+		return segments[Math.floorMod(key.hashCode(), segments.length)];
+	}
+
+	private static Outcome compute(Computation computation) {
+		try {
+			return new Outcome(computation.compute(), 0, null);
+		} catch (CommonCalculatorException e) {
+			int status = Sindxdll.errorCode(e);
+			return new Outcome(status, status, e);
+		}
+	}
+
+	private class Segment extends LinkedHashMap<Key, Outcome> {
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Outcome> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+}
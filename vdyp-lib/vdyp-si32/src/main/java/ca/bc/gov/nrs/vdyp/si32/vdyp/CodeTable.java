@@ -0,0 +1,128 @@
+package ca.bc.gov.nrs.vdyp.si32.vdyp;
+
+import java.text.MessageFormat;
+import java.util.function.Function;
+
+/**
+ * A case-insensitive map from short species codes to enumeration constants, built once so that lookups neither allocate
+ * nor throw.
+ * <p>
+ * Each code of up to {@value #MAX_CODE_LENGTH} letters or digits is packed into a distinct positive int, and the table
+ * is sized so that the hash of every packed code falls in its own slot. A lookup is then one multiplication and one
+ * comparison, whether or not the code is present.
+ *
+ * @author Michael Junkin, Vivid Solutions
+ */
+final class CodeTable<E> {
+
+	static final int MAX_CODE_LENGTH = 4;
+
+	private static final int RADIX = 37; // 0 (no character), A-Z, 0-9
+	private static final int MAX_TABLE_BITS = 20;
+
+	private final int shift;
+	private final int[] keys;
+	private final Object[] values;
+	private final E missing;
+
+	/**
+	 * @param entries the constants to be found
+	 * @param code    the code of each constant
+	 * @param missing the result for a code that is not in the table
+	 * @throws IllegalArgumentException if a code cannot be packed, or two constants have the same code
+	 */
+	CodeTable(E[] entries, Function<E, String> code, E missing) {
+		this.missing = missing;
+
+		int[] packed = new int[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			packed[i] = pack(code.apply(entries[i]));
+			if (packed[i] == 0) {
+				throw new IllegalArgumentException(
+						MessageFormat
+								.format("Code \"{0}\" of {1} cannot be tabulated", code.apply(entries[i]), entries[i])
+				);
+			}
+		}
+
+		// Find the smallest table, at least twice as large as the number of entries, in which no two entries collide
+		int bits = 32 - Integer.numberOfLeadingZeros(Math.max(2, 2 * entries.length) - 1);
+		for (; bits <= MAX_TABLE_BITS; bits++) {
+			int shiftForBits = 32 - bits;
+			int[] tableKeys = new int[1 << bits];
+			Object[] tableValues = new Object[1 << bits];
+			boolean collided = false;
+			for (int i = 0; i < entries.length && !collided; i++) {
+				int slot = slot(packed[i], shiftForBits);
+				if (tableKeys[slot] == packed[i]) {
+					throw new IllegalArgumentException(
+							MessageFormat.format("{0} and {1} have the same code", tableValues[slot], entries[i])
+					);
+				}
+				collided = tableKeys[slot] != 0;
+				tableKeys[slot] = packed[i];
+				tableValues[slot] = entries[i];
+			}
+			if (!collided) {
+				this.shift = shiftForBits;
+				this.keys = tableKeys;
+				this.values = tableValues;
+				return;
+			}
+		}
+
+		throw new IllegalStateException(
+				MessageFormat.format(
+						"No table of up to {0} slots separates the {1} codes", 1 << MAX_TABLE_BITS, entries.length
+				)
+		);
+	}
+
+	/**
+	 * @param code the code sought, in any case
+	 * @return the constant with the given code, or the missing value if there is none or <code>code</code> is null.
+	 */
+	@SuppressWarnings("unchecked")
+	E get(CharSequence code) {
+		int key = pack(code);
+		if (key != 0) {
+			int slot = slot(key, shift);
+			if (keys[slot] == key) {
+				return (E) values[slot];
+			}
+		}
+		return missing;
+	}
+
+	/**
+	 * @return the code packed as a positive int, or 0 if it is null, empty, too long or has a character other than a
+	 *         letter or a digit.
+	 */
+	static int pack(CharSequence code) {
+		if (code == null || code.length() == 0 || code.length() > MAX_CODE_LENGTH) {
+			return 0;
+		}
+
+		int key = 0;
+		for (int i = 0; i < code.length(); i++) {
+			char c = code.charAt(i);
+			int digit;
+			if (c >= 'A' && c <= 'Z') {
+				digit = c - 'A' + 1;
+			} else if (c >= 'a' && c <= 'z') {
+				digit = c - 'a' + 1;
+			} else if (c >= '0' && c <= '9') {
+				digit = c - '0' + 27;
+			} else {
+				return 0;
+			}
+			key = key * RADIX + digit;
+		}
+		return key;
+	}
+
+	private static int slot(int key, int shift) {
+		// Fibonacci hashing; the high bits of the product are the best mixed
+		return (key * 0x9E3779B9) >>> shift;
+	}
+}
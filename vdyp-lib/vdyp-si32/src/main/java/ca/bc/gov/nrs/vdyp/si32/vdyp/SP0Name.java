@@ -1,6 +1,7 @@
 package ca.bc.gov.nrs.vdyp.si32.vdyp;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
 
 import ca.bc.gov.nrs.vdyp.model.EnumIterator;
 import ca.bc.gov.nrs.vdyp.si32.enumerations.SI32Enum;
@@ -28,6 +29,10 @@ public enum SP0Name implements SI32Enum<SP0Name> {
 	S(14), //
 	Y(15);
 
+	private static final CodeTable<SP0Name> byText = new CodeTable<>(
+			Arrays.stream(values()).filter(e -> e != UNKNOWN).toArray(SP0Name[]::new), SP0Name::getText, UNKNOWN
+	);
+
 	private final int index;
 
 	private SP0Name(int index) {
@@ -68,11 +73,7 @@ public enum SP0Name implements SI32Enum<SP0Name> {
 	 * @return the enumeration value, unless <code>text</code> is null or
 	 */
 	public static SP0Name forText(String text) {
-		try {
-			return valueOf("" + text.toUpperCase());
-		} catch (IllegalArgumentException | NullPointerException e) {
-			return UNKNOWN;
-		}
+		return byText.get(text);
 	}
 
 	/**
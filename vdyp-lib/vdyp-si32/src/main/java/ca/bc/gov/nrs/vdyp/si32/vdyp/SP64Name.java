@@ -1,6 +1,7 @@
 package ca.bc.gov.nrs.vdyp.si32.vdyp;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
 
 import ca.bc.gov.nrs.vdyp.model.EnumIterator;
 import ca.bc.gov.nrs.vdyp.si32.enumerations.SI32Enum;
@@ -157,6 +158,17 @@ public enum SP64Name implements SI32Enum<SP64Name> {
 	ZC(141), //
 	ZH(142);
 
+	private static final CodeTable<SP64Name> byText = new CodeTable<>(
+			Arrays.stream(values()).filter(e -> e != UNKNOWN).toArray(SP64Name[]::new), SP64Name::getText, UNKNOWN
+	);
+
+	private static final SP64Name[] byIndex = new SP64Name[ZH.index + 1];
+	static {
+		for (SP64Name e : values()) {
+			byIndex[e.index] = e;
+		}
+	}
+
 	private final int index;
 
 	private SP64Name(int index) {
@@ -198,15 +210,7 @@ public enum SP64Name implements SI32Enum<SP64Name> {
 	 */
 	public static SP64Name forText(String text) {
 
-		if (text != null) {
-			try {
-				return valueOf(SP64Name.class, text.toUpperCase());
-			} catch (IllegalArgumentException e) {
-				return UNKNOWN;
-			}
-		} else {
-			return UNKNOWN;
-		}
+		return byText.get(text);
 	}
 
 	/**
@@ -217,12 +221,8 @@ public enum SP64Name implements SI32Enum<SP64Name> {
 	 *         <code>null</code> is returned.
 	 */
 	public static SP64Name forIndex(int index) {
-		for (SP64Name e : SP64Name.values()) {
-			if (index == e.index)
-				return e;
-		}
 
-		return null;
+		return index >= 0 && index < byIndex.length ? byIndex[index] : null;
 	}
 
 	/**
@@ -2,9 +2,7 @@ package ca.bc.gov.nrs.vdyp.si32.vdyp;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 import ca.bc.gov.nrs.vdyp.si32.cfs.CfsTreeSpecies;
@@ -53,7 +51,6 @@ public class SpeciesTable {
 	public static final SpeciesTableItem DefaultTableItem = new SpeciesTableItem(0, DefaultEntry);
 
 	private final List<SpeciesTableItem> speciesTable = new ArrayList<>();
-	private final Map<String, SpeciesTableItem> speciesByTextMap = new HashMap<>();
 
 	private void addSpeciesToTable(SpeciesDetails item) {
 
@@ -71,7 +68,6 @@ public class SpeciesTable {
 		SpeciesTableItem tableItem = new SpeciesTableItem(index, item);
 
 		speciesTable.add(tableItem);
-		speciesByTextMap.put(item.codeName(), tableItem);
 	}
 
 	/**
@@ -82,11 +78,19 @@ public class SpeciesTable {
 	 */
 	public SpeciesTableItem getByCode(String sp64Name) {
 
-		if (sp64Name != null) {
-			String sp64NameUC = sp64Name.toUpperCase();
-			if (speciesByTextMap.containsKey(sp64NameUC)) {
-				return speciesByTextMap.get(sp64NameUC);
-			}
+		return getBySpecies(SP64Name.forText(sp64Name));
+	}
+
+	/**
+	 * Returns the entry of the given species. The table is in SP64Name order, so the entry is found without a search.
+	 *
+	 * @param sp64Name the species to be found.
+	 * @return the {@code structSpeciesTableItem} of that species, or {@code DefaultEntry} if it is null or UNKNOWN.
+	 */
+	public SpeciesTableItem getBySpecies(SP64Name sp64Name) {
+
+		if (sp64Name != null && sp64Name != SP64Name.UNKNOWN) {
+			return speciesTable.get(sp64Name.ordinal());
 		}
 
 		return DefaultTableItem;
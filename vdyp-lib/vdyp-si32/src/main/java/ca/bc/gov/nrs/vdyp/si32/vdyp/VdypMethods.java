@@ -27,6 +27,27 @@ public class VdypMethods {
 
 	public static SpeciesTable speciesTable = new SpeciesTable();
 
+	/** The SINDEX species of each SP64 species (by SP64Name ordinal) in each region (by SpeciesRegion ordinal) */
+	private static final SiteIndexSpecies[][] sindexSpecies = new SiteIndexSpecies[SP64Name.values().length][];
+
+	/** The SINDEX default curve of each SP64 species (by SP64Name ordinal) in each region (by SpeciesRegion ordinal) */
+	private static final SiteIndexEquation[][] sindexDefaultCurves = new SiteIndexEquation[SP64Name.values().length][];
+
+	static {
+		for (SP64Name sp64 : SP64Name.values()) {
+			if (sp64 != SP64Name.UNKNOWN) {
+				sindexSpecies[sp64.ordinal()] = new SiteIndexSpecies[SpeciesRegion.values().length];
+				sindexDefaultCurves[sp64.ordinal()] = new SiteIndexEquation[SpeciesRegion.values().length];
+				for (SpeciesRegion region : SpeciesRegion.values()) {
+					sindexSpecies[sp64.ordinal()][region.ordinal()] = lookUpSindexSpecies(sp64.getText(), region);
+					sindexDefaultCurves[sp64.ordinal()][region.ordinal()] = lookUpSindexDefaultSICurve(
+							sp64.getText(), region
+					);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns the total number of defined species. One is subtracted one off of the size of the speciesTable because
 	 * there is a blank entry at the head of the array which does not represent a valid species.
@@ -80,7 +101,7 @@ public class VdypMethods {
 	 */
 	public static boolean isDeciduous(SP64Name sp64Name) {
 		if (sp64Name != null) {
-			return speciesTable.getByCode(sp64Name.getText()).details().isDeciduous();
+			return speciesTable.getBySpecies(sp64Name).details().isDeciduous();
 		} else {
 			return false;
 		}
@@ -94,7 +115,7 @@ public class VdypMethods {
 	 */
 	public static boolean isCommercial(SP64Name sp64Name) {
 		if (sp64Name != null) {
-			return speciesTable.getByCode(sp64Name.getText()).details().isCommercial();
+			return speciesTable.getBySpecies(sp64Name).details().isCommercial();
 		} else {
 			return false;
 		}
@@ -122,7 +143,7 @@ public class VdypMethods {
 	 */
 	public static String getSpeciesFullName(SP64Name sp64Name) {
 		if (sp64Name != null) {
-			return speciesTable.getByCode(sp64Name.getText()).details().fullName();
+			return speciesTable.getBySpecies(sp64Name).details().fullName();
 		} else {
 			return SpeciesTable.DefaultEntry.fullName();
 		}
@@ -136,7 +157,7 @@ public class VdypMethods {
 	 */
 	public static String getSpeciesLatinName(SP64Name sp64Name) {
 		if (sp64Name != null) {
-			return speciesTable.getByCode(sp64Name.getText()).details().latinName();
+			return speciesTable.getBySpecies(sp64Name).details().latinName();
 		} else {
 			return SpeciesTable.DefaultEntry.latinName();
 		}
@@ -150,7 +171,7 @@ public class VdypMethods {
 	 */
 	public static String getSpeciesGenus(SP64Name sp64Name) {
 		if (sp64Name != null) {
-			return speciesTable.getByCode(sp64Name.getText()).details().genusName();
+			return speciesTable.getBySpecies(sp64Name).details().genusName();
 		} else {
 			return SpeciesTable.DefaultEntry.genusName();
 		}
@@ -167,40 +188,47 @@ public class VdypMethods {
 	 */
 	public static String getSINDEXSpecies(String speciesName, SpeciesRegion region) {
 
-		String speciesCode = "";
+		SiteIndexSpecies s = getSindexSpecies(speciesName, region);
+		if (s != SiteIndexSpecies.SI_NO_SPECIES) {
+			return Sindxdll.SpecCode(s);
+		}
 
-		if (speciesName != null && region != null) {
+		return "";
+	}
 
-			char fiz;
-
-			switch (region) {
-			case COAST:
-				fiz = 'A';
-				break;
-			case INTERIOR:
-				fiz = 'D';
-				break;
-			default:
-				fiz = ' ';
-				break;
-			}
+	/**
+	 * Converts a species name to the equivalent SINDEX species. The SINDEX species of every SP64 species is found in
+	 * advance, so for those no search is made.
+	 *
+	 * @param speciesName the name of the species to convert.
+	 * @param region      indicates which provincial region the species is in.
+	 *
+	 * @return the equivalent SINDEX species. SI_NO_SPECIES is returned if the species or region is null or the species
+	 *         is not supported by SINDEX and no mapping exists.
+	 */
+	public static SiteIndexSpecies getSindexSpecies(String speciesName, SpeciesRegion region) {
 
-			if (fiz != ' ') {
-				SiteIndexSpecies s = SiteIndexSpecies.SI_NO_SPECIES;
+		SP64Name sp64 = SP64Name.forText(speciesName);
+		if (sp64 != SP64Name.UNKNOWN && region != null) {
+			return sindexSpecies[sp64.ordinal()][region.ordinal()];
+		}
 
-				try {
-					s = Sindxdll.SpecRemap(speciesName, fiz);
-				} catch (CodeErrorException | ForestInventoryZoneException e) {
-					// fall through
-				}
+		return lookUpSindexSpecies(speciesName, region);
+	}
 
-				if (s != SiteIndexSpecies.SI_NO_SPECIES) {
-					speciesCode = Sindxdll.SpecCode(s);
-				}
+	private static SiteIndexSpecies lookUpSindexSpecies(String speciesName, SpeciesRegion region) {
+
+		SiteIndexSpecies s = SiteIndexSpecies.SI_NO_SPECIES;
+
+		if (speciesName != null && region != null) {
+			try {
+				s = Sindxdll.SpecRemap(speciesName, region == SpeciesRegion.COAST ? 'A' : 'D');
+			} catch (CodeErrorException | ForestInventoryZoneException e) {
+				// fall through
 			}
 		}
 
-		return speciesCode;
+		return s;
 	}
 
 	/**
@@ -266,14 +294,7 @@ public class VdypMethods {
 			// If the curve for this species is not set, look it up from SINDEX.
 
 			if (siCurve == SiteIndexEquation.SI_NO_EQUATION) {
-				SiteIndexSpecies sindexSpcs;
-				try {
-					sindexSpcs = Sindxdll.SpecRemap(sp64Name, region == SpeciesRegion.COAST ? 'A' : 'D');
-
-					siCurve = Sindxdll.DefCurve(sindexSpcs);
-				} catch (CommonCalculatorException e) {
-					siCurve = SiteIndexEquation.SI_NO_EQUATION;
-				}
+				siCurve = getSindexDefaultSICurve(sp64Name, region);
 				entry.details().currentSICurve()[region.ordinal()] = siCurve;
 			}
 		}
@@ -281,6 +302,36 @@ public class VdypMethods {
 		return siCurve;
 	}
 
+	/**
+	 * Looks up the default Site Index curve of a species in SINDEX. Unlike {@link #getDefaultSICurve}, the species need
+	 * not be in the species table, and unlike {@link #getCurrentSICurve}, the result is independent of any curve
+	 * assigned through {@link #setCurrentSICurve}.
+	 *
+	 * @param sp64Name the species short ("code") name such as "ABAL"
+	 * @param region   the region under consideration
+	 * @return the SINDEX default curve of the species, or SI_NO_EQUATION if SINDEX does not recognize the species.
+	 */
+	public static SiteIndexEquation getSindexDefaultSICurve(String sp64Name, SpeciesRegion region) {
+
+		SP64Name sp64 = SP64Name.forText(sp64Name);
+		if (sp64 != SP64Name.UNKNOWN && region != null) {
+			return sindexDefaultCurves[sp64.ordinal()][region.ordinal()];
+		}
+
+		return lookUpSindexDefaultSICurve(sp64Name, region);
+	}
+
+	private static SiteIndexEquation lookUpSindexDefaultSICurve(String sp64Name, SpeciesRegion region) {
+
+		try {
+			SiteIndexSpecies sindexSpcs = Sindxdll.SpecRemap(sp64Name, region == SpeciesRegion.COAST ? 'A' : 'D');
+
+			return Sindxdll.DefCurve(sindexSpcs);
+		} catch (CommonCalculatorException e) {
+			return SiteIndexEquation.SI_NO_EQUATION;
+		}
+	}
+
 	/**
 	 * Determines the BC default Site Index curve type to use for the given species and region.
 	 * <p>
@@ -312,7 +363,8 @@ public class VdypMethods {
 	}
 
 	/**
-	 * Sets the Site Index curve to use for a particular species.
+	 * Sets the Site Index curve to use for a particular species. The curve is shared by every caller in the JVM; a run
+	 * that needs its own curves should use a {@link ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection} instead.
 	 *
 	 * @param sp64CodeName the species short ("code") name such as "ABAL"
 	 * @param region       the region under consideration
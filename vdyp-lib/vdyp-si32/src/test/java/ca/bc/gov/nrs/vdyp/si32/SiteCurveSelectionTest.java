@@ -0,0 +1,137 @@
+package ca.bc.gov.nrs.vdyp.si32;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_AT_CHEN;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_AT_NIGH;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_FDC_BRUCEAC;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_FDC_NIGHTA;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_NO_EQUATION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.si32.enumerations.SpeciesRegion;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteTool;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.SP64Name;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.VdypMethods;
+
+class SiteCurveSelectionTest {
+
+	@Test
+	void testDefaults() {
+		var selection = SiteCurveSelection.defaults();
+
+		for (var species : SP64Name.values()) {
+			if (species != SP64Name.UNKNOWN) {
+				for (var region : SpeciesRegion.values()) {
+					assertThat(
+							selection.getSICurve(species.getText(), region == SpeciesRegion.COAST),
+							is(VdypMethods.getSindexDefaultSICurve(species.getText(), region))
+					);
+				}
+			}
+		}
+		assertThat(selection.getSICurve("fd", true), is(SI_FDC_BRUCEAC));
+		assertThat(selection.getSICurve(null, true), is(SI_NO_EQUATION));
+		assertThat(selection.getSICurve("QQ", true), is(SI_NO_EQUATION));
+		assertThat(selection.isDefault(), is(true));
+		assertThat(selection.toString(), is("default curves"));
+	}
+
+	@Test
+	void testWithSICurve() {
+		var defaults = SiteCurveSelection.defaults();
+		var defaultCurve = defaults.getSICurve("ABAL", true);
+		var newCurve = defaultCurve == SI_AT_CHEN ? SI_AT_NIGH : SI_AT_CHEN;
+
+		var selection = defaults.withSICurve("ABAL", true, newCurve);
+		assertThat(selection.getSICurve("ABAL", true), is(newCurve));
+		assertThat(selection.getSICurve("abal", true), is(newCurve));
+		assertThat(selection.getSICurve("ABAL", false), is(defaults.getSICurve("ABAL", false)));
+		assertThat(selection.isDefault(), is(false));
+		assertThat(selection.toString(), is("ABAL (COAST): " + newCurve));
+
+		// The original is unchanged
+		assertThat(defaults.getSICurve("ABAL", true), is(defaultCurve));
+		assertThat(selection, not(defaults));
+
+		// Resetting restores the default
+		assertThat(selection.withSICurve("ABAL", true, SI_NO_EQUATION), is(defaults));
+		assertThat(selection.withSICurve("ABAL", true, null), is(defaults));
+		assertThat(selection.withSICurve("ABAL", true, null).hashCode(), is(defaults.hashCode()));
+
+		// Species that are not recognized are ignored
+		assertThat(selection.withSICurve("QQ", true, SI_FDC_NIGHTA), sameInstance(selection));
+	}
+
+	@Test
+	void testTabulatedSiteCurves() {
+		var defaults = SiteCurveSelection.defaults();
+		var tabulated = defaults.withTabulatedSiteCurves(true);
+
+		assertThat(defaults.isTabulatedSiteCurves(), is(false));
+		assertThat(tabulated.isTabulatedSiteCurves(), is(true));
+		assertThat(tabulated, not(defaults));
+		assertThat(tabulated.withTabulatedSiteCurves(true), sameInstance(tabulated));
+		assertThat(tabulated.withTabulatedSiteCurves(false), is(defaults));
+		assertThat(defaults.withTabulatedSiteCurves(true), is(tabulated));
+
+		// Selecting a curve keeps the tables
+		var selected = tabulated.withSICurve("FDC", true, SI_FDC_NIGHTA);
+		assertThat(selected.isTabulatedSiteCurves(), is(true));
+		assertThat(selected.getSICurve("FDC", true), is(SI_FDC_NIGHTA));
+		assertThat(selected.withTabulatedSiteCurves(false).getSICurve("FDC", true), is(SI_FDC_NIGHTA));
+	}
+
+	@Test
+	void testIndependentOfSetSICurve() {
+		var selection = SiteCurveSelection.defaults();
+		var defaultCurve = VdypMethods.getSindexDefaultSICurve("FDC", SpeciesRegion.COAST);
+
+		var oldCurve = SiteTool.setSICurve("FDC", true, SI_FDC_NIGHTA);
+		try {
+			assertThat(SiteTool.getSICurve("FDC", true), is(SI_FDC_NIGHTA));
+			assertThat(selection.getSICurve("FDC", true), is(defaultCurve));
+			assertThat(SiteTool.getSICurve(selection, "FDC", true), is(defaultCurve));
+		} finally {
+			SiteTool.setSICurve("FDC", true, oldCurve);
+		}
+	}
+
+	@Test
+	void testConcurrentSelections() throws Exception {
+		var selections = new SiteCurveSelection[] { SiteCurveSelection.defaults(),
+				SiteCurveSelection.defaults().withSICurve("AT", false, SI_AT_CHEN),
+				SiteCurveSelection.defaults().withSICurve("AT", false, SI_AT_NIGH) };
+
+		ExecutorService executor = Executors.newFixedThreadPool(selections.length);
+		try {
+			var futures = new ArrayList<Future<?>>();
+			for (var selection : selections) {
+				var expected = selection.getSICurve("AT", false);
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 1000; i++) {
+						assertThat(selection.getSICurve("AT", false), is(expected));
+					}
+					return null;
+				}));
+			}
+			for (var future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(selections[1].getSICurve("AT", false), is(SI_AT_CHEN));
+		assertThat(selections[2].getSICurve("AT", false), is(SI_AT_NIGH));
+	}
+}
@@ -0,0 +1,239 @@
+package ca.bc.gov.nrs.vdyp.si32;
+
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType.SI_AT_BREAST;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_AT_GOUDIE;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_FDC_BRUCE;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_FDI_THROWER;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_HWC_WILEY;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation.SI_PLI_THROWER;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType.SI_EST_DIRECT;
+import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEstimationType.SI_EST_ITERATE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.LessThan13Exception;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteCurveSelection;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteTool;
+import ca.bc.gov.nrs.vdyp.si32.site.SiteToolCache;
+import ca.bc.gov.nrs.vdyp.sindex.Sindxdll;
+
+class SiteToolCacheTest {
+
+	@Test
+	void testResultsAsSiteTool() throws CommonCalculatorException {
+		var cache = new SiteToolCache(1000, 0);
+
+		for (int pass = 0; pass < 2; pass++) {
+			for (var curve : new SiteIndexEquation[] { SI_FDC_BRUCE, SI_HWC_WILEY, SI_PLI_THROWER, SI_FDI_THROWER }) {
+				for (double si = 10.3; si < 40; si += 3.7) {
+					assertThat(cache.yearsToBreastHeight(curve, si), is(SiteTool.yearsToBreastHeight(curve, si)));
+				}
+			}
+			for (var curve : new SiteIndexEquation[] { SI_FDC_BRUCE, SI_HWC_WILEY }) {
+				for (double si = 10.3; si < 40; si += 3.7) {
+					assertThat(
+							cache.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, si, curve),
+							is(SiteTool.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, si, curve))
+					);
+				}
+			}
+		}
+		assertThat(
+				cache.heightAndAgeToSiteIndex(SI_AT_GOUDIE, 10.0, SI_AT_BREAST, 23.0, SI_EST_DIRECT),
+				is(SiteTool.heightAndAgeToSiteIndex(SI_AT_GOUDIE, 10.0, SI_AT_BREAST, 23.0, SI_EST_DIRECT))
+		);
+
+		assertThat(cache.getMisses(), is(4L * 9 + 2 * 9 + 1));
+		assertThat(cache.getHits(), is(4L * 9 + 2 * 9));
+		assertThat(cache.size(), is(4 * 9 + 2 * 9 + 1));
+		assertThat(cache.getEvictions(), is(0L));
+	}
+
+	@Test
+	void testKeyedOnEveryInput() throws CommonCalculatorException {
+		var cache = new SiteToolCache(1000, 0);
+
+		cache.heightAndAgeToSiteIndex(SI_AT_GOUDIE, 10.0, SI_AT_BREAST, 23.0, SI_EST_DIRECT);
+		cache.heightAndAgeToSiteIndex(SI_AT_GOUDIE, 10.0, SI_AT_BREAST, 23.0, SI_EST_ITERATE);
+		cache.heightAndAgeToSiteIndex(SI_AT_GOUDIE, 11.0, SI_AT_BREAST, 23.0, SI_EST_DIRECT);
+		cache.heightAndAgeToSiteIndex(SI_AT_GOUDIE, 10.0, SI_AT_BREAST, 24.0, SI_EST_DIRECT);
+		cache.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, 30.0, SI_HWC_WILEY);
+		cache.convertSiteIndexBetweenCurves(SI_HWC_WILEY, 30.0, SI_FDC_BRUCE);
+		cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0);
+		cache.yearsToBreastHeight(SI_HWC_WILEY, 30.0);
+
+		assertThat(cache.getHits(), is(0L));
+		assertThat(cache.getMisses(), is(8L));
+	}
+
+	@Test
+	void testKeyedOnTabulation() throws CommonCalculatorException {
+		var cache = new SiteToolCache(1000, 0);
+		var tabulated = SiteCurveSelection.defaults().withTabulatedSiteCurves(true);
+
+		assertThat(
+				cache.yearsToBreastHeight(tabulated, SI_FDC_BRUCE, 30.0),
+				is(SiteTool.yearsToBreastHeight(tabulated, SI_FDC_BRUCE, 30.0))
+		);
+		cache.yearsToBreastHeight(SiteCurveSelection.defaults(), SI_FDC_BRUCE, 30.0);
+		cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0);
+
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.getMisses(), is(2L));
+	}
+
+	@Test
+	void testQuantization() throws CommonCalculatorException {
+		var cache = new SiteToolCache(1000, 0.01);
+
+		double expected = SiteTool.yearsToBreastHeight(SI_FDC_BRUCE, 30.01);
+		assertThat(cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0098), is(expected));
+		assertThat(cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0103), is(expected));
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.getMisses(), is(1L));
+
+		// The result is that for the rounded inputs even when it is not found in the cache
+		double converted = SiteTool.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, 27.35, SI_HWC_WILEY);
+		assertThat(cache.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, 27.3521, SI_HWC_WILEY), is(converted));
+	}
+
+	@Test
+	void testBounded() throws CommonCalculatorException {
+		var cache = new SiteToolCache(40, 0);
+
+		for (int i = 0; i < 200; i++) {
+			cache.yearsToBreastHeight(SI_FDC_BRUCE, 10 + i * 0.1);
+			assertThat(cache.size(), lessThanOrEqualTo(40));
+		}
+		assertThat(cache.getEvictions(), is(200L - cache.size()));
+	}
+
+	@Test
+	void testLeastRecentlyUsedEvicted() throws CommonCalculatorException {
+		// With a single entry in each segment, the most recent result of each segment is kept
+		var cache = new SiteToolCache(16, 0);
+
+		cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0);
+		for (int i = 0; i < 100; i++) {
+			cache.yearsToBreastHeight(SI_FDC_BRUCE, 10 + i * 0.1);
+		}
+		cache.yearsToBreastHeight(SI_FDC_BRUCE, 19.9);
+		assertThat(cache.getHits(), is(1L));
+	}
+
+	@Test
+	void testExceptionsCached() {
+		var cache = new SiteToolCache(1000, 0);
+
+		var first = assertThrows(
+				LessThan13Exception.class,
+				() -> cache.heightAndAgeToSiteIndex(null, 0, SI_AT_BREAST, 1.0, SI_EST_ITERATE)
+		);
+		var second = assertThrows(
+				LessThan13Exception.class,
+				() -> cache.heightAndAgeToSiteIndex(null, 0, SI_AT_BREAST, 1.0, SI_EST_ITERATE)
+		);
+		assertThat(second, sameInstance(first));
+		assertThat(cache.getHits(), is(1L));
+
+		// Runtime exceptions are not cached
+		assertThrows(IllegalArgumentException.class, () -> cache.convertSiteIndexBetweenCurves(null, 30.0, null));
+		assertThrows(IllegalArgumentException.class, () -> cache.convertSiteIndexBetweenCurves(null, 30.0, null));
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.size(), is(1));
+	}
+
+	@Test
+	void testStatusCodes() throws CommonCalculatorException {
+		var cache = new SiteToolCache(1000, 0);
+		var selection = SiteCurveSelection.defaults();
+		double[] result = new double[1];
+
+		assertThat(cache.yearsToBreastHeight(selection, SI_FDC_BRUCE, 30.0, result, 0), is(0));
+		assertThat(result[0], is(SiteTool.yearsToBreastHeight(SI_FDC_BRUCE, 30.0)));
+		assertThat(cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0), is(result[0]));
+		assertThat(cache.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, 30.0, SI_HWC_WILEY, result, 0), is(0));
+		assertThat(result[0], is(SiteTool.convertSiteIndexBetweenCurves(SI_FDC_BRUCE, 30.0, SI_HWC_WILEY)));
+		assertThat(cache.getHits(), is(1L));
+
+		// An error found by the status code API is thrown as an exception by the other
+		assertThat(cache.yearsToBreastHeight(selection, SI_FDC_BRUCE, 1.0, result, 0), is(Sindxdll.SI_ERR_LT13));
+		assertThat(result[0], is((double) Sindxdll.SI_ERR_LT13));
+		var first = assertThrows(LessThan13Exception.class, () -> cache.yearsToBreastHeight(SI_FDC_BRUCE, 1.0));
+		var second = assertThrows(LessThan13Exception.class, () -> cache.yearsToBreastHeight(SI_FDC_BRUCE, 1.0));
+		assertThat(second, sameInstance(first));
+
+		// and the other way round
+		assertThrows(LessThan13Exception.class, () -> cache.yearsToBreastHeight(SI_HWC_WILEY, 1.0));
+		result[0] = 0;
+		assertThat(cache.yearsToBreastHeight(selection, SI_HWC_WILEY, 1.0, result, 0), is(Sindxdll.SI_ERR_LT13));
+		assertThat(result[0], is((double) Sindxdll.SI_ERR_LT13));
+
+		assertThat(cache.getHits(), is(4L));
+		assertThat(cache.size(), is(4));
+	}
+
+	@Test
+	void testDisabled() throws CommonCalculatorException {
+		var cache = SiteToolCache.disabled();
+
+		assertThat(cache.isEnabled(), is(false));
+		for (int i = 0; i < 3; i++) {
+			assertThat(
+					cache.yearsToBreastHeight(SI_FDC_BRUCE, 30.0), is(SiteTool.yearsToBreastHeight(SI_FDC_BRUCE, 30.0))
+			);
+		}
+		assertThat(cache.getHits(), is(0L));
+		assertThat(cache.getMisses(), is(3L));
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	void testInvalidConfiguration() {
+		assertThrows(IllegalArgumentException.class, () -> new SiteToolCache(-1, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SiteToolCache(10, -0.01));
+		assertThrows(IllegalArgumentException.class, () -> new SiteToolCache(10, Double.NaN));
+	}
+
+	@Test
+	void testSharedBetweenThreads() throws Exception {
+		var cache = new SiteToolCache(100, 0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			var futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 1000; i++) {
+						double si = 10 + i % 200 * 0.1;
+						assertThat(
+								cache.yearsToBreastHeight(SI_HWC_WILEY, si),
+								is(SiteTool.yearsToBreastHeight(SI_HWC_WILEY, si))
+						);
+					}
+					return null;
+				}));
+			}
+			for (var future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(cache.getHits() + cache.getMisses(), is(4000L));
+		assertThat(cache.size(), lessThanOrEqualTo(100));
+	}
+}
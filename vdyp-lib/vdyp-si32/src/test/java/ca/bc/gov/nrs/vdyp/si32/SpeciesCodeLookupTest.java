@@ -0,0 +1,67 @@
+package ca.bc.gov.nrs.vdyp.si32;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.si32.vdyp.SP0Name;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.SP64Name;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.SpeciesTable;
+import ca.bc.gov.nrs.vdyp.si32.vdyp.VdypMethods;
+
+class SpeciesCodeLookupTest {
+
+	@Test
+	void testSP64NameForText() {
+		for (SP64Name sp64 : SP64Name.values()) {
+			if (sp64 != SP64Name.UNKNOWN) {
+				assertThat(SP64Name.forText(sp64.getText()), is(sp64));
+				assertThat(SP64Name.forText(sp64.getText().toLowerCase()), is(sp64));
+			}
+		}
+		for (String text : new String[] { null, "", "UNKNOWN", "??", "ZZZ", "ABALX", "A B", "é" }) {
+			assertThat(SP64Name.forText(text), is(SP64Name.UNKNOWN));
+		}
+	}
+
+	@Test
+	void testSP64NameForIndex() {
+		for (SP64Name sp64 : SP64Name.values()) {
+			assertThat(SP64Name.forIndex(sp64.getIndex()), is(sp64));
+		}
+		assertThat(SP64Name.forIndex(-1), nullValue());
+		assertThat(SP64Name.forIndex(SP64Name.ZH.getIndex() + 1), nullValue());
+	}
+
+	@Test
+	void testSP0NameForText() {
+		for (SP0Name sp0 : SP0Name.values()) {
+			if (sp0 != SP0Name.UNKNOWN) {
+				assertThat(SP0Name.forText(sp0.getText()), is(sp0));
+				assertThat(SP0Name.forText(sp0.getText().toLowerCase()), is(sp0));
+			}
+		}
+		for (String text : new String[] { null, "", "UNKNOWN", "ABAL", "P" }) {
+			assertThat(SP0Name.forText(text), is(SP0Name.UNKNOWN));
+		}
+	}
+
+	@Test
+	void testSpeciesTableByCode() {
+		var speciesTable = new SpeciesTable();
+		for (SP64Name sp64 : SP64Name.values()) {
+			if (sp64 != SP64Name.UNKNOWN) {
+				var item = speciesTable.getByCode(sp64.getText().toLowerCase());
+				assertThat(item.details().codeName(), is(sp64.getText()));
+				assertThat(item, sameInstance(speciesTable.getBySpecies(sp64)));
+			}
+		}
+		assertThat(speciesTable.getByCode("ZZZ"), sameInstance(SpeciesTable.DefaultTableItem));
+		assertThat(speciesTable.getBySpecies(SP64Name.UNKNOWN), sameInstance(SpeciesTable.DefaultTableItem));
+		assertThat(speciesTable.getBySpecies(null), sameInstance(SpeciesTable.DefaultTableItem));
+		assertThat(VdypMethods.speciesIndex("hwc"), is(SP64Name.HWC.getIndex()));
+	}
+}
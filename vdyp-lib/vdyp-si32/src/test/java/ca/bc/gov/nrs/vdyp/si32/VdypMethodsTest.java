@@ -5,6 +5,8 @@ import static org.hamcrest.Matchers.equalTo;
 
 import org.junit.jupiter.api.Test;
 
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CodeErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexSpecies;
 import ca.bc.gov.nrs.vdyp.si32.enumerations.SpeciesRegion;
@@ -12,6 +14,7 @@ import ca.bc.gov.nrs.vdyp.si32.vdyp.SP0Name;
 import ca.bc.gov.nrs.vdyp.si32.vdyp.SP64Name;
 import ca.bc.gov.nrs.vdyp.si32.vdyp.SpeciesTable;
 import ca.bc.gov.nrs.vdyp.si32.vdyp.VdypMethods;
+import ca.bc.gov.nrs.vdyp.sindex.Sindxdll;
 
 class VdypMethodsTest {
 
@@ -81,6 +84,27 @@ class VdypMethodsTest {
 		assertThat(VdypMethods.getSINDEXSpecies(SP64Name.A.getText(), null), equalTo(""));
 	}
 
+	@Test
+	void test_VDYP_GetSindexSpecies() throws CommonCalculatorException {
+		for (SP64Name sp64 : SP64Name.values()) {
+			for (SpeciesRegion region : SpeciesRegion.values()) {
+				SiteIndexSpecies expected;
+				try {
+					expected = Sindxdll.SpecRemap(sp64.getText(), region == SpeciesRegion.COAST ? 'A' : 'D');
+				} catch (CodeErrorException e) {
+					expected = SiteIndexSpecies.SI_NO_SPECIES;
+				}
+				assertThat(VdypMethods.getSindexSpecies(sp64.getText(), region), equalTo(expected));
+				assertThat(VdypMethods.getSindexSpecies(sp64.getText().toLowerCase(), region), equalTo(expected));
+			}
+		}
+		// Not SP64 species, but known to SINDEX
+		assertThat(VdypMethods.getSindexSpecies("Fd ", SpeciesRegion.COAST), equalTo(SiteIndexSpecies.SI_SPEC_FDC));
+		assertThat(VdypMethods.getSindexSpecies("ZZZ", SpeciesRegion.COAST), equalTo(SiteIndexSpecies.SI_NO_SPECIES));
+		assertThat(VdypMethods.getSindexSpecies(null, SpeciesRegion.COAST), equalTo(SiteIndexSpecies.SI_NO_SPECIES));
+		assertThat(VdypMethods.getSindexSpecies("A", null), equalTo(SiteIndexSpecies.SI_NO_SPECIES));
+	}
+
 	@Test
 	void test_VDYP_GetVDYP7Species() {
 		assertThat(VdypMethods.getVDYP7Species(SP64Name.A.getText()), equalTo("AC"));
@@ -26,11 +26,14 @@ import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexSpecie
 import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexSpecies.SI_SPEC_SS;
 import static ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexSpecies.SI_SPEC_SW;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import ca.bc.gov.nrs.vdyp.common_calculators.AgeToAge;
-import ca.bc.gov.nrs.vdyp.common_calculators.Height2SiteIndex;
 import ca.bc.gov.nrs.vdyp.common_calculators.SiteClassCode2SiteIndex;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurve;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
 import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndex2Age;
-import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndex2Height;
 import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndex2HeightSmoothed;
 import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndexNames;
 import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndexYears2BreastHeight;
@@ -233,10 +236,28 @@ public class Sindxdll {
 /* @formatter:on */
 
 	/*
-	 * error codes as return values from functions
+	 * error codes as return values from functions. The exception API throws the corresponding exception instead, and
+	 * the status code API (the methods taking a result array) returns them.
 	 */
-	private static final int SI_ERR_NO_ANS = -4;
-	private static final int SI_ERR_SPEC = -10;
+	public static final int SI_ERR_LT13 = -1;
+	public static final int SI_ERR_GI_MIN = -2;
+	public static final int SI_ERR_GI_MAX = -3;
+	public static final int SI_ERR_NO_ANS = -4;
+	public static final int SI_ERR_CURVE = -5;
+	public static final int SI_ERR_CLASS = -6;
+	public static final int SI_ERR_FIZ = -7;
+	public static final int SI_ERR_CODE = -8;
+	public static final int SI_ERR_GI_TOT = -9;
+	public static final int SI_ERR_SPEC = -10;
+	public static final int SI_ERR_AGE_TYPE = -11;
+	public static final int SI_ERR_ESTAB = -12;
+
+	/* The growth intercept curves, which have no years to breast height */
+	private static final Set<SiteIndexEquation> GROWTH_INTERCEPT_CURVES = EnumSet.of(
+			SI_BA_NIGHGI, SI_BL_THROWERGI, SI_CWI_NIGHGI, SI_FDC_NIGHGI, SI_FDI_NIGHGI, SI_HWC_NIGHGI, SI_HWC_NIGHGI99,
+			SI_HWI_NIGHGI, SI_LW_NIGHGI, SI_PLI_NIGHGI97, SI_PY_NIGHGI, SI_SE_NIGHGI, SI_SS_NIGHGI, SI_SS_NIGHGI99,
+			SI_SW_NIGHGI, SI_SW_NIGHGI99, SI_SW_NIGHGI2004
+	);
 
 	// These are taken from sindex.h (since it was missing everywhere else). These were not defined in the orginal
 	// sindxdll.c
@@ -2762,7 +2783,7 @@ public class Sindxdll {
 			SiteIndexEstimationType estType, Reference<Double> site
 	) throws CommonCalculatorException {
 
-		site.set(Height2SiteIndex.heightToIndex(curve, age, ageType, height, estType));
+		site.set(SiteCurves.of(curve).siteIndex(age, ageType, height, estType));
 
 		return 0;
 	}
@@ -2824,7 +2845,7 @@ public class Sindxdll {
 			Reference<Double> height
 	) throws CommonCalculatorException {
 
-		height.set(SiteIndex2Height.indexToHeight(curve, age, ageType, siteIndex, y2bh, 0.5));
+		height.set(SiteCurves.of(curve).height(age, ageType, siteIndex, y2bh, 0.5));
 
 		return 0;
 	}
@@ -2907,7 +2928,7 @@ public class Sindxdll {
 	public static int Y2BH(SiteIndexEquation curve, double siteIndex, Reference<Double> y2bh)
 			throws CommonCalculatorException {
 
-		y2bh.set(SiteIndexYears2BreastHeight.y2bh(curve, siteIndex));
+		y2bh.set(SiteCurves.of(curve).y2bh(siteIndex));
 
 		return 0;
 	}
@@ -2929,31 +2950,233 @@ public class Sindxdll {
 			SIToSI(SiteIndexSpecies spIndex1, double siteIndex, SiteIndexSpecies spIndex2, Reference<Double> result)
 					throws SpeciesErrorException, NoAnswerException {
 
-		if (spIndex1 == null) {
-			result.set(Double.valueOf(SI_ERR_SPEC));
-			throw new SpeciesErrorException("Source or target species index is not valid" + spIndex1);
+		double[] value = new double[1];
+		int status = SIToSI(spIndex1, siteIndex, spIndex2, value, 0);
+		result.set(value[0]);
+
+		if (status == SI_ERR_SPEC) {
+			throw new SpeciesErrorException(
+					"Source or target species index is not valid: " + (spIndex1 == null ? "spIndex1" : "spIndex2")
+			);
+		}
+		if (status == SI_ERR_NO_ANS) {
+			throw new NoAnswerException("There is no conversion defined");
+		}
+
+		return 0;
+	}
+
+	/*
+	 * The status code API. Each of these methods computes the same value as the method of the same name taking a
+	 * Reference, but stores it in result[index] and returns 0, or stores and returns the error code corresponding to
+	 * the exception that method would throw. They neither allocate nor throw for the errors that are expected of
+	 * ordinary data: those checked before any computation, such as a site index or height below 1.3 m, a growth
+	 * intercept curve given a total age, or a species pair with no conversion. The few errors found deeper in the
+	 * computation are still raised by the calculators, and are caught and returned as codes.
+	 */
+
+	/**
+	 * Converts a Height and Age to a Site Index for a particular Site Index Curve, without throwing.
+	 *
+	 * @param result Receives the site index at <code>index</code>, or the error code if there is one.
+	 * @return 0 or an error code
+	 * @see #HtAgeToSI(SiteIndexEquation, double, SiteIndexAgeType, double, SiteIndexEstimationType, Reference)
+	 */
+	public static int HtAgeToSI(
+			SiteIndexEquation curve, double age, SiteIndexAgeType ageType, double height,
+			SiteIndexEstimationType estType, double[] result, int index
+	) {
+		return HtAgeToSI(SiteCurves.of(curve), age, ageType, height, estType, result, index);
+	}
+
+	/**
+	 * As
+	 * {@link #HtAgeToSI(SiteIndexEquation, double, SiteIndexAgeType, double, SiteIndexEstimationType, double[], int)},
+	 * along a curve already obtained from {@link SiteCurves#of}.
+	 */
+	public static int HtAgeToSI(
+			SiteCurve curve, double age, SiteIndexAgeType ageType, double height, SiteIndexEstimationType estType,
+			double[] result, int index
+	) {
+		if (ageType == SiteIndexAgeType.SI_AT_BREAST) {
+			if (height < 1.3) {
+				return fail(result, index, SI_ERR_LT13);
+			}
+		} else if (height <= 0) {
+			return fail(result, index, SI_ERR_NO_ANS);
+		}
+		if (age <= 0) {
+			return fail(result, index, SI_ERR_NO_ANS);
+		}
+
+		try {
+			result[index] = curve.siteIndex(age, ageType, height, estType);
+			return 0;
+		} catch (CommonCalculatorException e) {
+			return fail(result, index, errorCode(e));
+		}
+	}
+
+	/**
+	 * Converts a Height and Site Index to an Age for a particular Site Index Curve, without throwing.
+	 *
+	 * @param result Receives the age at <code>index</code>, or the error code if there is one.
+	 * @return 0 or an error code
+	 * @see #HtSIToAge(SiteIndexEquation, double, SiteIndexAgeType, double, double, Reference)
+	 */
+	public static int HtSIToAge(
+			SiteIndexEquation curve, double height, SiteIndexAgeType ageType, double siteIndex, double y2bh,
+			double[] result, int index
+	) {
+		if (height < 1.3 && ageType == SiteIndexAgeType.SI_AT_BREAST) {
+			return fail(result, index, SI_ERR_LT13);
+		}
+		if (siteIndex < 1.3 && ! (height <= 0.0001)) {
+			return fail(result, index, SI_ERR_LT13);
 		}
 
-		if (spIndex2 == null) {
-			result.set(Double.valueOf(SI_ERR_SPEC));
-			throw new SpeciesErrorException("Source or target species index is not valid" + spIndex2);
+		try {
+			result[index] = SiteIndex2Age.indexToAge(curve, height, ageType, siteIndex, y2bh);
+			return 0;
+		} catch (CommonCalculatorException e) {
+			return fail(result, index, errorCode(e));
+		}
+	}
+
+	/**
+	 * Converts an Age and Site Index to a Height for a particular Site Index Curve, without throwing.
+	 *
+	 * @param result Receives the height at <code>index</code>, or the error code if there is one.
+	 * @return 0 or an error code
+	 * @see #AgeSIToHt(SiteIndexEquation, double, SiteIndexAgeType, double, double, Reference)
+	 */
+	public static int AgeSIToHt(
+			SiteIndexEquation curve, double age, SiteIndexAgeType ageType, double siteIndex, double y2bh,
+			double[] result, int index
+	) {
+		return AgeSIToHt(SiteCurves.of(curve), age, ageType, siteIndex, y2bh, result, index);
+	}
+
+	/**
+	 * As {@link #AgeSIToHt(SiteIndexEquation, double, SiteIndexAgeType, double, double, double[], int)}, along a curve
+	 * already obtained from {@link SiteCurves#of}.
+	 */
+	public static int AgeSIToHt(
+			SiteCurve curve, double age, SiteIndexAgeType ageType, double siteIndex, double y2bh, double[] result,
+			int index
+	) {
+		if (siteIndex < 1.3) {
+			return fail(result, index, SI_ERR_LT13);
+		}
+
+		try {
+			result[index] = curve.height(age, ageType, siteIndex, y2bh, 0.5);
+			return 0;
+		} catch (CommonCalculatorException e) {
+			return fail(result, index, errorCode(e));
+		}
+	}
+
+	/**
+	 * Calculates the number of years a stand takes to grow from seed to breast height, without throwing.
+	 *
+	 * @param result Receives the years to breast height at <code>index</code>, or the error code if there is one.
+	 * @return 0 or an error code
+	 * @see #Y2BH(SiteIndexEquation, double, Reference)
+	 */
+	public static int Y2BH(SiteIndexEquation curve, double siteIndex, double[] result, int index) {
+		return Y2BH(SiteCurves.of(curve), siteIndex, result, index);
+	}
+
+	/**
+	 * As {@link #Y2BH(SiteIndexEquation, double, double[], int)}, for a curve already obtained from
+	 * {@link SiteCurves#of}.
+	 */
+	public static int Y2BH(SiteCurve curve, double siteIndex, double[] result, int index) {
+		if (siteIndex < 1.3) {
+			return fail(result, index, SI_ERR_LT13);
+		}
+		if (curve.equation() == null) {
+			return fail(result, index, SI_ERR_CURVE);
+		}
+		if (GROWTH_INTERCEPT_CURVES.contains(curve.equation())) {
+			return fail(result, index, SI_ERR_GI_TOT);
+		}
+
+		try {
+			result[index] = curve.y2bh(siteIndex);
+			return 0;
+		} catch (CommonCalculatorException e) {
+			return fail(result, index, errorCode(e));
+		}
+	}
+
+	/**
+	 * Site index conversion between species, without throwing.
+	 *
+	 * @param result Receives the target species site index at <code>index</code>, or the error code if there is one.
+	 * @return 0, SI_ERR_SPEC when source or target species index is not valid or SI_ERR_NO_ANS when there is no
+	 *         conversion defined
+	 * @see #SIToSI(SiteIndexSpecies, double, SiteIndexSpecies, Reference)
+	 */
+	public static int
+			SIToSI(SiteIndexSpecies spIndex1, double siteIndex, SiteIndexSpecies spIndex2, double[] result, int index) {
+
+		if (spIndex1 == null || spIndex2 == null) {
+			return fail(result, index, SI_ERR_SPEC);
 		}
 
 		if (spIndex1.equals(spIndex2)) {
-			result.set(siteIndex);
+			result[index] = siteIndex;
 		} else {
 			var params = SiteIndexNames.getSpeciesConversionParams(spIndex1, spIndex2);
-			if (params != null) {
-				result.set(params.param1() + params.param2() * siteIndex);
-			} else {
-				result.set(Double.valueOf(SI_ERR_NO_ANS));
-				throw new NoAnswerException("There is no conversion defined");
+			if (params == null) {
+				return fail(result, index, SI_ERR_NO_ANS);
 			}
+			result[index] = params.param1() + params.param2() * siteIndex;
 		}
 
 		return 0;
 	}
 
+	/**
+	 * The error code replaced by an exception thrown by the site index calculators.
+	 *
+	 * @param e the exception
+	 * @return the (negative) error code
+	 */
+	public static int errorCode(CommonCalculatorException e) {
+		if (e instanceof LessThan13Exception) {
+			return SI_ERR_LT13;
+		} else if (e instanceof GrowthInterceptMinimumException) {
+			return SI_ERR_GI_MIN;
+		} else if (e instanceof GrowthInterceptMaximumException) {
+			return SI_ERR_GI_MAX;
+		} else if (e instanceof CurveErrorException) {
+			return SI_ERR_CURVE;
+		} else if (e instanceof ClassErrorException) {
+			return SI_ERR_CLASS;
+		} else if (e instanceof ForestInventoryZoneException) {
+			return SI_ERR_FIZ;
+		} else if (e instanceof CodeErrorException) {
+			return SI_ERR_CODE;
+		} else if (e instanceof GrowthInterceptTotalException) {
+			return SI_ERR_GI_TOT;
+		} else if (e instanceof SpeciesErrorException) {
+			return SI_ERR_SPEC;
+		} else if (e instanceof AgeTypeErrorException) {
+			return SI_ERR_AGE_TYPE;
+		} else if (e instanceof EstablishmentErrorException) {
+			return SI_ERR_ESTAB;
+		}
+		return SI_ERR_NO_ANS;
+	}
+
+	private static int fail(double[] result, int index, int status) {
+		result[index] = status;
+		return status;
+	}
+
 	/**
 	 * Get site index based on site class.
 	 *
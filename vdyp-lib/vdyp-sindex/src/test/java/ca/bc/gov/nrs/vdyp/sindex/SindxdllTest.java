@@ -10,11 +10,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.function.IntSupplier;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
 import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndexUtilities;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.AgeTypeErrorException;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.ClassErrorException;
@@ -25,6 +28,7 @@ import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.EstablishmentErro
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.LessThan13Exception;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.NoAnswerException;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.SpeciesErrorException;
+import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexSpecies;
 
@@ -3511,6 +3515,11 @@ class SindxdllTest {
 				Sindxdll.SIToSI(null, 10.0, SI_SPEC_ABCO, resultSiteIndex);
 			});
 			assertEquals(SI_ERR_SPEC, resultSiteIndex.get());
+
+			var e = assertThrows(
+					SpeciesErrorException.class, () -> Sindxdll.SIToSI(null, 10.0, SI_SPEC_ABCO, resultSiteIndex)
+			);
+			assertEquals("Source or target species index is not valid: spIndex1", e.getMessage());
 		}
 
 		@Test
@@ -3526,6 +3535,11 @@ class SindxdllTest {
 				Sindxdll.SIToSI(null, 10.0, null, calculatedResult);
 			});
 			assertEquals(SI_ERR_SPEC, calculatedResult.get());
+
+			var e = assertThrows(
+					SpeciesErrorException.class, () -> Sindxdll.SIToSI(SI_SPEC_ABAL, 10.0, null, calculatedResult)
+			);
+			assertEquals("Source or target species index is not valid: spIndex2", e.getMessage());
 		}
 
 		@Test
@@ -3879,4 +3893,132 @@ class SindxdllTest {
 
 	}
 
-}
\ No newline at end of file
+	@Nested
+	class StatusCodeTest {
+		@Test
+		void testErrorsReturned() {
+			double[] result = new double[1];
+
+			assertEquals(
+					Sindxdll.SI_ERR_LT13,
+					Sindxdll.HtAgeToSI((SiteIndexEquation) null, 0.0, SI_AT_BREAST, 1.2, SI_EST_ITERATE, result, 0)
+			);
+			assertEquals(Sindxdll.SI_ERR_LT13, result[0]);
+			assertEquals(
+					Sindxdll.SI_ERR_NO_ANS,
+					Sindxdll.HtAgeToSI((SiteIndexEquation) null, 10.0, SI_AT_TOTAL, 0.0, SI_EST_ITERATE, result, 0)
+			);
+			assertEquals(
+					Sindxdll.SI_ERR_NO_ANS,
+					Sindxdll.HtAgeToSI((SiteIndexEquation) null, 0.0, SI_AT_TOTAL, 5.0, SI_EST_ITERATE, result, 0)
+			);
+			assertEquals(Sindxdll.SI_ERR_LT13, Sindxdll.HtSIToAge(null, 0.0, SI_AT_BREAST, 1.2, 0, result, 0));
+			assertEquals(
+					Sindxdll.SI_ERR_LT13,
+					Sindxdll.AgeSIToHt((SiteIndexEquation) null, 0.0, SI_AT_BREAST, 1.2, 0, result, 0)
+			);
+			assertEquals(Sindxdll.SI_ERR_LT13, Sindxdll.Y2BH((SiteIndexEquation) null, 1.0, result, 0));
+			assertEquals(Sindxdll.SI_ERR_CURVE, Sindxdll.Y2BH((SiteIndexEquation) null, 20.0, result, 0));
+			assertEquals(Sindxdll.SI_ERR_GI_TOT, Sindxdll.Y2BH(SI_FDC_NIGHGI, 20.0, result, 0));
+			assertEquals(Sindxdll.SI_ERR_SPEC, Sindxdll.SIToSI(null, 10.0, SI_SPEC_ABCO, result, 0));
+			assertEquals(Sindxdll.SI_ERR_NO_ANS, Sindxdll.SIToSI(SI_SPEC_ABAL, 10.0, SI_SPEC_ABCO, result, 0));
+			assertEquals(Sindxdll.SI_ERR_NO_ANS, result[0]);
+
+			// Found inside the calculation
+			assertEquals(Sindxdll.SI_ERR_NO_ANS, Sindxdll.Y2BH(SI_FDC_NIGHTA, 9.0, result, 0));
+		}
+
+		@Test
+		void testValuesStoredAtIndex() {
+			double[] result = { 7.0, 7.0, 7.0 };
+
+			assertEquals(0, Sindxdll.SIToSI(SI_SPEC_AT, 10.0, SI_SPEC_SW, result, 1));
+			assertEquals(7.0, result[0]);
+			assertEquals(11.782, result[1], ERROR_TOLERANCE);
+			assertEquals(7.0, result[2]);
+
+			assertEquals(0, Sindxdll.Y2BH(SI_FDC_BRUCE, 1.3, result, 2));
+			assertEquals(13.25 - 1.3 / 6.096, result[2], ERROR_TOLERANCE);
+		}
+
+		@Test
+		void testAsExceptionApi() {
+			// Over a range of inputs, valid and not, the status code API gives the value the exception API does, or the
+			// code of the exception it throws, whether given the equation or its curve
+			SiteIndexEquation[] curves = { null, SI_FDC_BRUCE, SI_FDC_NIGHTA, SI_FDC_NIGHGI, SI_HWC_WILEY,
+					SI_PLI_THROWER, SI_SW_GOUDIE_PLA, SI_AT_NIGH, SI_BL_THROWERGI, SI_FDI_THROWER };
+			double[] values = { -1.0, 0.0, 0.00005, 0.5, 1.2, 1.3, 2.0, 9.0, 25.0, 60.0 };
+			double[] result = new double[1];
+
+			for (var curve : curves) {
+				var siteCurve = SiteCurves.of(curve);
+				for (double a : values) {
+					for (double b : values) {
+						for (var ageType : new SiteIndexAgeType[] { SI_AT_TOTAL, SI_AT_BREAST }) {
+							assertAsExceptionApi(
+									() -> Sindxdll.HtAgeToSI(curve, a, ageType, b, SI_EST_DIRECT, result, 0),
+									ref -> Sindxdll.HtAgeToSI(curve, a, ageType, b, SI_EST_DIRECT, ref), result
+							);
+							assertAsExceptionApi(
+									() -> Sindxdll.HtAgeToSI(siteCurve, a, ageType, b, SI_EST_DIRECT, result, 0),
+									ref -> Sindxdll.HtAgeToSI(curve, a, ageType, b, SI_EST_DIRECT, ref), result
+							);
+							assertAsExceptionApi(
+									() -> Sindxdll.HtSIToAge(curve, a, ageType, b, 5.5, result, 0),
+									ref -> Sindxdll.HtSIToAge(curve, a, ageType, b, 5.5, ref), result
+							);
+							assertAsExceptionApi(
+									() -> Sindxdll.AgeSIToHt(curve, a, ageType, b, 5.5, result, 0),
+									ref -> Sindxdll.AgeSIToHt(curve, a, ageType, b, 5.5, ref), result
+							);
+							assertAsExceptionApi(
+									() -> Sindxdll.AgeSIToHt(siteCurve, a, ageType, b, 5.5, result, 0),
+									ref -> Sindxdll.AgeSIToHt(curve, a, ageType, b, 5.5, ref), result
+							);
+						}
+					}
+					assertAsExceptionApi(
+							() -> Sindxdll.Y2BH(curve, a, result, 0), ref -> Sindxdll.Y2BH(curve, a, ref), result
+					);
+					assertAsExceptionApi(
+							() -> Sindxdll.Y2BH(siteCurve, a, result, 0), ref -> Sindxdll.Y2BH(curve, a, ref), result
+					);
+				}
+			}
+		}
+
+		@FunctionalInterface
+		interface ExceptionCall {
+			int apply(Reference<Double> ref) throws CommonCalculatorException;
+		}
+
+		private void assertAsExceptionApi(IntSupplier statusCall, ExceptionCall exceptionCall, double[] result) {
+			Reference<Double> ref = new Reference<>();
+			try {
+				exceptionCall.apply(ref);
+			} catch (CommonCalculatorException e) {
+				int status = statusCall.getAsInt();
+				assertEquals(Sindxdll.errorCode(e), status, e.toString());
+				assertEquals(status, result[0]);
+				return;
+			} catch (RuntimeException e) {
+				// Not a site index error, so not reported by a status either
+				assertThrows(e.getClass(), statusCall::getAsInt);
+				return;
+			}
+			assertEquals(0, statusCall.getAsInt());
+			assertEquals(ref.get(), result[0]);
+		}
+
+		@Test
+		void testErrorCode() {
+			assertEquals(Sindxdll.SI_ERR_LT13, Sindxdll.errorCode(new LessThan13Exception()));
+			assertEquals(Sindxdll.SI_ERR_NO_ANS, Sindxdll.errorCode(new NoAnswerException("")));
+			assertEquals(Sindxdll.SI_ERR_CURVE, Sindxdll.errorCode(new CurveErrorException("")));
+			assertEquals(Sindxdll.SI_ERR_SPEC, Sindxdll.errorCode(new SpeciesErrorException("")));
+			assertEquals(Sindxdll.SI_ERR_CLASS, Sindxdll.errorCode(new ClassErrorException("")));
+			assertEquals(Sindxdll.SI_ERR_AGE_TYPE, Sindxdll.errorCode(new AgeTypeErrorException("")));
+		}
+	}
+
+}
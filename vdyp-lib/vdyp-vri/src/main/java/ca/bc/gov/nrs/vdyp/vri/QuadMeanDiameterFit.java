@@ -0,0 +1,185 @@
+package ca.bc.gov.nrs.vdyp.vri;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+
+import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
+import ca.bc.gov.nrs.vdyp.math.FloatMath;
+import ca.bc.gov.nrs.vdyp.model.Region;
+import ca.bc.gov.nrs.vdyp.vri.VriStart.Interval;
+
+/**
+ * The fractional error in the tree density of a layer when the quadratic mean diameters of its species are adjusted by
+ * <code>x</code> (ROOTV01), as {@link VriStart#quadMeanDiameterFractionalError} finds it, but with the species packed
+ * into arrays once per layer rather than looked up by genus at every evaluation.
+ * <p>
+ * The diameters of the point last evaluated are kept, and can be copied to a map once a root has been found. The roots
+ * found for each region are also kept, so that the search for the next root can start near them.
+ * <p>
+ * An instance keeps its working arrays from one layer to the next, and must be used by only one thread at a time.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+class QuadMeanDiameterFit implements UnivariateFunction {
+
+	/**
+	 * Half the width of the interval searched about the root expected, at least.
+	 */
+	static final double MIN_SEED_HALF_WIDTH = 0.05;
+
+	/**
+	 * The cost of the roots found since the statistics were last reset.
+	 *
+	 * @param solutions   the number of layers whose diameters were fit
+	 * @param evaluations the number of evaluations of the error
+	 * @param nanoseconds the time taken
+	 */
+	record Statistics(int solutions, int evaluations, long nanoseconds) {
+
+		static final Statistics NONE = new Statistics(0, 0, 0);
+
+		Statistics plus(Statistics other) {
+			return new Statistics(
+					solutions + other.solutions, evaluations + other.evaluations, nanoseconds + other.nanoseconds
+			);
+		}
+	}
+
+	/**
+	 * The running mean and variance of the roots found for a region (Welford's method)
+	 */
+	private static class Roots {
+		int count;
+		double mean;
+		double sumSquares;
+
+		void add(double root) {
+			count++;
+			double delta = root - mean;
+			mean += delta / count;
+			sumSquares += delta * (root - mean);
+		}
+
+		double standardDeviation() {
+			return count > 1 ? Math.sqrt(sumSquares / (count - 1)) : 0;
+		}
+	}
+
+	private int nSpecies;
+	private float totalTreeDensity;
+	private String[] genera = new String[0];
+	private float[] initial = new float[0];
+	private float[] baseArea = new float[0];
+	private float[] min = new float[0];
+	private float[] max = new float[0];
+	private float[] diameters = new float[0];
+
+	private final Map<Region, Roots> roots = new EnumMap<>(Region.class);
+
+	private Statistics statistics = Statistics.NONE;
+	private int evaluations;
+	private long start;
+
+	/**
+	 * Pack the species of a layer, in the order of <code>initial</code>, and start counting the evaluations for it.
+	 *
+	 * @param initial          the initial estimate of each species' quadratic mean diameter
+	 * @param baseArea         the base area of each species
+	 * @param min              the least quadratic mean diameter of each species
+	 * @param max              the greatest quadratic mean diameter of each species
+	 * @param totalTreeDensity the tree density of the layer
+	 */
+	void prepare(
+			Map<String, Float> initial, Map<String, Float> baseArea, Map<String, Float> min, Map<String, Float> max,
+			float totalTreeDensity
+	) {
+		start = System.nanoTime();
+		evaluations = 0;
+
+		nSpecies = initial.size();
+		this.totalTreeDensity = totalTreeDensity;
+		if (genera.length < nSpecies) {
+			genera = new String[nSpecies];
+			this.initial = new float[nSpecies];
+			this.baseArea = new float[nSpecies];
+			this.min = new float[nSpecies];
+			this.max = new float[nSpecies];
+			diameters = new float[nSpecies];
+		}
+		int j = 0;
+		for (var entry : initial.entrySet()) {
+			var genus = entry.getKey();
+			genera[j] = genus;
+			this.initial[j] = entry.getValue();
+			this.baseArea[j] = baseArea.get(genus);
+			this.min[j] = min.get(genus);
+			this.max[j] = max.get(genus);
+			diameters[j] = entry.getValue();
+			j++;
+		}
+	}
+
+	@Override
+	public double value(double x) {
+		evaluations++;
+
+		float xToUse = FloatMath.clamp((float) x, -10, 10);
+		float factor = FloatMath.exp(xToUse);
+
+		// The tree densities are floats, so their sum as doubles is exact for any layer of a realistic size, and agrees
+		// with the compensated sum of quadMeanDiameterFractionalError.
+		double tphSum = 0;
+		for (int j = 0; j < nSpecies; j++) {
+			diameters[j] = FloatMath.clamp(7.5f + (initial[j] - 7.5f) * factor, min[j], max[j]);
+			tphSum += BaseAreaTreeDensityDiameter.treesPerHectare(baseArea[j], diameters[j]);
+		}
+
+		return (float) ( (tphSum - totalTreeDensity) / totalTreeDensity);
+	}
+
+	/**
+	 * Copy the quadratic mean diameter of each species at the point last evaluated to <code>results</code>.
+	 */
+	void putDiameters(Map<String, Float> results) {
+		for (int j = 0; j < nSpecies; j++) {
+			results.put(genera[j], diameters[j]);
+		}
+	}
+
+	/**
+	 * Record the root found for a layer in the given region, and add the cost of finding it to the statistics.
+	 */
+	void solved(Region region, double root) {
+		roots.computeIfAbsent(region, r -> new Roots()).add(root);
+		statistics = statistics.plus(new Statistics(1, evaluations, System.nanoTime() - start));
+	}
+
+	/**
+	 * An interval in which the root for a layer in the given region is likely to be: two standard deviations either
+	 * side of the mean of the roots found so far for the region, or about the only one, if there is only one.
+	 *
+	 * @return the interval, or empty if no root has yet been found for the region
+	 */
+	Optional<Interval> seed(Region region) {
+		var regionRoots = roots.get(region);
+		if (regionRoots == null) {
+			return Optional.empty();
+		}
+		double halfWidth = Math.max(MIN_SEED_HALF_WIDTH, 2 * regionRoots.standardDeviation());
+		return Optional.of(new Interval(regionRoots.mean - halfWidth, regionRoots.mean + halfWidth));
+	}
+
+	/**
+	 * @return the cost of the roots found since the statistics were last reset
+	 */
+	Statistics statistics() {
+		return statistics;
+	}
+
+	void resetStatistics() {
+		statistics = Statistics.NONE;
+	}
+}
@@ -39,7 +39,8 @@ import ca.bc.gov.nrs.vdyp.common.EstimationMethods.Limits;
 import ca.bc.gov.nrs.vdyp.common.Utils;
 import ca.bc.gov.nrs.vdyp.common.ValueOrMarker;
 import ca.bc.gov.nrs.vdyp.common_calculators.BaseAreaTreeDensityDiameter;
-import ca.bc.gov.nrs.vdyp.common_calculators.SiteIndex2Height;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurve;
+import ca.bc.gov.nrs.vdyp.common_calculators.SiteCurves;
 import ca.bc.gov.nrs.vdyp.common_calculators.custom_exceptions.CommonCalculatorException;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexAgeType;
 import ca.bc.gov.nrs.vdyp.common_calculators.enumerations.SiteIndexEquation;
@@ -82,6 +83,21 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 	static final float VETERAN_MIN_DQ = UtilizationClass.OVER225.lowBound;
 	static final float VETERAN_MIN_HL = 22.5f; // Seems odd that that the min height is the same as the min diameter
 
+	/**
+	 * System property which, if "true", makes the search for the adjustment to the species' quadratic mean diameters of
+	 * each layer (ROOTV01) start about the adjustments found for the layers of the same region before it, rather than
+	 * over the interval VDYP7 searches. It has no effect when polygons are processed on more than one thread. See
+	 * {@link #setWarmStart(boolean)}.
+	 */
+	public static final String WARM_START_PROPERTY = "vdyp.vri.warmStart";
+
+	private final ThreadLocal<QuadMeanDiameterFit> quadMeanDiameterFits = ThreadLocal
+			.withInitial(QuadMeanDiameterFit::new);
+
+	private QuadMeanDiameterFit.Statistics rootFinderStatistics = QuadMeanDiameterFit.Statistics.NONE;
+
+	private volatile boolean warmStart = Boolean.getBoolean(WARM_START_PROPERTY);
+
 	public static void main(final String... args) throws IOException {
 
 		try (var app = new VriStart();) {
@@ -111,8 +127,6 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 	// implemented.
 	@Override
 	public void process() throws ProcessingException {
-		int polygonsRead = 0;
-		int polygonsWritten = 0;
 		try (
 				var polyStream = this.<VriPolygon>getStreamingParser(ControlKey.VRI_INPUT_YIELD_POLY);
 				var layerStream = this.<Map<LayerType, VriLayer.Builder>>getStreamingParser(
@@ -124,38 +138,58 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 		) {
 			log.atDebug().setMessage("Start Stand processing").log();
 
-			while (polyStream.hasNext()) {
-
-				// FIP_GET
-				log.atInfo().setMessage("Getting polygon {}").addArgument(polygonsRead + 1).log();
-				var polygon = getPolygon(polyStream, layerStream, speciesStream, siteStream);
-				try {
-
-					var resultPoly = processPolygon(polygonsRead, polygon);
-					if (resultPoly.isPresent()) {
-						polygonsRead++;
-
-						// Output
-						getVriWriter().writePolygonWithSpeciesAndUtilization(resultPoly.get());
+			if (warmStart && getThreads() > 1) {
+				log.atInfo().setMessage("Not warm starting the quadratic mean diameter search on {} threads")
+						.addArgument(getThreads()).log();
+			}
 
-						polygonsWritten++;
-					}
+			processPolygons(
+					() -> polyStream.hasNext()
+							? Optional.of(getPolygon(polyStream, layerStream, speciesStream, siteStream))
+							: Optional.empty(),
+					this::processPolygon
+			);
+		} catch (IOException | ResourceParseException ex) {
+			throw new ProcessingException("Error while reading or writing data.", ex);
+		}
+	}
 
-					log.atInfo().setMessage("Read {} polygons and wrote {}").addArgument(polygonsRead)
-							.addArgument(polygonsWritten).log();
+	/**
+	 * Choose whether the search for the adjustment to the species' quadratic mean diameters of each layer starts in an
+	 * interval about the adjustments already found for the layers of the same region, falling back to the interval
+	 * VDYP7 searches when the root is not in it. The search then usually takes fewer evaluations, but the root it finds
+	 * may differ in its last digits, within the tolerance of the solver, and depends on the polygons processed before
+	 * it. The initial choice is given by the {@value #WARM_START_PROPERTY} system property.
+	 * <p>
+	 * Warm starts are not made when polygons are processed on more than one thread, as the layers before a polygon's
+	 * would then be those its thread happened to process, and its result would differ from run to run.
+	 *
+	 * @param warmStart true to start the searches about the roots already found
+	 */
+	public void setWarmStart(boolean warmStart) {
+		this.warmStart = warmStart;
+	}
 
-				} catch (StandProcessingException ex) {
-					// TODO include some sort of hook for different forms of user output
-					// TODO Implement single stand mode that propagates the exception
+	private boolean isWarmStart() {
+		return warmStart && getThreads() == 1;
+	}
 
-					log.atWarn().setMessage("Polygon {} bypassed").addArgument(polygon.getPolygonIdentifier())
-							.setCause(ex).log();
-				}
+	/**
+	 * @return the cost of the searches for the adjustments to the species' quadratic mean diameters so far
+	 */
+	synchronized QuadMeanDiameterFit.Statistics getRootFinderStatistics() {
+		return rootFinderStatistics;
+	}
 
-			}
-		} catch (IOException | ResourceParseException ex) {
-			throw new ProcessingException("Error while reading or writing data.", ex);
+	private void reportRootFinding(VdypLayer layer, QuadMeanDiameterFit fit) {
+		var statistics = fit.statistics();
+		synchronized (this) {
+			rootFinderStatistics = rootFinderStatistics.plus(statistics);
 		}
+		log.atDebug().setMessage("Polygon {} root finding: {} evaluations in {} microseconds")
+				.addArgument(layer.getPolygonIdentifier()).addArgument(statistics.evaluations())
+				.addArgument(statistics.nanoseconds() / 1_000).log();
+		fit.resetStatistics();
 	}
 
 	VriPolygon getPolygon(
@@ -190,27 +224,23 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 		for (final var spec : species) {
 			var layerBuilder = layersBuilders.get(spec.getLayerType());
 
-			var foundSite = sites.stream().filter(site -> site.getSiteGenus().equals(spec.getGenus())).findFirst();
-			final var specWithSite = VriSpecies.build(builder -> {
-				builder.copy(spec);
-				builder.addSite(foundSite);
-			});
-			foundSite.ifPresent(sites::remove);
-
 			// Validate that species belong to the correct polygon
-			if (!specWithSite.getPolygonIdentifier().equals(polygon.getPolygonIdentifier())) {
+			if (!spec.getPolygonIdentifier().equals(polygon.getPolygonIdentifier())) {
 				throw validationError(
-						"Record in species file contains species for polygon %s when expecting one for %s.", specWithSite
-								.getPolygonIdentifier(), polygon.getPolygonIdentifier()
+						"Record in species file contains species for polygon %s when expecting one for %s.",
+						spec.getPolygonIdentifier(), polygon.getPolygonIdentifier()
 				);
 			}
 			if (Objects.isNull(layerBuilder)) {
 				throw validationError(
-						"Species entry references layer %s of polygon %s but it is not present.", specWithSite
-								.getLayerType(), polygon.getPolygonIdentifier()
+						"Species entry references layer %s of polygon %s but it is not present.", spec.getLayerType(),
+						polygon.getPolygonIdentifier()
 				);
 			}
-			layerBuilder.addSpecies(specWithSite);
+
+			var foundSite = sites.stream().filter(site -> site.getSiteGenus().equals(spec.getGenus())).findFirst();
+			foundSite.ifPresent(sites::remove);
+			layerBuilder.addSpecies(foundSite.map(site -> VriSpecies.withSite(spec, site)).orElse(spec));
 		}
 		if (!sites.isEmpty()) {
 			var specNames = sites.stream().map(site -> site.getSiteGenus()).collect(Collectors.joining(", "));
@@ -227,11 +257,10 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 		for (var layer : layers.values()) {
 			if (!layer.getPolygonIdentifier().equals(polygon.getPolygonIdentifier())) {
 				throw validationError(
-						"Record in layer file contains layer for polygon %s when expecting one for %s.", layer
-								.getPolygonIdentifier(), polygon.getPolygonIdentifier()
+						"Record in layer file contains layer for polygon %s when expecting one for %s.",
+						layer.getPolygonIdentifier(), polygon.getPolygonIdentifier()
 				);
 			}
-			layer.setSpecies(new HashMap<>());
 		}
 
 		polygon.setLayers(layers);
@@ -562,10 +591,19 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 			// TODO
 		}
 
-		findRootForQuadMeanDiameterFractionalError(
-				-0.6f, 0.5f, resultsPerSpecies, initialDqEstimate, baseAreaPerSpecies, minPerSpecies, maxPerSpecies, treeDensityTotal
+		// The species are packed once for all the evaluations of the error, rather than looked up at each of them as in
+		// quadMeanDiameterFractionalError, and the diameters are copied to the results only for the root.
+		var fit = quadMeanDiameterFits.get();
+		fit.prepare(initialDqEstimate, baseAreaPerSpecies, minPerSpecies, maxPerSpecies, treeDensityTotal);
+
+		float x = findRootForQuadMeanDiameterFractionalError(
+				-0.6f, 0.5f, isWarmStart() ? fit.seed(region) : Optional.empty(), fit
 		);
 
+		fit.putDiameters(resultsPerSpecies);
+		fit.solved(region, x);
+		reportRootFinding(layer, fit);
+
 		applyDqBySpecies(layer, baseAreaTotal, baseAreaPerSpecies, resultsPerSpecies);
 	}
 
@@ -1141,8 +1179,7 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 
 	@Override
 	protected BaseControlParser getControlFileParser() {
-		// TODO Auto-generated method stub
-		return null;
+		return new VriControlParser();
 	}
 
 	@Override
@@ -1167,13 +1204,14 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 		var primaryLayer = poly.getLayers().get(LayerType.PRIMARY);
 		var primarySite = primaryLayer.getPrimarySite().orElseThrow();
 		try {
-			SiteIndexEquation siteCurve = primaryLayer.getPrimarySite() //
-					.flatMap(BaseVdypSite::getSiteCurveNumber) //
-					.map(SiteIndexEquation::getByIndex)//
+			SiteCurve siteCurve = primaryLayer.getPrimarySite() //
+					.flatMap(BaseVdypSite::getSiteCurve) //
 					.orElseGet(() -> {
 						try {
-							return this.findSiteCurveNumber(
-									bec.getRegion(), primarySite.getSiteSpecies(), primarySite.getSiteGenus()
+							return SiteCurves.of(
+									this.findSiteCurveNumber(
+											bec.getRegion(), primarySite.getSiteSpecies(), primarySite.getSiteGenus()
+									)
 							);
 						} catch (StandProcessingException e) {
 							throw new RuntimeStandProcessingException(e);
@@ -1261,9 +1299,9 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 	}
 
 	private Increase findIncreaseForYoungMode(
-			BecDefinition bec, VriLayer primaryLayer, SiteIndexEquation siteCurve, float primaryBreastHeightAge0,
-			float siteIndex, float yeastToBreastHeight, float baseAreaTarget, float heightTarget, float ageTarget,
-			float dominantHeight0, int moreYears, float primaryHeight
+			BecDefinition bec, VriLayer primaryLayer, SiteCurve curve, float primaryBreastHeightAge0, float siteIndex,
+			float yeastToBreastHeight, float baseAreaTarget, float heightTarget, float ageTarget, float dominantHeight0,
+			int moreYears, float primaryHeight
 	) throws CommonCalculatorException, StandProcessingException {
 		float dominantHeight;
 		float ageIncrease;
@@ -1274,9 +1312,8 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 
 				float ageD = primaryBreastHeightAge; // AGED
 
-				float dominantHeightD = (float) SiteIndex2Height.indexToHeight(
-						siteCurve, ageD, SiteIndexAgeType.SI_AT_BREAST, siteIndex, ageD, yeastToBreastHeight
-				); // HDD
+				float dominantHeightD = (float) curve
+						.height(ageD, SiteIndexAgeType.SI_AT_BREAST, siteIndex, ageD, yeastToBreastHeight); // HDD
 
 				if (increase == 0) {
 					dominantHeight0 = dominantHeightD;
@@ -1488,6 +1525,27 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 		// to apply adjustment factor x to the values in initialDqs until the combination of their values has minimal
 		// error then use those adjusted values.
 
+		return findRootForQuadMeanDiameterFractionalError(
+				min, max, Optional.empty(),
+				x -> this.quadMeanDiameterFractionalError(x, resultPerSpecies, initialDqs, baseAreas, minDq, maxDq, tph)
+		);
+	}
+
+	/**
+	 * Find the root of the fractional error in the tree density of a layer, as a function of the adjustment to its
+	 * species' quadratic mean diameters.
+	 *
+	 * @param min   the start of the interval searched
+	 * @param max   the end of the interval searched
+	 * @param seed  an interval in which the root is likely to be, to be searched first
+	 * @param error the error, which keeps the diameters of the point it last evaluated
+	 * @return the root
+	 * @throws StandProcessingException if no root can be found
+	 */
+	float findRootForQuadMeanDiameterFractionalError(
+			float min, float max, Optional<Interval> seed, UnivariateFunction error
+	) throws StandProcessingException {
+
 		// Keeping track of the recent X values tied can be used to make some sort of guess if it doesn't converge.
 		double[] lastXes = new double[2];
 		double[] lastFs = new double[2];
@@ -1498,12 +1556,11 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 			lastXes[1] = lastXes[0];
 			lastXes[0] = x;
 			lastFs[1] = lastFs[0];
-			lastFs[0] = this
-					.quadMeanDiameterFractionalError(x, resultPerSpecies, initialDqs, baseAreas, minDq, maxDq, tph);
+			lastFs[0] = error.value(x);
 			return lastFs[0];
 		};
 		try {
-			double x = doSolve(min, max, errorFunc);
+			double x = seed.isPresent() ? doSolve(seed.get(), min, max, errorFunc) : doSolve(min, max, errorFunc);
 
 			return (float) x;
 		} catch (NoBracketingException ex) {
@@ -1555,6 +1612,19 @@ public class VriStart extends VdypStartApplication<VriPolygon, VriLayer, VriSpec
 		return x;
 	}
 
+	/**
+	 * As {@link #doSolve(float, float, UnivariateFunction)}, but searching <code>seed</code> instead if the function
+	 * changes sign over it. Two evaluations are wasted if it does not, but when it does a narrow seed leaves the solver
+	 * less to search.
+	 */
+	double doSolve(Interval seed, float min, float max, UnivariateFunction errorFunc) {
+		var ends = seed.evaluate(errorFunc);
+		if (ends.start() * ends.end() > 0) {
+			return doSolve(min, max, errorFunc);
+		}
+		return new BrentSolver().solve(100, errorFunc, seed.start(), seed.end(), seed.mid());
+	}
+
 	/**
 	 * Returns the x value for which func(x) is closest to 0.
 	 *
@@ -0,0 +1,16 @@
+package ca.bc.gov.nrs.vdyp.vri;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypStartJobRunner;
+
+/**
+ * Runs VRISTART as a job of a {@link ca.bc.gov.nrs.vdyp.application.VdypJobServer}.
+ *
+ * @author Kevin Smith, Vivid Solutions
+ */
+public class VriStartJobRunner extends VdypStartJobRunner {
+
+	public VriStartJobRunner() {
+		super(VdypApplicationIdentifier.VRI_START, VriStart::new);
+	}
+}
@@ -18,6 +18,23 @@ public class VriSpecies extends BaseVdypSpecies<VriSite> {
 		super(polygonIdentifier, layer, genus, genusIndex, percentGenus, sp64DistributionSet, site);
 	}
 
+	private VriSpecies(VriSpecies toCopy, VriSite site) {
+		super(toCopy, site);
+	}
+
+	/**
+	 * Attach a site to a species read from VRI input. Unlike copying the species with a builder, the copy does not
+	 * rebuild the species' distribution set.
+	 *
+	 * @param species the species
+	 * @param site    the site of the species
+	 * @return a copy of the species with the site attached
+	 * @throws IllegalArgumentException if the site is not of the species' genus, polygon and layer
+	 */
+	public static VriSpecies withSite(VriSpecies species, VriSite site) {
+		return new VriSpecies(species, site);
+	}
+
 	/**
 	 * Accepts a configuration function that accepts a builder to configure.
 	 *
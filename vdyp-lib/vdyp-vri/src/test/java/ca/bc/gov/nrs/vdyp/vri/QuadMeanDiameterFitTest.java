@@ -0,0 +1,155 @@
+package ca.bc.gov.nrs.vdyp.vri;
+
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.closeTo;
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.notPresent;
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.present;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.StandProcessingException;
+import ca.bc.gov.nrs.vdyp.common.Utils;
+import ca.bc.gov.nrs.vdyp.model.Region;
+import ca.bc.gov.nrs.vdyp.vri.VriStart.Interval;
+
+class QuadMeanDiameterFitTest {
+
+	Map<String, Float> initialDqs = Utils.constMap(map -> {
+		map.put("B", 12.0803461f);
+		map.put("C", 8.66746521f);
+		map.put("F", 11.8044939f);
+		map.put("H", 9.06493855f);
+		map.put("S", 10.4460621f);
+	});
+	Map<String, Float> baseAreas = Utils.constMap(map -> {
+		map.put("B", 0.634290636f);
+		map.put("C", 1.26858127f);
+		map.put("F", 1.90287197f);
+		map.put("H", 1.90287197f);
+		map.put("S", 0.634290636f);
+	});
+	Map<String, Float> minDq = Utils.constMap(map -> {
+		map.put("B", 7.6f);
+		map.put("C", 7.6f);
+		map.put("F", 7.6f);
+		map.put("H", 7.6f);
+		map.put("S", 7.6f);
+	});
+	Map<String, Float> maxDq = Utils.constMap(map -> {
+		map.put("B", 13.8423338f);
+		map.put("C", 16.6669998f);
+		map.put("F", 15.5116472f);
+		map.put("H", 12.5369997f);
+		map.put("S", 12.6630001f);
+	});
+	float tph = 748.402222f;
+
+	VriStart app = new VriStart();
+
+	QuadMeanDiameterFit fit() {
+		var fit = new QuadMeanDiameterFit();
+		fit.prepare(initialDqs, baseAreas, minDq, maxDq, tph);
+		return fit;
+	}
+
+	@Test
+	void testValueAsMapMethod() {
+		var fit = fit();
+		var expectedDiameters = new LinkedHashMap<String, Float>();
+		var diameters = new LinkedHashMap<String, Float>();
+		for (double x = -12; x <= 12; x += 0.01) {
+			float expected = app
+					.quadMeanDiameterFractionalError(x, expectedDiameters, initialDqs, baseAreas, minDq, maxDq, tph);
+
+			// Exactly, not merely closely
+			assertThat(fit.value(x), is((double) expected));
+			fit.putDiameters(diameters);
+			assertThat(diameters, is(expectedDiameters));
+		}
+	}
+
+	@Test
+	void testRootAsMapMethod() throws StandProcessingException {
+		var expectedDiameters = new LinkedHashMap<String, Float>();
+		float expected = app.findRootForQuadMeanDiameterFractionalError(
+				-0.6f, 0.5f, expectedDiameters, initialDqs, baseAreas, minDq, maxDq, tph
+		);
+
+		var fit = fit();
+		float result = app.findRootForQuadMeanDiameterFractionalError(-0.6f, 0.5f, Optional.empty(), fit);
+		var diameters = new LinkedHashMap<String, Float>();
+		fit.putDiameters(diameters);
+
+		assertThat(result, is(expected));
+		assertThat(diameters, is(expectedDiameters));
+	}
+
+	@Test
+	void testSeededRoot() throws StandProcessingException {
+		var fit = fit();
+		float unseeded = app.findRootForQuadMeanDiameterFractionalError(-0.6f, 0.5f, Optional.empty(), fit);
+		fit.solved(Region.INTERIOR, unseeded);
+		int unseededEvaluations = fit.statistics().evaluations();
+
+		fit.prepare(initialDqs, baseAreas, minDq, maxDq, tph);
+		var seed = fit.seed(Region.INTERIOR);
+		float seeded = app.findRootForQuadMeanDiameterFractionalError(-0.6f, 0.5f, seed, fit);
+		fit.solved(Region.INTERIOR, seeded);
+		int seededEvaluations = fit.statistics().evaluations() - unseededEvaluations;
+
+		assertThat(seeded, closeTo(unseeded));
+		assertThat(seededEvaluations, lessThan(unseededEvaluations));
+	}
+
+	@Test
+	void testSeedNotBracketing() throws StandProcessingException {
+		var fit = fit();
+		float unseeded = app.findRootForQuadMeanDiameterFractionalError(-0.6f, 0.5f, Optional.empty(), fit);
+
+		// Falls back to the interval searched without a seed, so finds exactly the same root
+		float seeded = app
+				.findRootForQuadMeanDiameterFractionalError(-0.6f, 0.5f, Optional.of(new Interval(2, 3)), fit);
+
+		assertThat(seeded, is(unseeded));
+	}
+
+	@Test
+	void testSeed() {
+		var fit = fit();
+		assertThat(fit.seed(Region.COASTAL), notPresent());
+
+		fit.solved(Region.COASTAL, 0.2);
+		assertThat(fit.seed(Region.COASTAL), present(is(new Interval(0.2 - 0.05, 0.2 + 0.05))));
+		assertThat(fit.seed(Region.INTERIOR), notPresent());
+
+		fit.solved(Region.COASTAL, 0.4);
+		// Two standard deviations either side of the mean
+		var seed = fit.seed(Region.COASTAL).get();
+		assertThat((float) seed.start(), closeTo((float) (0.3 - 2 * Math.sqrt(0.02))));
+		assertThat((float) seed.end(), closeTo((float) (0.3 + 2 * Math.sqrt(0.02))));
+	}
+
+	@Test
+	void testStatistics() {
+		var fit = fit();
+		fit.value(0.1);
+		fit.value(0.2);
+		fit.solved(Region.INTERIOR, 0.2);
+
+		fit.prepare(initialDqs, baseAreas, minDq, maxDq, tph);
+		fit.value(0.3);
+		fit.solved(Region.INTERIOR, 0.3);
+
+		assertThat(fit.statistics().solutions(), is(2));
+		assertThat(fit.statistics().evaluations(), is(3));
+
+		fit.resetStatistics();
+		assertThat(fit.statistics(), is(QuadMeanDiameterFit.Statistics.NONE));
+	}
+}
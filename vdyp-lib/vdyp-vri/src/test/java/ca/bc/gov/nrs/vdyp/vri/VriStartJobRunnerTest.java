@@ -0,0 +1,20 @@
+package ca.bc.gov.nrs.vdyp.vri;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.application.VdypApplicationIdentifier;
+import ca.bc.gov.nrs.vdyp.application.VdypJobServer;
+
+class VriStartJobRunnerTest {
+
+	@Test
+	void testIsRegistered() {
+		assertThat(VdypJobServer.findRunners(), hasItem(instanceOf(VriStartJobRunner.class)));
+		assertThat(new VriStartJobRunner().getId(), is(VdypApplicationIdentifier.VRI_START));
+	}
+}
@@ -24,6 +24,7 @@ import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -1705,6 +1706,7 @@ class VriStartTest {
 			var control = EasyMock.createControl();
 
 			VriStart app = EasyMock.createMockBuilder(VriStart.class) //
+					.withConstructor() //
 					.addMockedMethod("processYoung") //
 					.addMockedMethod("processBatc") //
 					.addMockedMethod("processBatn") //
@@ -4105,4 +4107,59 @@ class VriStartTest {
 						.and((Matcher<? super Object>) additional)
 		);
 	}
+
+	@Nested
+	class ProcessInParallel {
+
+		/**
+		 * Run VRISTART on the test input files on the given number of threads, returning what it wrote to the polygon,
+		 * species and utilization files.
+		 */
+		List<String> process(int nThreads, boolean warmStart) throws Exception {
+			controlMap = VriTestUtils.loadControlMap();
+			var inputResolver = TestUtils.fileResolver(VriTestUtils.class);
+
+			// VriSiteParser takes its file from, and puts its parser in, the species entry, so it goes first and its
+			// parser is moved to the site entry.
+			controlMap.put(ControlKey.VRI_INPUT_YIELD_SPEC_DIST.name(), "vri_si1.dat");
+			new VriSiteParser().modify(controlMap, inputResolver);
+			controlMap.put(
+					ControlKey.VRI_INPUT_YIELD_HEIGHT_AGE_SI.name(),
+					controlMap.get(ControlKey.VRI_INPUT_YIELD_SPEC_DIST.name())
+			);
+
+			controlMap.put(ControlKey.VRI_INPUT_YIELD_POLY.name(), "vri_p1.dat");
+			controlMap.put(ControlKey.VRI_INPUT_YIELD_LAYER.name(), "vri_l1.dat");
+			controlMap.put(ControlKey.VRI_INPUT_YIELD_SPEC_DIST.name(), "vri_sp1.dat");
+			new VriPolygonParser().modify(controlMap, inputResolver);
+			new VriLayerParser().modify(controlMap, inputResolver);
+			new VriSpeciesParser().modify(controlMap, inputResolver);
+
+			var resolver = dummyInput();
+
+			try (var app = new VriStart()) {
+				app.setThreads(nThreads);
+				app.setWarmStart(warmStart);
+				app.init(resolver, controlMap);
+				app.process();
+			}
+
+			return List.of(polyOut.toString(), specOut.toString(), utilOut.toString());
+		}
+
+		@Test
+		void testSameAsSerial() throws Exception {
+			var serial = process(1, false);
+			assertThat(serial.get(0), not(blankString()));
+
+			assertThat(process(4, false), is(serial));
+		}
+
+		@Test
+		void testNoWarmStartInParallel() throws Exception {
+			var serial = process(1, false);
+
+			assertThat(process(4, true), is(serial));
+		}
+	}
 }
@@ -0,0 +1,81 @@
+package ca.bc.gov.nrs.vdyp.vri.model;
+
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.isPolyId;
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.notPresent;
+import static ca.bc.gov.nrs.vdyp.test.VdypMatchers.present;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import ca.bc.gov.nrs.vdyp.model.LayerType;
+
+class VriSpeciesTest {
+
+	VriSpecies species() {
+		return VriSpecies.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.genus("B", 3);
+			builder.percentGenus(50f);
+			builder.addSp64Distribution("BL", 50f);
+		});
+	}
+
+	@Test
+	void withSite() throws Exception {
+		var unit = species();
+		var site = VriSite.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.siteGenus("B");
+			builder.siteSpecies("BL");
+			builder.siteIndex(42.5f);
+		});
+
+		var result = VriSpecies.withSite(unit, site);
+
+		assertThat(result.getSite(), present(sameInstance(site)));
+		assertThat(result, hasProperty("polygonIdentifier", isPolyId("Test", 2024)));
+		assertThat(result, hasProperty("layerType", is(LayerType.PRIMARY)));
+		assertThat(result, hasProperty("genus", is("B")));
+		assertThat(result, hasProperty("genusIndex", is(3)));
+		assertThat(result, hasProperty("percentGenus", is(50f)));
+		assertThat(result, hasProperty("fractionGenus", is(0.5f)));
+		assertThat(result, hasProperty("sp64DistributionSet", sameInstance(unit.getSp64DistributionSet())));
+		assertThat(unit.getSite(), notPresent());
+	}
+
+	@Test
+	void withSiteOfAnotherSpecies() throws Exception {
+		var unit = species();
+		var otherGenus = VriSite.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.siteGenus("C");
+			builder.siteSpecies("C");
+		});
+		var otherPolygon = VriSite.build(builder -> {
+			builder.polygonIdentifier("Other", 2024);
+			builder.layerType(LayerType.PRIMARY);
+			builder.siteGenus("B");
+			builder.siteSpecies("BL");
+		});
+		var otherLayer = VriSite.build(builder -> {
+			builder.polygonIdentifier("Test", 2024);
+			builder.layerType(LayerType.VETERAN);
+			builder.siteGenus("B");
+			builder.siteSpecies("BL");
+		});
+
+		var ex = assertThrows(IllegalArgumentException.class, () -> VriSpecies.withSite(unit, otherGenus));
+		assertThat(ex, hasProperty("message", containsString("does not belong to species")));
+		assertThrows(IllegalArgumentException.class, () -> VriSpecies.withSite(unit, otherPolygon));
+		assertThrows(IllegalArgumentException.class, () -> VriSpecies.withSite(unit, otherLayer));
+	}
+
+}